@@ -0,0 +1,116 @@
+package org.brain4j.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files in JSON format and fails when any benchmark regressed by more
+ * than the given relative threshold. Benchmarks measured as throughput regress when the score
+ * drops, every other mode regresses when the score grows.
+ * <p>
+ * Usage: <code>BaselineComparator &lt;results.json&gt; &lt;baseline.json&gt; [threshold]</code>
+ */
+public class BaselineComparator {
+
+    private record Score(String mode, double score, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <results.json> <baseline.json> [threshold]");
+            System.exit(2);
+        }
+
+        File resultsFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!resultsFile.exists()) {
+            System.err.println("No results found at " + resultsFile + ", run the jmh task first.");
+            System.exit(2);
+        }
+
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline found at " + baselineFile + ", run the updateBaseline task to create one.");
+            return;
+        }
+
+        Map<String, Score> results = read(resultsFile);
+        Map<String, Score> baseline = read(baselineFile);
+
+        int regressions = 0;
+
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+
+            if (previous == null) {
+                System.out.printf("  NEW        %s: %.3f %s%n", entry.getKey(), current.score(), current.unit());
+                continue;
+            }
+
+            double change = (current.score() - previous.score()) / previous.score();
+            double slowdown = current.mode().equals("thrpt") ? -change : change;
+
+            String status = "  OK       ";
+
+            if (slowdown > threshold) {
+                status = "  REGRESSED";
+                regressions++;
+            } else if (slowdown < -threshold) {
+                status = "  IMPROVED ";
+            }
+
+            System.out.printf("%s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                status, entry.getKey(), previous.score(), current.score(), current.unit(), change * 100);
+        }
+
+        System.out.printf("%d of %d benchmarks regressed by more than %.1f%%%n",
+            regressions, results.size(), threshold * 100);
+
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        JsonArray runs = JsonParser.parseString(Files.readString(file.toPath())).getAsJsonArray();
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            JsonObject metric = run.getAsJsonObject("primaryMetric");
+
+            StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+
+            if (run.has("params")) {
+                Map<String, String> params = new TreeMap<>();
+
+                for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                    params.put(param.getKey(), param.getValue().getAsString());
+                }
+
+                key.append(params);
+            }
+
+            key.append(" threads=").append(run.get("threads").getAsInt());
+
+            scores.put(key.toString(), new Score(
+                run.get("mode").getAsString(),
+                metric.get("score").getAsDouble(),
+                metric.get("scoreUnit").getAsString()
+            ));
+        }
+
+        return scores;
+    }
+}
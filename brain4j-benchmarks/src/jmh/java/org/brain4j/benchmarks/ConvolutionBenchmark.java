@@ -0,0 +1,53 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.ops.Convolution;
+import org.brain4j.math.tensor.ops.Convolution.ConvolutionType;
+import org.brain4j.math.tensor.ops.Convolution.PaddingMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct against FFT based convolution, to locate the kernel size where the FFT path starts paying off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ConvolutionBenchmark {
+
+    @Param({"64", "256"})
+    public int inputSize;
+
+    @Param({"3", "7", "15", "33"})
+    public int kernelSize;
+
+    @Param({"DIRECT", "FFT"})
+    public ConvolutionType type;
+
+    private Tensor signal, signalKernel;
+    private Tensor image, imageKernel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.signal = Tensors.random(inputSize * inputSize);
+        this.signalKernel = Tensors.random(kernelSize);
+
+        this.image = Tensors.random(inputSize, inputSize);
+        this.imageKernel = Tensors.random(kernelSize, kernelSize);
+    }
+
+    @Benchmark
+    public Tensor convolve1D() {
+        return Convolution.convolve1D(signal, signalKernel, PaddingMode.SAME, type);
+    }
+
+    @Benchmark
+    public Tensor convolve2D() {
+        return Convolution.convolve2D(image, imageKernel, PaddingMode.SAME, type);
+    }
+}
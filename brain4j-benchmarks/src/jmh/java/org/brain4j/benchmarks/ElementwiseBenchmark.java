@@ -0,0 +1,66 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.activation.Activations;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element-wise arithmetic, both allocating and in place, and activation functions over flat tensors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ElementwiseBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private Tensor a, b;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.a = Tensors.random(size);
+        this.b = Tensors.random(size).add(1);
+    }
+
+    @Benchmark
+    public Tensor plus() {
+        return a.plus(b);
+    }
+
+    @Benchmark
+    public Tensor addInPlace() {
+        return a.add(b).sub(b);
+    }
+
+    @Benchmark
+    public Tensor times() {
+        return a.times(b);
+    }
+
+    @Benchmark
+    public Tensor divide() {
+        return a.divide(b);
+    }
+
+    @Benchmark
+    public Tensor sqrt() {
+        return b.sqrt();
+    }
+
+    @Benchmark
+    public Tensor relu() {
+        return Activations.RELU.getFunction().activate(a);
+    }
+
+    @Benchmark
+    public Tensor sigmoid() {
+        return Activations.SIGMOID.getFunction().activate(a);
+    }
+}
@@ -0,0 +1,89 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.complex.Complex;
+import org.brain4j.math.complex.ComplexTensor;
+import org.brain4j.math.fft.FFT;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward and inverse transforms, over {@link Complex} arrays and over interleaved {@link ComplexTensor}s.
+ * Sizes that are not a power of two go through Bluestein's algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FFTBenchmark {
+
+    @Param({"256", "1000", "1024", "4096", "65536"})
+    public int size;
+
+    private Complex[] signal, spectrum;
+    private Complex[][] image;
+    private ComplexTensor interleavedSignal, interleavedImage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        this.signal = new Complex[size];
+
+        for (int i = 0; i < size; i++) {
+            signal[i] = new Complex(random.nextDouble(-1, 1));
+        }
+
+        this.spectrum = FFT.transform(signal);
+
+        int side = (int) Math.sqrt(size);
+        this.image = new Complex[side][side];
+
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                image[i][j] = new Complex(random.nextDouble(-1, 1));
+            }
+        }
+
+        this.interleavedSignal = new ComplexTensor(size);
+        this.interleavedImage = new ComplexTensor(side, side);
+
+        for (int i = 0; i < size; i++) {
+            interleavedSignal.set(signal[i].getReal(), 0, i);
+        }
+
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                interleavedImage.set(image[i][j].getReal(), 0, i, j);
+            }
+        }
+    }
+
+    @Benchmark
+    public Complex[] transform() {
+        return FFT.transform(signal);
+    }
+
+    @Benchmark
+    public Complex[] inverseTransform() {
+        return FFT.inverseTransform(spectrum);
+    }
+
+    @Benchmark
+    public Complex[][] transform2D() {
+        return FFT.transform2D(image, image.length, image.length);
+    }
+
+    @Benchmark
+    public ComplexTensor interleavedTransform() {
+        return interleavedSignal.clone().fft();
+    }
+
+    @Benchmark
+    public ComplexTensor interleavedTransform2D() {
+        return interleavedImage.clone().fft2D();
+    }
+}
@@ -0,0 +1,49 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.core.layer.impl.DenseLayer;
+import org.brain4j.core.loss.Loss;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.training.optimizer.impl.AdamW;
+import org.brain4j.math.activation.Activations;
+import org.brain4j.math.tensor.Tensor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the latency of a single prediction of a 784-128-64-10 perceptron, so the report
+ * includes the p50, p99 and the rest of the distribution for every batch size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class InferenceBenchmark {
+
+    @Param({"1", "8", "128"})
+    public int batch;
+
+    private Model model;
+    private Tensor input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.input = SyntheticData.inputs(batch, 784, 42);
+        this.model = new Sequential(
+            new DenseLayer(784, Activations.LINEAR),
+            new DenseLayer(128, Activations.RELU),
+            new DenseLayer(64, Activations.RELU),
+            new DenseLayer(10, Activations.SOFTMAX)
+        );
+
+        model.compile(Loss.CROSS_ENTROPY, new AdamW(0.01));
+    }
+
+    @Benchmark
+    public Tensor predict() {
+        return model.predict(input);
+    }
+}
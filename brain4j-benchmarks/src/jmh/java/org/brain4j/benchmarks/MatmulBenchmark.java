@@ -0,0 +1,78 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.tensor.impl.cpu.matmul.Matmul;
+import org.brain4j.math.tensor.impl.cpu.matmul.ScalarParallelMatmul;
+import org.brain4j.math.tensor.impl.cpu.matmul.VectorParallelMatmul;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the vectorized and the scalar matrix multiplication kernels on square, skinny and batched
+ * products. Shapes are written as <code>batch x m x n x p</code>, multiplying [m, n] by [n, p].
+ * Every kernel runs on a dedicated pool with the given amount of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MatmulBenchmark {
+
+    @Param({"1x128x128x128", "1x512x512x512", "1x4096x64x64", "1x64x4096x1", "32x64x64x64"})
+    public String shape;
+
+    @Param({"vector", "scalar"})
+    public String kernel;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private int batch, m, n, p;
+    private float[] A, B, C;
+    private Matmul matmul;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] dimensions = Arrays.stream(shape.split("x")).mapToInt(Integer::parseInt).toArray();
+
+        this.batch = dimensions[0];
+        this.m = dimensions[1];
+        this.n = dimensions[2];
+        this.p = dimensions[3];
+
+        this.A = fill(new float[batch * m * n]);
+        this.B = fill(new float[batch * n * p]);
+        this.C = new float[batch * m * p];
+
+        this.matmul = kernel.equals("vector") ? new VectorParallelMatmul() : new ScalarParallelMatmul();
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public float[] kernel() {
+        Arrays.fill(C, 0);
+        matmul.multiply(batch, m, n, p, A, B, C, pool);
+        return C;
+    }
+
+    private static float[] fill(float[] data) {
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (float) random.nextDouble(-1, 1);
+        }
+
+        return data;
+    }
+}
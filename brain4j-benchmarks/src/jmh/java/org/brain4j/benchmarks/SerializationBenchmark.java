@@ -0,0 +1,73 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.core.layer.impl.DenseLayer;
+import org.brain4j.core.loss.Loss;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.serializing.ModelAdapter;
+import org.brain4j.core.serializing.impl.BrainFormatAdapter;
+import org.brain4j.core.serializing.impl.SafeTensorsAdapter;
+import org.brain4j.core.training.optimizer.impl.Adam;
+import org.brain4j.math.activation.Activations;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading a dense model of <code>width</code> neurons per hidden layer with every adapter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SerializationBenchmark {
+
+    @Param({"256", "1024"})
+    public int width;
+
+    @Param({"brain4j", "safetensors"})
+    public String format;
+
+    private Model model;
+    private ModelAdapter adapter;
+    private File saved, target;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.model = new Sequential(
+            new DenseLayer(width, Activations.LINEAR),
+            new DenseLayer(width, Activations.RELU),
+            new DenseLayer(width, Activations.RELU),
+            new DenseLayer(10, Activations.SOFTMAX)
+        );
+        model.compile(Loss.CROSS_ENTROPY, new Adam(0.01));
+
+        this.adapter = format.equals("brain4j") ? new BrainFormatAdapter() : new SafeTensorsAdapter();
+        this.saved = File.createTempFile("brain4j-bench", "." + format);
+        this.target = File.createTempFile("brain4j-bench", "." + format);
+
+        adapter.serialize(saved, model);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saved.toPath());
+        Files.deleteIfExists(target.toPath());
+    }
+
+    @Benchmark
+    public File save() throws Exception {
+        adapter.serialize(target, model);
+        return target;
+    }
+
+    @Benchmark
+    public Model load() throws Exception {
+        return adapter.deserialize(saved, model);
+    }
+}
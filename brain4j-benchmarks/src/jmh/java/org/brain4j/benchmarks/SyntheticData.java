@@ -0,0 +1,83 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.data.Sample;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible datasets in memory, so end-to-end benchmarks do not depend on downloads.
+ */
+public final class SyntheticData {
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Creates a classification dataset where every class is a gaussian blob around its own center.
+     * @param samples the number of samples
+     * @param features the size of every input
+     * @param classes the number of classes, labels are one-hot encoded
+     * @param batchSize the batch size of the returned data source
+     * @param seed the seed of the generator
+     */
+    public static ListDataSource classification(int samples, int features, int classes, int batchSize, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float[][] centers = new float[classes][features];
+
+        for (float[] center : centers) {
+            for (int i = 0; i < features; i++) {
+                center[i] = (float) random.nextDouble();
+            }
+        }
+
+        List<Sample> data = new ArrayList<>(samples);
+
+        for (int i = 0; i < samples; i++) {
+            int label = random.nextInt(classes);
+            float[] input = new float[features];
+
+            for (int j = 0; j < features; j++) {
+                input[j] = centers[label][j] + (float) (random.nextDouble(-0.25, 0.25));
+            }
+
+            Tensor output = Tensors.create(classes);
+            output.set(1, label);
+
+            data.add(new Sample(Tensors.vector(input), output));
+        }
+
+        return new ListDataSource(data, false, batchSize);
+    }
+
+    /**
+     * Creates a batch of random inputs.
+     * @param batch the number of rows
+     * @param features the size of every row
+     * @param seed the seed of the generator
+     */
+    public static Tensor inputs(int batch, int features, long seed) {
+        return Tensors.random(seed, batch, features);
+    }
+
+    /**
+     * Creates a random sequence of token ids.
+     * @param length the number of tokens
+     * @param vocabularySize the number of distinct tokens
+     * @param seed the seed of the generator
+     */
+    public static Tensor tokens(int length, int vocabularySize, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float[] ids = new float[length];
+
+        for (int i = 0; i < length; i++) {
+            ids[i] = random.nextInt(vocabularySize);
+        }
+
+        return Tensors.vector(ids);
+    }
+}
@@ -0,0 +1,45 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix multiplication through {@link Tensor#matmul(Tensor)}, including the result allocation and the
+ * backend chosen at startup. It always runs on the common pool, sized with <code>-Pthreads</code>.
+ * Shapes are written as in {@link MatmulBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TensorMatmulBenchmark {
+
+    @Param({"1x128x128x128", "1x512x512x512", "1x4096x64x64", "1x64x4096x1", "32x64x64x64"})
+    public String shape;
+
+    private Tensor left, right;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[] dimensions = Arrays.stream(shape.split("x")).mapToInt(Integer::parseInt).toArray();
+
+        int batch = dimensions[0];
+        int m = dimensions[1];
+        int n = dimensions[2];
+        int p = dimensions[3];
+
+        this.left = batch == 1 ? Tensors.random(m, n) : Tensors.random(batch, m, n);
+        this.right = batch == 1 ? Tensors.random(n, p) : Tensors.random(batch, n, p);
+    }
+
+    @Benchmark
+    public Tensor matmul() {
+        return left.matmul(right);
+    }
+}
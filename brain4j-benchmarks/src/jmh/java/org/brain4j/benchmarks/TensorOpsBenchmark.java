@@ -0,0 +1,78 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.index.Range;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reductions, softmax and layout operations over matrices of shape <code>rows x columns</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TensorOpsBenchmark {
+
+    @Param({"32x128", "128x1024", "1024x1024", "4096x64"})
+    public String shape;
+
+    private Tensor matrix;
+    private Range rows, columns;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = shape.split("x");
+
+        int height = Integer.parseInt(parts[0]);
+        int width = Integer.parseInt(parts[1]);
+
+        this.matrix = Tensors.random(height, width);
+        this.rows = new Range(height / 4, height - height / 4);
+        this.columns = new Range(0, width / 2);
+    }
+
+    @Benchmark
+    public double sum() {
+        return matrix.sum();
+    }
+
+    @Benchmark
+    public Tensor sumRows() {
+        return matrix.sum(1, true);
+    }
+
+    @Benchmark
+    public Tensor sumColumns() {
+        return matrix.sum(0, true);
+    }
+
+    @Benchmark
+    public Tensor meanRows() {
+        return matrix.mean(1, true);
+    }
+
+    @Benchmark
+    public double variance() {
+        return matrix.variance();
+    }
+
+    @Benchmark
+    public Tensor softmax() {
+        return matrix.softmax();
+    }
+
+    @Benchmark
+    public Tensor transpose() {
+        return matrix.transpose();
+    }
+
+    @Benchmark
+    public Tensor slice() {
+        return matrix.slice(rows, columns);
+    }
+}
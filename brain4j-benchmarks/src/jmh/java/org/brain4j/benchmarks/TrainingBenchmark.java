@@ -0,0 +1,56 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.core.layer.impl.DenseLayer;
+import org.brain4j.core.loss.Loss;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.training.optimizer.impl.AdamW;
+import org.brain4j.math.activation.Activations;
+import org.brain4j.math.data.ListDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trains a 784-128-64-10 perceptron for one epoch per invocation. The score is in samples per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@OperationsPerInvocation(TrainingBenchmark.SAMPLES)
+public class TrainingBenchmark {
+
+    public static final int SAMPLES = 2048;
+
+    @Param({"32", "128"})
+    public int batchSize;
+
+    @Param({"false", "true"})
+    public boolean staticExecution;
+
+    private Model model;
+    private ListDataSource source;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.source = SyntheticData.classification(SAMPLES, 784, 10, batchSize, 42);
+        this.model = new Sequential(
+            new DenseLayer(784, Activations.LINEAR),
+            new DenseLayer(128, Activations.RELU),
+            new DenseLayer(64, Activations.RELU),
+            new DenseLayer(10, Activations.SOFTMAX)
+        );
+
+        model.compile(Loss.CROSS_ENTROPY, new AdamW(0.01));
+        model.setStaticExecution(staticExecution);
+    }
+
+    @Benchmark
+    public Model epoch() {
+        model.fit(source);
+        return model;
+    }
+}
@@ -0,0 +1,64 @@
+package org.brain4j.benchmarks;
+
+import org.brain4j.core.layer.impl.transformers.EmbedLayer;
+import org.brain4j.core.layer.impl.transformers.PosEncodeLayer;
+import org.brain4j.core.layer.impl.transformers.TrDecoder;
+import org.brain4j.core.layer.impl.transformers.VocabularyMapper;
+import org.brain4j.core.loss.Loss;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Transformer;
+import org.brain4j.core.training.optimizer.impl.GradientDescent;
+import org.brain4j.math.tensor.Tensor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward passes of a small decoder-only transformer. The <code>tokens</code> counter reports
+ * the processed tokens per second next to the forward passes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TransformerBenchmark {
+
+    private static final int VOCABULARY_SIZE = 1000;
+
+    @Param({"16", "64"})
+    public int sequenceLength;
+
+    @Param({"64", "128"})
+    public int embeddingDim;
+
+    private Model model;
+    private Tensor tokens;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long tokens;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.tokens = SyntheticData.tokens(sequenceLength, VOCABULARY_SIZE, 42);
+        this.model = new Transformer(
+            new EmbedLayer(VOCABULARY_SIZE, embeddingDim),
+            new PosEncodeLayer(embeddingDim),
+            new TrDecoder(2, embeddingDim),
+            new VocabularyMapper(VOCABULARY_SIZE, embeddingDim, 1)
+        );
+
+        model.compile(Loss.CROSS_ENTROPY, new GradientDescent(0.01));
+    }
+
+    @Benchmark
+    public Tensor forward(Counters counters) {
+        counters.tokens += sequenceLength;
+        return model.predict(tokens);
+    }
+}
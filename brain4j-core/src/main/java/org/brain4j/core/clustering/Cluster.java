@@ -8,19 +8,29 @@ import java.util.List;
 
 public class Cluster {
 
+    private final List<Tensor> vectors = new ArrayList<>();
     private Tensor center;
-    private final List<Tensor> vectors;
+    private long size;
     private final int id;
 
     /**
-     * Constructs a cluster with a centroid initialized randomly.
+     * Constructs a cluster with a centroid at the origin.
      *
      * @param dimension the dimension of the space (number of features)
      */
     public Cluster(int dimension, int id) {
+        this(Tensors.zeros(dimension), id);
+    }
+
+    /**
+     * Constructs a cluster around the given centroid.
+     *
+     * @param center the centroid
+     * @param id the identifier of the cluster
+     */
+    public Cluster(Tensor center, int id) {
+        this.center = center;
         this.id = id;
-        this.center = Tensors.random(dimension);
-        this.vectors = new ArrayList<>();
     }
 
     /**
@@ -41,29 +51,50 @@ public class Cluster {
         this.center = center;
     }
 
+    /**
+     * Returns the amount of data points assigned to the cluster during the last step. For mini-batch
+     * training, this is the amount of points assigned since the clusters were initialized.
+     *
+     * @return the amount of assigned points
+     */
+    public long getSize() {
+        return size;
+    }
+
+    void setSize(long size) {
+        this.size = size;
+    }
+
     /**
      * Adds a data point to the cluster.
      *
      * @param vector the data point to add
+     * @deprecated {@link KMeans} no longer stores the points of each cluster, use {@link KMeans#predict(Tensor)}
+     * to get the cluster of every point
      */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public void addVector(Tensor vector) {
         vectors.add(vector);
     }
 
     /**
-     * Returns the data points assigned to the cluster.
+     * Returns the data points added with {@link #addVector(Tensor)}, never filled by {@link KMeans}.
      *
      * @return the list of data points
+     * @deprecated use {@link KMeans#predict(Tensor)} to get the cluster of every point
      */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public List<Tensor> getVectors() {
         return vectors;
     }
 
     /**
-     * Updates the centroid of the cluster by calculating the mean of the assigned data points.
+     * Moves the centroid to the mean of the points added with {@link #addVector(Tensor)}.
      *
      * @return true if the centroid changed, false otherwise
+     * @deprecated {@link KMeans} updates every centroid at once on each step
      */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public boolean updateCenter() {
         if (vectors.isEmpty()) {
             return false;
@@ -75,17 +106,22 @@ public class Cluster {
             newCenter.add(row);
         }
 
-        newCenter.divide(vectors.size());
+        newCenter.div(vectors.size());
 
         boolean isChanged = !center.equals(newCenter);
+
         this.center = newCenter;
+        this.size = vectors.size();
 
         return isChanged;
     }
 
     /**
-     * Clears all data points assigned to the cluster (used after an iteration of K-Means).
+     * Clears the data points added with {@link #addVector(Tensor)}.
+     *
+     * @deprecated {@link KMeans} no longer stores the points of each cluster
      */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public void clearData() {
         vectors.clear();
     }
@@ -1,41 +1,135 @@
 package org.brain4j.core.clustering;
 
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * An implementation of the K-Means clustering algorithm.
+ * <p>
+ * Points are processed as a row-major <code>[points, dimension]</code> matrix. Distances to all centroids
+ * are computed one block of rows at a time with a single matrix multiplication, using
+ * <code>||x - c||² = ||x||² - 2 x·c + ||c||²</code>. Each worker accumulates its own per-cluster sums and
+ * counts, which are merged once per step. Datasets that do not fit in memory can be clustered in
+ * mini-batches with {@link #partialFit(Tensor)}.
  */
 public class KMeans {
 
+    /**
+     * How the initial centroids are picked from the data.
+     */
+    public enum Initialization {
+        /**
+         * Picks distinct random points.
+         */
+        RANDOM,
+        /**
+         * k-means++: picks each centroid with probability proportional to its squared distance from the
+         * closest centroid picked so far. Needs one pass over the data per cluster.
+         */
+        KMEANS_PLUS_PLUS,
+        /**
+         * k-means||: oversamples candidates in a few parallel passes, then runs a weighted k-means++
+         * over the candidates. Suited for large datasets with many clusters.
+         */
+        KMEANS_PARALLEL
+    }
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int PARALLEL_ROWS_THRESHOLD = 4096;
+    private static final int BLOCK_ROWS = 1024;
+    private static final int PARALLEL_ROUNDS = 5;
+
     private final List<Cluster> clusters;
     private final int clustersAmount;
 
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private Initialization initialization = Initialization.KMEANS_PLUS_PLUS;
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private double tolerance = 1e-4;
+
+    private int dimension;
+    private float[] centroids;
+    private long[] seen;
+    private double inertia;
+
     /**
      * Constructs a KMeans instance with a specified amount of clusters.
      *
      * @param clusters the amount of clusters
      */
     public KMeans(int clusters) {
+        if (clusters <= 0) {
+            throw new IllegalArgumentException("The amount of clusters must be positive");
+        }
+
         this.clusters = new ArrayList<>();
         this.clustersAmount = clusters;
     }
 
     /**
-     * Initializes the clusters with the specified dimension.
+     * Initializes the clusters with the specified dimension. The centroids are seeded from the data
+     * the first time the model is fitted.
      *
      * @param dimension the dimension for each cluster, must be the same as the dimension of the data
      */
     public void compile(int dimension) {
+        this.dimension = dimension;
+        this.centroids = null;
+        this.seen = null;
+
+        clusters.clear();
+
         for (int i = 0; i < clustersAmount; i++) {
             clusters.add(new Cluster(dimension, i));
         }
     }
 
+    public KMeans setInitialization(Initialization initialization) {
+        this.initialization = initialization;
+        return this;
+    }
+
+    public KMeans setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the maximum distance a centroid can move during a step for the model to be considered converged.
+     *
+     * @param tolerance the tolerance, zero to stop only when no centroid moves
+     */
+    public KMeans setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    public KMeans setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Seeds the centroids from the given points with the configured {@link Initialization}.
+     *
+     * @param points the points, as a <code>[points, dimension]</code> matrix
+     */
+    public void initialize(Tensor points) {
+        initialize(matrixData(points), points.shape()[0]);
+    }
+
     /**
      * Makes one step into the K-Means algorithm.
      *
@@ -43,27 +137,47 @@ public class KMeans {
      * @return true if the centroids changed, false otherwise
      */
     public boolean step(List<Tensor> data) {
-        boolean centroidsChanged = false;
+        return step(pack(data), data.size());
+    }
 
-        for (Cluster cluster : clusters) {
-            cluster.clearData();
-        }
+    /**
+     * Makes one step into the K-Means algorithm.
+     *
+     * @param points the points to cluster, as a <code>[points, dimension]</code> matrix
+     * @return true if any centroid moved by more than the tolerance, false otherwise
+     */
+    public boolean step(Tensor points) {
+        return step(matrixData(points), points.shape()[0]);
+    }
 
-        for (Tensor vector : data) {
-            Cluster closestCluster = getClosest(vector);
+    private boolean step(float[] points, int rows) {
+        if (centroids == null) initialize(points, rows);
 
-            closestCluster.addVector(vector);
-        }
+        Partial partial = assign(points, rows, centroids, clustersAmount, null, true);
+        double maxShift = 0;
+
+        for (int c = 0; c < clustersAmount; c++) {
+            long count = partial.counts[c];
+            if (count == 0) continue; // an empty cluster keeps its centroid
+
+            double shift = 0;
 
-        for (Cluster cluster : clusters) {
-            boolean updated = cluster.updateCenter();
+            for (int j = 0; j < dimension; j++) {
+                int index = c * dimension + j;
+                float updated = (float) (partial.sums[index] / count);
+                float delta = updated - centroids[index];
 
-            if (updated) {
-                centroidsChanged = true;
+                shift += delta * delta;
+                centroids[index] = updated;
             }
+
+            maxShift = Math.max(maxShift, shift);
         }
 
-        return centroidsChanged;
+        this.inertia = partial.inertia;
+        syncClusters(partial.counts);
+
+        return maxShift > tolerance * tolerance;
     }
 
     /**
@@ -73,17 +187,100 @@ public class KMeans {
      * @return the number of iterations performed
      */
     public int fit(List<Tensor> data, int maxIterations) {
-        boolean centroidsChanged = true;
+        return fit(pack(data), data.size(), maxIterations);
+    }
+
+    /**
+     * Fits the model repetitively to the given points using the K-Means clustering algorithm.
+     *
+     * @param points the points to cluster, as a <code>[points, dimension]</code> matrix
+     * @param maxIterations the maximum amount of steps
+     * @return the number of iterations performed
+     */
+    public int fit(Tensor points, int maxIterations) {
+        return fit(matrixData(points), points.shape()[0], maxIterations);
+    }
+
+    private int fit(float[] points, int rows, int maxIterations) {
+        int iterations = 0;
+
+        while (iterations < maxIterations) {
+            iterations++;
+
+            if (!step(points, rows)) break;
+        }
+
+        return iterations;
+    }
+
+    /**
+     * Updates the centroids with a mini-batch of points. Every centroid moves towards the mean of the
+     * batch points assigned to it, with a learning rate equal to the fraction of all the points it was
+     * assigned so far that came from this batch. The first batch also seeds the centroids.
+     *
+     * @param batch the points, as a <code>[points, dimension]</code> matrix
+     */
+    public void partialFit(Tensor batch) {
+        float[] points = matrixData(batch);
+        int rows = batch.shape()[0];
+
+        if (centroids == null) initialize(points, rows);
+
+        Partial partial = assign(points, rows, centroids, clustersAmount, null, true);
+
+        for (int c = 0; c < clustersAmount; c++) {
+            long count = partial.counts[c];
+            if (count == 0) continue;
+
+            seen[c] += count;
+            double rate = (double) count / seen[c];
 
-        int i = 0;
+            for (int j = 0; j < dimension; j++) {
+                int index = c * dimension + j;
+                double mean = partial.sums[index] / count;
 
-        while (centroidsChanged) {
-            centroidsChanged = step(data);
+                centroids[index] += (float) (rate * (mean - centroids[index]));
+            }
+        }
+
+        this.inertia = partial.inertia;
+        syncClusters(seen);
+    }
+
+    /**
+     * Fits the model with mini-batches, for datasets that do not fit in memory.
+     *
+     * @param batches the batches, each one a <code>[points, dimension]</code> matrix; iterated once per epoch
+     * @param epochs the amount of passes over the batches
+     * @return the number of batches processed
+     */
+    public int fitMiniBatch(Iterable<Tensor> batches, int epochs) {
+        int steps = 0;
 
-            if (i++ > maxIterations) break;
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            for (Tensor batch : batches) {
+                partialFit(batch);
+                steps++;
+            }
         }
 
-        return i;
+        return steps;
+    }
+
+    /**
+     * Assigns each point to its closest cluster.
+     *
+     * @param points the points, as a <code>[points, dimension]</code> matrix
+     * @return the index of the closest cluster for each point
+     */
+    public int[] predict(Tensor points) {
+        checkInitialized();
+
+        int rows = points.shape()[0];
+        int[] labels = new int[rows];
+
+        assign(matrixData(points), rows, centroids, clustersAmount, labels, false);
+        return labels;
     }
 
     /**
@@ -93,12 +290,15 @@ public class KMeans {
      * @return a map of data points to their closest clusters
      */
     public Map<Tensor, Cluster> evaluate(List<Tensor> set) {
-        Map<Tensor, Cluster> clusterMap = new HashMap<>();
+        checkInitialized();
 
-        for (Tensor vector : set) {
-            Cluster closestCluster = getClosest(vector);
+        int[] labels = new int[set.size()];
+        assign(pack(set), set.size(), centroids, clustersAmount, labels, false);
 
-            clusterMap.put(vector, closestCluster);
+        Map<Tensor, Cluster> clusterMap = new HashMap<>();
+
+        for (int i = 0; i < labels.length; i++) {
+            clusterMap.put(set.get(i), clusters.get(labels[i]));
         }
 
         return clusterMap;
@@ -110,26 +310,497 @@ public class KMeans {
      * @return the closest cluster
      */
     public Cluster getClosest(Tensor point) {
+        checkInitialized();
+
+        float[] data = point.getData();
+
+        if (data.length != dimension) {
+            throw new IllegalArgumentException("Point has " + data.length + " elements, expected " + dimension);
+        }
+
+        int closest = 0;
         double minDistance = Double.MAX_VALUE;
-        Cluster closestCluster = null;
 
-        for (Cluster cluster : clusters) {
-            double distance = cluster.getCenter().distance(point);
+        for (int c = 0; c < clustersAmount; c++) {
+            double distance = squaredDistance(data, 0, centroids, c * dimension, dimension);
 
             if (distance < minDistance) {
                 minDistance = distance;
-                closestCluster = cluster;
+                closest = c;
             }
         }
 
-        if (closestCluster == null) {
-            throw new RuntimeException("Could not find closest cluster.");
-        }
-
-        return closestCluster;
+        return clusters.get(closest);
     }
 
     public List<Cluster> getClusters() {
         return clusters;
     }
+
+    /**
+     * Gets the centroids as a <code>[clusters, dimension]</code> matrix.
+     */
+    public Tensor getCentroids() {
+        checkInitialized();
+        return Tensors.of(new int[] { clustersAmount, dimension }, centroids);
+    }
+
+    /**
+     * Gets the sum of squared distances between the points and their closest centroid, as measured
+     * during the last step or mini-batch.
+     */
+    public double getInertia() {
+        return inertia;
+    }
+
+    private void checkInitialized() {
+        if (centroids == null) {
+            throw new IllegalStateException("The centroids are not initialized, fit the model first");
+        }
+    }
+
+    private void initialize(float[] points, int rows) {
+        int dimension = points.length / Math.max(1, rows);
+
+        if (clusters.isEmpty() || this.dimension != dimension) {
+            compile(dimension);
+        }
+
+        if (rows < clustersAmount) {
+            throw new IllegalArgumentException(
+                "At least " + clustersAmount + " points are needed to seed the clusters, got " + rows
+            );
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+
+        this.centroids = switch (initialization) {
+            case RANDOM -> randomCentroids(points, rows, random);
+            case KMEANS_PLUS_PLUS -> plusPlus(points, rows, null, clustersAmount, random);
+            case KMEANS_PARALLEL -> parallelCentroids(points, rows, random);
+        };
+        this.seen = new long[clustersAmount];
+
+        syncClusters(seen);
+    }
+
+    private float[] randomCentroids(float[] points, int rows, SplittableRandom random) {
+        int[] indices = new int[rows];
+
+        for (int i = 0; i < rows; i++) {
+            indices[i] = i;
+        }
+
+        float[] result = new float[clustersAmount * dimension];
+
+        for (int c = 0; c < clustersAmount; c++) {
+            int pick = c + random.nextInt(rows - c);
+            int index = indices[pick];
+
+            indices[pick] = indices[c];
+            indices[c] = index;
+
+            System.arraycopy(points, index * dimension, result, c * dimension, dimension);
+        }
+
+        return result;
+    }
+
+    /**
+     * Picks <code>count</code> centroids with (weighted) k-means++.
+     */
+    private float[] plusPlus(float[] points, int rows, long[] weights, int count, SplittableRandom random) {
+        float[] result = new float[count * dimension];
+        double[] distances = new double[rows];
+
+        int first = sample(null, weights, rows, random);
+        System.arraycopy(points, first * dimension, result, 0, dimension);
+
+        Arrays.fill(distances, Double.MAX_VALUE);
+        updateDistances(points, rows, distances, result, 0, 1);
+
+        for (int c = 1; c < count; c++) {
+            int index = sample(distances, weights, rows, random);
+
+            System.arraycopy(points, index * dimension, result, c * dimension, dimension);
+            updateDistances(points, rows, distances, result, c, 1);
+        }
+
+        return result;
+    }
+
+    /**
+     * Picks an index with probability proportional to <code>distances[i] * weights[i]</code>, treating
+     * missing arrays as all ones.
+     */
+    private static int sample(double[] distances, long[] weights, int rows, SplittableRandom random) {
+        double total = 0;
+
+        for (int i = 0; i < rows; i++) {
+            total += (distances == null ? 1 : distances[i]) * (weights == null ? 1 : weights[i]);
+        }
+
+        if (total <= 0) return random.nextInt(rows); // every point already is a centroid
+
+        double target = random.nextDouble() * total;
+        double cumulative = 0;
+
+        for (int i = 0; i < rows; i++) {
+            cumulative += (distances == null ? 1 : distances[i]) * (weights == null ? 1 : weights[i]);
+
+            if (cumulative >= target) return i;
+        }
+
+        return rows - 1;
+    }
+
+    private float[] parallelCentroids(float[] points, int rows, SplittableRandom random) {
+        List<Integer> candidates = new ArrayList<>();
+        double[] distances = new double[rows];
+        double oversampling = 2.0 * clustersAmount;
+
+        int first = random.nextInt(rows);
+        float[] selected = Arrays.copyOfRange(points, first * dimension, (first + 1) * dimension);
+
+        candidates.add(first);
+        Arrays.fill(distances, Double.MAX_VALUE);
+        updateDistances(points, rows, distances, selected, 0, 1);
+
+        long stream = random.nextLong();
+        float[] draws = new float[rows];
+
+        for (int round = 0; round < PARALLEL_ROUNDS; round++) {
+            double cost = 0;
+
+            for (double distance : distances) {
+                cost += distance;
+            }
+
+            if (cost <= 0) break;
+
+            // every point is drawn independently, from a counter based stream, so the sample does not
+            // depend on how the rows are split between workers
+            Philox.fillUniform(draws, seed, stream + round, 0, 1, pool);
+
+            List<Integer> sampled = new ArrayList<>();
+            double scale = oversampling / cost;
+
+            for (int i = 0; i < rows; i++) {
+                if (draws[i] < scale * distances[i]) sampled.add(i);
+            }
+
+            if (sampled.isEmpty()) continue;
+
+            selected = gather(points, sampled);
+            candidates.addAll(sampled);
+
+            updateDistances(points, rows, distances, selected, 0, sampled.size());
+        }
+
+        if (candidates.size() <= clustersAmount) {
+            // too few candidates to choose from, top them up with random points
+            while (candidates.size() < clustersAmount) {
+                int index = random.nextInt(rows);
+                if (!candidates.contains(index)) candidates.add(index);
+            }
+
+            return gather(points, candidates);
+        }
+
+        float[] candidatePoints = gather(points, candidates);
+        Partial partial = assign(points, rows, candidatePoints, candidates.size(), null, false);
+
+        return plusPlus(candidatePoints, candidates.size(), partial.counts, clustersAmount, random);
+    }
+
+    private float[] gather(float[] points, List<Integer> indices) {
+        float[] result = new float[indices.size() * dimension];
+
+        for (int i = 0; i < indices.size(); i++) {
+            System.arraycopy(points, indices.get(i) * dimension, result, i * dimension, dimension);
+        }
+
+        return result;
+    }
+
+    /**
+     * Lowers the squared distance of every point to the closest of the given centers.
+     */
+    private void updateDistances(float[] points, int rows, double[] distances, float[] centers, int from, int count) {
+        parallelFor(rows, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                double min = distances[i];
+
+                for (int c = from; c < from + count; c++) {
+                    min = Math.min(min, squaredDistance(points, i * dimension, centers, c * dimension, dimension));
+                }
+
+                distances[i] = min;
+            }
+        });
+    }
+
+    private static double squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        double sum = 0;
+
+        for (int j = 0; j < length; j++) {
+            double delta = a[aOffset + j] - b[bOffset + j];
+            sum += delta * delta;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Assigns every point to its closest center.
+     * @param labels where to store the index of the closest center of each point, may be null
+     * @param accumulate whether to sum the points assigned to each center
+     */
+    private Partial assign(float[] points, int rows, float[] centers, int count, int[] labels, boolean accumulate) {
+        float[] transposed = new float[dimension * count];
+        float[] norms = new float[count];
+
+        for (int c = 0; c < count; c++) {
+            double norm = 0;
+
+            for (int j = 0; j < dimension; j++) {
+                float value = centers[c * dimension + j];
+
+                transposed[j * count + c] = value;
+                norm += value * value;
+            }
+
+            norms[c] = (float) norm;
+        }
+
+        Assignment assignment = new Assignment(
+            points, dimension, Tensors.of(new int[] { dimension, count }, transposed), norms, labels, accumulate
+        );
+
+        AssignTask task = new AssignTask(assignment, 0, rows, leafRows(rows));
+        return rows <= PARALLEL_ROWS_THRESHOLD ? task.compute() : pool.invoke(task);
+    }
+
+    private static int leafRows(int rows) {
+        if (rows <= PARALLEL_ROWS_THRESHOLD) return rows;
+
+        // a few leaves per worker, each one owning its partial sums
+        return Math.max(BLOCK_ROWS, (rows + 4 * PARALLELISM - 1) / (4 * PARALLELISM));
+    }
+
+    private void parallelFor(int rows, RangeBody body) {
+        if (rows <= PARALLEL_ROWS_THRESHOLD) {
+            body.run(0, rows);
+            return;
+        }
+
+        pool.invoke(new RangeAction(body, 0, rows, leafRows(rows)));
+    }
+
+    private void syncClusters(long[] counts) {
+        for (int c = 0; c < clustersAmount; c++) {
+            Cluster cluster = clusters.get(c);
+            float[] center = Arrays.copyOfRange(centroids, c * dimension, (c + 1) * dimension);
+
+            cluster.setCenter(Tensors.of(new int[] { dimension }, center));
+            cluster.setSize(counts[c]);
+        }
+    }
+
+    private float[] pack(List<Tensor> data) {
+        if (data.isEmpty()) {
+            throw new IllegalArgumentException("Data cannot be empty");
+        }
+
+        int dimension = data.getFirst().elements();
+        float[] points = new float[data.size() * dimension];
+
+        for (int i = 0; i < data.size(); i++) {
+            float[] row = data.get(i).getData();
+
+            if (row.length != dimension) {
+                throw new IllegalArgumentException(
+                    "Data point " + i + " has " + row.length + " elements, expected " + dimension
+                );
+            }
+
+            System.arraycopy(row, 0, points, i * dimension, dimension);
+        }
+
+        return checkDimension(points, dimension);
+    }
+
+    private float[] matrixData(Tensor points) {
+        if (points.dimension() != 2) {
+            throw new IllegalArgumentException("Points must be a [points, dimension] matrix");
+        }
+
+        return checkDimension(points.getData(), points.shape()[1]);
+    }
+
+    private float[] checkDimension(float[] points, int dimension) {
+        if (this.dimension != 0 && this.dimension != dimension) {
+            throw new IllegalArgumentException(
+                "Data has dimension " + dimension + " but the clusters have dimension " + this.dimension
+            );
+        }
+
+        return points;
+    }
+
+    @FunctionalInterface
+    private interface RangeBody {
+        void run(int start, int end);
+    }
+
+    private record Assignment(
+        float[] points,
+        int dimension,
+        Tensor centers,
+        float[] norms,
+        int[] labels,
+        boolean accumulate
+    ) { }
+
+    private static class Partial {
+
+        private final double[] sums;
+        private final long[] counts;
+        private double inertia;
+
+        private Partial(int count, int dimension, boolean accumulate) {
+            this.sums = accumulate ? new double[count * dimension] : null;
+            this.counts = new long[count];
+        }
+
+        private Partial merge(Partial other) {
+            if (sums != null) {
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += other.sums[i];
+                }
+            }
+
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+
+            inertia += other.inertia;
+            return this;
+        }
+    }
+
+    private static class RangeAction extends RecursiveAction {
+
+        private final RangeBody body;
+        private final int start;
+        private final int end;
+        private final int leafRows;
+
+        private RangeAction(RangeBody body, int start, int end, int leafRows) {
+            this.body = body;
+            this.start = start;
+            this.end = end;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= leafRows) {
+                body.run(start, end);
+                return;
+            }
+
+            int mid = (start + end) >>> 1;
+
+            invokeAll(
+                new RangeAction(body, start, mid, leafRows),
+                new RangeAction(body, mid, end, leafRows)
+            );
+        }
+    }
+
+    private static class AssignTask extends RecursiveTask<Partial> {
+
+        private final Assignment assignment;
+        private final int start;
+        private final int end;
+        private final int leafRows;
+
+        private AssignTask(Assignment assignment, int start, int end, int leafRows) {
+            this.assignment = assignment;
+            this.start = start;
+            this.end = end;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start > leafRows) {
+                int mid = (start + end) >>> 1;
+
+                AssignTask right = new AssignTask(assignment, mid, end, leafRows);
+                right.fork();
+
+                Partial left = new AssignTask(assignment, start, mid, leafRows).compute();
+                return left.merge(right.join());
+            }
+
+            int dimension = assignment.dimension();
+            int count = assignment.norms().length;
+
+            Partial partial = new Partial(count, dimension, assignment.accumulate());
+
+            for (int blockStart = start; blockStart < end; blockStart += BLOCK_ROWS) {
+                int rows = Math.min(BLOCK_ROWS, end - blockStart);
+                assignBlock(partial, blockStart, rows, dimension, count);
+            }
+
+            return partial;
+        }
+
+        private void assignBlock(Partial partial, int blockStart, int rows, int dimension, int count) {
+            float[] points = assignment.points();
+            float[] norms = assignment.norms();
+            int[] labels = assignment.labels();
+
+            Tensor block = Tensors.create(rows, dimension);
+            System.arraycopy(points, blockStart * dimension, block.getData(), 0, rows * dimension);
+
+            float[] dots = block.matmul(assignment.centers()).getData();
+
+            for (int r = 0; r < rows; r++) {
+                int offset = (blockStart + r) * dimension;
+                double norm = 0;
+
+                for (int j = 0; j < dimension; j++) {
+                    norm += points[offset + j] * points[offset + j];
+                }
+
+                int closest = 0;
+                double best = Double.MAX_VALUE;
+
+                for (int c = 0; c < count; c++) {
+                    double score = norms[c] - 2.0 * dots[r * count + c];
+
+                    if (score < best) {
+                        best = score;
+                        closest = c;
+                    }
+                }
+
+                if (labels != null) labels[blockStart + r] = closest;
+
+                partial.counts[closest]++;
+                partial.inertia += Math.max(0, norm + best);
+
+                if (partial.sums == null) continue;
+
+                int sumOffset = closest * dimension;
+
+                for (int j = 0; j < dimension; j++) {
+                    partial.sums[sumOffset + j] += points[offset + j];
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,833 @@
+package org.brain4j.core.index;
+
+import org.brain4j.math.random.Philox;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An approximate nearest neighbour index based on Hierarchical Navigable Small World graphs
+ * (<a href="https://arxiv.org/abs/1603.09320">Malkov and Yashunin</a>).
+ * <p>
+ * Vectors and the bottom layer of the graph live in chunked primitive arenas, indexed by the id of
+ * the vector, so the index holds no per-vector objects. Vectors can be added from several threads
+ * at once; each neighbour list is guarded by a striped lock. Searches may run alongside inserts, in
+ * which case they may not see the links of vectors that are still being added.
+ * <p>
+ * The index is saved in a little-endian layout with fixed offsets (a 64 bytes header, the vectors,
+ * the bottom layer links, the upper layer links and the node levels), so it can be memory mapped
+ * and loaded with bulk copies.
+ */
+public class HNSWIndex {
+
+    private static final int MAGIC = 0x57534E48; // "HNSW"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE & ~7L;
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int LOCK_STRIPES = 1 << 12;
+    private static final int MAX_LEVEL = 16;
+    private static final long LEVEL_STREAM = 0x4C4556454CL;
+    private static final int PARALLEL_QUERIES_THRESHOLD = 16;
+
+    private final int dimension;
+    private final Metric metric;
+    private final int capacity;
+    private final int maxLinks;
+    private final int maxBottomLinks;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final long seed;
+
+    private final float[][] vectors;
+    private final int[][] bottomLinks;
+    private final int[][] upperLinks;
+    private final byte[] levels;
+    private final Object[] locks;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object entryLock = new Object();
+    private final ThreadLocal<SearchContext> contexts;
+
+    private volatile int entryPoint = -1;
+    private volatile int maxLevel = -1;
+    private volatile int efSearch = 64;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Creates an index with 16 links per node and an <code>efConstruction</code> of 200.
+     * @param dimension the dimension of the vectors
+     * @param metric the distance between vectors
+     * @param capacity the maximum amount of vectors
+     */
+    public HNSWIndex(int dimension, Metric metric, int capacity) {
+        this(dimension, metric, capacity, 16, 200, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates an index.
+     * @param dimension the dimension of the vectors
+     * @param metric the distance between vectors
+     * @param capacity the maximum amount of vectors
+     * @param m the amount of links of each node in the upper layers, twice as many are kept in the bottom one
+     * @param efConstruction the size of the candidate list used when linking new vectors
+     * @param seed the seed used to draw the level of each vector
+     */
+    public HNSWIndex(int dimension, Metric metric, int capacity, int m, int efConstruction, long seed) {
+        if (dimension <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Dimension and capacity must be positive");
+        }
+
+        if (m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("m must be at least 2 and efConstruction at least 1");
+        }
+
+        this.dimension = dimension;
+        this.metric = metric;
+        this.capacity = capacity;
+        this.maxLinks = m;
+        this.maxBottomLinks = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(m);
+        this.seed = seed;
+
+        int chunks = (capacity + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+
+        this.vectors = new float[chunks][];
+        this.bottomLinks = new int[chunks][];
+        this.upperLinks = new int[capacity][];
+        this.levels = new byte[capacity];
+        this.locks = new Object[LOCK_STRIPES];
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+
+        this.contexts = ThreadLocal.withInitial(() -> new SearchContext(this.capacity, maxBottomLinks));
+    }
+
+    /**
+     * Sets the size of the candidate list used by searches. Larger values trade speed for recall;
+     * a search for <code>k</code> neighbours always uses at least <code>k</code>.
+     */
+    public HNSWIndex setEfSearch(int efSearch) {
+        if (efSearch < 1) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+
+        this.efSearch = efSearch;
+        return this;
+    }
+
+    public HNSWIndex setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public int size() {
+        return Math.min(size.get(), capacity);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public Metric metric() {
+        return metric;
+    }
+
+    /**
+     * Adds a vector to the index. Safe to call from several threads.
+     * @param vector the vector, with {@link #dimension()} elements
+     * @return the id of the vector, assigned in insertion order
+     */
+    public int add(Tensor vector) {
+        return add(vector.getData(), 0);
+    }
+
+    public int add(float[] vector, int offset) {
+        checkLength(vector.length - offset);
+
+        int id = reserve(1);
+        insert(id, vector, offset);
+
+        return id;
+    }
+
+    /**
+     * Adds every row of a matrix, in parallel. Row <code>i</code> gets the id <code>first + i</code>.
+     * @param vectors the vectors, as a <code>[vectors, dimension]</code> matrix
+     * @return the id of the first row
+     */
+    public int addAll(Tensor vectors) {
+        if (vectors.dimension() != 2 || vectors.shape()[1] != dimension) {
+            throw new IllegalArgumentException("Vectors must be a [vectors, " + dimension + "] matrix");
+        }
+
+        int rows = vectors.shape()[0];
+        int first = reserve(rows);
+        float[] data = vectors.getData();
+
+        pool.invoke(new RangeAction(0, rows, 1, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                insert(first + i, data, i * dimension);
+            }
+        }));
+
+        return first;
+    }
+
+    /**
+     * Gets a copy of a stored vector. Vectors of a cosine index are returned normalized.
+     */
+    public Tensor get(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IndexOutOfBoundsException("Id " + id + " is out of bounds [0, " + size() + ")");
+        }
+
+        float[] chunk = vectors[id >>> CHUNK_BITS];
+        int offset = (id & CHUNK_MASK) * dimension;
+
+        return Tensors.of(new int[] { dimension }, Arrays.copyOfRange(chunk, offset, offset + dimension));
+    }
+
+    /**
+     * Finds the approximate <code>k</code> nearest neighbours of a query.
+     * @return the neighbours, closest first
+     */
+    public List<SearchResult> search(Tensor query, int k) {
+        checkLength(query.elements());
+        return search(query.getData(), 0, k);
+    }
+
+    /**
+     * Searches the neighbours of every row of a matrix, in parallel.
+     * @param queries the queries, as a <code>[queries, dimension]</code> matrix
+     * @param k the amount of neighbours per query
+     * @return the neighbours of each query, closest first
+     */
+    public List<List<SearchResult>> searchAll(Tensor queries, int k) {
+        if (queries.dimension() != 2 || queries.shape()[1] != dimension) {
+            throw new IllegalArgumentException("Queries must be a [queries, " + dimension + "] matrix");
+        }
+
+        int rows = queries.shape()[0];
+        float[] data = queries.getData();
+
+        // set never changes the structure of the list, so workers can fill distinct slots concurrently
+        List<List<SearchResult>> results = new ArrayList<>(Collections.nCopies(rows, null));
+
+        RangeAction action = new RangeAction(0, rows, PARALLEL_QUERIES_THRESHOLD, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                results.set(i, search(data, i * dimension, k));
+            }
+        });
+
+        if (rows <= PARALLEL_QUERIES_THRESHOLD) {
+            action.compute();
+        } else {
+            pool.invoke(action);
+        }
+
+        return results;
+    }
+
+    private List<SearchResult> search(float[] data, int offset, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+
+        int entry = entryPoint;
+        if (entry < 0) return List.of();
+
+        float[] query = Arrays.copyOfRange(data, offset, offset + dimension);
+        metric.prepare(query, 0, dimension);
+
+        SearchContext context = contexts.get();
+        int level = levels[entry];
+
+        for (int l = level; l > 0; l--) {
+            entry = greedy(query, entry, l, context);
+        }
+
+        NodeQueue found = searchLayer(query, entry, Math.max(efSearch, k), 0, context);
+        long[] keys = found.drainAscending();
+
+        List<SearchResult> results = new ArrayList<>(Math.min(k, keys.length));
+
+        for (int i = 0; i < keys.length && i < k; i++) {
+            results.add(new SearchResult(NodeQueue.node(keys[i]), NodeQueue.distance(keys[i])));
+        }
+
+        return results;
+    }
+
+    private int reserve(int count) {
+        int first;
+
+        do {
+            first = size.get();
+
+            if (first + (long) count > capacity) {
+                throw new IllegalStateException("The index is full, its capacity is " + capacity);
+            }
+        } while (!size.compareAndSet(first, first + count));
+
+        return first;
+    }
+
+    private void checkLength(int length) {
+        if (length < dimension) {
+            throw new IllegalArgumentException("Vector has " + length + " elements, expected " + dimension);
+        }
+    }
+
+    private void insert(int id, float[] source, int offset) {
+        int chunk = id >>> CHUNK_BITS;
+
+        ensureChunk(chunk);
+
+        float[] vectorChunk = vectors[chunk];
+        int vectorOffset = (id & CHUNK_MASK) * dimension;
+
+        System.arraycopy(source, offset, vectorChunk, vectorOffset, dimension);
+        metric.prepare(vectorChunk, vectorOffset, dimension);
+
+        double uniform = Philox.uniform(seed, LEVEL_STREAM, id);
+        int level = (int) Math.min(MAX_LEVEL, -Math.log(1 - uniform) * levelFactor);
+
+        synchronized (lock(id)) {
+            levels[id] = (byte) level;
+
+            if (level > 0) {
+                upperLinks[id] = new int[level * (maxLinks + 1)];
+            }
+        }
+
+        int entry;
+        int topLevel;
+
+        synchronized (entryLock) {
+            entry = entryPoint;
+            topLevel = maxLevel;
+
+            if (entry < 0) {
+                entryPoint = id;
+                maxLevel = level;
+                return;
+            }
+        }
+
+        float[] query = Arrays.copyOfRange(vectorChunk, vectorOffset, vectorOffset + dimension);
+        SearchContext context = contexts.get();
+
+        for (int l = topLevel; l > level; l--) {
+            entry = greedy(query, entry, l, context);
+        }
+
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            NodeQueue found = searchLayer(query, entry, efConstruction, l, context);
+            long[] candidates = found.drainAscending();
+
+            int limit = l == 0 ? maxBottomLinks : maxLinks;
+            long[] selected = selectNeighbours(candidates, Math.min(maxLinks, limit));
+
+            synchronized (lock(id)) {
+                int[] links = linkArray(id, l);
+                int base = linkOffset(id, l);
+
+                for (int i = 0; i < selected.length; i++) {
+                    links[base + 1 + i] = NodeQueue.node(selected[i]);
+                }
+
+                links[base] = selected.length;
+            }
+
+            for (long key : selected) {
+                connect(NodeQueue.node(key), id, NodeQueue.distance(key), l, limit);
+            }
+
+            entry = NodeQueue.node(candidates[0]);
+        }
+
+        if (level > topLevel) {
+            synchronized (entryLock) {
+                if (level > maxLevel) {
+                    maxLevel = level;
+                    entryPoint = id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a link from <code>node</code> to <code>target</code>, pruning the links of <code>node</code>
+     * with the selection heuristic when they are full.
+     */
+    private void connect(int node, int target, float distance, int level, int limit) {
+        synchronized (lock(node)) {
+            int[] links = linkArray(node, level);
+            int base = linkOffset(node, level);
+            int count = links[base];
+
+            if (count < limit) {
+                links[base + 1 + count] = target;
+                links[base] = count + 1;
+                return;
+            }
+
+            long[] candidates = new long[count + 1];
+
+            for (int i = 0; i < count; i++) {
+                int neighbour = links[base + 1 + i];
+                candidates[i] = NodeQueue.encode(distance(node, neighbour), neighbour);
+            }
+
+            candidates[count] = NodeQueue.encode(distance, target);
+            Arrays.sort(candidates);
+
+            long[] selected = selectNeighbours(candidates, limit);
+
+            for (int i = 0; i < selected.length; i++) {
+                links[base + 1 + i] = NodeQueue.node(selected[i]);
+            }
+
+            links[base] = selected.length;
+        }
+    }
+
+    /**
+     * Keeps a candidate only if it is closer to the base vector than to every candidate kept so far,
+     * which spreads the links in different directions.
+     * @param candidates the candidates, closest first
+     */
+    private long[] selectNeighbours(long[] candidates, int limit) {
+        long[] selected = new long[Math.min(limit, candidates.length)];
+        int count = 0;
+
+        for (long candidate : candidates) {
+            if (count == selected.length) break;
+
+            int node = NodeQueue.node(candidate);
+            float distance = NodeQueue.distance(candidate);
+            boolean diverse = true;
+
+            for (int i = 0; i < count && diverse; i++) {
+                diverse = distance(node, NodeQueue.node(selected[i])) >= distance;
+            }
+
+            if (diverse) selected[count++] = candidate;
+        }
+
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    private int greedy(float[] query, int entry, int level, SearchContext context) {
+        int current = entry;
+        float best = distance(query, current);
+        boolean improved = true;
+
+        while (improved) {
+            improved = false;
+
+            int count = copyLinks(current, level, context.links);
+
+            for (int i = 0; i < count; i++) {
+                int neighbour = context.links[i];
+                float distance = distance(query, neighbour);
+
+                if (distance < best) {
+                    best = distance;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private NodeQueue searchLayer(float[] query, int entry, int ef, int level, SearchContext context) {
+        context.nextVisit();
+
+        NodeQueue candidates = context.candidates;
+        NodeQueue results = new NodeQueue(ef + 1, true);
+
+        candidates.clear();
+
+        long start = NodeQueue.encode(distance(query, entry), entry);
+
+        candidates.push(start);
+        results.push(start);
+        context.visit(entry);
+
+        while (!candidates.isEmpty()) {
+            long closest = candidates.pop();
+
+            if (results.size() >= ef && NodeQueue.distance(closest) > NodeQueue.distance(results.peek())) break;
+
+            int count = copyLinks(NodeQueue.node(closest), level, context.links);
+
+            for (int i = 0; i < count; i++) {
+                int neighbour = context.links[i];
+
+                if (!context.visit(neighbour)) continue;
+
+                float distance = distance(query, neighbour);
+
+                if (results.size() < ef || distance < NodeQueue.distance(results.peek())) {
+                    long key = NodeQueue.encode(distance, neighbour);
+
+                    candidates.push(key);
+                    results.push(key);
+
+                    if (results.size() > ef) results.pop();
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Copies the links of a node under its lock, which also makes the vectors of the linked nodes visible.
+     * @return the amount of links
+     */
+    private int copyLinks(int node, int level, int[] buffer) {
+        synchronized (lock(node)) {
+            if (level > levels[node]) return 0;
+
+            int[] links = linkArray(node, level);
+            int base = linkOffset(node, level);
+            int count = links[base];
+
+            System.arraycopy(links, base + 1, buffer, 0, count);
+            return count;
+        }
+    }
+
+    private int[] linkArray(int node, int level) {
+        return level == 0 ? bottomLinks[node >>> CHUNK_BITS] : upperLinks[node];
+    }
+
+    private int linkOffset(int node, int level) {
+        return level == 0 ? (node & CHUNK_MASK) * (maxBottomLinks + 1) : (level - 1) * (maxLinks + 1);
+    }
+
+    private Object lock(int node) {
+        return locks[node & (LOCK_STRIPES - 1)];
+    }
+
+    private float distance(float[] query, int node) {
+        return metric.distance(query, 0, vectors[node >>> CHUNK_BITS], (node & CHUNK_MASK) * dimension, dimension);
+    }
+
+    private float distance(int a, int b) {
+        return metric.distance(
+            vectors[a >>> CHUNK_BITS], (a & CHUNK_MASK) * dimension,
+            vectors[b >>> CHUNK_BITS], (b & CHUNK_MASK) * dimension,
+            dimension
+        );
+    }
+
+    private void ensureChunk(int chunk) {
+        // always taken, so the chunk is published to whoever later reads the links of this vector
+        synchronized (vectors) {
+            if (vectors[chunk] != null) return;
+
+            int nodes = Math.min(CHUNK_SIZE, capacity - (chunk << CHUNK_BITS));
+
+            bottomLinks[chunk] = new int[nodes * (maxBottomLinks + 1)];
+            vectors[chunk] = new float[nodes * dimension];
+        }
+    }
+
+    /**
+     * Saves the index. Must not run concurrently with inserts.
+     * @param path the destination file
+     */
+    public void save(Path path) throws IOException {
+        int nodes = size();
+        int upperLength = 0;
+
+        int[] upperOffsets = new int[nodes];
+
+        for (int i = 0; i < nodes; i++) {
+            upperOffsets[i] = upperLinks[i] == null ? -1 : upperLength;
+            if (upperLinks[i] != null) upperLength += upperLinks[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(MAGIC).putInt(VERSION).putInt(dimension).putInt(metric.ordinal())
+            .putInt(maxLinks).putInt(efConstruction).putInt(nodes).putInt(entryPoint)
+            .putInt(maxLevel).putInt(upperLength).putLong(seed);
+        header.rewind();
+
+        try (FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            long position = HEADER_BYTES;
+
+            for (int start = 0; start < nodes; start += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, nodes - start);
+                float[] chunk = vectors[start >>> CHUNK_BITS];
+
+                position = write(channel, position, chunk, count * dimension);
+            }
+
+            for (int start = 0; start < nodes; start += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, nodes - start);
+                int[] chunk = bottomLinks[start >>> CHUNK_BITS];
+
+                position = write(channel, position, chunk, count * (maxBottomLinks + 1));
+            }
+
+            position = write(channel, position, upperOffsets, nodes);
+
+            for (int i = 0; i < nodes; i++) {
+                if (upperLinks[i] != null) position = write(channel, position, upperLinks[i], upperLinks[i].length);
+            }
+
+            channel.write(ByteBuffer.wrap(levels, 0, nodes), position);
+        }
+    }
+
+    /**
+     * Loads an index saved with {@link #save(Path)}, sized to exactly fit its vectors.
+     */
+    public static HNSWIndex load(Path path) throws IOException {
+        return load(path, 0);
+    }
+
+    /**
+     * Loads an index saved with {@link #save(Path)}.
+     * @param path the source file
+     * @param capacity the capacity of the loaded index, it is raised to the amount of saved vectors if smaller
+     */
+    public static HNSWIndex load(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an HNSW index file: " + path);
+            }
+
+            int version = header.getInt();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported HNSW index version: " + version);
+            }
+
+            int dimension = header.getInt();
+            Metric metric = Metric.values()[header.getInt()];
+            int m = header.getInt();
+            int efConstruction = header.getInt();
+            int nodes = header.getInt();
+            int entryPoint = header.getInt();
+            int maxLevel = header.getInt();
+            int upperLength = header.getInt();
+            long seed = header.getLong();
+
+            HNSWIndex index = new HNSWIndex(dimension, metric, Math.max(1, Math.max(nodes, capacity)), m, efConstruction, seed);
+            long position = HEADER_BYTES;
+
+            for (int start = 0; start < nodes; start += CHUNK_SIZE) {
+                int chunk = start >>> CHUNK_BITS;
+                int count = Math.min(CHUNK_SIZE, nodes - start);
+
+                index.ensureChunk(chunk);
+                position = read(channel, position, index.vectors[chunk], count * dimension);
+            }
+
+            for (int start = 0; start < nodes; start += CHUNK_SIZE) {
+                int count = Math.min(CHUNK_SIZE, nodes - start);
+                position = read(channel, position, index.bottomLinks[start >>> CHUNK_BITS], count * (2 * m + 1));
+            }
+
+            int[] upperOffsets = new int[nodes];
+            int[] upper = new int[upperLength];
+
+            position = read(channel, position, upperOffsets, nodes);
+            position = read(channel, position, upper, upperLength);
+
+            ByteBuffer levels = ByteBuffer.wrap(index.levels, 0, nodes);
+
+            while (levels.hasRemaining()) {
+                if (channel.read(levels, position + levels.position()) < 0) {
+                    throw new IOException("Unexpected end of HNSW index file");
+                }
+            }
+
+            for (int i = 0; i < nodes; i++) {
+                if (upperOffsets[i] < 0) continue;
+
+                int length = index.levels[i] * (m + 1);
+                index.upperLinks[i] = Arrays.copyOfRange(upper, upperOffsets[i], upperOffsets[i] + length);
+            }
+
+            index.size.set(nodes);
+            index.entryPoint = entryPoint;
+            index.maxLevel = maxLevel;
+
+            return index;
+        }
+    }
+
+    private static long write(FileChannel channel, long position, float[] data, int length) throws IOException {
+        int segment = (int) (MAX_SEGMENT_BYTES / Float.BYTES);
+
+        for (int start = 0; start < length; start += segment) {
+            int count = Math.min(segment, length - start);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) count * Float.BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(data, start, count);
+
+            position += (long) count * Float.BYTES;
+        }
+
+        return position;
+    }
+
+    private static long write(FileChannel channel, long position, int[] data, int length) throws IOException {
+        int segment = (int) (MAX_SEGMENT_BYTES / Integer.BYTES);
+
+        for (int start = 0; start < length; start += segment) {
+            int count = Math.min(segment, length - start);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) count * Integer.BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(data, start, count);
+
+            position += (long) count * Integer.BYTES;
+        }
+
+        return position;
+    }
+
+    private static long read(FileChannel channel, long position, float[] data, int length) throws IOException {
+        int segment = (int) (MAX_SEGMENT_BYTES / Float.BYTES);
+
+        for (int start = 0; start < length; start += segment) {
+            int count = Math.min(segment, length - start);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Float.BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(data, start, count);
+
+            position += (long) count * Float.BYTES;
+        }
+
+        return position;
+    }
+
+    private static long read(FileChannel channel, long position, int[] data, int length) throws IOException {
+        int segment = (int) (MAX_SEGMENT_BYTES / Integer.BYTES);
+
+        for (int start = 0; start < length; start += segment) {
+            int count = Math.min(segment, length - start);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) count * Integer.BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(data, start, count);
+
+            position += (long) count * Integer.BYTES;
+        }
+
+        return position;
+    }
+
+    @FunctionalInterface
+    private interface RangeBody {
+        void run(int start, int end);
+    }
+
+    private static class RangeAction extends RecursiveAction {
+
+        private final int start;
+        private final int end;
+        private final int threshold;
+        private final RangeBody body;
+
+        private RangeAction(int start, int end, int threshold, RangeBody body) {
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                body.run(start, end);
+                return;
+            }
+
+            int mid = (start + end) >>> 1;
+
+            invokeAll(
+                new RangeAction(start, mid, threshold, body),
+                new RangeAction(mid, end, threshold, body)
+            );
+        }
+    }
+
+    /**
+     * Per-thread scratch space: visit marks stamped with a generation counter, so they never need
+     * clearing, a candidate queue and a buffer for neighbour lists.
+     */
+    private static final class SearchContext {
+
+        private final int[] visited;
+        private final int[] links;
+        private final NodeQueue candidates;
+        private int generation;
+
+        private SearchContext(int capacity, int maxLinks) {
+            this.visited = new int[capacity];
+            this.links = new int[maxLinks];
+            this.candidates = new NodeQueue(256, false);
+        }
+
+        private void nextVisit() {
+            if (++generation == 0) {
+                Arrays.fill(visited, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * Marks a node as visited.
+         * @return true if the node was not visited yet during the current search
+         */
+        private boolean visit(int node) {
+            if (visited[node] == generation) return false;
+
+            visited[node] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.brain4j.core.index;
+
+import org.brain4j.math.tensor.impl.cpu.distance.DistanceKernel;
+import org.brain4j.math.tensor.impl.cpu.distance.ScalarDistanceKernel;
+import org.brain4j.math.tensor.impl.cpu.distance.VectorDistanceKernel;
+
+import java.util.Optional;
+
+/**
+ * The distance used to compare vectors. Smaller distances mean more similar vectors.
+ */
+public enum Metric {
+    /**
+     * The squared euclidean distance.
+     */
+    L2 {
+        @Override
+        public float distance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+            return KERNEL.squaredDistance(a, aOffset, b, bOffset, length);
+        }
+    },
+    /**
+     * The negated dot product, for maximum inner product search.
+     */
+    DOT {
+        @Override
+        public float distance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+            return -KERNEL.dot(a, aOffset, b, bOffset, length);
+        }
+    },
+    /**
+     * One minus the cosine similarity. Vectors are normalized when they are added or queried,
+     * so the distance reduces to a dot product.
+     */
+    COSINE {
+        @Override
+        public float distance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+            return 1 - KERNEL.dot(a, aOffset, b, bOffset, length);
+        }
+    };
+
+    private static final DistanceKernel KERNEL;
+
+    static {
+        Optional<Module> module = ModuleLayer
+                .boot()
+                .findModule("jdk.incubator.vector");
+
+        KERNEL = module.isPresent() ? new VectorDistanceKernel() : new ScalarDistanceKernel();
+    }
+
+    public abstract float distance(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Scales <code>data[offset, offset + length)</code> to unit length if this metric needs it.
+     */
+    public void prepare(float[] data, int offset, int length) {
+        if (this != COSINE) return;
+
+        float norm = (float) Math.sqrt(KERNEL.dot(data, offset, data, offset, length));
+        if (norm == 0) return;
+
+        for (int i = offset; i < offset + length; i++) {
+            data[i] /= norm;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.brain4j.core.index;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of nodes keyed by their distance, packed into longs so that searches do not box.
+ * The upper 32 bits hold the distance mapped to an order preserving int, the lower ones the node.
+ */
+final class NodeQueue {
+
+    private final boolean max;
+    private long[] heap;
+    private int size;
+
+    NodeQueue(int capacity, boolean max) {
+        this.heap = new long[Math.max(capacity, 4)];
+        this.max = max;
+    }
+
+    static long encode(float distance, int node) {
+        int bits = Float.floatToRawIntBits(distance);
+        int sortable = bits ^ ((bits >> 31) & 0x7fffffff);
+
+        return ((long) sortable << 32) | (node & 0xffffffffL);
+    }
+
+    static float distance(long key) {
+        int sortable = (int) (key >> 32);
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7fffffff));
+    }
+
+    static int node(long key) {
+        return (int) key;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(long key) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        long value = max ? ~key : key;
+        int index = size++;
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) break;
+
+            heap[index] = heap[parent];
+            index = parent;
+        }
+
+        heap[index] = value;
+    }
+
+    long peek() {
+        return max ? ~heap[0] : heap[0];
+    }
+
+    long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int index = 0;
+
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) break;
+
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+
+            heap[index] = heap[child];
+            index = child;
+        }
+
+        heap[index] = last;
+        return max ? ~top : top;
+    }
+
+    /**
+     * Drains the queue.
+     * @return the keys, closest first
+     */
+    long[] drainAscending() {
+        long[] result = new long[size];
+
+        if (max) {
+            for (int i = size - 1; i >= 0; i--) result[i] = pop();
+        } else {
+            for (int i = 0; i < result.length; i++) result[i] = pop();
+        }
+
+        return result;
+    }
+}
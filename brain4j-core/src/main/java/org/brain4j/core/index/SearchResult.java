@@ -0,0 +1,9 @@
+package org.brain4j.core.index;
+
+/**
+ * A neighbour found by a search.
+ * @param id the id the vector was given when it was added
+ * @param distance the distance from the query, according to the metric of the index
+ */
+public record SearchResult(int id, float distance) {
+}
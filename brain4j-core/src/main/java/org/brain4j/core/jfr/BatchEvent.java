@@ -0,0 +1,26 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brain4j.Batch")
+@Label("Training Batch")
+@Category({"Brain4J", "Training"})
+@Description("Forward pass, backward pass and weight update of a single batch")
+@StackTrace(false)
+public class BatchEvent extends Event {
+
+    @Label("Input Shape")
+    public String inputShape;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Static Execution")
+    @Description("Whether the step replayed a captured execution plan")
+    public boolean staticExecution;
+}
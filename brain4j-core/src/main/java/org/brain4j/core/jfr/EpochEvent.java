@@ -0,0 +1,28 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brain4j.Epoch")
+@Label("Epoch")
+@Category({"Brain4J", "Training"})
+@Description("A full pass over the training data")
+@StackTrace(false)
+public class EpochEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Epoch")
+    public int epoch;
+
+    @Label("Total Epochs")
+    public int epochs;
+
+    @Label("Samples")
+    public int samples;
+}
@@ -0,0 +1,31 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Disabled by default, since a model emits one for every layer of every batch.
+ * Enable it with <code>-XX:StartFlightRecording:+org.brain4j.LayerBackward#enabled=true</code> or in a .jfc file.
+ */
+@Name("org.brain4j.LayerBackward")
+@Label("Layer Backward")
+@Category({"Brain4J", "Layers"})
+@Description("The backward pass of a single layer")
+@StackTrace(false)
+@Enabled(false)
+public class LayerBackwardEvent extends Event {
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Index")
+    public int index;
+
+    @Label("Delta Shape")
+    public String deltaShape;
+}
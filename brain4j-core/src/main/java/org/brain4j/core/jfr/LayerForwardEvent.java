@@ -0,0 +1,37 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Disabled by default, since a model emits one for every layer of every batch.
+ * Enable it with <code>-XX:StartFlightRecording:+org.brain4j.LayerForward#enabled=true</code> or in a .jfc file.
+ */
+@Name("org.brain4j.LayerForward")
+@Label("Layer Forward")
+@Category({"Brain4J", "Layers"})
+@Description("The forward pass of a single layer")
+@StackTrace(false)
+@Enabled(false)
+public class LayerForwardEvent extends Event {
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Index")
+    public int index;
+
+    @Label("Input Shape")
+    public String inputShape;
+
+    @Label("Output Shape")
+    public String outputShape;
+
+    @Label("Training")
+    public boolean training;
+}
@@ -0,0 +1,32 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.brain4j.ModelIO")
+@Label("Model Save/Load")
+@Category({"Brain4J", "Serialization"})
+@Description("A model written to or read from a file")
+public class ModelIOEvent extends Event {
+
+    @Label("Operation")
+    @Description("save or load")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Adapter")
+    public String adapter;
+
+    @Label("Model")
+    public String model;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+}
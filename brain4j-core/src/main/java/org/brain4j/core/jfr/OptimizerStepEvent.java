@@ -0,0 +1,28 @@
+package org.brain4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brain4j.OptimizerStep")
+@Label("Optimizer Step")
+@Category({"Brain4J", "Training"})
+@Description("Application of the accumulated gradients to the weights of a model")
+@StackTrace(false)
+public class OptimizerStepEvent extends Event {
+
+    @Label("Optimizer")
+    public String optimizer;
+
+    @Label("Updater")
+    public String updater;
+
+    @Label("Learning Rate")
+    public double learningRate;
+
+    @Label("Samples")
+    public int samples;
+}
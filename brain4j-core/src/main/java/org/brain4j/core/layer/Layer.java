@@ -9,15 +9,22 @@ import org.brain4j.core.training.updater.Updater;
 import org.brain4j.math.Brain4JUtils;
 import org.brain4j.math.activation.Activation;
 import org.brain4j.math.activation.Activations;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class Layer implements BinarySerializable {
 
+    /**
+     * @deprecated layers are numbered by their model, see {@link org.brain4j.core.model.Model#getTotalLayers()}
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     protected static int totalLayers = 0;
 
     protected WeightInitializer weightInit;
@@ -29,7 +36,8 @@ public abstract class Layer implements BinarySerializable {
     protected Activation activation;
     protected Tensor weights;
     protected Tensor bias;
-    protected int id;
+    protected boolean checkpoint;
+    protected int id = -1;
 
     public Layer() {
         this(0, Activations.LINEAR);
@@ -48,7 +56,7 @@ public abstract class Layer implements BinarySerializable {
     }
 
     public Layer(int input, Activation activation) {
-        this.id = totalLayers++;
+        totalLayers++;
         this.activation = activation;
         this.bias = Tensors.zeros(input);
         this.weights = Tensors.zeros(0);
@@ -58,6 +66,11 @@ public abstract class Layer implements BinarySerializable {
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * Gets the amount of layers created in this JVM, which bounds the ids of the layers of any model.
+     * @deprecated use {@link org.brain4j.core.model.Model#getTotalLayers()} to size the state of a model
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public static int getTotalLayers() {
         return totalLayers;
     }
@@ -147,15 +160,12 @@ public abstract class Layer implements BinarySerializable {
         int input = previous.getTotalNeurons();
         int output = this.getTotalNeurons();
 
-        for (int i = 0; i < bias.elements(); i++) {
-            bias.getData()[i] = (float) (generator.nextDouble(2 * bound) - bound);
-        }
+        long seed = generator.nextLong();
 
         this.weights = Tensors.matrix(input, output);
 
-        for (int i = 0; i < weights.elements(); i++) {
-            weights.getData()[i] = (float) (generator.nextDouble(2 * bound) - bound);
-        }
+        Philox.fillUniform(weights.getData(), seed, 0, (float) -bound, (float) bound, ForkJoinPool.commonPool());
+        Philox.fillUniform(bias.getData(), seed, 1, (float) -bound, (float) bound, ForkJoinPool.commonPool());
     }
 
     public abstract Tensor forward(
@@ -181,6 +191,27 @@ public abstract class Layer implements BinarySerializable {
         return bias;
     }
 
+    public void setWeights(Tensor weights) {
+        this.weights = weights;
+    }
+
+    public void setBias(Tensor bias) {
+        this.bias = bias;
+    }
+
+    public boolean isCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Marks this layer as an activation checkpoint: its input is kept during training,
+     * while the activations of the following layers are recomputed in the backward pass.
+     * @param checkpoint whether this layer is a checkpoint
+     */
+    public void setCheckpoint(boolean checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
     public int getTotalWeights() {
         return weights.elements();
     }
@@ -189,7 +220,24 @@ public abstract class Layer implements BinarySerializable {
         return bias.elements();
     }
 
+    /**
+     * Gets the index of this layer inside its model, used to address the per-layer state kept in caches,
+     * updaters and optimizers. Nested layers are numbered after the top-level ones.
+     * @return the index, or -1 if the layer was not added to a model yet
+     */
     public int getId() {
         return id;
     }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the layers owned by this layer, which keep their own state in the caches of the model.
+     * @return the nested layers, empty by default
+     */
+    public List<Layer> getSubLayers() {
+        return List.of();
+    }
 }
@@ -4,6 +4,7 @@ import org.brain4j.core.clipping.GradientClipper;
 import org.brain4j.core.clipping.impl.HardClipper;
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.structure.StatesCache;
+import org.brain4j.core.training.parallel.GradientBuffer;
 import org.brain4j.math.activation.Activations;
 import org.brain4j.math.tensor.Tensor;
 
@@ -87,10 +88,21 @@ public class DenseLayer extends Layer {
         Tensor gradient = optimizer.optimize(this, deltaThisLayer, input); // [n_in x n_out]
         Tensor biasGradient = deltaThisLayer.sum(0, false); // [n_out]
 
-        clipper.clip(gradient);
-        clipper.clip(biasGradient);
+        GradientBuffer buffer = GradientBuffer.current();
+
+        if (buffer != null && buffer.isClippingDeferred()) {
+            // clipping the gradients of a shard would make the update depend on the amount of workers
+            buffer.deferClipping(this, clipper);
+        } else {
+            clipper.clip(gradient);
+            clipper.clip(biasGradient);
+        }
 
         updater.acknowledgeChange(this, gradient, biasGradient);
         return deltaThisLayer;
     }
+
+    public GradientClipper getClipper() {
+        return clipper;
+    }
 }
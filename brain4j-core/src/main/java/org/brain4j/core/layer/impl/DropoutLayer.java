@@ -2,22 +2,32 @@ package org.brain4j.core.layer.impl;
 
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.structure.StatesCache;
+import org.brain4j.core.training.parallel.GradientBuffer;
 import org.brain4j.math.activation.Activations;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.Random;
-import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a Dropout layer, it's used to mitigate overfitting by randomly deactivating a fraction of the neurons
- * during training.
- * When inferencing, the label gets scaled by {@code 1 - dropout}.
+ * during training. The kept neurons are scaled by {@code 1 / (1 - dropout)}, so inference leaves the input untouched.
+ * <p>
+ * Masks are drawn from a counter-based generator: every training call gets its own stream, and the mask of a call
+ * only depends on the seed and on that stream. Concurrent batches never share a generator state, and a mask can
+ * be regenerated with {@link #mask(long, int)} instead of being stored. Workers of a parallel training step use
+ * the stream of their {@link GradientBuffer}, so their masks do not depend on scheduling.
  */
 public class DropoutLayer extends Layer {
 
-    private final Random fastRandom = Random.from(new SplittableRandom());
+    private final AtomicLong calls = new AtomicLong();
+    private long seed = ThreadLocalRandom.current().nextLong();
     private double dropout;
 
     public DropoutLayer() {
@@ -62,9 +72,16 @@ public class DropoutLayer extends Layer {
         return false;
     }
 
+    @Override
+    public void connect(Random generator, Layer previous, double bound) {
+        super.connect(generator, previous, bound);
+        this.seed = generator.nextLong();
+    }
+
     /**
-     * Applies the dropout to the input tensor. This method will randomly set to 0 random values from the input tensor
-     * during training. Meanwhile it will scale the input tensor by {@code 1 - dropout} during inferencing.
+     * Applies the dropout to the input tensor. During training, this method randomly sets to 0 a fraction of the
+     * values of the input tensor and scales the others by {@code 1 / (1 - dropout)}. During inference, the input
+     * is returned unchanged.
      *
      * @param nextLayer
      * @param index
@@ -79,21 +96,45 @@ public class DropoutLayer extends Layer {
         Tensor input,
         boolean training
     ) {
-        if (training) {
-            return scale(input);
+        if (!training) {
+            return input;
         }
 
-        for (int i = 0; i < input.elements(); i++) {
-            if (fastRandom.nextDouble() > dropout) {
-                continue;
-            }
+        float keep = (float) (1 / (1 - dropout));
+        float rate = (float) dropout;
 
-            input.getData()[i] = 0;
-        }
+        Philox.map(input.getData(), seed, nextStream(), (value, uniform) -> uniform < rate ? 0 : value * keep,
+            ForkJoinPool.commonPool());
 
         return input;
     }
 
+    /**
+     * Claims the stream of the next training call, to be passed to {@link #mask(long, int)} by layers that
+     * apply the mask themselves.
+     * @return the stream of the bound {@link GradientBuffer}, or the index of this call
+     */
+    public long nextStream() {
+        GradientBuffer buffer = GradientBuffer.current();
+        return buffer != null ? buffer.getRandomStream() : calls.getAndIncrement();
+    }
+
+    /**
+     * Regenerates the mask applied by a previous training call.
+     * @param stream the index of the training call, starting from 0
+     * @param elements the number of elements of the input
+     * @return a tensor holding 0 for the dropped elements and 1 for the kept ones
+     */
+    public Tensor mask(long stream, int elements) {
+        Tensor mask = Tensors.ones(elements);
+        float rate = (float) dropout;
+
+        Philox.map(mask.getData(), seed, stream, (value, uniform) -> uniform < rate ? 0 : value,
+            ForkJoinPool.commonPool());
+
+        return mask;
+    }
+
     /**
      * Scales the input tensor by {@code 1 - input}.
      * @param input The input tensor.
@@ -85,6 +85,10 @@ public class LayerNorm extends Layer {
         return result;
     }
 
+    public double getEpsilon() {
+        return epsilon;
+    }
+
     public Tensor normalize1D(Tensor input) {
         double mean = input.mean();
         double variance = input.variance();
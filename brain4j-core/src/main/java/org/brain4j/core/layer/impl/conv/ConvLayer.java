@@ -4,12 +4,14 @@ import org.brain4j.core.layer.Layer;
 import org.brain4j.core.structure.StatesCache;
 import org.brain4j.math.activation.Activation;
 import org.brain4j.math.activation.Activations;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class ConvLayer extends Layer {
 
@@ -26,7 +28,6 @@ public class ConvLayer extends Layer {
     }
 
     public ConvLayer(Activation activation, int filters, int filtersWidth, int filtersHeight, int padding, int stride) {
-        this.id = totalLayers++;
         this.activation = activation;
         this.filters = filters;
         this.filtersWidth = filtersWidth;
@@ -52,13 +53,10 @@ public class ConvLayer extends Layer {
 
         this.bias = Tensors.matrix(channels, filtersHeight, filtersWidth);
 
-        for (int i = 0; i < bias.elements(); i++) {
-            bias.getData()[i] = (float) (2 * generator.nextDouble() - 1);
-        }
+        long seed = generator.nextLong();
 
-        for (int i = 0; i < weights.elements(); i++) {
-            weights.getData()[i] = (float) (2 * generator.nextDouble() - 1);
-        }
+        Philox.fillUniform(weights.getData(), seed, 0, -1, 1, ForkJoinPool.commonPool());
+        Philox.fillUniform(bias.getData(), seed, 1, -1, 1, ForkJoinPool.commonPool());
     }
 
     @Override
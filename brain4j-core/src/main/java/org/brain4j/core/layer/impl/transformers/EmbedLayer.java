@@ -2,6 +2,7 @@ package org.brain4j.core.layer.impl.transformers;
 
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.structure.StatesCache;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 import org.brain4j.math.tensor.index.Range;
@@ -11,6 +12,7 @@ import java.io.DataOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class EmbedLayer extends Layer {
 
@@ -54,12 +56,7 @@ public class EmbedLayer extends Layer {
     ) {
         this.weights = Tensors.matrix(vocabSize, embeddingDim);
 
-        for (int i = 0; i < vocabSize; i++) {
-            for (int j = 0; j < embeddingDim; j++) {
-                double value = generator.nextDouble(2) - 1;
-                this.weights.set(value, i, j);
-            }
-        }
+        Philox.fillUniform(weights.getData(), generator.nextLong(), 0, -1, 1, ForkJoinPool.commonPool());
 
         this.embeddings = Tensors.toList(weights);
     }
@@ -9,6 +9,7 @@ import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.training.optimizer.Optimizer;
 import org.brain4j.core.training.updater.Updater;
 import org.brain4j.core.transformers.attention.MultiHeadAttention;
+import org.brain4j.core.transformers.head.AttentionHead;
 import org.brain4j.math.activation.Activations;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
@@ -16,7 +17,9 @@ import org.brain4j.math.tensor.index.Range;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 public class TrEncoder extends Layer {
@@ -90,12 +93,13 @@ public class TrEncoder extends Layer {
         for (int i = 0; i < batchSize; i++) {
             Tensor batch = input.slice(new Range(i, i + 1)).reshape(seqLength, dimension);
 
-            Tensor attended = attention.attend(cache, batch);
+            Tensor attended = attention.attend(cache, this, i, batch);
 
-            if (training) attended = dropout.forward(i, cache, attended, true);
+            if (training) attended = applyDropout(cache, 2 * i, attended);
 
             Tensor attentionOut = normalizer.forward(i, cache, batch.add(attended), training);
-            Tensor cached = cache.getFeedForwardCache(i, this); // [tokens, dimension]
+            // the feed-forward cache only speeds up incremental inference, training always sees full sequences
+            Tensor cached = training ? null : cache.getFeedForwardCache(i, this); // [tokens, dimension]
 
             if (cached == null) cached = Tensors.create(0, embeddingDim);
 
@@ -110,9 +114,9 @@ public class TrEncoder extends Layer {
 
             Tensor stacked = Tensors.stack(cached, downProjected);
 
-            cache.setFeedForwardCache(i, this, stacked);
+            if (!training) cache.setFeedForwardCache(i, this, stacked);
 
-            if (training) stacked = dropout.forward(i, cache, stacked, true);
+            if (training) stacked = applyDropout(cache, 2 * i + 1, stacked);
 
             stacked = normalizer.forward(i, cache, attentionOut.add(stacked), training);
 
@@ -123,9 +127,117 @@ public class TrEncoder extends Layer {
         return result;
     }
 
+    /**
+     * Propagates the gradient of the output of this encoder back to its input, replaying the forward pass
+     * of each sample through the autograd graph: attention, residual connections, layer normalizations,
+     * feed-forward projections and the dropout masks drawn during training.
+     * <p>
+     * The attention projections are not layers, so the optimizer keeps no state for them. Every parameter
+     * of the encoder is therefore stepped in place by plain gradient descent, at the learning rate of the
+     * optimizer and averaged over the batch.
+     * @param delta the gradient of the output, with shape <code>[batch_size, seq_len, dimension]</code>,
+     *              or null if the layers above did not propagate one
+     * @return the gradient of the input, with the same shape
+     */
     @Override
     public Tensor backward(int index, StatesCache cache, Layer previous, Tensor delta) {
-        return null;
+        if (delta == null) return null;
+
+        Tensor input = cache.getInputTensor(id); // [batch_size, seq_len, dimension]
+
+        int[] shape = input.shape();
+
+        int batchSize = shape[0];
+        int seqLength = shape[1];
+        int dimension = shape[2];
+
+        List<AttentionHead> attentionHeads = attention.getHeads();
+        Tensor[][] projections = new Tensor[attentionHeads.size()][];
+
+        for (int h = 0; h < projections.length; h++) {
+            AttentionHead head = attentionHeads.get(h);
+
+            projections[h] = new Tensor[] {
+                head.getQueryWeightsTensor().clone().withGrad(),
+                head.getKeyWeightsTensor().clone().withGrad(),
+                head.getValueWeightsTensor().clone().withGrad()
+            };
+        }
+
+        Tensor upWeights = upProjection.getWeights().clone().withGrad();
+        Tensor upBias = upProjection.getBias().clone().withGrad();
+        Tensor downWeights = downProjection.getWeights().clone().withGrad();
+        Tensor downBias = downProjection.getBias().clone().withGrad();
+
+        // the normalizer does not apply an affine transform
+        Tensor gamma = Tensors.ones(dimension);
+        Tensor beta = Tensors.zeros(dimension);
+        double epsilon = normalizer.getEpsilon();
+
+        Tensor result = Tensors.create(batchSize, seqLength, dimension);
+
+        for (int i = 0; i < batchSize; i++) {
+            Range range = new Range(i, i + 1);
+            Tensor batch = input.slice(range).reshape(seqLength, dimension).withGrad();
+
+            Tensor attended = attention.attendWithGrad(batch, projections);
+            attended = dropoutWithGrad(cache, 2 * i, attended);
+
+            Tensor attentionOut = batch.addWithGrad(attended).layerNormWithGrad(gamma, beta, epsilon);
+
+            Tensor upProjected = project(attentionOut, upWeights, upBias, upProjection);
+            Tensor downProjected = project(upProjected, downWeights, downBias, downProjection);
+            downProjected = dropoutWithGrad(cache, 2 * i + 1, downProjected);
+
+            Tensor output = attentionOut.addWithGrad(downProjected).layerNormWithGrad(gamma, beta, epsilon);
+            output.backward(delta.slice(range).reshape(seqLength, dimension));
+
+            result.setChannel(i, batch.grad());
+        }
+
+        double rate = optimizer.getLearningRate() / batchSize;
+
+        for (int h = 0; h < projections.length; h++) {
+            AttentionHead head = attentionHeads.get(h);
+
+            step(head.getQueryWeightsTensor(), projections[h][0], rate);
+            step(head.getKeyWeightsTensor(), projections[h][1], rate);
+            step(head.getValueWeightsTensor(), projections[h][2], rate);
+        }
+
+        step(upProjection.getWeights(), upWeights, rate);
+        step(upProjection.getBias(), upBias, rate);
+        step(downProjection.getWeights(), downWeights, rate);
+        step(downProjection.getBias(), downBias, rate);
+
+        return result;
+    }
+
+    private Tensor applyDropout(StatesCache cache, int slot, Tensor input) {
+        Tensor mask = dropout.mask(dropout.nextStream(), input.elements())
+            .reshape(input.shape())
+            .mul(1 / (1 - dropout.getDropout()));
+
+        // kept for the backward pass, which replays the same masks
+        cache.setFeedForwardCache(slot, dropout, mask);
+        return input.mul(mask);
+    }
+
+    private Tensor dropoutWithGrad(StatesCache cache, int slot, Tensor input) {
+        Tensor mask = cache.getFeedForwardCache(slot, dropout);
+        return mask == null ? input : input.mulWithGrad(mask);
+    }
+
+    private static Tensor project(Tensor input, Tensor weights, Tensor bias, Layer layer) {
+        int[] shape = { input.shape()[0], bias.elements() };
+
+        return input.matmulWithGrad(weights)
+            .addWithGrad(bias.broadcastWithGrad(shape))
+            .activateWithGrad(layer.getActivation());
+    }
+
+    private static void step(Tensor parameter, Tensor leaf, double rate) {
+        parameter.sub(leaf.grad().mul(rate));
     }
 
     @Override
@@ -134,8 +246,8 @@ public class TrEncoder extends Layer {
 
         DenseLayer dummyLayer = new DenseLayer(embeddingDim, Activations.LINEAR);
 
-        this.downProjection.connect(generator, dummyLayer, bound);
-        this.upProjection.connect(generator, downProjection, bound);
+        this.upProjection.connect(generator, dummyLayer, bound);
+        this.downProjection.connect(generator, upProjection, bound);
     }
 
     @Override
@@ -158,6 +270,19 @@ public class TrEncoder extends Layer {
         return new MultiHeadAttention(heads, embeddingDim);
     }
 
+    @Override
+    public List<Layer> getSubLayers() {
+        List<Layer> layers = new ArrayList<>(4);
+
+        if (upProjection != null) layers.add(upProjection);
+        if (downProjection != null) layers.add(downProjection);
+
+        layers.add(normalizer);
+        layers.add(dropout);
+
+        return layers;
+    }
+
     public MultiHeadAttention getAttention() {
         return attention;
     }
@@ -69,16 +69,26 @@ public class VocabularyMapper extends Layer {
         Tensor delta = outputs.minus(targets); // [batch_size, vocab_size]
         Range range = new Range(seqLength - 1, seqLength);
 
+        // only the last token reaches the projection, the gradient of the others is zero
+        Tensor inputDelta = Tensors.zeros(batchSize, seqLength, dimension);
+        Tensor projection = outProjectionWeights.transpose(); // [vocab_size, dimension]
+
         for (int i = 0; i < batchSize; i++) {
             Tensor batch = input.slice(new Range(i, i + 1)) // [1, seq_len, dimension]
                     .reshape(seqLength, dimension); // [seq_len, dimension]
             Tensor last = batch.slice(range); // [1, dimension]
+            Tensor error = delta.slice(new Range(i, i + 1)); // [1, vocab_size]
+
+            Tensor lastDelta = error.matmul(projection); // [1, dimension]
+            int offset = (i * seqLength + seqLength - 1) * dimension;
+
+            System.arraycopy(lastDelta.getData(), 0, inputDelta.getData(), offset, dimension);
 
-            Tensor gradW = optimizer.optimize(this, delta, last);
+            Tensor gradW = optimizer.optimize(this, error, last);
             outProjectionWeights.sub(gradW);
         }
 
-        return null;
+        return inputDelta;
     }
 
     @Override
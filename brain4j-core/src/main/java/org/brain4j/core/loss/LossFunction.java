@@ -1,6 +1,9 @@
 package org.brain4j.core.loss;
 
 import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.Arrays;
 
 /**
  * Also known as cost function, measures the model's performance and is minimized during training.
@@ -9,5 +12,34 @@ public interface LossFunction {
 
     double calculate(Tensor actual, Tensor predicted);
 
+    /**
+     * Computes the loss of every row of a batch, as {@link #calculate(Tensor, Tensor)} would for each row,
+     * and sums them up.
+     * @param actual the expected values, shaped <code>[batch_size, ...]</code>
+     * @param predicted the predicted values, with the same shape
+     * @return the sum of the losses of the rows
+     */
+    default double calculateBatch(Tensor actual, Tensor predicted) {
+        int rows = actual.shape()[0];
+        int columns = actual.elements() / rows;
+
+        float[] expected = actual.getData();
+        float[] output = predicted.getData();
+
+        double total = 0;
+
+        for (int i = 0; i < rows; i++) {
+            int from = i * columns;
+            int to = from + columns;
+
+            total += calculate(
+                Tensors.vector(Arrays.copyOfRange(expected, from, to)),
+                Tensors.vector(Arrays.copyOfRange(output, from, to))
+            );
+        }
+
+        return total;
+    }
+
     Tensor getDelta(Tensor error, Tensor derivative);
 }
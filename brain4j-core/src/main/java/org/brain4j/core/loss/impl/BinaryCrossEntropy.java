@@ -17,6 +17,23 @@ public class BinaryCrossEntropy implements LossFunction {
         return loss / actual.elements();
     }
 
+    @Override
+    public double calculateBatch(Tensor actual, Tensor predicted) {
+        int columns = actual.elements() / actual.shape()[0];
+        return sum(actual.getData(), predicted.getData()) / columns;
+    }
+
+    private static double sum(float[] actual, float[] predicted) {
+        double loss = 0.0;
+
+        for (int i = 0; i < actual.length; i++) {
+            double p = Math.max(Math.min(predicted[i], 1 - 1e-15), 1e-15);
+            loss += -actual[i] * Math.log(p) - (1 - actual[i]) * Math.log(1 - p);
+        }
+
+        return loss;
+    }
+
     @Override
     public Tensor getDelta(Tensor error, Tensor derivative) {
         return error;
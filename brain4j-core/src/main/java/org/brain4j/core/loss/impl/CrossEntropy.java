@@ -16,6 +16,23 @@ public class CrossEntropy implements LossFunction {
         return loss / actual.elements();
     }
 
+    @Override
+    public double calculateBatch(Tensor actual, Tensor predicted) {
+        int columns = actual.elements() / actual.shape()[0];
+        return sum(actual.getData(), predicted.getData()) / columns;
+    }
+
+    private static double sum(float[] actual, float[] predicted) {
+        double loss = 0.0;
+
+        for (int i = 0; i < actual.length; i++) {
+            // one-hot targets are mostly zeros, which contribute nothing
+            if (actual[i] != 0) loss -= actual[i] * Math.log(predicted[i] + 1e-15);
+        }
+
+        return loss;
+    }
+
     @Override
     public Tensor getDelta(Tensor error, Tensor derivative) {
         return error;
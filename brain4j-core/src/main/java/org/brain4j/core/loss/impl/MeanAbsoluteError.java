@@ -16,6 +16,22 @@ public class MeanAbsoluteError implements LossFunction {
         return loss / actual.elements();
     }
 
+    @Override
+    public double calculateBatch(Tensor actual, Tensor predicted) {
+        int columns = actual.elements() / actual.shape()[0];
+        return sum(actual.getData(), predicted.getData()) / columns;
+    }
+
+    private static double sum(float[] actual, float[] predicted) {
+        double loss = 0.0;
+
+        for (int i = 0; i < actual.length; i++) {
+            loss += Math.abs(actual[i] - predicted[i]);
+        }
+
+        return loss;
+    }
+
     @Override
     public Tensor getDelta(Tensor error, Tensor derivative) {
         return error.map(Math::signum);
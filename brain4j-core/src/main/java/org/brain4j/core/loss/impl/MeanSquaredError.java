@@ -16,6 +16,23 @@ public class MeanSquaredError implements LossFunction {
         return loss / actual.elements();
     }
 
+    @Override
+    public double calculateBatch(Tensor actual, Tensor predicted) {
+        int columns = actual.elements() / actual.shape()[0];
+        return sum(actual.getData(), predicted.getData()) / columns;
+    }
+
+    private static double sum(float[] actual, float[] predicted) {
+        double loss = 0.0;
+
+        for (int i = 0; i < actual.length; i++) {
+            double error = actual[i] - predicted[i];
+            loss += error * error;
+        }
+
+        return loss;
+    }
+
     @Override
     public Tensor getDelta(Tensor error, Tensor derivative) {
         return error.mul(derivative);
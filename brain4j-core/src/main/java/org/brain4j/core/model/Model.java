@@ -6,6 +6,9 @@ import org.brain4j.core.serializing.ModelAdapter;
 import org.brain4j.core.serializing.impl.BrainFormatAdapter;
 import org.brain4j.core.initialization.WeightInit;
 import org.brain4j.core.initialization.WeightInitializer;
+import org.brain4j.core.jfr.EpochEvent;
+import org.brain4j.core.jfr.LayerForwardEvent;
+import org.brain4j.core.jfr.ModelIOEvent;
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.loss.Loss;
 import org.brain4j.core.loss.LossFunction;
@@ -19,18 +22,23 @@ import org.brain4j.core.training.updater.Updater;
 import org.brain4j.core.training.updater.impl.StochasticUpdater;
 import org.brain4j.math.Brain4JUtils;
 import org.brain4j.math.Pair;
-import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.anomaly.AnomalyDetector;
+import org.brain4j.math.data.DataSource;
+import org.brain4j.math.data.Normalizer;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
-import org.brain4j.math.tensor.index.Range;
+import org.brain4j.math.tensor.autograd.NoGradScope;
 import org.brain4j.math.vector.Vector;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.text.DecimalFormat;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static org.brain4j.math.constants.Constants.*;
 
@@ -50,10 +58,42 @@ public abstract class Model implements BinarySerializable {
     protected Optimizer optimizer;
     protected Updater updater;
     protected Random generator;
+    protected int checkpointInterval;
+    protected boolean staticExecution;
     protected int seed;
+    protected int totalLayers;
+    protected Normalizer normalizer;
 
     public Model(Layer... layers) {
         this.layers = new ArrayList<>(Arrays.asList(layers));
+        indexLayers();
+    }
+
+    /**
+     * Numbers the layers of this model: top-level layers get their position, nested layers
+     * follow in depth-first order. Caches, updaters and optimizers are sized to that amount.
+     */
+    protected void indexLayers() {
+        for (int i = 0; i < layers.size(); i++) {
+            layers.get(i).setId(i);
+        }
+
+        int next = layers.size();
+
+        for (Layer layer : layers) {
+            next = indexSubLayers(layer, next);
+        }
+
+        this.totalLayers = next;
+    }
+
+    private int indexSubLayers(Layer layer, int next) {
+        for (Layer subLayer : layer.getSubLayers()) {
+            subLayer.setId(next++);
+            next = indexSubLayers(subLayer, next);
+        }
+
+        return next;
     }
 
     public void connect(WeightInitializer weightInit) {
@@ -76,15 +116,12 @@ public abstract class Model implements BinarySerializable {
                 previous = layer;
             }
         }
-    }
 
-    public abstract Thread makeEvaluation(
-        Pair<Tensor, Tensor> batch,
-        Map<Integer, Tensor> classifications,
-        AtomicReference<Double> totalLoss
-    );
+        // compiling may replace nested layers
+        indexLayers();
+    }
 
-    public abstract void fit(ListDataSource dataSource);
+    public abstract void fit(DataSource dataSource);
 
     public abstract Tensor predict(
         StatesCache cache,
@@ -95,7 +132,7 @@ public abstract class Model implements BinarySerializable {
     @Deprecated(since = "2.8.0", forRemoval = true)
     public Vector predict(Vector input) {
         Tensor tensor = Tensors.vector(input.toArray());
-        Tensor output = predict(new StatesCache(), tensor, false);
+        Tensor output = predict(new StatesCache(this), tensor, false);
 
         return Vector.of(output.getData());
     }
@@ -122,72 +159,204 @@ public abstract class Model implements BinarySerializable {
             instance.deserialize(stream);
             layers.add(instance);
         }
+
+        indexLayers();
     }
 
-    protected Thread predictPartition(Pair<Tensor, Tensor> partition, AtomicReference<Double> totalError) {
+    /**
+     * Evaluates a batch on a new virtual thread.
+     * @deprecated {@link #evaluate(DataSource)} now evaluates every batch through {@link #evaluateBatch},
+     * from a fixed amount of workers.
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
+    public Thread makeEvaluation(
+        Pair<Tensor, Tensor> batch,
+        Map<Integer, Tensor> classifications,
+        AtomicReference<Double> totalLoss
+    ) {
         return Thread.startVirtualThread(() -> {
-            Tensor inputs = partition.first();
-            Tensor targets = partition.second();
-            Tensor outputs = predict(inputs);
+            Tensor expected = batch.second();
+
+            int rows = expected.shape()[0];
+            int classes = Math.max(2, expected.elements() / rows);
 
-            int batchSize = outputs.shape()[0];
+            int[][] confusion = new int[classes][classes];
+            DoubleAdder loss = new DoubleAdder();
 
-            for (int i = 0; i < batchSize; i++) {
-                Range range = new Range(i, i + 1);
+            evaluateBatch(batch, confusion, loss);
+            totalLoss.updateAndGet(v -> v + loss.sum());
 
-                Tensor output = outputs.slice(range).vector();
-                Tensor target = targets.slice(range).vector();
+            if (classifications == null) return;
 
-                double loss = lossFunction.calculate(target, output);
-                totalError.updateAndGet(v -> v + loss);
+            synchronized (classifications) {
+                for (int i = 0; i < classes; i++) {
+                    Tensor predictions = classifications.get(i);
+
+                    for (int j = 0; j < classes; j++) {
+                        predictions.set(predictions.get(j) + confusion[i][j], j);
+                    }
+                }
             }
         });
     }
 
-    public EvaluationResult evaluate(ListDataSource dataSource) {
-        int classes = Math.max(2, dataSource.getSamples().getFirst().label().elements());
-        Map<Integer, Tensor> classifications = new ConcurrentHashMap<>();
+    /**
+     * Computes the loss of a batch on a new virtual thread.
+     * @deprecated {@link #loss(DataSource)} no longer starts a thread for every batch.
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
+    protected Thread predictPartition(Pair<Tensor, Tensor> partition, AtomicReference<Double> totalError) {
+        return Thread.startVirtualThread(() -> {
+            Tensor outputs = predict(partition.first());
+            double loss = lossFunction.calculateBatch(partition.second(), outputs);
+
+            totalError.updateAndGet(v -> v + loss);
+        });
+    }
+
+    /**
+     * Evaluates a batch, counting its predictions in a confusion matrix owned by the calling worker.
+     * @param batch the batch to evaluate
+     * @param confusion the confusion matrix, indexed by actual class and then by predicted class
+     * @param totalLoss the sum of the losses of every sample
+     */
+    protected void evaluateBatch(Pair<Tensor, Tensor> batch, int[][] confusion, DoubleAdder totalLoss) {
+        Tensor expected = batch.second(); // [batch_size, output_size]
+        Tensor prediction = predict(batch.first()); // [batch_size, output_size]
+
+        totalLoss.add(lossFunction.calculateBatch(expected, prediction));
 
-        for (int i = 0; i < classes; i++) {
-            classifications.put(i, Tensors.create(classes));
+        float[] outputs = prediction.getData();
+        float[] targets = expected.getData();
+
+        int rows = prediction.shape()[0];
+        int columns = prediction.elements() / rows;
+
+        for (int i = 0; i < rows; i++) {
+            int offset = i * columns;
+            int predIndex = argmax(outputs, offset, columns);
+            int targetIndex = argmax(targets, offset, columns);
+
+            if (columns == 1) {
+                predIndex = outputs[offset] > 0.5 ? 1 : 0;
+                targetIndex = (int) targets[offset];
+            }
+
+            confusion[targetIndex][predIndex]++;
         }
+    }
+
+    private static int argmax(float[] data, int offset, int length) {
+        int index = 0;
+        float max = Float.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < length; i++) {
+            if (data[offset + i] > max) {
+                max = data[offset + i];
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Runs a task on every batch of a new epoch of the data source, from as many workers as there are
+     * processors. Every worker pulls batches until the epoch is over and owns a state, so results can be
+     * accumulated without contention and merged at the end.
+     * @param dataSource the batches to process
+     * @param stateFactory creates the state of a worker
+     * @param task the task, called with a batch and the state of the worker running it
+     * @return the states of the workers
+     */
+    protected <T> List<T> runWorkers(
+        DataSource dataSource,
+        Supplier<T> stateFactory,
+        BiConsumer<Pair<Tensor, Tensor>, T> task
+    ) {
+        int workers = Runtime.getRuntime().availableProcessors();
 
+        List<T> states = new ArrayList<>();
         List<Thread> threads = new ArrayList<>();
-        AtomicReference<Double> totalLoss = new AtomicReference<>(0.0);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
 
         dataSource.reset();
 
-        while (dataSource.hasNext()) {
-            Pair<Tensor, Tensor> partition = dataSource.nextBatch();
-            threads.add(makeEvaluation(partition, classifications, totalLoss));
+        for (int i = 0; i < workers; i++) {
+            T state = stateFactory.get();
+            states.add(state);
+
+            threads.add(Thread.startVirtualThread(() -> {
+                try {
+                    Pair<Tensor, Tensor> batch;
+
+                    while (failure.get() == null && (batch = nextBatch(dataSource)) != null) {
+                        task.accept(batch, state);
+                        dataSource.recycle(batch);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
         }
 
         Brain4JUtils.waitAll(threads);
 
-        return new EvaluationResult(totalLoss.get() / dataSource.size(), classes, classifications);
+        Throwable error = failure.get();
+
+        if (error instanceof RuntimeException runtime) throw runtime;
+        if (error instanceof Error fatal) throw fatal;
+        if (error != null) throw new IllegalStateException("Evaluation failed", error);
+
+        return states;
     }
 
-    public double loss(ListDataSource dataSource) {
-        AtomicReference<Double> totalError = new AtomicReference<>(0.0);
-        List<Thread> threads = new ArrayList<>();
+    private static Pair<Tensor, Tensor> nextBatch(DataSource dataSource) {
+        synchronized (dataSource) {
+            return dataSource.nextBatch();
+        }
+    }
 
-        dataSource.reset();
+    public EvaluationResult evaluate(DataSource dataSource) {
+        int classes = Math.max(2, Brain4JUtils.elements(dataSource.labelShape()));
+        DoubleAdder totalLoss = new DoubleAdder();
+
+        List<int[][]> matrices = runWorkers(
+            dataSource,
+            () -> new int[classes][classes],
+            (batch, confusion) -> evaluateBatch(batch, confusion, totalLoss)
+        );
 
-        while (dataSource.hasNext()) {
-            Pair<Tensor, Tensor> partition = dataSource.nextBatch();
-            threads.add(predictPartition(partition, totalError));
+        int[][] confusion = new int[classes][classes];
+
+        for (int[][] matrix : matrices) {
+            for (int i = 0; i < classes; i++) {
+                for (int j = 0; j < classes; j++) {
+                    confusion[i][j] += matrix[i][j];
+                }
+            }
         }
 
-        Brain4JUtils.waitAll(threads);
-        return totalError.get() / dataSource.size();
+        return new EvaluationResult(totalLoss.sum() / dataSource.size(), classes, confusion);
+    }
+
+    public double loss(DataSource dataSource) {
+        DoubleAdder totalLoss = new DoubleAdder();
+
+        runWorkers(dataSource, () -> null, (batch, state) -> {
+            Tensor outputs = predict(batch.first());
+            totalLoss.add(lossFunction.calculateBatch(batch.second(), outputs));
+        });
+
+        return totalLoss.sum() / dataSource.size();
     }
 
-    public void fit(ListDataSource dataSource, int epoches) {
+    public void fit(DataSource dataSource, int epoches) {
         fit(dataSource, epoches, Integer.MAX_VALUE);
     }
 
     public void fit(
-        ListDataSource dataSource,
+        DataSource dataSource,
         int epoches,
         int evaluateEvery
     ) {
@@ -195,24 +364,37 @@ public abstract class Model implements BinarySerializable {
     }
 
     public void fit(
-        ListDataSource trainSource,
-        ListDataSource testSource,
+        DataSource trainSource,
+        DataSource testSource,
         int epoches
     ) {
         fit(trainSource, testSource, epoches, Integer.MAX_VALUE);
     }
 
     public void fit(
-        ListDataSource trainSource,
-        ListDataSource testSource,
+        DataSource trainSource,
+        DataSource testSource,
         int epoches,
         int evaluateEvery
     ) {
         for (int i = 1; i <= epoches; i++) {
+            EpochEvent event = new EpochEvent();
+            event.begin();
+
             long start = System.nanoTime();
             propagation.iteration(trainSource);
             long tookNanos = System.nanoTime() - start;
 
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.model = getClass().getSimpleName();
+                event.epoch = i;
+                event.epochs = epoches;
+                event.samples = trainSource.size();
+                event.commit();
+            }
+
             if (Brain4J.isLogging()) {
                 printProgressBar(tookNanos / 1e6, i, epoches, evaluateEvery);
             }
@@ -226,9 +408,9 @@ public abstract class Model implements BinarySerializable {
     public void printEvaluation(
         int step,
         int epoches,
-        ListDataSource testSource
+        DataSource testSource
     ) {
-        EvaluationResult result = evaluate(testSource.clone());
+        EvaluationResult result = evaluate(testSource);
 
         String lossMsg = "Loss: " + MAGENTA + "%.4f" + RESET;
         String accuracyMsg = "Accuracy: " + LIGHT_BLUE + "%.2f%%" + RESET;
@@ -277,11 +459,17 @@ public abstract class Model implements BinarySerializable {
     }
 
     public Tensor predict(StatesCache cache, Tensor input) {
-        return predict(cache, input, false);
+        NoGradScope scope = Tensors.noGrad();
+
+        try {
+            return predict(cache, input, false);
+        } finally {
+            scope.close();
+        }
     }
 
     public Tensor predict(Tensor input) {
-        return predict(new StatesCache(), input, false);
+        return predict(new StatesCache(this), input);
     }
 
     public Model compile(Loss function, Optimizer optimizer) {
@@ -325,8 +513,99 @@ public abstract class Model implements BinarySerializable {
         return compile(initializer.getFunction(), lossFunction.getFunction(), optimizer, updater);
     }
 
+    /**
+     * Recomputes the forward pass of a segment of layers while training, storing the activations
+     * needed by their backward pass in the cache. Used when activation checkpointing is enabled.
+     * @param cache the cache of the current batch, holding the input of the first layer of the segment
+     * @param from the index of the first layer of the segment
+     * @param to the index of the last layer of the segment, inclusive
+     */
+    public void recompute(StatesCache cache, int from, int to) {
+        throw new UnsupportedOperationException("Activation checkpointing is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Enables activation checkpointing, keeping the activations of one layer every
+     * <code>interval</code> layers and recomputing the others during the backward pass.
+     * Single layers can be marked as checkpoints with {@link Layer#setCheckpoint(boolean)}.
+     * @param interval the distance between two checkpoints, 0 to disable the interval
+     * @return this model
+     */
+    public Model setCheckpointInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be non-negative!");
+        }
+
+        this.checkpointInterval = interval;
+        return this;
+    }
+
+    /**
+     * Enables static execution: the first training step for each batch shape is captured into an
+     * {@link org.brain4j.core.training.ExecutionPlan} that the following steps replay. Models that
+     * cannot be captured, or batches of a different shape, silently use the regular path.
+     * @param staticExecution whether to capture and replay training steps
+     * @return this model
+     */
+    public Model setStaticExecution(boolean staticExecution) {
+        this.staticExecution = staticExecution;
+        return this;
+    }
+
+    public boolean isStaticExecution() {
+        return staticExecution;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public boolean isCheckpointing() {
+        if (checkpointInterval > 0) return true;
+
+        for (Layer layer : layers) {
+            if (layer.isCheckpoint()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns whether the input of the layer at the given index is kept during a checkpointed forward pass.
+     * The first and the last layers are always boundaries, and so is every layer that follows one that does
+     * not propagate (like dropout), since recomputing those would not be deterministic.
+     * @param index the index of the layer
+     * @return true if the layer starts a new segment, false otherwise
+     */
+    public boolean isCheckpointBoundary(int index) {
+        if (index <= 0 || index >= layers.size() - 1) return true;
+        if (layers.get(index).isCheckpoint()) return true;
+        if (checkpointInterval > 0 && index % checkpointInterval == 0) return true;
+
+        return !layers.get(index - 1).canPropagate();
+    }
+
+    /**
+     * Finds the nearest checkpoint boundary at or before the given layer.
+     * @param index the index of the layer
+     * @return the index of the first layer of its segment
+     */
+    public int findCheckpoint(int index) {
+        while (!isCheckpointBoundary(index)) {
+            index--;
+        }
+
+        return index;
+    }
+
     public Model load(String path, ModelAdapter adapter) throws Exception {
-        return adapter.deserialize(path, this);
+        ModelIOEvent event = new ModelIOEvent();
+        event.begin();
+
+        Model model = adapter.deserialize(path, this);
+
+        commit(event, "load", new File(path), adapter);
+        return model;
     }
 
     public Model load(String path) throws Exception {
@@ -334,7 +613,53 @@ public abstract class Model implements BinarySerializable {
     }
 
     public void save(String path, ModelAdapter adapter) throws Exception {
+        ModelIOEvent event = new ModelIOEvent();
+        event.begin();
+
         adapter.serialize(path, this);
+
+        commit(event, "save", adapter.outputFile(path), adapter);
+    }
+
+    private void commit(ModelIOEvent event, String operation, File file, ModelAdapter adapter) {
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.operation = operation;
+        event.path = file.getPath();
+        event.adapter = adapter.getClass().getSimpleName();
+        event.model = getClass().getSimpleName();
+        event.bytes = file.length();
+        event.commit();
+    }
+
+    /**
+     * Runs the forward pass of a single layer, reporting it to the flight recorder when
+     * {@link LayerForwardEvent} is enabled and checking its output in anomaly detection mode.
+     */
+    protected Tensor forwardLayer(int index, Layer layer, StatesCache cache, Tensor input, boolean training) {
+        LayerForwardEvent event = new LayerForwardEvent();
+        event.begin();
+
+        Tensor output = layer.forward(index, cache, input, training);
+
+        if (AnomalyDetector.isActive()) {
+            AnomalyDetector.check(output, layer.getClass().getSimpleName() + " forward", index);
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.layer = layer.getClass().getSimpleName();
+            event.index = index;
+            event.inputShape = Arrays.toString(input.shape());
+            event.outputShape = Arrays.toString(output.shape());
+            event.training = training;
+            event.commit();
+        }
+
+        return output;
     }
 
     public void save(String path) throws Exception {
@@ -343,11 +668,13 @@ public abstract class Model implements BinarySerializable {
 
     public Model add(Layer layer) {
         layers.add(layer);
+        indexLayers();
         return this;
     }
 
     public Model add(Layer... layers) {
         this.layers.addAll(Arrays.asList(layers));
+        indexLayers();
         return this;
     }
 
@@ -462,6 +789,26 @@ public abstract class Model implements BinarySerializable {
         return seed;
     }
 
+    public Normalizer getNormalizer() {
+        return normalizer;
+    }
+
+    /**
+     * Attaches the statistics the training inputs were normalized with, so they are saved with this model
+     * and new inputs can be normalized the same way before being predicted.
+     * @param normalizer the normalizer, or null to remove it
+     */
+    public void setNormalizer(Normalizer normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Gets the amount of layers of this model, nested layers included.
+     */
+    public int getTotalLayers() {
+        return totalLayers;
+    }
+
     public int getTotalNeurons() {
         return layers.stream()
             .mapToInt(Layer::getTotalNeurons)
@@ -4,16 +4,10 @@ import org.brain4j.core.layer.Layer;
 import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.training.evaluation.EvaluationResult;
 import org.brain4j.math.Brain4JUtils;
-import org.brain4j.math.Pair;
-import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.data.DataSource;
 import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.index.Range;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
 
 /**
  * Autoencoder neural network model implementation. This class is an extension of the {@link Sequential} class.
@@ -33,56 +27,22 @@ public class AutoEncoder extends Sequential {
         this.bottleNeckIndex = bottleNeckIndex;
     }
 
-    public EvaluationResult evaluate(ListDataSource dataSource) {
-        int classes = dataSource.getSamples().getFirst().label().elements();
+    public EvaluationResult evaluate(DataSource dataSource) {
+        int classes = Brain4JUtils.elements(dataSource.labelShape());
 
         // Binary classification
         if (classes == 1) {
             classes = 2;
         }
 
-        List<Thread> threads = new ArrayList<>();
-        AtomicReference<Double> totalLoss = new AtomicReference<>(0.0);
+        DoubleAdder totalLoss = new DoubleAdder();
 
-        dataSource.reset();
-
-        while (dataSource.hasNext()) {
-            Pair<Tensor, Tensor> partition = dataSource.nextBatch();
-            threads.add(makeEvaluation(partition, null, totalLoss));
-        }
-
-        Brain4JUtils.waitAll(threads);
-
-        return new EvaluationResult(totalLoss.get() / dataSource.size(), classes, new HashMap<>());
-    }
-
-    @Override
-    public Thread makeEvaluation(Pair<Tensor, Tensor> batch, Map<Integer, Tensor> classifications, AtomicReference<Double> totalLoss) {
-        return Thread.startVirtualThread(() -> {
-            Tensor inputs = batch.first(); // [batch_size, input_size]
-            Tensor expected = batch.second(); // [batch_size, output_size]
-
-            Tensor prediction = predict(new StatesCache(), inputs, true); // [batch_size, output_size]
-            int batchSize = inputs.shape()[0];
-
-            for (int i = 0; i < batchSize; i++) {
-                Range range = new Range(i, i + 1);
-
-                Tensor output = prediction.slice(range).vector();
-                Tensor target = expected.slice(range).vector();
-
-                int predIndex = output.argmax();
-                int targetIndex = target.argmax();
-
-                if (output.elements() == 1) {
-                    predIndex = output.get(0) > 0.5 ? 1 : 0;
-                    targetIndex = (int) target.get(0);
-                }
-
-                double loss = lossFunction.calculate(target, output);
-                totalLoss.updateAndGet(v -> v + loss);
-            }
+        runWorkers(dataSource, () -> null, (batch, state) -> {
+            Tensor prediction = predict(new StatesCache(this), batch.first(), true); // [batch_size, output_size]
+            totalLoss.add(lossFunction.calculateBatch(batch.second(), prediction));
         });
+
+        return new EvaluationResult(totalLoss.sum() / dataSource.size(), classes, new int[0][]);
     }
 
     @Override
@@ -112,7 +72,7 @@ public class AutoEncoder extends Sequential {
 
             cache.setInputTensor(layer, denseResult);
 
-            denseResult = layer.forward(l, cache, denseResult, training);
+            denseResult = forwardLayer(l, layer, cache, denseResult, training);
         }
 
         return denseResult;
@@ -10,18 +10,13 @@ import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.training.optimizer.Optimizer;
 import org.brain4j.core.training.updater.Updater;
 import org.brain4j.core.training.updater.impl.StochasticUpdater;
-import org.brain4j.math.Pair;
-import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.data.DataSource;
 import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.index.Range;
-
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A sequential neural network model implementation.
  * This model takes an input {@link Tensor} and outputs a corresponding label {@link Tensor}.
- * It supports training with data provided through instances of {@link ListDataSource}.
+ * It supports training with data provided through instances of {@link DataSource}.
  */
 public class Sequential extends Model {
 
@@ -33,40 +28,6 @@ public class Sequential extends Model {
         super(layers);
     }
 
-    @Override
-    public Thread makeEvaluation(Pair<Tensor, Tensor> batch, Map<Integer, Tensor> classifications, AtomicReference<Double> totalLoss) {
-        return Thread.startVirtualThread(() -> {
-            Tensor inputs = batch.first(); // [batch_size, input_size]
-            Tensor expected = batch.second(); // [batch_size, output_size]
-
-            Tensor prediction = predict(inputs); // [batch_size, output_size]
-            int batchSize = inputs.shape()[0];
-
-            for (int i = 0; i < batchSize; i++) {
-                Range range = new Range(i, i + 1);
-
-                Tensor output = prediction.slice(range).vector();
-                Tensor target = expected.slice(range).vector();
-
-                int predIndex = output.argmax();
-                int targetIndex = target.argmax();
-
-                if (output.elements() == 1) {
-                    predIndex = output.get(0) > 0.5 ? 1 : 0;
-                    targetIndex = (int) target.get(0);
-                }
-
-                double loss = lossFunction.calculate(target, output);
-                totalLoss.updateAndGet(v -> v + loss);
-
-                Tensor predictions = classifications.get(targetIndex);
-                int pred = (int) predictions.get(predIndex);
-
-                predictions.set(pred + 1, predIndex);
-            }
-        });
-    }
-
     @Override
     public Sequential compile(Loss function, Optimizer optimizer) {
         return compile(function.getFunction(), optimizer);
@@ -84,7 +45,7 @@ public class Sequential extends Model {
         connect(initializer);
 
         this.optimizer.postInitialize(this);
-        this.updater.resetGradients();
+        this.updater.resetGradients(this);
 
         return this;
     }
@@ -95,13 +56,13 @@ public class Sequential extends Model {
     }
 
     @Override
-    public void fit(ListDataSource dataSet) {
+    public void fit(DataSource dataSet) {
         propagation.iteration(dataSet);
     }
 
     @Override
     public Tensor predict(Tensor input) {
-        return predict(new StatesCache(), input, false);
+        return predict(new StatesCache(this), input);
     }
 
     @Override
@@ -124,6 +85,8 @@ public class Sequential extends Model {
         cache.setInputTensor(workingLayer, denseResult);
         cache.setOutputTensor(workingLayer, denseResult);
 
+        boolean checkpointing = training && isCheckpointing();
+
         for (int l = 1; l < layers.size(); l++) {
             Layer layer = layers.get(l);
 
@@ -131,9 +94,32 @@ public class Sequential extends Model {
 
             if (!layer.canConnect()) continue;
 
-            denseResult = layer.forward(l, cache, denseResult, training);
+            denseResult = forwardLayer(l, layer, cache, denseResult, training);
+
+            if (checkpointing) {
+                Tensor boundary = cache.getInputTensor(l);
+                cache.release(layer);
+
+                if (isCheckpointBoundary(l)) cache.setInputTensor(layer, boundary);
+            }
         }
 
         return denseResult;
     }
+
+    @Override
+    public void recompute(StatesCache cache, int from, int to) {
+        Tensor denseResult = cache.getInputTensor(from);
+
+        // the first layer only holds the input, its output is the input itself
+        for (int l = Math.max(from, 1); l <= to; l++) {
+            Layer layer = layers.get(l);
+
+            cache.setInputTensor(layer, denseResult);
+
+            if (!layer.canConnect()) continue;
+
+            denseResult = forwardLayer(l, layer, cache, denseResult, true);
+        }
+    }
 }
@@ -10,13 +10,8 @@ import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.training.optimizer.Optimizer;
 import org.brain4j.core.training.updater.Updater;
 import org.brain4j.core.training.updater.impl.StochasticUpdater;
-import org.brain4j.math.Pair;
-import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.data.DataSource;
 import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.index.Range;
-
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
 public class Transformer extends Model {
 
@@ -24,35 +19,6 @@ public class Transformer extends Model {
         super(layers);
     }
 
-    @Override
-    public Thread makeEvaluation(Pair<Tensor, Tensor> batch, Map<Integer, Tensor> classifications, AtomicReference<Double> totalLoss) {
-        return Thread.startVirtualThread(() -> {
-            Tensor inputs = batch.first(); // [batch_size, input_size]
-            Tensor expected = batch.second(); // [batch_size, output_size]
-
-            Tensor prediction = predict(inputs); // [batch_size, output_size]
-            int batchSize = inputs.shape()[0];
-
-            for (int i = 0; i < batchSize; i++) {
-                Range range = new Range(i, i + 1);
-
-                Tensor output = prediction.slice(range).vector();
-                Tensor target = expected.slice(range).vector();
-
-                int predIndex = output.argmax();
-                int targetIndex = target.argmax();
-
-                double loss = lossFunction.calculate(target, output);
-                totalLoss.updateAndGet(v -> v + loss);
-
-                Tensor predictions = classifications.get(targetIndex);
-                int pred = (int) predictions.get(predIndex);
-
-                predictions.set(pred + 1, predIndex);
-            }
-        });
-    }
-
     @Override
     public Transformer compile(LossFunction function, Optimizer optimizer) {
         return compile(WeightInit.UNIFORM_XAVIER.getFunction(), function, optimizer, new StochasticUpdater());
@@ -75,13 +41,13 @@ public class Transformer extends Model {
         connect(initializer);
 
         this.optimizer.postInitialize(this);
-        this.updater.resetGradients();
+        this.updater.resetGradients(this);
 
         return this;
     }
 
     @Override
-    public void fit(ListDataSource dataSource) {
+    public void fit(DataSource dataSource) {
         propagation.iteration(dataSource);
     }
 
@@ -92,11 +58,29 @@ public class Transformer extends Model {
         }
 
         Tensor result = input;
+        boolean checkpointing = training && isCheckpointing();
 
         for (int i = 0; i < layers.size(); i++) {
-            result = layers.get(i).forward(i, cache, result, training);
+            Layer layer = layers.get(i);
+
+            if (checkpointing) cache.setInputTensor(layer, result);
+
+            result = forwardLayer(i, layer, cache, result, training);
+
+            if (checkpointing && !isCheckpointBoundary(i)) {
+                cache.release(layer);
+            }
         }
 
         return result;
     }
+
+    @Override
+    public void recompute(StatesCache cache, int from, int to) {
+        Tensor result = cache.getInputTensor(from);
+
+        for (int i = from; i <= to; i++) {
+            result = forwardLayer(i, layers.get(i), cache, result, true);
+        }
+    }
 }
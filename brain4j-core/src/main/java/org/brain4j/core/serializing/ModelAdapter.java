@@ -7,6 +7,15 @@ import java.io.File;
 
 public interface ModelAdapter {
 
+    /**
+     * Gets the file {@link #serialize(String, Model)} writes to, which may add an extension to the path.
+     * @param path the path given to {@link #serialize(String, Model)}
+     * @return the file written
+     */
+    default File outputFile(String path) {
+        return new File(path);
+    }
+
     void serialize(String path, Model model) throws Exception;
 
     void serialize(File file, Model model) throws Exception;
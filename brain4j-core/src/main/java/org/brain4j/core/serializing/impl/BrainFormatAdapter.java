@@ -9,15 +9,21 @@ import org.brain4j.core.training.BackPropagation;
 import org.brain4j.core.training.optimizer.Optimizer;
 import org.brain4j.core.training.updater.Updater;
 import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.data.Normalizer;
 
 import java.io.*;
 
 public class BrainFormatAdapter implements ModelAdapter {
 
     @Override
-    public void serialize(String path, Model model) throws Exception {
+    public File outputFile(String path) {
         String suffix = path.endsWith(".b4j") ? "" : ".b4j";
-        serialize(new File(path + suffix), model);
+        return new File(path + suffix);
+    }
+
+    @Override
+    public void serialize(String path, Model model) throws Exception {
+        serialize(outputFile(path), model);
     }
 
     @Override
@@ -35,6 +41,11 @@ public class BrainFormatAdapter implements ModelAdapter {
         model.getOptimizer().serialize(dataStream); // optimizer
         model.serialize(dataStream); // serializes layers
 
+        Normalizer normalizer = model.getNormalizer();
+
+        dataStream.writeBoolean(normalizer != null);
+        if (normalizer != null) normalizer.serialize(dataStream);
+
         byte[] bytes = outputStream.toByteArray();
 
         try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
@@ -66,12 +77,17 @@ public class BrainFormatAdapter implements ModelAdapter {
             model.setSeed(seed);
             model.deserialize(dataStream);
 
+            // older files end after the layers
+            if (dataStream.available() > 0 && dataStream.readBoolean()) {
+                model.setNormalizer(Normalizer.deserialize(dataStream));
+            }
+
             model.setLossFunction(lossFunction);
             model.setWeightInit(weightInit);
             model.setUpdater(updater);
             model.setOptimizer(optimizer);
 
-            model.getUpdater().resetGradients();
+            model.getUpdater().resetGradients(model);
             model.getOptimizer().postInitialize(model);
             model.setPropagation(new BackPropagation(model, optimizer, updater));
 
@@ -1,88 +1,307 @@
 package org.brain4j.core.serializing.impl;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import org.brain4j.core.layer.Layer;
 import org.brain4j.core.model.Model;
 import org.brain4j.core.serializing.ModelAdapter;
-import org.brain4j.math.Brain4JUtils;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.impl.cpu.convert.DataType;
+import org.brain4j.math.tensor.impl.cpu.convert.ParallelConvert;
 
-import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Reads and writes models in the <a href="https://github.com/huggingface/safetensors">safetensors</a> format.
+ * Tensor payloads are memory mapped and copied once into the destination tensor, so loading a checkpoint
+ * never keeps a second on-heap copy of it. Tensors are named <code>layers.{index}.weights</code> and
+ * <code>layers.{index}.bias</code>, where the index is the position of the layer inside the model. Loading only
+ * maps tensors named after that scheme, also accepting <code>weight</code>, <code>kernel</code> and
+ * <code>biases</code>, and skips the others.
+ * <p>
+ * Dense weights are stored as <code>[in, out]</code>, like the kernels of Keras and Flax. Checkpoints not
+ * written by brain4j whose weights are named <code>weight</code>, the PyTorch convention, are stored as
+ * <code>[out, in]</code> and transposed while loading. A tensor that still does not match the shape
+ * expected by its layer is rejected.
+ */
 public class SafeTensorsAdapter implements ModelAdapter {
 
-    public static Map<String, Tensor> parseStructure(File file) throws IOException {
-        Map<String, Tensor> tensors = new HashMap<>();
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE & ~7L;
+    private static final String METADATA_KEY = "__metadata__";
+    private static final String FORMAT = "brain4j";
+    private static final Pattern LAYER_TENSOR = Pattern.compile("layers\\.(\\d+)\\.(weights?|kernel|bias(?:es)?)");
 
-        try (DataInputStream stream = new DataInputStream(new FileInputStream(file))) {
-            ByteBuffer lenBuffer = ByteBuffer.wrap(stream.readNBytes(8));
-            lenBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Describes a tensor stored inside a safetensors file without loading it.
+     * @param name the name of the tensor
+     * @param type the storage format of the elements
+     * @param shape the shape of the tensor
+     * @param start the absolute offset of the first byte inside the file
+     * @param end the absolute offset after the last byte inside the file
+     */
+    public record Entry(String name, DataType type, int[] shape, long start, long end) {
 
-            int jsonLength = Math.toIntExact(lenBuffer.getLong());
+        public int elements() {
+            int elements = 1;
 
-            String json = new String(stream.readNBytes(jsonLength), StandardCharsets.UTF_8);
-            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            for (int dimension : shape) {
+                elements *= dimension;
+            }
 
-            for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
-                String key = entry.getKey();
-                if (key.equals("__metadata__")) continue;
+            return elements;
+        }
+    }
 
-                JsonObject obj = entry.getValue().getAsJsonObject();
-                String dtype = obj.get("dtype").getAsString().toLowerCase();
+    /**
+     * Reads the header of a safetensors file.
+     * @param channel the channel of the file
+     * @return the described tensors, in the order they appear in the header
+     */
+    public static Map<String, Entry> parseHeader(FileChannel channel) throws IOException {
+        long headerLength = headerLength(channel);
 
-                int[] shape = new Gson().fromJson(obj.get("shape"), int[].class);
-                int[] dataOffsets = new Gson().fromJson(obj.get("data_offsets"), int[].class);
+        JsonObject root = readHeader(channel, headerLength);
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        Gson gson = new Gson();
 
-                int byteStart = dataOffsets[0];
-                int byteEnd = dataOffsets[1];
-                int byteLen = byteEnd - byteStart;
+        long dataStart = 8 + headerLength;
 
-                byte[] data = stream.readNBytes(byteLen);
-                ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        for (Map.Entry<String, JsonElement> element : root.entrySet()) {
+            String key = element.getKey();
+            if (key.equals(METADATA_KEY)) continue;
 
-                Tensor tensor = Tensors.create(shape);
-                float[] dest = tensor.getData();
+            JsonObject obj = element.getValue().getAsJsonObject();
+            DataType type = DataType.parse(obj.get("dtype").getAsString());
 
-                switch (dtype) {
-                    case "f16" -> {
-                        for (int i = 0; i < dest.length; i++) {
-                            short f16 = buffer.getShort();
-                            dest[i] = Brain4JUtils.f16ToFloat(f16);
-                        }
-                    }
-                    case "f32", "f64" -> {
-                        for (int i = 0; i < dest.length; i++) {
-                            dest[i] = buffer.getFloat();
-                        }
-                    }
-                }
+            int[] shape = gson.fromJson(obj.get("shape"), int[].class);
+            long[] offsets = gson.fromJson(obj.get("data_offsets"), long[].class);
+
+            Entry entry = new Entry(key, type, shape, dataStart + offsets[0], dataStart + offsets[1]);
+
+            if ((long) entry.elements() * type.bytes() != offsets[1] - offsets[0]) {
+                throw new IOException("Tensor " + key + " has inconsistent data offsets");
+            }
+
+            entries.put(key, entry);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Reads the free-form metadata stored in the header of a safetensors file.
+     * @param channel the channel of the file
+     * @return the metadata, empty if the file has none
+     */
+    public static Map<String, String> parseMetadata(FileChannel channel) throws IOException {
+        JsonObject root = readHeader(channel, headerLength(channel));
+        Map<String, String> metadata = new LinkedHashMap<>();
+
+        if (root.has(METADATA_KEY)) {
+            for (Map.Entry<String, JsonElement> element : root.getAsJsonObject(METADATA_KEY).entrySet()) {
+                metadata.put(element.getKey(), element.getValue().getAsString());
+            }
+        }
+
+        return metadata;
+    }
+
+    private static long headerLength(FileChannel channel) throws IOException {
+        MappedByteBuffer lengthBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+        long headerLength = lengthBuffer.order(ByteOrder.LITTLE_ENDIAN).getLong(0);
+
+        if (headerLength <= 0 || headerLength + 8 > channel.size()) {
+            throw new IOException("Invalid safetensors header length: " + headerLength);
+        }
 
-                tensors.put(key, tensor);
+        return headerLength;
+    }
+
+    private static JsonObject readHeader(FileChannel channel, long headerLength) throws IOException {
+        ByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 8, headerLength);
+        String json = StandardCharsets.UTF_8.decode(headerBuffer).toString();
+
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    /**
+     * Loads a single tensor, mapping only the region of the file it occupies.
+     * @param channel the channel of the file
+     * @param entry the tensor to load
+     * @return a new tensor holding the converted data
+     */
+    public static Tensor load(FileChannel channel, Entry entry) throws IOException {
+        int[] shape = entry.shape().length == 0 ? new int[] { 1 } : entry.shape();
+        Tensor tensor = Tensors.create(shape);
+
+        float[] data = tensor.getData();
+        DataType type = entry.type();
+
+        int segmentElements = (int) (MAX_SEGMENT_BYTES / type.bytes());
+
+        for (int offset = 0; offset < data.length; offset += segmentElements) {
+            int length = Math.min(segmentElements, data.length - offset);
+            long position = entry.start() + (long) offset * type.bytes();
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) length * type.bytes());
+            ParallelConvert.convert(type, buffer, data, offset, length, POOL);
+        }
+
+        return tensor;
+    }
+
+    /**
+     * Loads every tensor of a safetensors file, in the layout used by brain4j.
+     * @param file the file to read
+     * @return the tensors, by name
+     */
+    public static Map<String, Tensor> parseStructure(File file) throws IOException {
+        Map<String, Tensor> tensors = new LinkedHashMap<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            boolean foreign = !FORMAT.equals(parseMetadata(channel).get("format"));
+
+            for (Entry entry : parseHeader(channel).values()) {
+                String[] path = entry.name().split("\\.");
+                tensors.put(entry.name(), orient(load(channel, entry), path[path.length - 1], foreign));
             }
         }
 
         return tensors;
     }
 
+    /**
+     * Converts a loaded tensor to the layout of brain4j. Linear layers of PyTorch store their weights,
+     * named <code>weight</code>, as <code>[out, in]</code>; in checkpoints not written by brain4j they are
+     * transposed.
+     */
+    private static Tensor orient(Tensor tensor, String kind, boolean foreign) {
+        if (foreign && kind.equals("weight") && tensor.shape().length == 2) {
+            return tensor.transpose();
+        }
+
+        return tensor;
+    }
+
+    @Override
+    public File outputFile(String path) {
+        String suffix = path.endsWith(".safetensors") ? "" : ".safetensors";
+        return new File(path + suffix);
+    }
+
     @Override
     public void serialize(String path, Model model) throws Exception {
-        throw new IllegalArgumentException("Not implemented yet for this class!");
+        serialize(outputFile(path), model);
     }
 
     @Override
     public void serialize(File file, Model model) throws Exception {
-        throw new IllegalArgumentException("Not implemented yet for this class!");
+        Map<String, Tensor> tensors = new LinkedHashMap<>();
+        List<Layer> layers = model.getLayers();
+
+        for (int i = 0; i < layers.size(); i++) {
+            Layer layer = layers.get(i);
+
+            Tensor weights = layer.getWeights();
+            Tensor bias = layer.getBias();
+
+            if (weights != null && weights.elements() > 0) tensors.put("layers." + i + ".weights", weights);
+            if (bias != null && bias.elements() > 0) tensors.put("layers." + i + ".bias", bias);
+        }
+
+        JsonObject header = new JsonObject();
+        JsonObject metadata = new JsonObject();
+
+        metadata.addProperty("format", FORMAT);
+        metadata.addProperty("model", model.getClass().getName());
+        header.add(METADATA_KEY, metadata);
+
+        long offset = 0;
+
+        for (Map.Entry<String, Tensor> entry : tensors.entrySet()) {
+            Tensor tensor = entry.getValue();
+            long length = (long) tensor.elements() * DataType.F32.bytes();
+
+            JsonArray shape = new JsonArray();
+            JsonArray offsets = new JsonArray();
+
+            for (int dimension : tensor.shape()) {
+                shape.add(dimension);
+            }
+
+            offsets.add(offset);
+            offsets.add(offset + length);
+
+            JsonObject obj = new JsonObject();
+
+            obj.addProperty("dtype", DataType.F32.name());
+            obj.add("shape", shape);
+            obj.add("data_offsets", offsets);
+
+            header.add(entry.getKey(), obj);
+            offset += length;
+        }
+
+        byte[] json = header.toString().getBytes(StandardCharsets.UTF_8);
+        int padding = (8 - json.length % 8) % 8;
+
+        ByteBuffer prefix = ByteBuffer.allocate(8 + json.length + padding).order(ByteOrder.LITTLE_ENDIAN);
+
+        prefix.putLong(json.length + padding);
+        prefix.put(json);
+
+        for (int i = 0; i < padding; i++) {
+            prefix.put((byte) ' ');
+        }
+
+        prefix.flip();
+
+        try (FileChannel channel = FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )) {
+            while (prefix.hasRemaining()) {
+                channel.write(prefix);
+            }
+
+            long position = prefix.limit();
+            int segmentElements = (int) (MAX_SEGMENT_BYTES / DataType.F32.bytes());
+
+            for (Tensor tensor : tensors.values()) {
+                float[] data = tensor.getData();
+
+                for (int start = 0; start < data.length; start += segmentElements) {
+                    int length = Math.min(segmentElements, data.length - start);
+
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) length * 4);
+                    buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(data, start, length);
+
+                    position += (long) length * 4;
+                }
+            }
+        }
     }
 
     @Override
@@ -92,13 +311,48 @@ public class SafeTensorsAdapter implements ModelAdapter {
 
     @Override
     public Model deserialize(File file, Model model) throws Exception {
-        Map<String, Tensor> structure = parseStructure(file);
+        List<Layer> layers = model.getLayers();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            boolean foreign = !FORMAT.equals(parseMetadata(channel).get("format"));
+
+            for (Entry entry : parseHeader(channel).values()) {
+                Matcher matcher = LAYER_TENSOR.matcher(entry.name());
 
-        structure.forEach((key, tensor) -> {
-            String[] paths = key.split("\\.");
+                // tensors of other naming schemes, like model.layers.3.self_attn.q_proj.weight, have no layer here
+                if (!matcher.matches()) continue;
 
-        });
+                int index = Integer.parseInt(matcher.group(1));
+                if (index >= layers.size()) continue;
+
+                Layer layer = layers.get(index);
+                String kind = matcher.group(2);
+
+                switch (kind) {
+                    case "weight", "weights", "kernel" -> {
+                        Tensor weights = orient(load(channel, entry), kind, foreign);
+                        layer.setWeights(fit(entry.name(), layer.getWeights(), weights));
+                    }
+                    case "bias", "biases" ->
+                        layer.setBias(fit(entry.name(), layer.getBias(), load(channel, entry)));
+                }
+            }
+        }
 
         return model;
     }
+
+    private static Tensor fit(String name, Tensor current, Tensor loaded) {
+        if (current == null || current.elements() == 0) return loaded;
+
+        int[] expected = current.shape();
+        int[] actual = loaded.shape();
+
+        if (Arrays.equals(expected, actual)) return loaded;
+
+        throw new IllegalArgumentException(
+            "Tensor " + name + " has shape " + Arrays.toString(actual) +
+            " but the layer expects " + Arrays.toString(expected)
+        );
+    }
 }
@@ -0,0 +1,150 @@
+package org.brain4j.core.structure;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.impl.cpu.distance.DistanceKernel;
+import org.brain4j.math.tensor.impl.cpu.distance.ScalarDistanceKernel;
+import org.brain4j.math.tensor.impl.cpu.distance.VectorDistanceKernel;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The keys and values already computed by one attention head for a sequence, stored row by row in
+ * growable arrays. Resetting the cache keeps its capacity, so a new sequence does not reallocate.
+ * <p>
+ * The attention reads the rows in place through {@link #scores(Tensor)} and {@link #weigh(Tensor)},
+ * so extending a sequence by one token does not copy the tokens before it.
+ */
+public class KeyValueCache {
+
+    private static final DistanceKernel KERNEL;
+
+    static {
+        Optional<Module> module = ModuleLayer
+                .boot()
+                .findModule("jdk.incubator.vector");
+
+        KERNEL = module.isPresent() ? new VectorDistanceKernel() : new ScalarDistanceKernel();
+    }
+
+    private final int dimension;
+
+    private float[] keys;
+    private float[] values;
+    private int length;
+
+    public KeyValueCache(int dimension) {
+        this.dimension = dimension;
+        this.keys = new float[0];
+        this.values = new float[0];
+    }
+
+    /**
+     * Appends the keys and values of new tokens.
+     * @param newKeys the keys, with shape <code>[tokens, dimension]</code>
+     * @param newValues the values, with shape <code>[tokens, dimension]</code>
+     */
+    public void append(Tensor newKeys, Tensor newValues) {
+        int tokens = newKeys.shape()[0];
+        int required = (length + tokens) * dimension;
+
+        if (required > keys.length) {
+            int capacity = Math.max(required, keys.length * 2);
+
+            this.keys = Arrays.copyOf(keys, capacity);
+            this.values = Arrays.copyOf(values, capacity);
+        }
+
+        System.arraycopy(newKeys.getData(), 0, keys, length * dimension, tokens * dimension);
+        System.arraycopy(newValues.getData(), 0, values, length * dimension, tokens * dimension);
+
+        length += tokens;
+    }
+
+    /**
+     * Multiplies the queries by the transposed cached keys.
+     * @param queries the queries, with shape <code>[rows, dimension]</code>
+     * @return the scores, with shape <code>[rows, length]</code>
+     */
+    public Tensor scores(Tensor queries) {
+        int rows = queries.shape()[0];
+
+        Tensor result = Tensors.zeros(rows, length);
+
+        float[] query = queries.getData();
+        float[] scores = result.getData();
+
+        for (int r = 0; r < rows; r++) {
+            int queryOffset = r * dimension;
+            int scoreOffset = r * length;
+
+            for (int t = 0; t < length; t++) {
+                scores[scoreOffset + t] = KERNEL.dot(query, queryOffset, keys, t * dimension, dimension);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Sums the cached values, weighted by the given attention weights.
+     * @param weights the weights, with shape <code>[rows, length]</code>
+     * @return the weighted values, with shape <code>[rows, dimension]</code>
+     */
+    public Tensor weigh(Tensor weights) {
+        int rows = weights.shape()[0];
+
+        Tensor result = Tensors.zeros(rows, dimension);
+
+        float[] weight = weights.getData();
+        float[] output = result.getData();
+
+        for (int r = 0; r < rows; r++) {
+            int outputOffset = r * dimension;
+
+            for (int t = 0; t < length; t++) {
+                float w = weight[r * length + t];
+                if (w == 0) continue;
+
+                int valueOffset = t * dimension;
+
+                for (int j = 0; j < dimension; j++) {
+                    output[outputOffset + j] += w * values[valueOffset + j];
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies the cached keys into a new tensor. The attention reads them in place through
+     * {@link #scores(Tensor)} instead.
+     * @return the cached keys, with shape <code>[length, dimension]</code>
+     */
+    public Tensor keys() {
+        return Tensors.of(new int[] { length, dimension }, Arrays.copyOf(keys, length * dimension));
+    }
+
+    /**
+     * Copies the cached values into a new tensor. The attention reads them in place through
+     * {@link #weigh(Tensor)} instead.
+     * @return the cached values, with shape <code>[length, dimension]</code>
+     */
+    public Tensor values() {
+        return Tensors.of(new int[] { length, dimension }, Arrays.copyOf(values, length * dimension));
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public void reset() {
+        this.length = 0;
+    }
+}
@@ -1,90 +1,259 @@
 package org.brain4j.core.structure;
 
 import org.brain4j.core.layer.Layer;
+import org.brain4j.core.model.Model;
 import org.brain4j.core.transformers.head.AttentionHead;
 import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Holds the intermediate states of a forward pass, addressed by the index of each layer inside its model.
+ * <p>
+ * Every state lives in a flat array sized to the layers of the model the cache was created for, so
+ * lookups never hash. Per-sample states, like the feed-forward outputs and the attention keys and values
+ * of transformers, are additionally addressed by the slot of the sample inside the batch. A cache can be
+ * {@link #reset() reset} and reused for the next batch without reallocating its arrays.
+ */
 public class StatesCache {
 
-    private final Map<Integer, Tensor> feedForwardCache;
-    private final Map<Integer, List<Tensor>> keyCache;
-    private final Map<Integer, List<Tensor>> valueCache;
+    private Tensor[] inputTensorsCache;
+    private Tensor[] outputTensorsCache;
+    private Tensor[][] feedForwardCache;
+    private KeyValueCache[][][] keyValueCache;
+    private Map<AttentionHead, KeyValueCache> headCache;
 
-    private final Tensor[] inputTensorsCache;
-    private final Tensor[] outputTensorsCache;
+    private int sessionBatch = -1;
 
+    /**
+     * Creates an empty cache that grows to the ids of the layers it is given.
+     * @deprecated use {@link #StatesCache(Model)}, which sizes the cache once
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public StatesCache() {
-        this.inputTensorsCache = new Tensor[Layer.getTotalLayers()];
-        this.outputTensorsCache = new Tensor[Layer.getTotalLayers()];
-        this.feedForwardCache = new ConcurrentHashMap<>(); // TODO: Migrate to arrays
-        this.keyCache = new ConcurrentHashMap<>();
-        this.valueCache = new ConcurrentHashMap<>();
+        this(0);
+    }
 
-        markAsNewSession();
+    /**
+     * Creates a cache for the layers of the given model.
+     * @param model the model, with its layers already indexed
+     */
+    public StatesCache(Model model) {
+        this(model.getTotalLayers());
+    }
+
+    /**
+     * Creates a cache for the given amount of layers.
+     * @param layers the amount of layer indices, nested layers included
+     */
+    public StatesCache(int layers) {
+        this.inputTensorsCache = new Tensor[layers];
+        this.outputTensorsCache = new Tensor[layers];
+        this.feedForwardCache = new Tensor[layers][];
+        this.keyValueCache = new KeyValueCache[layers][][];
     }
 
     public void setInputTensor(Layer layer, Tensor value) {
-        inputTensorsCache[layer.getId()] = value;
+        inputTensorsCache[slot(layer)] = value;
     }
 
     public Tensor getInputTensor(int index) {
-        return inputTensorsCache[index];
+        return index < inputTensorsCache.length ? inputTensorsCache[index] : null;
     }
 
     public void setOutputTensor(Layer layer, Tensor value) {
-        outputTensorsCache[layer.getId()] = value;
+        outputTensorsCache[slot(layer)] = value;
     }
 
     public Tensor getOutputTensor(int index) {
-        return outputTensorsCache[index];
+        return index < outputTensorsCache.length ? outputTensorsCache[index] : null;
     }
-    
-    public void markAsNewSession() {
-        keyCache.clear();
-        valueCache.clear();
+
+    /**
+     * Drops the input and output tensors stored for the specified layer.
+     * @param layer the layer to release
+     */
+    public void release(Layer layer) {
+        int id = layer.getId();
+        if (id >= inputTensorsCache.length) return;
+
+        inputTensorsCache[id] = null;
+        outputTensorsCache[id] = null;
     }
 
-    // Avoid shape mismatch errors
-    public boolean isCompatibleWithCache(Tensor tensor) {
-        if (keyCache.isEmpty() && valueCache.isEmpty()) {
-            return true;
+    /**
+     * Drops every stored state, keeping the arrays and the key-value buffers for the next batch.
+     * A reset cache behaves like a new one, so the feed-forward outputs of the previous batch are
+     * dropped as well, unlike on {@link #markAsNewSession()}.
+     */
+    public void reset() {
+        Arrays.fill(inputTensorsCache, null);
+        Arrays.fill(outputTensorsCache, null);
+
+        for (Tensor[] slots : feedForwardCache) {
+            if (slots != null) Arrays.fill(slots, null);
         }
 
-        for (List<Tensor> tensors : keyCache.values()) {
-            if (tensors.isEmpty()) continue;
+        markAsNewSession();
+    }
+
+    /**
+     * Starts a new sequence, dropping the cached keys and values. The feed-forward outputs are kept.
+     */
+    public void markAsNewSession() {
+        for (KeyValueCache[][] slots : keyValueCache) {
+            if (slots == null) continue;
 
-            Tensor cached = tensors.getFirst();
+            for (KeyValueCache[] heads : slots) {
+                if (heads == null) continue;
 
-            if (cached.shape()[0] != tensor.shape()[0]) {
-                return false;
+                for (KeyValueCache head : heads) {
+                    if (head != null) head.reset();
+                }
             }
         }
 
-        return true;
+        if (headCache != null) {
+            headCache.values().forEach(KeyValueCache::reset);
+        }
+
+        this.sessionBatch = -1;
     }
 
-    public Tensor getFeedForwardCache(int offset, Layer layer) {
-        return feedForwardCache.computeIfAbsent(layer.hashCode() + offset, k -> null);
+    /**
+     * Checks whether the cached keys and values can be extended with the given input, which is the case
+     * when they were computed for a batch of the same size. The first batch of a session sets that size.
+     * @param tensor the input of the model
+     * @return true if the session can continue, false if a new one has to be started
+     */
+    public boolean isCompatibleWithCache(Tensor tensor) {
+        int batch = tensor.shape()[0];
+
+        if (sessionBatch < 0) {
+            this.sessionBatch = batch;
+            return true;
+        }
+
+        return sessionBatch == batch;
+    }
+
+    public Tensor getFeedForwardCache(int slot, Layer layer) {
+        if (layer.getId() >= feedForwardCache.length) return null;
+
+        Tensor[] slots = feedForwardCache[layer.getId()];
+        return slots == null || slot >= slots.length ? null : slots[slot];
     }
 
     public void setFeedForwardCache(
-        int offset,
+        int slot,
         Layer layer,
         Tensor tensor
     ) {
-        feedForwardCache.put(layer.hashCode() + offset, tensor);
+        int id = slot(layer);
+        Tensor[] slots = feedForwardCache[id];
+
+        if (slots == null || slot >= slots.length) {
+            slots = slots == null ? new Tensor[slot + 1] : Arrays.copyOf(slots, Math.max(slot + 1, slots.length * 2));
+            feedForwardCache[id] = slots;
+        }
+
+        slots[slot] = tensor;
+    }
+
+    /**
+     * Gets the keys and values cached by an attention head of a layer for one sample of the batch,
+     * creating an empty cache the first time.
+     * @param layer the layer owning the attention
+     * @param slot the index of the sample inside the batch
+     * @param head the index of the head inside the attention
+     * @param dimension the dimension of the head
+     */
+    public KeyValueCache getKeyValueCache(Layer layer, int slot, int head, int dimension) {
+        int id = slot(layer);
+        KeyValueCache[][] slots = keyValueCache[id];
+
+        if (slots == null || slot >= slots.length) {
+            slots = slots == null
+                ? new KeyValueCache[slot + 1][]
+                : Arrays.copyOf(slots, Math.max(slot + 1, slots.length * 2));
+            keyValueCache[id] = slots;
+        }
+
+        KeyValueCache[] heads = slots[slot];
+
+        if (heads == null || head >= heads.length) {
+            heads = heads == null ? new KeyValueCache[head + 1] : Arrays.copyOf(heads, head + 1);
+            slots[slot] = heads;
+        }
+
+        KeyValueCache cache = heads[head];
+
+        if (cache == null) {
+            cache = new KeyValueCache(dimension);
+            heads[head] = cache;
+        }
+
+        return cache;
+    }
+
+    /**
+     * Gets the keys and values cached by an attention head that is not addressed through its layer.
+     * @param head the attention head
+     * @param dimension the dimension of the head
+     * @deprecated use {@link #getKeyValueCache(Layer, int, int, int)}, which keeps one cache per sample
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
+    public KeyValueCache getKeyValueCache(AttentionHead head, int dimension) {
+        if (headCache == null) {
+            this.headCache = new IdentityHashMap<>();
+        }
+
+        return headCache.computeIfAbsent(head, k -> new KeyValueCache(dimension));
     }
-    
+
+    /**
+     * @return a copy of the keys cached for the given head, one <code>[1, dimension]</code> tensor per token
+     * @deprecated use {@link KeyValueCache#keys()}
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public List<Tensor> getKeyCacheForHead(AttentionHead head) {
-        return keyCache.computeIfAbsent(head.hashCode(), k -> new ArrayList<>());
+        KeyValueCache cache = headCache == null ? null : headCache.get(head);
+        return cache == null || cache.length() == 0 ? List.of() : Tensors.toList(cache.keys());
     }
-    
+
+    /**
+     * @return a copy of the values cached for the given head, one <code>[1, dimension]</code> tensor per token
+     * @deprecated use {@link KeyValueCache#values()}
+     */
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public List<Tensor> getValueCacheForHead(AttentionHead head) {
-        return valueCache.computeIfAbsent(head.hashCode(), k -> new ArrayList<>());
+        KeyValueCache cache = headCache == null ? null : headCache.get(head);
+        return cache == null || cache.length() == 0 ? List.of() : Tensors.toList(cache.values());
+    }
+
+    /**
+     * @return the amount of layer indices this cache was sized for
+     */
+    public int size() {
+        return inputTensorsCache.length;
+    }
+
+    private int slot(Layer layer) {
+        int id = layer.getId();
+
+        if (id >= inputTensorsCache.length) {
+            int layers = Math.max(id + 1, inputTensorsCache.length * 2);
+
+            this.inputTensorsCache = Arrays.copyOf(inputTensorsCache, layers);
+            this.outputTensorsCache = Arrays.copyOf(outputTensorsCache, layers);
+            this.feedForwardCache = Arrays.copyOf(feedForwardCache, layers);
+            this.keyValueCache = Arrays.copyOf(keyValueCache, layers);
+        }
+
+        return id;
     }
 }
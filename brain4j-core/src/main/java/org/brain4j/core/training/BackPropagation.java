@@ -1,5 +1,7 @@
 package org.brain4j.core.training;
 
+import org.brain4j.core.jfr.BatchEvent;
+import org.brain4j.core.jfr.LayerBackwardEvent;
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.loss.LossFunction;
 import org.brain4j.core.model.Model;
@@ -7,16 +9,23 @@ import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.training.optimizer.Optimizer;
 import org.brain4j.core.training.updater.Updater;
 import org.brain4j.math.Pair;
-import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.anomaly.AnomalyDetector;
+import org.brain4j.math.data.DataSource;
 import org.brain4j.math.tensor.Tensor;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class BackPropagation {
 
-    private final Model model;
-    private final Optimizer optimizer;
-    private final Updater updater;
+    private static final int MAX_PLANS = 4;
+
+    protected final Model model;
+    protected final Optimizer optimizer;
+    protected final Updater updater;
+    private final ExecutionPlan[] plans = new ExecutionPlan[MAX_PLANS];
+
+    private StatesCache cache;
 
     public BackPropagation(
         Model model,
@@ -32,18 +41,78 @@ public class BackPropagation {
         Tensor inputs = partition.first();
         Tensor labels = partition.second();
 
-        StatesCache cache = new StatesCache();
-        Tensor output = model.predict(cache, inputs, true);
+        BatchEvent event = new BatchEvent();
+        event.begin();
+
+        AnomalyDetector.step();
+
+        ExecutionPlan plan = findPlan(inputs);
 
-        backpropagation(cache, labels, output);
+        if (plan != null) {
+            plan.execute(inputs, labels);
+        } else {
+            StatesCache cache = reusableCache();
+            Tensor output = model.predict(cache, inputs, true);
+
+            backpropagation(cache, labels, output);
+        }
 
         int elements = inputs.shape()[0];
 
         optimizer.postBatch();
         updater.postBatch(model, optimizer.getLearningRate(), elements);
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.inputShape = Arrays.toString(inputs.shape());
+            event.batchSize = elements;
+            event.staticExecution = plan != null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Finds the captured plan for the shape of the given batch, capturing a new one the first time a
+     * shape is seen. Returns null when static execution is disabled or not supported by the model,
+     * in which case the step goes through the regular path.
+     */
+    private ExecutionPlan findPlan(Tensor inputs) {
+        if (!model.isStaticExecution() || model.isCheckpointing() || !ExecutionPlan.supports(model)) {
+            return null;
+        }
+
+        for (int i = 0; i < plans.length; i++) {
+            ExecutionPlan plan = plans[i];
+
+            if (plan == null) {
+                if (inputs.dimension() != 2) return null;
+
+                plans[i] = ExecutionPlan.capture(model, inputs.shape()[0]);
+                return plans[i];
+            }
+
+            if (plan.matches(model, inputs)) return plan;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the cache of this propagation, cleared for a new batch. It is only reallocated when the
+     * amount of layers of the model changes.
+     */
+    private StatesCache reusableCache() {
+        if (cache == null || cache.size() != model.getTotalLayers()) {
+            this.cache = new StatesCache(model);
+        } else {
+            cache.reset();
+        }
+
+        return cache;
     }
 
-    public void iteration(ListDataSource dataSource) {
+    public void iteration(DataSource dataSource) {
         dataSource.propagate(this::propagatePartition);
         updater.postFit(model, optimizer.getLearningRate(), dataSource.size());
     }
@@ -60,14 +129,42 @@ public class BackPropagation {
 
         Layer last = layers.getLast();
         Tensor delta = last.computeLoss(count, cache, targets, outputs, lossFunction);
+        AnomalyDetector.check(delta, "loss gradient", count);
+
+        boolean checkpointing = model.isCheckpointing();
+        int segmentStart = count;
+
+        if (checkpointing) cache.release(last);
 
         for (int l = count - 1; l >= 1; l--) {
             Layer layer = layers.get(l);
 
             if (!layer.canPropagate()) continue;
 
+            if (checkpointing && l < segmentStart) {
+                // only the first input of each segment was kept, rebuild the rest of it
+                segmentStart = model.findCheckpoint(l);
+                model.recompute(cache, segmentStart, l);
+            }
+
+            LayerBackwardEvent event = new LayerBackwardEvent();
+            event.begin();
+
             delta = layer.backward(l, cache, last, delta);
+            AnomalyDetector.check(delta, layer.getClass().getSimpleName() + " backward", l);
+
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.layer = layer.getClass().getSimpleName();
+                event.index = l;
+                event.deltaShape = delta == null ? "[]" : Arrays.toString(delta.shape());
+                event.commit();
+            }
+
             last = layer;
+
+            if (checkpointing) cache.release(layer);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package org.brain4j.core.training;
+
+import org.brain4j.core.clipping.GradientClipper;
+import org.brain4j.core.layer.Layer;
+import org.brain4j.core.layer.impl.DenseLayer;
+import org.brain4j.core.loss.LossFunction;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.training.optimizer.Optimizer;
+import org.brain4j.core.training.updater.Updater;
+import org.brain4j.math.activation.Activation;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.List;
+
+/**
+ * A training step of a sequential model made of dense layers, captured for a fixed batch size.
+ * Shapes are inferred once and every intermediate tensor is allocated when the plan is captured,
+ * so replaying a step performs the same operations as {@link BackPropagation} without building
+ * caches, checking shapes or allocating tensors.
+ */
+public class ExecutionPlan {
+
+    private final Model model;
+    private final DenseLayer[] layers;
+    private final int batchSize;
+
+    private final Tensor[] outputs; // [batch_size, n_l]
+    private final Tensor[] derivatives; // [batch_size, n_l]
+    private final Tensor[] deltas; // [batch_size, n_l]
+    private final Tensor[] inputsTransposed; // [n_l-1, batch_size]
+    private final Tensor[] weightsTransposed; // [n_l+1, n_l]
+    private final Tensor[] weightsGradients; // [n_l-1, n_l]
+    private final Tensor[] biasesGradients; // [n_l]
+
+    private ExecutionPlan(Model model, int batchSize) {
+        List<Layer> modelLayers = model.getLayers();
+        int count = modelLayers.size();
+
+        this.model = model;
+        this.batchSize = batchSize;
+        this.layers = new DenseLayer[count];
+
+        this.outputs = new Tensor[count];
+        this.derivatives = new Tensor[count];
+        this.deltas = new Tensor[count];
+        this.inputsTransposed = new Tensor[count];
+        this.weightsTransposed = new Tensor[count];
+        this.weightsGradients = new Tensor[count];
+        this.biasesGradients = new Tensor[count];
+
+        for (int l = 0; l < count; l++) {
+            layers[l] = (DenseLayer) modelLayers.get(l);
+        }
+
+        for (int l = 1; l < count; l++) {
+            int inputs = layers[l - 1].getTotalNeurons();
+            int neurons = layers[l].getTotalNeurons();
+
+            outputs[l] = Tensors.zeros(batchSize, neurons);
+            derivatives[l] = Tensors.zeros(batchSize, neurons);
+            deltas[l] = Tensors.zeros(batchSize, neurons);
+            inputsTransposed[l] = Tensors.zeros(inputs, batchSize);
+            weightsGradients[l] = Tensors.zeros(inputs, neurons);
+            biasesGradients[l] = Tensors.zeros(neurons);
+
+            if (l < count - 1) {
+                weightsTransposed[l] = Tensors.zeros(layers[l + 1].getTotalNeurons(), neurons);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a training step of the model can be captured.
+     * @param model the model to check
+     * @return true if the model is a CPU sequential model made only of dense layers
+     */
+    public static boolean supports(Model model) {
+        if (!(model instanceof Sequential) || Tensors.isUsingGPU()) return false;
+
+        List<Layer> layers = model.getLayers();
+
+        if (layers.size() < 2) return false;
+
+        for (Layer layer : layers) {
+            if (layer.getClass() != DenseLayer.class) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Captures a training step of the model for the given batch size.
+     * @param model the model to capture, it must be supported
+     * @param batchSize the amount of samples in each batch
+     * @return the captured plan
+     */
+    public static ExecutionPlan capture(Model model, int batchSize) {
+        if (!supports(model)) {
+            throw new IllegalArgumentException("Only CPU sequential models made of dense layers can be captured!");
+        }
+
+        return new ExecutionPlan(model, batchSize);
+    }
+
+    /**
+     * Checks whether this plan can run a step of the model on the given inputs.
+     * @param model the model being trained
+     * @param inputs the batch of inputs
+     * @return true if the plan was captured for the same model structure and batch size
+     */
+    public boolean matches(Model model, Tensor inputs) {
+        if (model != this.model || inputs.dimension() != 2 || inputs.shape()[0] != batchSize) return false;
+
+        List<Layer> modelLayers = model.getLayers();
+
+        if (modelLayers.size() != layers.length) return false;
+
+        for (int l = 0; l < layers.length; l++) {
+            if (modelLayers.get(l) != layers[l]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Replays the forward and backward pass on a batch, handing the gradients to the updater.
+     * @param inputs the batch of inputs, [batch_size, n_0]
+     * @param labels the batch of labels, [batch_size, n_out]
+     */
+    public void execute(Tensor inputs, Tensor labels) {
+        forward(inputs);
+        backward(inputs, labels);
+    }
+
+    private void forward(Tensor inputs) {
+        Tensor input = inputs;
+
+        for (int l = 1; l < layers.length; l++) {
+            DenseLayer layer = layers[l];
+            Tensor output = outputs[l];
+
+            input.matmul(layer.getWeights(), output);
+            addBias(output.getData(), layer.getBias().getData());
+
+            layer.getActivation().activateInPlace(output);
+            input = output;
+        }
+    }
+
+    private void backward(Tensor inputs, Tensor labels) {
+        Updater updater = model.getUpdater();
+        Optimizer optimizer = model.getOptimizer();
+        LossFunction lossFunction = model.getLossFunction();
+
+        int last = layers.length - 1;
+
+        float[] output = outputs[last].getData();
+        float[] target = labels.getData();
+        float[] error = deltas[last].getData();
+
+        for (int i = 0; i < error.length; i++) {
+            error[i] = output[i] - target[i];
+        }
+
+        Tensor derivative = derivatives[last];
+        System.arraycopy(output, 0, derivative.getData(), 0, output.length);
+        layers[last].getActivation().derivativeInPlace(derivative);
+
+        Tensor delta = lossFunction.getDelta(deltas[last], derivative);
+
+        computeGradients(last, inputOf(last, inputs), delta);
+        updater.acknowledgeBorrowedChange(layers[last], weightsGradients[last], biasesGradients[last]);
+
+        for (int l = last - 1; l >= 1; l--) {
+            DenseLayer layer = layers[l];
+            Activation activation = layer.getActivation();
+
+            derivative = derivatives[l];
+            System.arraycopy(outputs[l].getData(), 0, derivative.getData(), 0, derivative.elements());
+            activation.derivativeInPlace(derivative);
+
+            Tensor next = layers[l + 1].getWeights(); // [n_l, n_l+1]
+            transpose(next, weightsTransposed[l]);
+
+            Tensor current = deltas[l];
+            delta.matmul(weightsTransposed[l], current);
+            current.mul(derivative);
+
+            delta = current;
+            computeGradients(l, inputOf(l, inputs), delta);
+
+            Tensor gradient = optimizer.optimize(layer, weightsGradients[l]);
+            Tensor biasGradient = biasesGradients[l];
+
+            GradientClipper clipper = layer.getClipper();
+
+            clipper.clip(gradient);
+            clipper.clip(biasGradient);
+
+            updater.acknowledgeBorrowedChange(layer, gradient, biasGradient);
+        }
+    }
+
+    private Tensor inputOf(int index, Tensor inputs) {
+        return index == 1 ? inputs : outputs[index - 1];
+    }
+
+    private void computeGradients(int index, Tensor input, Tensor delta) {
+        transpose(input, inputsTransposed[index]);
+        inputsTransposed[index].matmul(delta, weightsGradients[index]);
+
+        float[] source = delta.getData();
+        float[] bias = biasesGradients[index].getData();
+
+        int columns = bias.length;
+
+        for (int j = 0; j < columns; j++) {
+            bias[j] = 0;
+        }
+
+        for (int base = 0; base < source.length; base += columns) {
+            for (int j = 0; j < columns; j++) {
+                bias[j] += source[base + j];
+            }
+        }
+    }
+
+    private static void addBias(float[] data, float[] bias) {
+        int columns = bias.length;
+
+        for (int base = 0; base < data.length; base += columns) {
+            for (int j = 0; j < columns; j++) {
+                data[base + j] += bias[j];
+            }
+        }
+    }
+
+    private static void transpose(Tensor source, Tensor destination) {
+        int rows = source.shape()[0];
+        int columns = source.shape()[1];
+
+        float[] from = source.getData();
+        float[] to = destination.getData();
+
+        for (int i = 0; i < rows; i++) {
+            int base = i * columns;
+
+            for (int j = 0; j < columns; j++) {
+                to[j * rows + i] = from[base + j];
+            }
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
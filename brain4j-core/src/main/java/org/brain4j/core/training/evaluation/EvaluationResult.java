@@ -5,13 +5,14 @@ import org.brain4j.math.Brain4JUtils;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class EvaluationResult {
 
     private final double loss;
     private final int classes;
-    private final Map<Integer, Tensor> classifications;
+    private final int[][] confusion;
 
     private int totalCorrect;
     private int totalIncorrect;
@@ -21,22 +22,46 @@ public class EvaluationResult {
     private double f1Score;
 
     public EvaluationResult(double loss, int classes, Map<Integer, Tensor> classifications) {
+        this(loss, classes, toMatrix(classifications));
+    }
+
+    /**
+     * Creates the result of an evaluation.
+     * @param loss the average loss per sample
+     * @param classes the amount of classes
+     * @param confusion the confusion matrix, indexed by actual class and then by predicted class,
+     *                  or an empty array if it is not available
+     */
+    public EvaluationResult(double loss, int classes, int[][] confusion) {
         this.loss = loss;
         this.classes = classes;
-        this.classifications = classifications;
+        this.confusion = confusion;
         calculateStats();
     }
 
+    private static int[][] toMatrix(Map<Integer, Tensor> classifications) {
+        int[][] matrix = new int[classifications.size()][];
+
+        for (int i = 0; i < matrix.length; i++) {
+            Tensor predictions = classifications.get(i);
+            matrix[i] = new int[predictions.elements()];
+
+            for (int j = 0; j < matrix[i].length; j++) {
+                matrix[i][j] = (int) predictions.get(j);
+            }
+        }
+
+        return matrix;
+    }
+
     private void calculateStats() {
         int[] truePositives = new int[classes];
         int[] falsePositives = new int[classes];
         int[] falseNegatives = new int[classes];
 
-        for (int i = 0; i < classifications.size(); i++) {
-            Tensor vector = classifications.get(i);
-
-            for (int j = 0; j < vector.elements(); j++) {
-                int value = (int) vector.get(j);
+        for (int i = 0; i < confusion.length; i++) {
+            for (int j = 0; j < confusion[i].length; j++) {
+                int value = confusion[i][j];
 
                 if (i == j) {
                     totalCorrect += value;
@@ -72,7 +97,7 @@ public class EvaluationResult {
         String divider = Brain4JUtils.getHeader(" Evaluation Results ", Brain4J.getHeaderChar());
 
         matrix.append(divider);
-        matrix.append("Out of ").append(classifications.size()).append(" classes\n\n");
+        matrix.append("Out of ").append(confusion.length).append(" classes\n\n");
 
         String secondary = "%-12s %-10s\n";
         matrix.append(secondary.formatted("Loss:", "%.4f".formatted(loss)));
@@ -81,7 +106,7 @@ public class EvaluationResult {
         matrix.append(secondary.formatted("Recall:", "%.4f".formatted(recall)));
         matrix.append(secondary.formatted("F1-score:", "%.4f".formatted(f1Score)));
 
-        if (!classifications.isEmpty()) {
+        if (confusion.length > 0) {
             divider = Brain4JUtils.getHeader(" Confusion Matrix ", Brain4J.getHeaderChar());
             matrix.append(divider);
             matrix.append("First column is the actual class, top row are the predicted classes.\n\n");
@@ -94,12 +119,10 @@ public class EvaluationResult {
             matrix.append("\n  ");
             matrix.append("-".repeat(5 + classes * 5)).append("\n");
 
-            for (int i = 0; i < classes; i++) {
+            for (int i = 0; i < confusion.length; i++) {
                 StringBuilder text = new StringBuilder();
-                Tensor predictions = classifications.get(i);
 
-                for (int j = 0; j < predictions.elements(); j++) {
-                    int prediction = (int) predictions.get(j);
+                for (int prediction : confusion[i]) {
                     text.append("%4d".formatted(prediction)).append(" ");
                 }
 
@@ -118,11 +141,9 @@ public class EvaluationResult {
     public Tensor confusionMatrix() {
         Tensor result = Tensors.matrix(classes, classes);
 
-        for (int i = 0; i < classes; i++) {
-            Tensor predictions = classifications.get(i);
-
-            for (int j = 0; j < predictions.elements(); j++) {
-                result.set(predictions.get(j), i, j);
+        for (int i = 0; i < confusion.length; i++) {
+            for (int j = 0; j < confusion[i].length; j++) {
+                result.set(confusion[i][j], i, j);
             }
         }
 
@@ -161,7 +182,26 @@ public class EvaluationResult {
         return f1Score;
     }
 
+    /**
+     * Gets the confusion matrix, indexed by actual class and then by predicted class.
+     */
+    public int[][] confusion() {
+        return confusion;
+    }
+
     public Map<Integer, Tensor> classifications() {
-        return classifications;
+        Map<Integer, Tensor> result = new HashMap<>();
+
+        for (int i = 0; i < confusion.length; i++) {
+            Tensor predictions = Tensors.create(confusion[i].length);
+
+            for (int j = 0; j < confusion[i].length; j++) {
+                predictions.set(confusion[i][j], j);
+            }
+
+            result.put(i, predictions);
+        }
+
+        return result;
     }
 }
@@ -3,6 +3,7 @@ package org.brain4j.core.training.optimizer;
 import org.brain4j.core.serializing.BinarySerializable;
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.model.Model;
+import org.brain4j.core.training.parallel.GradientBuffer;
 import org.brain4j.math.tensor.Tensor;
 
 import java.io.DataInputStream;
@@ -29,11 +30,40 @@ public abstract class Optimizer implements BinarySerializable {
         this.learningRate = stream.readDouble();
     }
 
-    public abstract Tensor optimize(Layer layer, Tensor delta, Tensor output);
+    public Tensor optimize(Layer layer, Tensor delta, Tensor output) {
+        // [n_in, batch_size] x [batch_size, n_out]
+        Tensor gradient = output.transpose().matmul(delta);
+        GradientBuffer buffer = GradientBuffer.current();
+
+        if (buffer != null) {
+            // parallel workers only compute raw gradients, the optimizer runs once after the reduction
+            buffer.deferOptimizer(layer);
+            return gradient;
+        }
+
+        return optimize(layer, gradient);
+    }
+
+    /**
+     * Computes the change to apply to the weights of a layer from their raw gradient.
+     * Implementations may write the result into the gradient tensor and return it.
+     * @param layer the layer owning the weights
+     * @param gradient the gradient of the weights, [n_in, n_out]
+     * @return the change to apply to the weights
+     */
+    public abstract Tensor optimize(Layer layer, Tensor gradient);
 
     public void postInitialize(Model model) {
     }
 
+    /**
+     * Allocates the state kept for the weights of every layer of the model, which is otherwise allocated
+     * by the first call to {@link #optimize(Layer, Tensor)} for each layer. Must be called before
+     * {@link #optimize(Layer, Tensor)} is invoked by several threads at once.
+     */
+    public void initializeState(Model model) {
+    }
+
     public void postBatch() {
     }
 
@@ -43,8 +43,21 @@ public class Adam extends Optimizer {
         this.beta1Timestep = Math.pow(beta1, timestep);
         this.beta2Timestep = Math.pow(beta2, timestep);
 
-        this.firstMomentum = new Tensor[Layer.getTotalLayers()];
-        this.secondMomentum = new Tensor[Layer.getTotalLayers()];
+        this.firstMomentum = new Tensor[model.getTotalLayers()];
+        this.secondMomentum = new Tensor[model.getTotalLayers()];
+    }
+
+    @Override
+    public void initializeState(Model model) {
+        for (Layer layer : model.getLayers()) {
+            Tensor weights = layer.getWeights();
+            int id = layer.getId();
+
+            if (weights == null || weights.elements() == 0 || firstMomentum[id] != null) continue;
+
+            firstMomentum[id] = Tensors.create(weights.shape());
+            secondMomentum[id] = Tensors.create(weights.shape());
+        }
     }
 
     @Override
@@ -68,33 +81,38 @@ public class Adam extends Optimizer {
     }
 
     @Override
-    public Tensor optimize(Layer layer, Tensor delta, Tensor output) {
-        // [n_out, batch_size] x [batch_size, n_out]
-        Tensor gradient = output.transpose().matmul(delta);
-
+    public Tensor optimize(Layer layer, Tensor gradient) {
         Tensor firstMomentum = this.firstMomentum[layer.getId()];
         Tensor secondMomentum = this.secondMomentum[layer.getId()];
 
         if (firstMomentum == null || secondMomentum == null) {
             firstMomentum = Tensors.create(gradient.shape());
             secondMomentum = Tensors.create(gradient.shape());
+
+            this.firstMomentum[layer.getId()] = firstMomentum;
+            this.secondMomentum[layer.getId()] = secondMomentum;
         }
 
-        Tensor gradSquared = gradient.clone().mul(gradient);
+        float[] grad = gradient.getData();
+        float[] first = firstMomentum.getData();
+        float[] second = secondMomentum.getData();
 
-        firstMomentum = firstMomentum.mul(beta1).add(gradient.mul(1 - beta1));
-        secondMomentum = secondMomentum.mul(beta2).add(gradSquared.mul(1 - beta2));
+        float biasCorrection1 = (float) (1 - beta1Timestep);
+        float biasCorrection2 = (float) (1 - beta2Timestep);
 
-        this.firstMomentum[layer.getId()] = firstMomentum;
-        this.secondMomentum[layer.getId()] = secondMomentum;
+        for (int i = 0; i < grad.length; i++) {
+            float value = grad[i];
 
-        double biasCorrection1 = 1 - beta1Timestep;
-        double biasCorrection2 = 1 - beta2Timestep;
+            first[i] = beta1 * first[i] + (1 - beta1) * value;
+            second[i] = beta2 * second[i] + (1 - beta2) * value * value;
 
-        Tensor mHat = firstMomentum.clone().div(biasCorrection1);
-        Tensor vHat = secondMomentum.clone().div(biasCorrection2);
+            float mHat = first[i] / biasCorrection1;
+            float vHat = second[i] / biasCorrection2;
+
+            grad[i] = mHat / ((float) Math.sqrt(vHat) + epsilon);
+        }
 
-        return mHat.div(vHat.sqrt().add(epsilon));
+        return gradient;
     }
 
     @Override
@@ -40,11 +40,18 @@ public class AdamW extends Adam {
     }
 
     @Override
-    public Tensor optimize(Layer layer, Tensor delta, Tensor output) {
-        Tensor adamValue = super.optimize(layer, delta, output);
-        Tensor weightDecayTerm = layer.getWeights().clone().mul(weightDecay);
+    public Tensor optimize(Layer layer, Tensor gradient) {
+        Tensor adamValue = super.optimize(layer, gradient);
 
-        return adamValue.add(weightDecayTerm);
+        float[] change = adamValue.getData();
+        float[] weights = layer.getWeights().getData();
+        float decay = (float) weightDecay;
+
+        for (int i = 0; i < change.length; i++) {
+            change[i] += weights[i] * decay;
+        }
+
+        return adamValue;
     }
 
     public double getWeightDecay() {
@@ -14,7 +14,7 @@ public class GradientDescent extends Optimizer {
     }
 
     @Override
-    public Tensor optimize(Layer layer, Tensor delta, Tensor output) {
-        return output.transpose().matmul(delta);
+    public Tensor optimize(Layer layer, Tensor gradient) {
+        return gradient;
     }
 }
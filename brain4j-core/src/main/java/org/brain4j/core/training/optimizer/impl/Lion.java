@@ -36,26 +36,42 @@ public class Lion extends Optimizer {
 
     @Override
     public void postInitialize(Model model) {
-        this.momentumHistory = new Tensor[Layer.getTotalLayers()];
+        this.momentumHistory = new Tensor[model.getTotalLayers()];
     }
 
     @Override
-    public Tensor optimize(Layer layer, Tensor delta, Tensor output) {
-        float factor = (float) (1 - beta);
+    public void initializeState(Model model) {
+        for (Layer layer : model.getLayers()) {
+            Tensor weights = layer.getWeights();
+            int id = layer.getId();
 
-        Tensor gradient = output.transpose().matmul(delta);
-        Tensor signGrad = gradient.sign().mul(factor);
+            if (weights == null || weights.elements() == 0 || momentumHistory[id] != null) continue;
 
+            momentumHistory[id] = Tensors.create(weights.shape());
+        }
+    }
+
+    @Override
+    public Tensor optimize(Layer layer, Tensor gradient) {
         Tensor momentum = momentumHistory[layer.getId()];
 
         if (momentum == null) {
             momentum = Tensors.create(gradient.shape());
+            momentumHistory[layer.getId()] = momentum;
         }
 
-        momentum = momentum.mul(beta).add(signGrad);
-        momentumHistory[layer.getId()] = momentum;
+        float[] grad = gradient.getData();
+        float[] history = momentum.getData();
+
+        float factor = (float) (1 - beta);
+        float decay = (float) beta;
+
+        for (int i = 0; i < grad.length; i++) {
+            history[i] = history[i] * decay + Math.signum(grad[i]) * factor;
+            grad[i] = Math.signum(history[i]);
+        }
 
-        return momentum.sign();
+        return gradient;
     }
 
     public double getBeta() {
@@ -0,0 +1,224 @@
+package org.brain4j.core.training.parallel;
+
+import org.brain4j.core.clipping.GradientClipper;
+import org.brain4j.core.jfr.BatchEvent;
+import org.brain4j.core.layer.Layer;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.structure.StatesCache;
+import org.brain4j.core.training.BackPropagation;
+import org.brain4j.math.Pair;
+import org.brain4j.math.anomaly.AnomalyDetector;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Trains a model by splitting every mini-batch across a fixed amount of workers.
+ * <p>
+ * Each worker propagates a contiguous shard of the batch with its own {@link StatesCache} and
+ * {@link GradientBuffer}, so workers never touch the gradients of the updater. The buffers are then
+ * combined by a pairwise tree reduction, and the optimizer and the gradient clipping run once on the
+ * result, so a step is equivalent to propagating the whole batch at once. Shards and the
+ * reduction order only depend on the amount of workers, so the results of a given worker count are
+ * reproducible regardless of scheduling.
+ * <pre>{@code
+ * model.compile(Loss.MEAN_SQUARED_ERROR, new Adam(0.01));
+ * model.setPropagation(new DataParallelPropagation(model, Runtime.getRuntime().availableProcessors()));
+ * }</pre>
+ * A propagation created without a pool owns one, which is shut down by {@link #close()}.
+ */
+public class DataParallelPropagation extends BackPropagation implements AutoCloseable {
+
+    private final int workers;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    private GradientBuffer[] buffers;
+    private StatesCache[] caches;
+    private long steps;
+
+    public DataParallelPropagation(Model model, int workers) {
+        this(model, workers, null);
+    }
+
+    /**
+     * @param pool the pool running the workers, which is not shut down by {@link #close()}
+     */
+    public DataParallelPropagation(Model model, int workers, ForkJoinPool pool) {
+        super(model, model.getOptimizer(), model.getUpdater());
+
+        if (!(model instanceof Sequential)) {
+            throw new IllegalArgumentException("Data parallel training is only supported by sequential models");
+        }
+
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1, got " + workers);
+        }
+
+        this.workers = workers;
+        this.ownsPool = pool == null;
+        this.pool = ownsPool ? new ForkJoinPool(workers) : pool;
+    }
+
+    @Override
+    public void propagatePartition(Pair<Tensor, Tensor> partition) {
+        Tensor inputs = partition.first();
+        Tensor labels = partition.second();
+
+        BatchEvent event = new BatchEvent();
+        event.begin();
+
+        AnomalyDetector.step();
+
+        int elements = inputs.shape()[0];
+        int shards = Math.min(workers, elements);
+
+        GradientBuffer[] buffers = buffers(shards);
+        long step = steps++;
+
+        List<Callable<Void>> tasks = new ArrayList<>(shards);
+
+        for (int s = 0; s < shards; s++) {
+            int start = (int) ((long) elements * s / shards);
+            int end = (int) ((long) elements * (s + 1) / shards);
+
+            GradientBuffer buffer = buffers[s];
+            StatesCache cache = caches[s];
+            long stream = (1L << 62) + step * workers + s;
+
+            tasks.add(() -> {
+                buffer.clear();
+                cache.reset();
+                buffer.setRandomStream(stream);
+
+                Tensor shardInputs = rows(inputs, start, end);
+                Tensor shardLabels = rows(labels, start, end);
+
+                GradientBuffer.Binding binding = buffer.bind();
+
+                try {
+                    Tensor output = model.predict(cache, shardInputs, true);
+
+                    backpropagation(cache, shardLabels, output);
+                } finally {
+                    binding.close();
+                }
+
+                return null;
+            });
+        }
+
+        Workers.invokeAll(pool, tasks);
+        reduce(buffers, shards);
+        apply(buffers[0]);
+
+        optimizer.postBatch();
+        updater.postBatch(model, optimizer.getLearningRate(), elements);
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.inputShape = Arrays.toString(inputs.shape());
+            event.batchSize = elements;
+            event.staticExecution = false;
+            event.commit();
+        }
+    }
+
+    /**
+     * Merges the buffers pairwise, doubling the distance between partners at every level, until
+     * the first buffer holds the sum. The pairs of one level are independent and merged in parallel.
+     */
+    private void reduce(GradientBuffer[] buffers, int count) {
+        for (int stride = 1; stride < count; stride <<= 1) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+
+            for (int i = 0; i + stride < count; i += stride << 1) {
+                GradientBuffer target = buffers[i];
+                GradientBuffer source = buffers[i + stride];
+
+                tasks.add(() -> {
+                    target.merge(source);
+                    return null;
+                });
+            }
+
+            Workers.invokeAll(pool, tasks);
+        }
+    }
+
+    private void apply(GradientBuffer reduced) {
+        for (Layer layer : model.getLayers()) {
+            int id = layer.getId();
+
+            Tensor weights = reduced.getWeightsGradient(id);
+            Tensor bias = reduced.getBiasGradient(id);
+
+            if (weights == null && bias == null) continue;
+
+            if (weights != null && reduced.isOptimizerDeferred(id)) {
+                weights = optimizer.optimize(layer, weights);
+            }
+
+            GradientClipper clipper = reduced.getDeferredClipper(id);
+
+            if (clipper != null) {
+                if (weights != null) clipper.clip(weights);
+                if (bias != null) clipper.clip(bias);
+            }
+
+            updater.acknowledgeChange(layer, weights, bias);
+        }
+    }
+
+    private GradientBuffer[] buffers(int count) {
+        int layers = model.getTotalLayers();
+
+        if (buffers == null || buffers.length < count || buffers[0].layers() != layers) {
+            this.buffers = new GradientBuffer[workers];
+            this.caches = new StatesCache[workers];
+
+            for (int i = 0; i < workers; i++) {
+                buffers[i] = new GradientBuffer(layers);
+                buffers[i].setClippingDeferred(true);
+                caches[i] = new StatesCache(layers);
+            }
+        }
+
+        return buffers;
+    }
+
+    private static Tensor rows(Tensor tensor, int start, int end) {
+        int[] shape = tensor.shape().clone();
+        int rows = shape[0];
+
+        if (start == 0 && end == rows) return tensor;
+
+        int stride = tensor.elements() / rows;
+        shape[0] = end - start;
+
+        Tensor result = Tensors.create(shape);
+        System.arraycopy(tensor.getData(), start * stride, result.getData(), 0, (end - start) * stride);
+
+        return result;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+}
@@ -0,0 +1,169 @@
+package org.brain4j.core.training.parallel;
+
+import org.brain4j.core.clipping.GradientClipper;
+import org.brain4j.core.layer.Layer;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.Arrays;
+
+/**
+ * Gradients computed by one worker of a parallel training step.
+ * <p>
+ * While a buffer is bound to a thread, layers report their gradients here instead of to the
+ * model {@link org.brain4j.core.training.updater.Updater}, and the optimizer is skipped: the raw
+ * gradients of all workers are reduced first, and the optimizer runs once on the result. Gradient
+ * clipping is skipped as well when {@link #setClippingDeferred(boolean) requested}.
+ * <pre>{@code
+ * try (GradientBuffer.Binding binding = buffer.bind()) {
+ *     Tensor output = model.predict(cache, inputs, true);
+ *     propagation.backpropagation(cache, labels, output);
+ * }
+ * }</pre>
+ */
+public final class GradientBuffer {
+
+    private static final ThreadLocal<GradientBuffer> CURRENT = new ThreadLocal<>();
+
+    private final Tensor[] weights;
+    private final Tensor[] biases;
+    private final boolean[] deferred;
+    private final GradientClipper[] clippers;
+    private boolean clippingDeferred;
+    private long randomStream;
+
+    /**
+     * @param layers the amount of layer ids to reserve room for
+     */
+    public GradientBuffer(int layers) {
+        this.weights = new Tensor[layers];
+        this.biases = new Tensor[layers];
+        this.deferred = new boolean[layers];
+        this.clippers = new GradientClipper[layers];
+    }
+
+    /**
+     * Gets the buffer bound to the current thread.
+     * @return the buffer, or null if the thread is not running a parallel worker
+     */
+    public static GradientBuffer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds this buffer to the current thread until the returned binding is closed.
+     */
+    public Binding bind() {
+        GradientBuffer previous = CURRENT.get();
+        CURRENT.set(this);
+
+        return () -> {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        };
+    }
+
+    /**
+     * Adds the gradients of a layer to this buffer.
+     */
+    public void accumulate(Layer layer, Tensor weightsGradient, Tensor biasGradient) {
+        int id = layer.getId();
+
+        weights[id] = add(weights[id], weightsGradient);
+        biases[id] = add(biases[id], biasGradient);
+    }
+
+    /**
+     * Records that the optimizer was skipped for the weights of a layer, so it has to run after the reduction.
+     */
+    public void deferOptimizer(Layer layer) {
+        deferred[layer.getId()] = true;
+    }
+
+    /**
+     * Records that the gradients of a layer were not clipped, so they have to be clipped after the reduction.
+     */
+    public void deferClipping(Layer layer, GradientClipper clipper) {
+        clippers[layer.getId()] = clipper;
+    }
+
+    /**
+     * Adds the gradients of another buffer into this one.
+     */
+    public void merge(GradientBuffer other) {
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = add(weights[i], other.weights[i]);
+            biases[i] = add(biases[i], other.biases[i]);
+            deferred[i] |= other.deferred[i];
+
+            if (clippers[i] == null) clippers[i] = other.clippers[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(weights, null);
+        Arrays.fill(biases, null);
+        Arrays.fill(deferred, false);
+        Arrays.fill(clippers, null);
+    }
+
+    public Tensor getWeightsGradient(int id) {
+        return weights[id];
+    }
+
+    public Tensor getBiasGradient(int id) {
+        return biases[id];
+    }
+
+    public boolean isOptimizerDeferred(int id) {
+        return deferred[id];
+    }
+
+    /**
+     * Gets the clipper deferred for the gradients of a layer.
+     * @return the clipper, or null if the gradients were clipped by the layer or not reported
+     */
+    public GradientClipper getDeferredClipper(int id) {
+        return clippers[id];
+    }
+
+    /**
+     * Checks whether layers leave their gradients unclipped while this buffer is bound, recording their
+     * clipper with {@link #deferClipping(Layer, GradientClipper)} instead.
+     */
+    public boolean isClippingDeferred() {
+        return clippingDeferred;
+    }
+
+    public void setClippingDeferred(boolean clippingDeferred) {
+        this.clippingDeferred = clippingDeferred;
+    }
+
+    /**
+     * Gets the stream random layers draw from while this buffer is bound, so that the masks of a
+     * worker do not depend on the order in which the workers run.
+     */
+    public long getRandomStream() {
+        return randomStream;
+    }
+
+    public void setRandomStream(long randomStream) {
+        this.randomStream = randomStream;
+    }
+
+    public int layers() {
+        return weights.length;
+    }
+
+    private static Tensor add(Tensor current, Tensor change) {
+        if (change == null) return current;
+        if (current == null) return change;
+
+        return current.add(change);
+    }
+
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,295 @@
+package org.brain4j.core.training.parallel;
+
+import org.brain4j.core.clipping.GradientClipper;
+import org.brain4j.core.jfr.BatchEvent;
+import org.brain4j.core.layer.Layer;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.structure.StatesCache;
+import org.brain4j.core.training.BackPropagation;
+import org.brain4j.math.Pair;
+import org.brain4j.math.anomaly.AnomalyDetector;
+import org.brain4j.math.data.DataSource;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trains a model with asynchronous, lock-free stochastic gradient descent.
+ * <p>
+ * Every worker pulls whole batches from the data source, computes their gradients against the
+ * current weights and subtracts them from the shared weights directly, without waiting for the other
+ * workers and without locks. Updates may overwrite each other, which sparse models tolerate well, so
+ * the results are not reproducible. The updater of the model is bypassed.
+ * <p>
+ * Weights are updated in chunks of {@link #getChunkSize()} floats, and every worker starts from a
+ * different chunk, so that concurrent updates of the same layer rarely touch the same cache lines.
+ * Zero gradients are skipped and never written. With a staleness bound, an update is discarded when
+ * more than that amount of updates were applied while its gradients were being computed.
+ * <p>
+ * Stateful optimizers such as {@link org.brain4j.core.training.optimizer.impl.Adam} are shared by the
+ * workers. Their per-layer state is allocated before the workers start and then updated without locks,
+ * like the weights: concurrent updates of the moments may overwrite each other, and a worker may use
+ * the bias correction of a step that another worker has already completed.
+ * <pre>{@code
+ * model.compile(Loss.BINARY_CROSS_ENTROPY, new GradientDescent(0.1));
+ * model.setPropagation(new HogwildPropagation(model, 8).setMaxStaleness(16));
+ * }</pre>
+ * A propagation created without a pool owns one, which is shut down by {@link #close()}.
+ */
+public class HogwildPropagation extends BackPropagation implements AutoCloseable {
+
+    private static final int CACHE_LINE_FLOATS = 16;
+
+    private final int workers;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong streams = new AtomicLong(1L << 61);
+    private final LongAdder dropped = new LongAdder();
+
+    private int chunkSize = 4096;
+    private long maxStaleness;
+
+    public HogwildPropagation(Model model, int workers) {
+        this(model, workers, null);
+    }
+
+    /**
+     * @param pool the pool running the workers, which is not shut down by {@link #close()}
+     */
+    public HogwildPropagation(Model model, int workers, ForkJoinPool pool) {
+        super(model, model.getOptimizer(), model.getUpdater());
+
+        if (!(model instanceof Sequential)) {
+            throw new IllegalArgumentException("Asynchronous training is only supported by sequential models");
+        }
+
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1, got " + workers);
+        }
+
+        this.workers = workers;
+        this.ownsPool = pool == null;
+        this.pool = ownsPool ? new ForkJoinPool(workers) : pool;
+    }
+
+    @Override
+    public void iteration(DataSource dataSource) {
+        dataSource.reset();
+
+        // lazily allocated state would be lost when two workers allocate it at once
+        optimizer.initializeState(model);
+
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+
+            tasks.add(() -> {
+                GradientBuffer buffer = newBuffer();
+                StatesCache cache = new StatesCache(model);
+                Pair<Tensor, Tensor> batch;
+
+                while ((batch = next(dataSource)) != null) {
+                    step(batch, buffer, cache, worker);
+                    dataSource.recycle(batch);
+                }
+
+                return null;
+            });
+        }
+
+        Workers.invokeAll(pool, tasks);
+        updater.postFit(model, optimizer.getLearningRate(), dataSource.size());
+    }
+
+    private static Pair<Tensor, Tensor> next(DataSource dataSource) {
+        // sources are not required to be thread safe
+        synchronized (dataSource) {
+            return dataSource.nextBatch();
+        }
+    }
+
+    @Override
+    public void propagatePartition(Pair<Tensor, Tensor> partition) {
+        step(partition, newBuffer(), new StatesCache(model), 0);
+    }
+
+    private GradientBuffer newBuffer() {
+        GradientBuffer buffer = new GradientBuffer(model.getTotalLayers());
+
+        // clipped after the optimizer, in the order of a serial step
+        buffer.setClippingDeferred(true);
+        return buffer;
+    }
+
+    private void step(Pair<Tensor, Tensor> partition, GradientBuffer buffer, StatesCache cache, int worker) {
+        Tensor inputs = partition.first();
+        Tensor labels = partition.second();
+
+        BatchEvent event = new BatchEvent();
+        event.begin();
+
+        AnomalyDetector.step();
+
+        buffer.clear();
+        cache.reset();
+        buffer.setRandomStream(streams.getAndIncrement());
+
+        long read = version.get();
+
+        GradientBuffer.Binding binding = buffer.bind();
+
+        try {
+            Tensor output = model.predict(cache, inputs, true);
+
+            backpropagation(cache, labels, output);
+        } finally {
+            binding.close();
+        }
+
+        int elements = inputs.shape()[0];
+
+        if (maxStaleness > 0 && version.get() - read > maxStaleness) {
+            dropped.increment();
+        } else {
+            apply(buffer, elements, worker);
+            version.incrementAndGet();
+
+            synchronized (optimizer) {
+                optimizer.postBatch();
+            }
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.inputShape = Arrays.toString(inputs.shape());
+            event.batchSize = elements;
+            event.staticExecution = false;
+            event.commit();
+        }
+    }
+
+    private void apply(GradientBuffer buffer, int samples, int worker) {
+        float scale = (float) (optimizer.getLearningRate() / samples);
+
+        for (Layer layer : model.getLayers()) {
+            int id = layer.getId();
+
+            Tensor weights = buffer.getWeightsGradient(id);
+            Tensor bias = buffer.getBiasGradient(id);
+
+            if (weights != null && buffer.isOptimizerDeferred(id)) {
+                weights = optimizer.optimize(layer, weights);
+            }
+
+            GradientClipper clipper = buffer.getDeferredClipper(id);
+
+            if (clipper != null) {
+                if (weights != null) clipper.clip(weights);
+                if (bias != null) clipper.clip(bias);
+            }
+
+            if (weights != null) {
+                subtract(layer.getWeights().getData(), weights.getData(), scale, worker);
+            }
+
+            if (bias != null) {
+                subtract(layer.getBias().getData(), bias.getData(), scale, worker);
+            }
+        }
+    }
+
+    private void subtract(float[] target, float[] gradient, float scale, int worker) {
+        int length = gradient.length;
+        int chunks = (length + chunkSize - 1) / chunkSize;
+
+        if (chunks == 0) return;
+
+        int first = (int) ((long) worker * chunks / workers);
+
+        for (int c = 0; c < chunks; c++) {
+            int chunk = first + c;
+            if (chunk >= chunks) chunk -= chunks;
+
+            int start = chunk * chunkSize;
+            int end = Math.min(start + chunkSize, length);
+
+            for (int i = start; i < end; i++) {
+                float value = gradient[i];
+
+                if (value != 0) {
+                    target[i] -= scale * value;
+                }
+            }
+        }
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) pool.shutdown();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the amount of floats updated as a unit, rounded up to a whole amount of cache lines.
+     */
+    public HogwildPropagation setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive, got " + chunkSize);
+        }
+
+        this.chunkSize = (chunkSize + CACHE_LINE_FLOATS - 1) / CACHE_LINE_FLOATS * CACHE_LINE_FLOATS;
+        return this;
+    }
+
+    public long getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    /**
+     * Sets the maximum amount of updates that may be applied by other workers while a worker computes
+     * its gradients. Staler updates are discarded. Zero, the default, never discards an update.
+     */
+    public HogwildPropagation setMaxStaleness(long maxStaleness) {
+        if (maxStaleness < 0) {
+            throw new IllegalArgumentException("Staleness bound cannot be negative, got " + maxStaleness);
+        }
+
+        this.maxStaleness = maxStaleness;
+        return this;
+    }
+
+    /**
+     * Gets the amount of updates applied since this propagation was created.
+     */
+    public long getAppliedUpdates() {
+        return version.get();
+    }
+
+    /**
+     * Gets the amount of updates discarded because of the staleness bound.
+     */
+    public long getDroppedUpdates() {
+        return dropped.sum();
+    }
+}
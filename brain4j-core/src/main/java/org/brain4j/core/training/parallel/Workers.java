@@ -0,0 +1,46 @@
+package org.brain4j.core.training.parallel;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+final class Workers {
+
+    private Workers() {
+    }
+
+    /**
+     * Runs the tasks on the pool and waits for all of them, rethrowing the first failure on the
+     * calling thread. A single task runs directly on the calling thread.
+     */
+    static void invokeAll(ForkJoinPool pool, List<Callable<Void>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.getFirst().call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the workers", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package org.brain4j.core.training.updater;
 
+import org.brain4j.core.jfr.OptimizerStepEvent;
 import org.brain4j.core.layer.Layer;
 import org.brain4j.core.model.Model;
+import org.brain4j.core.training.parallel.GradientBuffer;
 import org.brain4j.math.tensor.Tensor;
 
+import java.util.Arrays;
+
 public abstract class Updater {
 
     protected Tensor[] gradientsTensors;
     protected Tensor[] biasesTensors;
 
+    private Tensor[] gradientsBuffers;
+    private Tensor[] biasesBuffers;
+    private Model model;
+
     protected void updateWeights(Model model, double learningRate, int samples) {
         if (model.getLayers().size() != gradientsTensors.length) {
             return; // TODO: Implement this for transformers
         }
 
+        OptimizerStepEvent event = new OptimizerStepEvent();
+        event.begin();
+
         for (int i = 1; i < gradientsTensors.length; i++) {
             Layer layer = model.getLayers().get(i);
 
@@ -28,9 +39,26 @@ public abstract class Updater {
                 layer.getBias().sub(biasW.div(samples).mul(learningRate));
             }
         }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.optimizer = model.getOptimizer().getClass().getSimpleName();
+            event.updater = getClass().getSimpleName();
+            event.learningRate = learningRate;
+            event.samples = samples;
+            event.commit();
+        }
     }
 
     public void acknowledgeChange(Layer layer, Tensor change, Tensor biasDelta) {
+        GradientBuffer buffer = GradientBuffer.current();
+
+        if (buffer != null) {
+            buffer.accumulate(layer, change, biasDelta);
+            return;
+        }
+
         Tensor gradW = gradientsTensors[layer.getId()];
         Tensor biasW = biasesTensors[layer.getId()];
 
@@ -44,13 +72,79 @@ public abstract class Updater {
         this.biasesTensors[layer.getId()] = biasW;
     }
 
+    /**
+     * Same as {@link #acknowledgeChange(Layer, Tensor, Tensor)} for tensors that the caller keeps reusing.
+     * Their values are copied into buffers owned by this updater, which are recycled between batches.
+     */
+    public void acknowledgeBorrowedChange(Layer layer, Tensor change, Tensor biasDelta) {
+        GradientBuffer buffer = GradientBuffer.current();
+
+        if (buffer != null) {
+            buffer.accumulate(layer, change.clone(), biasDelta.clone());
+            return;
+        }
+
+        int id = layer.getId();
+
+        if (gradientsBuffers == null || gradientsBuffers.length != gradientsTensors.length) {
+            this.gradientsBuffers = new Tensor[gradientsTensors.length];
+            this.biasesBuffers = new Tensor[biasesTensors.length];
+        }
+
+        gradientsTensors[id] = accumulate(gradientsTensors[id], change, gradientsBuffers, id);
+        biasesTensors[id] = accumulate(biasesTensors[id], biasDelta, biasesBuffers, id);
+    }
+
+    private Tensor accumulate(Tensor current, Tensor change, Tensor[] buffers, int id) {
+        if (current != null) return current.add(change);
+
+        Tensor buffer = buffers[id];
+
+        if (buffer == null || buffer.elements() != change.elements()) {
+            buffer = change.clone();
+            buffers[id] = buffer;
+        } else {
+            System.arraycopy(change.getData(), 0, buffer.getData(), 0, change.elements());
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Clears the gradients, sizing them for the model last passed to {@link #resetGradients(Model)}.
+     * @deprecated use {@link #resetGradients(Model)}
+     */
+    @SuppressWarnings("removal")
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public void resetGradients() {
-        this.gradientsTensors = new Tensor[Layer.getTotalLayers()];
-        this.biasesTensors = new Tensor[Layer.getTotalLayers()];
+        if (model != null) {
+            resetGradients(model);
+            return;
+        }
+
+        int layers = Layer.getTotalLayers();
+
+        this.gradientsTensors = new Tensor[layers];
+        this.biasesTensors = new Tensor[layers];
+    }
+
+    public void resetGradients(Model model) {
+        int layers = model.getTotalLayers();
+
+        this.model = model;
+
+        if (gradientsTensors != null && gradientsTensors.length == layers) {
+            Arrays.fill(gradientsTensors, null);
+            Arrays.fill(biasesTensors, null);
+            return;
+        }
+
+        this.gradientsTensors = new Tensor[layers];
+        this.biasesTensors = new Tensor[layers];
     }
 
     public void postFit(Model model, double learningRate, int samples) {
-        resetGradients();
+        resetGradients(model);
     }
 
     public void postBatch(Model model, double learningRate, int samples) {
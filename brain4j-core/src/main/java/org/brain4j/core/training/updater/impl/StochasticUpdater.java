@@ -8,6 +8,6 @@ public class StochasticUpdater extends Updater {
     @Override
     public void postBatch(Model model, double learningRate, int samples) {
         updateWeights(model, learningRate, samples);
-        resetGradients();
+        resetGradients(model);
     }
 }
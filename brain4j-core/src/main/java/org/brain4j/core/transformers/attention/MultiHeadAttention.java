@@ -1,6 +1,8 @@
 package org.brain4j.core.transformers.attention;
 
 import org.brain4j.core.initialization.WeightInitializer;
+import org.brain4j.core.layer.Layer;
+import org.brain4j.core.structure.KeyValueCache;
 import org.brain4j.core.structure.StatesCache;
 import org.brain4j.core.transformers.head.AttentionHead;
 import org.brain4j.math.tensor.Tensor;
@@ -42,6 +44,46 @@ public class MultiHeadAttention {
         return new AttentionHead(embeddingDim, headDimension);
     }
 
+    /**
+     * Attends over one sample of a batch, with the keys and values cached for it.
+     * @param cache the cache of the forward pass
+     * @param layer the layer owning this attention
+     * @param slot the index of the sample inside the batch
+     * @param input the tokens of the sample, with shape <code>[seq_length, embedding_dim]</code>
+     */
+    public Tensor attend(StatesCache cache, Layer layer, int slot, Tensor input) {
+        Tensor[] outputs = new Tensor[heads.size()];
+
+        for (int i = 0; i < heads.size(); i++) {
+            KeyValueCache keyValues = cache.getKeyValueCache(layer, slot, i, headDimension);
+            outputs[i] = heads.get(i).attend(keyValues, input);
+        }
+
+        return Tensors.concat(List.of(outputs));
+    }
+
+    /**
+     * Attends over one sample while recording the autograd graph.
+     * @param input the tokens of the sample, with shape <code>[seq_length, embedding_dim]</code>
+     * @param projections the query, key and value projections of each head, used in place of their weights
+     */
+    public Tensor attendWithGrad(Tensor input, Tensor[][] projections) {
+        Tensor[] outputs = new Tensor[heads.size()];
+
+        for (int i = 0; i < heads.size(); i++) {
+            Tensor[] head = projections[i];
+            outputs[i] = heads.get(i).attendWithGrad(input, head[0], head[1], head[2]);
+        }
+
+        return Tensors.concatWithGrad(1, outputs);
+    }
+
+    /**
+     * Attends over the input with the keys and values cached per head, shared by every sample.
+     * @deprecated use {@link #attend(StatesCache, Layer, int, Tensor)}, which keeps one cache per sample
+     */
+    @SuppressWarnings("removal")
+    @Deprecated(since = "2.9.1", forRemoval = true)
     public Tensor attend(StatesCache cache, Tensor input) {
         Tensor[] outputs = new Tensor[heads.size()];
 
@@ -49,6 +49,11 @@ public class DecoderGroup extends Layer {
         }
     }
 
+    @Override
+    public List<Layer> getSubLayers() {
+        return List.copyOf(layers);
+    }
+
     @Override
     public Tensor forward(
         int index,
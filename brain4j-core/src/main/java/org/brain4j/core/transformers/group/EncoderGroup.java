@@ -40,6 +40,11 @@ public class EncoderGroup extends Layer {
         }
     }
 
+    @Override
+    public List<Layer> getSubLayers() {
+        return List.copyOf(layers);
+    }
+
     @Override
     public Tensor forward(
         int index,
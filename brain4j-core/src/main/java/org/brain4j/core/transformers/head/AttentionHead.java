@@ -1,13 +1,15 @@
 package org.brain4j.core.transformers.head;
 
 import org.brain4j.core.initialization.WeightInitializer;
+import org.brain4j.core.structure.KeyValueCache;
 import org.brain4j.core.structure.StatesCache;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 import org.brain4j.math.tensor.index.Range;
 
-import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class AttentionHead {
 
@@ -30,15 +32,14 @@ public class AttentionHead {
     }
 
     public void compile(Random random, WeightInitializer initializer) {
-        double bound = initializer.getBound(inputDimension, headDimension);
-
-        for (int i = 0; i < inputDimension; i++) {
-            for (int j = 0; j < headDimension; j++) {
-                queryWeightsTensor.set(random.nextDouble(2 * bound) - bound, i, j);
-                keyWeightsTensor.set(random.nextDouble(2 * bound) - bound, i, j);
-                valueWeightsTensor.set(random.nextDouble(2 * bound) - bound, i, j);
-            }
-        }
+        float bound = (float) initializer.getBound(inputDimension, headDimension);
+        long seed = random.nextLong();
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        Philox.fillUniform(queryWeightsTensor.getData(), seed, 0, -bound, bound, pool);
+        Philox.fillUniform(keyWeightsTensor.getData(), seed, 1, -bound, bound, pool);
+        Philox.fillUniform(valueWeightsTensor.getData(), seed, 2, -bound, bound, pool);
     }
 
     public Tensor getQueryWeightsTensor() {
@@ -93,66 +94,71 @@ public class AttentionHead {
         return attentionWeights.matmul(V);
     }
     
-    public Tensor attend(StatesCache cache, Tensor input) {
+    /**
+     * Attends over the input, reusing the keys and values of the tokens that were already seen.
+     * Only the tokens past the cached ones are projected; a cache longer than the input is discarded.
+     * @param cache the keys and values of this head for the current sequence
+     * @param input the tokens of the sequence, with shape <code>[seq_length, embedding_dim]</code>
+     */
+    public Tensor attend(KeyValueCache cache, Tensor input) {
         Tensor Q = input.matmul(queryWeightsTensor);
-        
+
         int seqLength = input.shape()[0];
+        int cachedLength = cache.length();
+
+        if (!isUsingCache() || cachedLength > seqLength) {
+            cache.reset();
+            cachedLength = 0;
+        }
 
-        List<Tensor> localKeyCache = cache.getKeyCacheForHead(this);
-        List<Tensor> localValueCache = cache.getValueCacheForHead(this);
-        
-        int cachedLength = localKeyCache.size();
-        
-        Tensor K, V;
-
-        if (isUsingCache() && cachedLength > 0) {
-            if (seqLength > cachedLength) {
-                Range range = new Range(cachedLength, seqLength);
-                Tensor newInput = input.slice(range);
-                
-                Tensor newK = newInput.matmul(keyWeightsTensor);
-                Tensor newV = newInput.matmul(valueWeightsTensor);
-                
-                List<Tensor> newKTokens = Tensors.toList(newK);
-                List<Tensor> newVTokens = Tensors.toList(newV);
-                
-                localKeyCache.addAll(newKTokens);
-                localValueCache.addAll(newVTokens);
-            }
-            
-            K = Tensors.zeros(seqLength, headDimension);
-            V = Tensors.zeros(seqLength, headDimension);
-            
-            int elementsToProcess = Math.min(seqLength, localKeyCache.size());
-            
-            for (int i = 0; i < elementsToProcess; i++) {
-                Tensor kToken = localKeyCache.get(i);
-                Tensor vToken = localValueCache.get(i);
-                
-                for (int j = 0; j < headDimension; j++) {
-                    K.set(kToken.get(0, j), i, j);
-                    V.set(vToken.get(0, j), i, j);
-                }
-            }
-        } else {
-            K = input.matmul(keyWeightsTensor);
-            V = input.matmul(valueWeightsTensor);
-            
-            localKeyCache.clear();
-            localValueCache.clear();
-            
-            List<Tensor> kTokens = Tensors.toList(K);
-            List<Tensor> vTokens = Tensors.toList(V);
-            
-            localKeyCache.addAll(kTokens);
-            localValueCache.addAll(vTokens);
+        if (seqLength > cachedLength) {
+            Tensor newInput = cachedLength == 0 ? input : input.slice(new Range(cachedLength, seqLength));
+            cache.append(newInput.matmul(keyWeightsTensor), newInput.matmul(valueWeightsTensor));
         }
-        
+
+        return scores(Q, cache);
+    }
+
+    /**
+     * Attends over the input while recording the autograd graph, with the given projections in place of the
+     * weights of this head, so that the gradients of the projections and of the input can be computed.
+     * @param input the tokens of the sequence, with shape <code>[seq_length, embedding_dim]</code>
+     * @param query the query projection, with shape <code>[embedding_dim, head_dimension]</code>
+     * @param key the key projection, with shape <code>[embedding_dim, head_dimension]</code>
+     * @param value the value projection, with shape <code>[embedding_dim, head_dimension]</code>
+     */
+    public Tensor attendWithGrad(Tensor input, Tensor query, Tensor key, Tensor value) {
+        Tensor Q = input.matmulWithGrad(query);
+        Tensor K = input.matmulWithGrad(key);
+        Tensor V = input.matmulWithGrad(value);
+
+        int seqLength = input.shape()[0];
+        Tensor normalizer = Tensors.create(seqLength, seqLength).fill((float) (1 / Math.sqrt(headDimension)));
+
+        Tensor scores = maskWithGrad(Q.matmulWithGrad(K.transposeWithGrad()).mulWithGrad(normalizer));
+        return scores.softmaxWithGrad().matmulWithGrad(V);
+    }
+
+    protected Tensor maskWithGrad(Tensor scores) {
+        return scores;
+    }
+
+    /**
+     * Attends over the input with the keys and values cached for this head.
+     * @deprecated use {@link #attend(KeyValueCache, Tensor)}
+     */
+    @SuppressWarnings("removal")
+    @Deprecated(since = "2.9.1", forRemoval = true)
+    public Tensor attend(StatesCache cache, Tensor input) {
+        return attend(cache.getKeyValueCache(this, headDimension), input);
+    }
+
+    protected Tensor scores(Tensor Q, KeyValueCache cache) {
         double normalizer = Math.sqrt(headDimension);
-        
-        Tensor scores = Q.matmul(K.transpose()).div(normalizer);
+
+        Tensor scores = cache.scores(Q).div(normalizer);
         Tensor attentionWeights = scores.softmax();
-        
-        return attentionWeights.matmul(V);
+
+        return cache.weigh(attentionWeights);
     }
 }
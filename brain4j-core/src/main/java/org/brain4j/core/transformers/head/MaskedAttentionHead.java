@@ -1,11 +1,8 @@
 package org.brain4j.core.transformers.head;
 
-import org.brain4j.core.structure.StatesCache;
+import org.brain4j.core.structure.KeyValueCache;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
-import org.brain4j.math.tensor.index.Range;
-
-import java.util.List;
 
 public class MaskedAttentionHead extends AttentionHead {
 
@@ -31,69 +28,20 @@ public class MaskedAttentionHead extends AttentionHead {
     }
     
     @Override
-    public Tensor attend(StatesCache cache, Tensor input) {
-        Tensor Q = input.matmul(queryWeightsTensor);
-        
-        int seqLength = input.shape()[0];
-
-        List<Tensor> localKeyCache = cache.getKeyCacheForHead(this);
-        List<Tensor> localValueCache = cache.getValueCacheForHead(this);
-        
-        int cachedLength = localKeyCache.size();
-        
-        Tensor K, V;
+    protected Tensor maskWithGrad(Tensor scores) {
+        return scores.addWithGrad(Tensors.triangularMask(scores.shape()[0]));
+    }
 
-        if (isUsingCache() && cachedLength > 0) {
-            if (seqLength > cachedLength) {
-                Range range = new Range(cachedLength, seqLength);
-                Tensor newInput = input.slice(range);
-                
-                Tensor newK = newInput.matmul(keyWeightsTensor);
-                Tensor newV = newInput.matmul(valueWeightsTensor);
-                
-                List<Tensor> newKTokens = Tensors.toList(newK);
-                List<Tensor> newVTokens = Tensors.toList(newV);
-                
-                localKeyCache.addAll(newKTokens);
-                localValueCache.addAll(newVTokens);
-            }
-            
-            K = Tensors.zeros(seqLength, headDimension);
-            V = Tensors.zeros(seqLength, headDimension);
-            
-            int elementsToProcess = Math.min(seqLength, localKeyCache.size());
-            
-            for (int i = 0; i < elementsToProcess; i++) {
-                Tensor kToken = localKeyCache.get(i);
-                Tensor vToken = localValueCache.get(i);
-                
-                for (int j = 0; j < headDimension; j++) {
-                    K.set(kToken.get(0, j), i, j);
-                    V.set(vToken.get(0, j), i, j);
-                }
-            }
-        } else {
-            K = input.matmul(keyWeightsTensor);
-            V = input.matmul(valueWeightsTensor);
-            
-            localKeyCache.clear();
-            localValueCache.clear();
-            
-            List<Tensor> kTokens = Tensors.toList(K);
-            List<Tensor> vTokens = Tensors.toList(V);
-            
-            localKeyCache.addAll(kTokens);
-            localValueCache.addAll(vTokens);
-        }
-        
+    @Override
+    protected Tensor scores(Tensor Q, KeyValueCache cache) {
         double normalizer = Math.sqrt(headDimension);
-        
-        Tensor scores = Q.matmul(K.transpose()).div(normalizer);
+
+        Tensor scores = cache.scores(Q).div(normalizer);
         Tensor mask = Tensors.triangularMask(scores.shape()[0]);
-        
+
         Tensor maskedScores = scores.add(mask);
         Tensor attentionWeights = maskedScores.softmax();
-        
-        return attentionWeights.matmul(V);
+
+        return cache.weigh(attentionWeights);
     }
 }
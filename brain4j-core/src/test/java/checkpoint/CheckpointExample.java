@@ -0,0 +1,121 @@
+package checkpoint;
+
+import org.brain4j.core.initialization.WeightInit;
+import org.brain4j.core.layer.impl.DenseLayer;
+import org.brain4j.core.loss.Loss;
+import org.brain4j.core.model.Model;
+import org.brain4j.core.model.impl.Sequential;
+import org.brain4j.core.training.optimizer.impl.GradientDescent;
+import org.brain4j.core.training.updater.impl.StochasticUpdater;
+import org.brain4j.math.activation.Activations;
+import org.brain4j.math.data.ListDataSource;
+import org.brain4j.math.data.Sample;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Trains the same model for one batch with and without activation checkpointing and compares the
+ * gradients of every layer. Checkpointing only trades memory for a second forward pass, so the
+ * gradients must match.
+ */
+public class CheckpointExample {
+
+    public static void main(String[] args) {
+        ListDataSource dataSource = getDataSource();
+        Tensor[] reference = computeGradients(dataSource, 0);
+
+        for (int interval = 1; interval <= 3; interval++) {
+            Tensor[] gradients = computeGradients(dataSource, interval);
+            System.out.printf("Interval %d: max gradient difference %.3e%n", interval, maxDifference(reference, gradients));
+        }
+    }
+
+    private static Tensor[] computeGradients(ListDataSource dataSource, int interval) {
+        Model model = new Sequential(
+                new DenseLayer(8, Activations.LINEAR),
+                new DenseLayer(32, Activations.TANH),
+                new DenseLayer(32, Activations.TANH),
+                new DenseLayer(32, Activations.TANH),
+                new DenseLayer(32, Activations.TANH),
+                new DenseLayer(4, Activations.SOFTMAX)
+        );
+
+        RecordingUpdater updater = new RecordingUpdater();
+
+        model.setSeed(42);
+        model.setCheckpointInterval(interval);
+        model.compile(WeightInit.UNIFORM_XAVIER, Loss.CROSS_ENTROPY, new GradientDescent(0.1), updater);
+
+        dataSource.reset();
+        model.fit(dataSource, 1);
+
+        return updater.gradients;
+    }
+
+    private static double maxDifference(Tensor[] first, Tensor[] second) {
+        double max = 0;
+
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == null && second[i] == null) continue;
+
+            if (first[i] == null || second[i] == null) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            float[] a = first[i].getData();
+            float[] b = second[i].getData();
+
+            for (int j = 0; j < a.length; j++) {
+                max = Math.max(max, Math.abs(a[j] - b[j]));
+            }
+        }
+
+        return max;
+    }
+
+    private static ListDataSource getDataSource() {
+        Random random = new Random(7);
+        List<Sample> samples = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            Tensor input = Tensors.zeros(8);
+            Tensor label = Tensors.zeros(4);
+
+            for (int j = 0; j < 8; j++) {
+                input.set(random.nextFloat(), j);
+            }
+
+            label.set(1, random.nextInt(4));
+            samples.add(new Sample(input, label));
+        }
+
+        return new ListDataSource(samples, false, 64);
+    }
+
+    /**
+     * Keeps a copy of the weight and bias gradients of the first batch, before they are applied.
+     */
+    private static class RecordingUpdater extends StochasticUpdater {
+
+        private Tensor[] gradients;
+
+        @Override
+        public void postBatch(Model model, double learningRate, int samples) {
+            if (gradients == null) {
+                int layers = gradientsTensors.length;
+                this.gradients = new Tensor[layers * 2];
+
+                for (int i = 0; i < layers; i++) {
+                    if (gradientsTensors[i] != null) gradients[i] = gradientsTensors[i].clone();
+                    if (biasesTensors[i] != null) gradients[layers + i] = biasesTensors[i].clone();
+                }
+            }
+
+            super.postBatch(model, learningRate, samples);
+        }
+    }
+}
@@ -7,15 +7,10 @@ import org.brain4j.core.model.Model;
 import org.brain4j.core.model.impl.Sequential;
 import org.brain4j.core.training.optimizer.impl.AdamW;
 import org.brain4j.math.activation.Activations;
-import org.brain4j.math.data.ListDataSource;
-import org.brain4j.math.data.Sample;
-import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.data.ColumnarDataSource;
+import org.brain4j.math.data.CsvLoader;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
 
 public class CIFARExample {
 
@@ -28,7 +23,7 @@ public class CIFARExample {
 
         // You can find the dataset on Kaggle
         // https://www.kaggle.com/datasets/fedesoriano/cifar10-python-in-csv
-//        ListDataSource trainSource = getDataSource("cifar_train.csv");
+//        ColumnarDataSource trainSource = getDataSource("cifar_train.csv");
 //
 //        System.out.println("Loaded " + trainSource.size() + " samples");
 
@@ -56,29 +51,11 @@ public class CIFARExample {
 //        model.save("cifar.b4j");
     }
 
-    public ListDataSource getDataSource(String fileName) throws Exception {
-        List<Sample> samples = new ArrayList<>();
-        List<String> lines = Files.readAllLines(new File(fileName).toPath());
-
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] parts = line.split(",");
-
-            float[] inputs = new float[parts.length - 1];
-
-            for (int j = 0; j < inputs.length - 1; j++) {
-                inputs[j] = Float.parseFloat(parts[j]);
-            }
-
-            Tensor input = Tensors.vector(inputs);
-            Tensor output = Tensors.create(10);
-
-            int label = Integer.parseInt(parts[parts.length - 1]);
-
-            output.set(1, label);
-            samples.add(new Sample(input, output));
-        }
-
-        return new ListDataSource(samples, true, 128);
+    public ColumnarDataSource getDataSource(String fileName) throws Exception {
+        return new CsvLoader()
+                .setLabelColumn(-1)
+                .setClasses(10)
+                .load(Path.of(fileName), 128)
+                .setShuffle(true);
     }
 }
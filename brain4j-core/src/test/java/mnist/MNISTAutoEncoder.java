@@ -7,17 +7,14 @@ import org.brain4j.core.model.Model;
 import org.brain4j.core.model.impl.AutoEncoder;
 import org.brain4j.core.training.optimizer.impl.AdamW;
 import org.brain4j.math.activation.Activations;
-import org.brain4j.math.data.ListDataSource;
-import org.brain4j.math.data.Sample;
+import org.brain4j.math.data.ColumnarDataSource;
+import org.brain4j.math.data.CsvLoader;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.List;
 
 public class MNISTAutoEncoder {
 
@@ -28,8 +25,8 @@ public class MNISTAutoEncoder {
     public void start() throws Exception {
         Brain4J.setLogging(true);
 
-        ListDataSource trainSource = getDataSource("mnist_train.csv");
-        ListDataSource testSource = getDataSource("mnist_test.csv");
+        ColumnarDataSource trainSource = getDataSource("mnist_train.csv");
+        ColumnarDataSource testSource = getDataSource("mnist_test.csv");
 
         Model model = new AutoEncoder(3,
                 new DenseLayer(784, Activations.LINEAR),
@@ -52,24 +49,14 @@ public class MNISTAutoEncoder {
         System.out.println(Arrays.toString(prediction.shape()));
     }
 
-    public ListDataSource getDataSource(String fileName) throws IOException {
-        List<Sample> samples = new ArrayList<>();
-        List<String> lines = Files.readAllLines(new File(fileName).toPath());
+    public ColumnarDataSource getDataSource(String fileName) throws IOException {
+        float[] images = new CsvLoader()
+                .setScale(1 / 255f)
+                .load(Path.of(fileName), 128)
+                .getInputs();
 
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] parts = line.split(",");
-
-            float[] inputs = new float[parts.length - 1];
-
-            for (int j = 1; j < inputs.length; j++) {
-                inputs[j] = Float.parseFloat(parts[j]);
-            }
-
-            Tensor image = Tensors.vector(inputs).div(255);
-            samples.add(new Sample(image, image));
-        }
-
-        return new ListDataSource(samples, true, 128);
+        // the images are both the inputs and the labels, sharing the same array
+        int[] shape = { 784 };
+        return new ColumnarDataSource(images, images, shape, shape, 128).setShuffle(true);
     }
 }
@@ -8,16 +8,11 @@ import org.brain4j.core.model.impl.Sequential;
 import org.brain4j.core.training.evaluation.EvaluationResult;
 import org.brain4j.core.training.optimizer.impl.AdamW;
 import org.brain4j.math.activation.Activations;
-import org.brain4j.math.data.ListDataSource;
-import org.brain4j.math.data.Sample;
-import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.data.ColumnarDataSource;
+import org.brain4j.math.data.CsvLoader;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
 
 public class MNISTExample {
 
@@ -30,8 +25,8 @@ public class MNISTExample {
 
         // You can find the dataset on Kaggle
         // https://www.kaggle.com/datasets/oddrationale/mnist-in-csv
-        ListDataSource trainSource = getDataSource("mnist_train.csv");
-        ListDataSource testSource = getDataSource("mnist_test.csv");
+        ColumnarDataSource trainSource = getDataSource("mnist_train.csv");
+        ColumnarDataSource testSource = getDataSource("mnist_test.csv");
 
         Model model = new Sequential(
                 new DenseLayer(784, Activations.LINEAR),
@@ -56,27 +51,11 @@ public class MNISTExample {
         System.out.println(result.results());
     }
 
-    public ListDataSource getDataSource(String fileName) throws IOException {
-        List<Sample> samples = new ArrayList<>();
-        List<String> lines = Files.readAllLines(new File(fileName).toPath());
-
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] parts = line.split(",");
-
-            float[] inputs = new float[parts.length - 1];
-
-            for (int j = 1; j < inputs.length; j++) {
-                inputs[j] = Float.parseFloat(parts[j]) / 255;
-            }
-
-            Tensor input = Tensors.vector(inputs);
-            Tensor output = Tensors.create(10);
-
-            output.set(1, Integer.parseInt(parts[0]));
-            samples.add(new Sample(input, output));
-        }
-
-        return new ListDataSource(samples, true, 128);
+    public ColumnarDataSource getDataSource(String fileName) throws IOException {
+        return new CsvLoader()
+                .setClasses(10)
+                .setScale(1 / 255f)
+                .load(Path.of(fileName), 128)
+                .setShuffle(true);
     }
 }
@@ -82,6 +82,19 @@ public class Brain4JUtils {
         return n > 0 && (n & (n - 1)) == 0;
     }
 
+    /**
+     * Computes the amount of elements of a tensor with the given shape.
+     */
+    public static int elements(int[] shape) {
+        int size = 1;
+
+        for (int dim : shape) {
+            size *= dim;
+        }
+
+        return size;
+    }
+
     public static String formatDuration(double seconds) {
         double millis = seconds * 1000;
         Duration duration = Duration.ofMillis((long) millis);
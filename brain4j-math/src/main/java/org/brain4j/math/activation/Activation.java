@@ -60,6 +60,28 @@ public interface Activation {
         return result;
     }
 
+    /**
+     * Activate the values of a tensor in place, without allocating a new one.
+     */
+    default void activateInPlace(Tensor input) {
+        float[] data = input.getData();
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (float) activate(data[i]);
+        }
+    }
+
+    /**
+     * Replace the values of a tensor with the derivative of the activation at those values.
+     */
+    default void derivativeInPlace(Tensor input) {
+        float[] data = input.getData();
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (float) getDerivative(data[i]);
+        }
+    }
+
     /**
      * Gets the default name for this activation function.
      * @return The name of the activation function.
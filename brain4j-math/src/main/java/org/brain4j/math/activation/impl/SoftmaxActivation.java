@@ -15,6 +15,33 @@ public class SoftmaxActivation implements Activation {
         return input.softmax();
     }
 
+    @Override
+    public void activateInPlace(Tensor input) {
+        int[] shape = input.shape();
+        float[] data = input.getData();
+
+        int columns = shape[shape.length - 1];
+
+        for (int base = 0; base < data.length; base += columns) {
+            float max = Float.NEGATIVE_INFINITY;
+
+            for (int i = base; i < base + columns; i++) {
+                max = Math.max(max, data[i]);
+            }
+
+            float sum = 0;
+
+            for (int i = base; i < base + columns; i++) {
+                data[i] = (float) Math.exp(data[i] - max);
+                sum += data[i];
+            }
+
+            for (int i = base; i < base + columns; i++) {
+                data[i] /= sum;
+            }
+        }
+    }
+
     @Override
     public double getDerivative(double input) {
         return input * (1.0 - input);
@@ -0,0 +1,103 @@
+package org.brain4j.math.anomaly;
+
+import org.brain4j.math.exceptions.AnomalyException;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Anomaly detection mode. While active, the outputs of tensor operations, layer forward passes and
+ * gradients are scanned for NaN and infinite values, and the first offending one throws an
+ * {@link AnomalyException} naming the operation, the layer index and the shape.
+ * <p>
+ * Checks can be sampled: with an interval of N, only one training step every N is scanned, so the mode
+ * can stay on during long runs. Steps are advanced by the training loop through {@link #step()}.
+ */
+public final class AnomalyDetector {
+
+    private static final AtomicLong STEPS = new AtomicLong();
+
+    private static volatile boolean enabled;
+    private static volatile boolean active;
+    private static volatile int interval = 1;
+
+    private AnomalyDetector() {
+    }
+
+    /**
+     * Enables the detection on every step.
+     */
+    public static void enable() {
+        enable(1);
+    }
+
+    /**
+     * Enables the detection on one step every <code>interval</code>, starting from the current one.
+     * @param interval the number of steps between two checked ones
+     */
+    public static void enable(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1, got " + interval);
+        }
+
+        AnomalyDetector.interval = interval;
+        STEPS.set(0);
+
+        enabled = true;
+        active = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+        active = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether tensors must be checked right now.
+     * @return true if the detection is enabled and the current step is sampled
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Advances to the next training step, deciding whether it is sampled.
+     */
+    public static void step() {
+        if (!enabled) return;
+
+        long step = STEPS.incrementAndGet();
+        active = step % interval == 0;
+    }
+
+    /**
+     * Checks the output of an operation.
+     * @param tensor the tensor to scan
+     * @param operation the name of the operation that produced it
+     * @throws AnomalyException if the tensor contains a NaN or infinite value
+     */
+    public static void check(Tensor tensor, String operation) {
+        check(tensor, operation, -1);
+    }
+
+    /**
+     * Checks the output of a layer.
+     * @param tensor the tensor to scan
+     * @param operation the name of the operation that produced it
+     * @param layerIndex the index of the layer inside its model
+     * @throws AnomalyException if the tensor contains a NaN or infinite value
+     */
+    public static void check(Tensor tensor, String operation, int layerIndex) {
+        if (!active || tensor == null) return;
+
+        int index = tensor.indexOfNonFinite();
+
+        if (index >= 0) {
+            throw new AnomalyException(operation, layerIndex, tensor.shape(), index, tensor.getData()[index]);
+        }
+    }
+}
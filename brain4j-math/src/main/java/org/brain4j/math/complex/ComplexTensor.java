@@ -0,0 +1,383 @@
+package org.brain4j.math.complex;
+
+import org.brain4j.math.fft.FFT;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.impl.cpu.complex.ComplexKernel;
+import org.brain4j.math.tensor.impl.cpu.complex.ScalarComplexKernel;
+import org.brain4j.math.tensor.impl.cpu.complex.VectorComplexKernel;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A dense tensor of complex values, stored as interleaved single precision real and imaginary parts.
+ * Unlike arrays of {@link Complex}, the values live in a single primitive array, so spectral workloads
+ * never allocate per element. Element-wise operations work in place and return this tensor, like the
+ * ones of {@link Tensor}.
+ */
+public class ComplexTensor implements Cloneable {
+
+    private static final ComplexKernel KERNEL;
+    private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 14;
+
+    static {
+        Optional<Module> module = ModuleLayer
+                .boot()
+                .findModule("jdk.incubator.vector");
+
+        KERNEL = module.isPresent() ? new VectorComplexKernel() : new ScalarComplexKernel();
+    }
+
+    private final int[] shape;
+    private final int[] strides;
+    private final float[] data;
+
+    public ComplexTensor(int... shape) {
+        this(shape, new float[2 * computeSize(shape)]);
+    }
+
+    /**
+     * Wraps already interleaved data without copying it.
+     * @param shape the shape of the tensor
+     * @param data the interleaved values, two floats per element
+     */
+    public ComplexTensor(int[] shape, float[] data) {
+        if (shape.length == 0) {
+            throw new IllegalArgumentException("Shape cannot be empty");
+        }
+
+        if (data.length != 2 * computeSize(shape)) {
+            throw new IllegalArgumentException(
+                "Data length " + data.length + " does not match shape " + Arrays.toString(shape)
+            );
+        }
+
+        this.shape = Arrays.copyOf(shape, shape.length);
+        this.strides = computeStrides(shape);
+        this.data = data;
+    }
+
+    /**
+     * Creates a complex tensor with the values of the given tensor as real parts.
+     */
+    public static ComplexTensor fromReal(Tensor real) {
+        return fromReal(real, real.shape());
+    }
+
+    /**
+     * Creates a complex tensor with the values of the given tensor as real parts, zero padded at the
+     * end of every dimension up to the given shape.
+     * @param real the real parts
+     * @param shape the shape of the result, at least as large as the one of <code>real</code> in every dimension
+     */
+    public static ComplexTensor fromReal(Tensor real, int... shape) {
+        int[] source = real.shape();
+
+        if (source.length != shape.length) {
+            throw new IllegalArgumentException("Padded shape must have " + source.length + " dimensions");
+        }
+
+        for (int i = 0; i < shape.length; i++) {
+            if (shape[i] < source[i]) {
+                throw new IllegalArgumentException(
+                    "Cannot pad " + Arrays.toString(source) + " to " + Arrays.toString(shape)
+                );
+            }
+        }
+
+        ComplexTensor result = new ComplexTensor(shape);
+        float[] values = real.getData();
+
+        int rowLength = source[source.length - 1];
+        int rows = values.length / Math.max(1, rowLength);
+
+        for (int row = 0; row < rows; row++) {
+            int target = 0;
+            int remainder = row;
+
+            for (int dim = source.length - 2; dim >= 0; dim--) {
+                target += (remainder % source[dim]) * result.strides[dim];
+                remainder /= source[dim];
+            }
+
+            int from = row * rowLength;
+
+            for (int i = 0; i < rowLength; i++) {
+                result.data[2 * (target + i)] = values[from + i];
+            }
+        }
+
+        return result;
+    }
+
+    private static int computeSize(int[] shape) {
+        int size = 1;
+
+        for (int dim : shape) {
+            size *= dim;
+        }
+
+        return size;
+    }
+
+    private static int[] computeStrides(int[] shape) {
+        int[] strides = new int[shape.length];
+        int stride = 1;
+
+        for (int i = shape.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= shape[i];
+        }
+
+        return strides;
+    }
+
+    private int getLinearIndex(int... indices) {
+        if (indices.length != shape.length) {
+            throw new IllegalArgumentException("The shape of the tensor does not match the number of indices");
+        }
+
+        int index = 0;
+
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= shape[i]) {
+                throw new IndexOutOfBoundsException(
+                    "Index " + indices[i] + " for dimension " + i + " is out of bounds [0, " + shape[i] + ")"
+                );
+            }
+
+            index += indices[i] * strides[i];
+        }
+
+        return index;
+    }
+
+    private void checkSameShape(ComplexTensor other) {
+        if (!Arrays.equals(shape, other.shape)) {
+            throw new IllegalArgumentException(
+                "Shapes " + Arrays.toString(shape) + " and " + Arrays.toString(other.shape) + " do not match"
+            );
+        }
+    }
+
+    public int[] shape() {
+        return shape;
+    }
+
+    public int[] strides() {
+        return strides;
+    }
+
+    public int dimension() {
+        return shape.length;
+    }
+
+    public int elements() {
+        return data.length / 2;
+    }
+
+    /**
+     * Gets the interleaved backing array, where element <code>i</code> has its real part at
+     * <code>2 * i</code> and its imaginary part at <code>2 * i + 1</code>.
+     */
+    public float[] getData() {
+        return data;
+    }
+
+    public float real(int... indices) {
+        return data[2 * getLinearIndex(indices)];
+    }
+
+    public float imaginary(int... indices) {
+        return data[2 * getLinearIndex(indices) + 1];
+    }
+
+    public Complex get(int... indices) {
+        int index = 2 * getLinearIndex(indices);
+        return new Complex(data[index], data[index + 1]);
+    }
+
+    public ComplexTensor set(double real, double imaginary, int... indices) {
+        int index = 2 * getLinearIndex(indices);
+
+        data[index] = (float) real;
+        data[index + 1] = (float) imaginary;
+
+        return this;
+    }
+
+    public ComplexTensor add(ComplexTensor other) {
+        checkSameShape(other);
+        KERNEL.add(data, other.data, data.length);
+        return this;
+    }
+
+    /**
+     * Multiplies this tensor element-wise by another one, as done between two spectra.
+     */
+    public ComplexTensor multiply(ComplexTensor other) {
+        checkSameShape(other);
+        KERNEL.multiply(data, other.data, data.length);
+        return this;
+    }
+
+    public ComplexTensor multiply(double scalar) {
+        float factor = (float) scalar;
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= factor;
+        }
+
+        return this;
+    }
+
+    public ComplexTensor conjugate() {
+        KERNEL.conjugate(data, data.length);
+        return this;
+    }
+
+    /**
+     * Computes the magnitude of every element.
+     * @return a new real tensor with the same shape
+     */
+    public Tensor abs() {
+        Tensor result = Tensors.create(shape);
+        KERNEL.abs(data, result.getData(), data.length);
+        return result;
+    }
+
+    public Tensor real() {
+        return part(0);
+    }
+
+    public Tensor imaginary() {
+        return part(1);
+    }
+
+    private Tensor part(int offset) {
+        Tensor result = Tensors.create(shape);
+        float[] values = result.getData();
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data[2 * i + offset];
+        }
+
+        return result;
+    }
+
+    /**
+     * Transforms every slice along the last dimension in place.
+     */
+    public ComplexTensor fft() {
+        return transform(1, false);
+    }
+
+    /**
+     * Inverse transforms every slice along the last dimension in place.
+     */
+    public ComplexTensor ifft() {
+        return transform(1, true);
+    }
+
+    /**
+     * Transforms every matrix spanned by the last two dimensions in place.
+     */
+    public ComplexTensor fft2D() {
+        return transform(2, false);
+    }
+
+    /**
+     * Inverse transforms every matrix spanned by the last two dimensions in place.
+     */
+    public ComplexTensor ifft2D() {
+        return transform(2, true);
+    }
+
+    private ComplexTensor transform(int dimensions, boolean inverse) {
+        if (shape.length < dimensions) {
+            throw new IllegalArgumentException("Tensor must have at least " + dimensions + " dimensions");
+        }
+
+        int rows = dimensions == 2 ? shape[shape.length - 2] : 1;
+        int cols = shape[shape.length - 1];
+        int slices = elements() / (rows * cols);
+
+        SliceTransform action = new SliceTransform(data, rows, cols, inverse, 0, slices);
+
+        if (data.length < PARALLEL_COMPLEXITY_THRESHOLD || slices == 1) {
+            action.compute();
+        } else {
+            POOL.invoke(action);
+        }
+
+        return this;
+    }
+
+    @Override
+    public ComplexTensor clone() {
+        return new ComplexTensor(shape, Arrays.copyOf(data, data.length));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ComplexTensor").append(Arrays.toString(shape)).append(" [");
+        int shown = Math.min(elements(), 16);
+
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) builder.append(", ");
+
+            float im = data[2 * i + 1];
+            builder.append(data[2 * i]).append(im < 0 ? " - " : " + ").append(Math.abs(im)).append("i");
+        }
+
+        if (shown < elements()) builder.append(", ...");
+
+        return builder.append("]").toString();
+    }
+
+    private static class SliceTransform extends RecursiveAction {
+
+        private final float[] data;
+        private final int rows;
+        private final int cols;
+        private final boolean inverse;
+        private final int start;
+        private final int end;
+
+        public SliceTransform(float[] data, int rows, int cols, boolean inverse, int start, int end) {
+            this.data = data;
+            this.rows = rows;
+            this.cols = cols;
+            this.inverse = inverse;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            int sliceSize = 2 * rows * cols;
+
+            if (end - start > 1 && (long) (end - start) * sliceSize > PARALLEL_COMPLEXITY_THRESHOLD) {
+                int mid = (start + end) >>> 1;
+
+                invokeAll(
+                    new SliceTransform(data, rows, cols, inverse, start, mid),
+                    new SliceTransform(data, rows, cols, inverse, mid, end)
+                );
+                return;
+            }
+
+            for (int slice = start; slice < end; slice++) {
+                if (rows == 1) {
+                    FFT.transform(data, slice * sliceSize, cols, inverse);
+                } else {
+                    FFT.transform2D(data, slice * sliceSize, rows, cols, inverse);
+                }
+            }
+        }
+    }
+}
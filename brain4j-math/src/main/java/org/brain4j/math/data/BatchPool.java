@@ -0,0 +1,71 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Full batches given back by the consumers of a data source, refilled instead of being allocated again.
+ * <p>
+ * The pool keeps as many batches as can be in flight at once: the ones assembled ahead of the
+ * consumer, the one being consumed and the one being given back. Partial batches are never kept.
+ */
+final class BatchPool {
+
+    /**
+     * The default amount of batches assembled ahead of the consumer.
+     */
+    static final int DEFAULT_PREFETCH = 4;
+
+    private final int[] inputShape;
+    private final int[] labelShape;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<Pair<Tensor, Tensor>> free = new ConcurrentLinkedQueue<>();
+
+    private volatile int capacity;
+
+    BatchPool(int[] inputShape, int[] labelShape, int batchSize, int prefetch) {
+        this.inputShape = inputShape;
+        this.labelShape = labelShape;
+        this.batchSize = batchSize;
+
+        setPrefetch(prefetch);
+    }
+
+    static int[] batchShape(int rows, int[] shape) {
+        int[] result = new int[shape.length + 1];
+
+        result[0] = rows;
+        System.arraycopy(shape, 0, result, 1, shape.length);
+
+        return result;
+    }
+
+    /**
+     * Gets a batch of the given amount of rows, reusing a recycled one when the batch is full.
+     */
+    Pair<Tensor, Tensor> acquire(int rows) {
+        Pair<Tensor, Tensor> batch = rows == batchSize ? free.poll() : null;
+
+        if (batch == null) {
+            batch = new Pair<>(
+                Tensors.create(batchShape(rows, inputShape)),
+                Tensors.create(batchShape(rows, labelShape))
+            );
+        }
+
+        return batch;
+    }
+
+    void recycle(Pair<Tensor, Tensor> batch) {
+        if (batch.first().shape()[0] == batchSize && free.size() < capacity) {
+            free.offer(batch);
+        }
+    }
+
+    void setPrefetch(int prefetch) {
+        this.capacity = prefetch + 2;
+    }
+}
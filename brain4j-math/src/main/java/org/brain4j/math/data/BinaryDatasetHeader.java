@@ -0,0 +1,154 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.tensor.impl.cpu.convert.DataType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The header of a binary dataset file. All values are little endian:
+ * <pre>
+ * int    magic        "B4JD"
+ * int    version
+ * long   samples
+ * int    input type   ordinal of {@link DataType}
+ * int    label type   ordinal of {@link DataType}
+ * long   inputs offset
+ * long   labels offset
+ * int    input rank, followed by the input shape
+ * int    label rank, followed by the label shape
+ * </pre>
+ * The inputs and the labels follow as two contiguous blocks of row-major samples, each starting at a
+ * multiple of {@link #ALIGNMENT} bytes.
+ */
+record BinaryDatasetHeader(
+    long samples,
+    DataType inputType,
+    DataType labelType,
+    int[] inputShape,
+    int[] labelShape,
+    long inputsOffset,
+    long labelsOffset
+) {
+
+    static final int MAGIC = 0x444A3442; // "B4JD" read as a little endian int
+    static final int VERSION = 1;
+    static final int ALIGNMENT = 64;
+    static final int MAX_RANK = 8;
+
+    int inputElements() {
+        return Brain4JUtils.elements(inputShape);
+    }
+
+    int labelElements() {
+        return Brain4JUtils.elements(labelShape);
+    }
+
+    long inputRowBytes() {
+        return (long) inputElements() * inputType.bytes();
+    }
+
+    long labelRowBytes() {
+        return (long) labelElements() * labelType.bytes();
+    }
+
+    static long align(long position) {
+        return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Computes the size of the header of a file with the given shapes, padded to the alignment.
+     */
+    static int size(int[] inputShape, int[] labelShape) {
+        return (int) align(40 + 4L * (2 + inputShape.length + labelShape.length));
+    }
+
+    ByteBuffer write() {
+        ByteBuffer buffer = ByteBuffer
+            .allocate(size(inputShape, labelShape))
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(samples);
+        buffer.putInt(inputType.ordinal()).putInt(labelType.ordinal());
+        buffer.putLong(inputsOffset).putLong(labelsOffset);
+
+        putShape(buffer, inputShape);
+        putShape(buffer, labelShape);
+
+        return buffer.position(0);
+    }
+
+    static BinaryDatasetHeader read(ByteBuffer buffer, long fileSize) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.remaining() < 48 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary dataset file");
+        }
+
+        int version = buffer.getInt();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported dataset version " + version);
+        }
+
+        long samples = buffer.getLong();
+        DataType inputType = type(buffer.getInt());
+        DataType labelType = type(buffer.getInt());
+        long inputsOffset = buffer.getLong();
+        long labelsOffset = buffer.getLong();
+        int[] inputShape = getShape(buffer);
+        int[] labelShape = getShape(buffer);
+
+        BinaryDatasetHeader header = new BinaryDatasetHeader(
+            samples, inputType, labelType, inputShape, labelShape, inputsOffset, labelsOffset
+        );
+
+        if (samples < 0 || inputsOffset + samples * header.inputRowBytes() > labelsOffset
+                || labelsOffset + samples * header.labelRowBytes() > fileSize) {
+            throw new IOException("Dataset file is truncated or corrupted");
+        }
+
+        return header;
+    }
+
+    private static DataType type(int ordinal) throws IOException {
+        DataType[] types = DataType.values();
+
+        if (ordinal < 0 || ordinal >= types.length) {
+            throw new IOException("Unknown data type " + ordinal);
+        }
+
+        return types[ordinal];
+    }
+
+    private static void putShape(ByteBuffer buffer, int[] shape) {
+        buffer.putInt(shape.length);
+
+        for (int dim : shape) {
+            buffer.putInt(dim);
+        }
+    }
+
+    private static int[] getShape(ByteBuffer buffer) throws IOException {
+        int rank = buffer.getInt();
+
+        if (rank < 1 || rank > MAX_RANK) {
+            throw new IOException("Invalid shape rank " + rank);
+        }
+
+        int[] shape = new int[rank];
+
+        for (int i = 0; i < rank; i++) {
+            shape[i] = buffer.getInt();
+
+            if (shape[i] < 1) {
+                throw new IOException("Invalid shape " + Arrays.toString(shape));
+            }
+        }
+
+        return shape;
+    }
+}
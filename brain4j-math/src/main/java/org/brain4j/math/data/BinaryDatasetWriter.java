@@ -0,0 +1,245 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.impl.cpu.convert.DataType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes samples of a fixed shape into a binary dataset file, to be read back with a {@link MappedDataSource}.
+ * Samples are written one by one, so the dataset never has to be in memory; the labels are staged in a
+ * temporary file next to the output and appended when the writer is closed.
+ * <pre>{@code
+ * BinaryDatasetWriter.write(Path.of("train.b4jd"), new CsvRecordReader(Path.of("train.csv"), 784, 10));
+ * }</pre>
+ */
+public class BinaryDatasetWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Path labelsPath;
+    private final FileChannel inputs;
+    private final FileChannel labels;
+    private final ByteBuffer inputBuffer;
+    private final ByteBuffer labelBuffer;
+    private final int[] inputShape;
+    private final int[] labelShape;
+    private final DataType inputType;
+    private final DataType labelType;
+    private final int inputElements;
+    private final int labelElements;
+
+    private long samples;
+    private boolean closed;
+
+    public BinaryDatasetWriter(Path path, int[] inputShape, int[] labelShape) throws IOException {
+        this(path, inputShape, labelShape, DataType.F32, DataType.F32);
+    }
+
+    public BinaryDatasetWriter(
+        Path path,
+        int[] inputShape,
+        int[] labelShape,
+        DataType inputType,
+        DataType labelType
+    ) throws IOException {
+        this.path = path;
+        this.inputShape = inputShape.clone();
+        this.labelShape = labelShape.clone();
+        this.inputType = inputType;
+        this.labelType = labelType;
+        this.inputElements = Brain4JUtils.elements(inputShape);
+        this.labelElements = Brain4JUtils.elements(labelShape);
+
+        Path parent = path.toAbsolutePath().getParent();
+
+        this.labelsPath = Files.createTempFile(parent, path.getFileName().toString(), ".labels");
+        this.inputs = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        this.labels = FileChannel.open(labelsPath, StandardOpenOption.WRITE, StandardOpenOption.READ,
+            StandardOpenOption.DELETE_ON_CLOSE);
+
+        this.inputBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.labelBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        inputs.position(BinaryDatasetHeader.size(inputShape, labelShape));
+    }
+
+    /**
+     * Writes every sample of a data source, in the order of one epoch.
+     * @return the amount of written samples
+     */
+    public static long write(Path path, DataSource source) throws IOException {
+        try (BinaryDatasetWriter writer = new BinaryDatasetWriter(path, source.inputShape(), source.labelShape())) {
+            if (source instanceof ListDataSource list) {
+                // its batches skip the last partial one, the samples do not
+                for (Sample sample : list.getSamples()) {
+                    writer.write(sample.input(), sample.label());
+                }
+
+                return writer.size();
+            }
+
+            source.reset();
+
+            Pair<Tensor, Tensor> batch;
+
+            while ((batch = source.nextBatch()) != null) {
+                writer.writeBatch(batch.first(), batch.second());
+                source.recycle(batch);
+            }
+
+            return writer.size();
+        }
+    }
+
+    /**
+     * Writes every sample decoded by a reader, for example a {@link CsvRecordReader}.
+     * @return the amount of written samples
+     */
+    public static long write(Path path, RecordReader reader) throws IOException {
+        try (BinaryDatasetWriter writer = new BinaryDatasetWriter(path, reader.inputShape(), reader.labelShape())) {
+            float[] input = new float[writer.inputElements];
+            float[] label = new float[writer.labelElements];
+
+            reader.rewind();
+
+            while (reader.read(input, 0, label, 0)) {
+                writer.write(input, 0, label, 0);
+            }
+
+            return writer.size();
+        }
+    }
+
+    public void write(float[] input, int inputOffset, float[] label, int labelOffset) throws IOException {
+        encode(input, inputOffset, inputElements, inputType, inputBuffer, inputs);
+        encode(label, labelOffset, labelElements, labelType, labelBuffer, labels);
+        samples++;
+    }
+
+    public void write(Tensor input, Tensor label) throws IOException {
+        checkElements(input.elements(), inputElements, "Input");
+        checkElements(label.elements(), labelElements, "Label");
+
+        write(input.getData(), 0, label.getData(), 0);
+    }
+
+    /**
+     * Writes every row of a batch, shaped like the tensors returned by {@link DataSource#nextBatch()}.
+     */
+    public void writeBatch(Tensor inputs, Tensor labels) throws IOException {
+        int rows = inputs.shape()[0];
+
+        checkElements(inputs.elements(), rows * inputElements, "Input batch");
+        checkElements(labels.elements(), rows * labelElements, "Label batch");
+
+        float[] inputData = inputs.getData();
+        float[] labelData = labels.getData();
+
+        for (int i = 0; i < rows; i++) {
+            write(inputData, i * inputElements, labelData, i * labelElements);
+        }
+    }
+
+    private static void checkElements(int actual, int expected, String name) {
+        if (actual != expected) {
+            throw new IllegalArgumentException(name + " has " + actual + " elements, expected " + expected);
+        }
+    }
+
+    private static void encode(
+        float[] values,
+        int offset,
+        int length,
+        DataType type,
+        ByteBuffer buffer,
+        FileChannel channel
+    ) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            if (buffer.remaining() < type.bytes()) flush(buffer, channel);
+
+            float value = values[i];
+
+            switch (type) {
+                case F32 -> buffer.putFloat(value);
+                case F64 -> buffer.putDouble(value);
+                case F16 -> buffer.putShort(Float.floatToFloat16(value));
+                case BF16 -> {
+                    // round to nearest even, keeping the upper half of the float
+                    int bits = Float.floatToRawIntBits(value);
+                    int rounded = Float.isNaN(value) ? bits : bits + 0x7FFF + ((bits >>> 16) & 1);
+                    buffer.putShort((short) (rounded >>> 16));
+                }
+            }
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Gets the amount of samples written so far.
+     */
+    public long size() {
+        return samples;
+    }
+
+    /**
+     * Appends the labels and writes the header, completing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+
+        this.closed = true;
+
+        try (inputs; labels) {
+            flush(inputBuffer, inputs);
+            flush(labelBuffer, labels);
+
+            long inputsOffset = BinaryDatasetHeader.size(inputShape, labelShape);
+            long labelsOffset = BinaryDatasetHeader.align(inputsOffset + samples * inputElements * inputType.bytes());
+
+            long labelsSize = labels.size();
+            long transferred = 0;
+
+            while (transferred < labelsSize) {
+                transferred += labels.transferTo(transferred, labelsSize - transferred,
+                    inputs.position(labelsOffset + transferred));
+            }
+
+            BinaryDatasetHeader header = new BinaryDatasetHeader(
+                samples, inputType, labelType, inputShape, labelShape, inputsOffset, labelsOffset
+            );
+
+            ByteBuffer headerBuffer = header.write();
+
+            while (headerBuffer.hasRemaining()) {
+                inputs.write(headerBuffer, headerBuffer.position());
+            }
+        } finally {
+            Files.deleteIfExists(labelsPath);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,162 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An in-memory data source storing all the inputs in one contiguous array and all the labels in another,
+ * instead of two tensors per sample.
+ * <p>
+ * Shuffled batches are gathered with one bulk copy per sample, split across the common pool for large
+ * batches. Without shuffling a batch is a single copy.
+ * <pre>{@code
+ * ColumnarDataSource source = new ColumnarDataSource(samples, 128).setShuffle(true);
+ * }</pre>
+ */
+public class ColumnarDataSource extends IndexedDataSource<ColumnarDataSource> {
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 16;
+    private static final int SPLIT_COMPLEXITY_THRESHOLD = 1 << 14;
+
+    private final float[] inputs;
+    private final float[] labels;
+    private final int inputSize;
+    private final int labelSize;
+
+    /**
+     * Creates a data source over the given arrays, which are used without being copied.
+     * @param inputs the inputs of every sample, one after the other
+     * @param labels the labels of every sample, one after the other
+     * @param inputShape the shape of a single input
+     * @param labelShape the shape of a single label
+     * @param batchSize the amount of samples per batch
+     */
+    public ColumnarDataSource(float[] inputs, float[] labels, int[] inputShape, int[] labelShape, int batchSize) {
+        super(inputs.length / Brain4JUtils.elements(inputShape), inputShape, labelShape, batchSize);
+
+        this.inputs = inputs;
+        this.labels = labels;
+        this.inputSize = Brain4JUtils.elements(inputShape);
+        this.labelSize = Brain4JUtils.elements(labelShape);
+
+        int samples = size();
+
+        if (samples * inputSize != inputs.length || samples * labelSize != labels.length) {
+            throw new IllegalArgumentException("Inputs and labels do not hold the same amount of samples");
+        }
+    }
+
+    /**
+     * Creates a data source copying the given samples, which must all have the same shapes.
+     */
+    public ColumnarDataSource(List<Sample> samples, int batchSize) {
+        this(
+            gather(samples, true),
+            gather(samples, false),
+            samples.getFirst().input().shape(),
+            samples.getFirst().label().shape(),
+            batchSize
+        );
+    }
+
+    private static float[] gather(List<Sample> samples, boolean input) {
+        Sample first = samples.getFirst();
+        int size = (input ? first.input() : first.label()).elements();
+        float[] result = new float[samples.size() * size];
+
+        for (int i = 0; i < samples.size(); i++) {
+            Tensor tensor = input ? samples.get(i).input() : samples.get(i).label();
+
+            if (tensor.elements() != size) {
+                throw new IllegalArgumentException("Sample " + i + " has " + tensor.elements()
+                    + " elements, expected " + size);
+            }
+
+            System.arraycopy(tensor.getData(), 0, result, i * size, size);
+        }
+
+        return result;
+    }
+
+    @Override
+    protected void fill(Pair<Tensor, Tensor> batch, int start, int rows, boolean shuffled) {
+        float[] inputBatch = batch.first().getData();
+        float[] labelBatch = batch.second().getData();
+
+        if (!shuffled) {
+            System.arraycopy(inputs, start * inputSize, inputBatch, 0, rows * inputSize);
+            System.arraycopy(labels, start * labelSize, labelBatch, 0, rows * labelSize);
+            return;
+        }
+
+        Gather gather = new Gather(inputBatch, labelBatch, start, 0, rows);
+        long work = (long) rows * (inputSize + labelSize);
+
+        if (work <= PARALLEL_COMPLEXITY_THRESHOLD || PARALLELISM == 1) {
+            gather.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(gather);
+        }
+    }
+
+    /**
+     * Gets the inputs of every sample, in their original order.
+     */
+    public float[] getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Gets the labels of every sample, in their original order.
+     */
+    public float[] getLabels() {
+        return labels;
+    }
+
+    /**
+     * Copies the permuted samples of a range of batch rows.
+     */
+    private class Gather extends RecursiveAction {
+
+        private final float[] inputBatch;
+        private final float[] labelBatch;
+        private final int start;
+        private final int from;
+        private final int to;
+
+        Gather(float[] inputBatch, float[] labelBatch, int start, int from, int to) {
+            this.inputBatch = inputBatch;
+            this.labelBatch = labelBatch;
+            this.start = start;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long work = (long) (to - from) * (inputSize + labelSize);
+
+            if (work > SPLIT_COMPLEXITY_THRESHOLD && to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new Gather(inputBatch, labelBatch, start, from, mid),
+                    new Gather(inputBatch, labelBatch, start, mid, to)
+                );
+                return;
+            }
+
+            for (int row = from; row < to; row++) {
+                int index = sampleAt(start + row);
+
+                System.arraycopy(inputs, index * inputSize, inputBatch, row * inputSize, inputSize);
+                System.arraycopy(labels, index * labelSize, labelBatch, row * labelSize, labelSize);
+            }
+        }
+    }
+}
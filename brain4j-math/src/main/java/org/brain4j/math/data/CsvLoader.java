@@ -0,0 +1,608 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Loads a delimited text file of numbers into a contiguous feature matrix and a label matrix, using
+ * every core.
+ * <p>
+ * The file is memory mapped and split into chunks that end on a line break. The lines of every chunk are
+ * counted in parallel, so each chunk knows the first row it writes, then the chunks are parsed in
+ * parallel straight into the result arrays. Numbers are parsed from the mapped bytes without creating
+ * strings; only unusual notations like <code>NaN</code> fall back to {@link Float#parseFloat(String)}.
+ * Quoted fields are not supported.
+ * <pre>{@code
+ * ColumnarDataSource source = new CsvLoader()
+ *     .setClasses(10)
+ *     .setScale(1 / 255f)
+ *     .load(Path.of("mnist_train.csv"), 128);
+ * }</pre>
+ */
+public class CsvLoader {
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int MAX_CHUNK_SIZE = 1 << 26;
+    private static final int LABEL = -1;
+    private static final int SKIP = -2;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private char delimiter = ',';
+    private boolean skipHeader = true;
+    private int labelColumn = 0;
+    private int classes = 1;
+    private float scale = 1;
+    private int[] featureColumns;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Loads a file into a data source of the given batch size.
+     */
+    public ColumnarDataSource load(Path path, int batchSize) throws IOException {
+        Result result = parse(path);
+
+        return new ColumnarDataSource(
+            result.features,
+            result.labels,
+            new int[] { result.featureCount },
+            new int[] { classes },
+            batchSize
+        );
+    }
+
+    /**
+     * Loads a file into two tensors, shaped <code>[rows, features]</code> and <code>[rows, classes]</code>.
+     */
+    public Pair<Tensor, Tensor> loadTensors(Path path) throws IOException {
+        Result result = parse(path);
+
+        return new Pair<>(
+            Tensors.of(new int[] { result.rows, result.featureCount }, result.features),
+            Tensors.of(new int[] { result.rows, classes }, result.labels)
+        );
+    }
+
+    private Result parse(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = skipHeader ? Math.min(size, lineEnd(channel, 0) + 1) : 0;
+
+            List<Chunk> chunks = split(channel, start, size);
+
+            int columns = chunks.isEmpty() ? 0 : chunks.getFirst().countColumns();
+
+            if (columns == 0) {
+                throw new IOException(path + " has no rows");
+            }
+
+            int[] roles = roles(columns);
+            int featureCount = (int) Arrays.stream(roles).filter(role -> role >= 0).count();
+
+            run(chunks, true, null);
+
+            long rows = 0;
+
+            for (Chunk chunk : chunks) {
+                chunk.firstRow = rows;
+                rows += chunk.rows;
+            }
+
+            if (rows * Math.max(featureCount, classes) > Integer.MAX_VALUE - 8) {
+                throw new IOException(path + " has too many values to fit in memory");
+            }
+
+            Result result = new Result(
+                (int) rows,
+                featureCount,
+                new float[(int) rows * featureCount],
+                new float[(int) rows * classes]
+            );
+
+            run(chunks, false, new Target(roles, result));
+
+            return result;
+        }
+    }
+
+    private int[] roles(int columns) {
+        int label = labelColumn < 0 ? columns + labelColumn : labelColumn;
+
+        if (label < 0 || label >= columns) {
+            throw new IllegalArgumentException("Label column " + labelColumn + " is out of bounds for "
+                + columns + " columns");
+        }
+
+        int[] roles = new int[columns];
+
+        if (featureColumns == null) {
+            int feature = 0;
+
+            for (int i = 0; i < columns; i++) {
+                roles[i] = i == label ? LABEL : feature++;
+            }
+
+            return roles;
+        }
+
+        Arrays.fill(roles, SKIP);
+        roles[label] = LABEL;
+
+        for (int i = 0; i < featureColumns.length; i++) {
+            int column = featureColumns[i];
+
+            if (column < 0 || column >= columns || roles[column] != SKIP) {
+                throw new IllegalArgumentException("Feature column " + column + " is out of bounds or repeated");
+            }
+
+            roles[column] = i;
+        }
+
+        return roles;
+    }
+
+    private List<Chunk> split(FileChannel channel, long start, long size) throws IOException {
+        long chunkSize = Math.clamp((size - start) / (PARALLELISM * 4L), MIN_CHUNK_SIZE, MAX_CHUNK_SIZE);
+        List<Chunk> chunks = new ArrayList<>();
+
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : lineEnd(channel, start + chunkSize) + 1;
+
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting at byte " + start + " is too long");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(end, size) - start);
+            chunks.add(new Chunk(buffer, start));
+
+            start = end;
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Finds the first line break at or after the given position.
+     * @return the position of the line break, or the size of the file if there is none
+     */
+    private static long lineEnd(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long size = channel.size();
+
+        while (position < size) {
+            buffer.clear();
+
+            int read = channel.read(buffer, position);
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') return position + i;
+            }
+
+            position += read;
+        }
+
+        return size;
+    }
+
+    private void run(List<Chunk> chunks, boolean count, Target target) {
+        ChunkAction action = new ChunkAction(chunks, 0, chunks.size(), count, target);
+
+        if (chunks.size() <= 1 || PARALLELISM == 1) {
+            action.compute();
+        } else {
+            pool.invoke(action);
+        }
+    }
+
+    private static boolean isBlank(byte value) {
+        return value == ' ' || value == '\t' || value == '\r' || value == '"';
+    }
+
+    /**
+     * Parses the number between the given positions, ignoring surrounding blanks.
+     */
+    static float parseFloat(ByteBuffer buffer, int start, int end) {
+        while (start < end && isBlank(buffer.get(start))) start++;
+        while (end > start && isBlank(buffer.get(end - 1))) end--;
+
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i++) == '-';
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int significant = 0;
+        boolean digits = false;
+        byte value;
+
+        while (i < end && (value = buffer.get(i)) >= '0' && value <= '9') {
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (value - '0');
+                if (mantissa != 0) significant++;
+            } else {
+                exponent++;
+            }
+
+            digits = true;
+            i++;
+        }
+
+        if (i < end && buffer.get(i) == '.') {
+            i++;
+
+            while (i < end && (value = buffer.get(i)) >= '0' && value <= '9') {
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (value - '0');
+                    if (mantissa != 0) significant++;
+                    exponent--;
+                }
+
+                digits = true;
+                i++;
+            }
+        }
+
+        if (digits && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+
+            boolean negativeExponent = false;
+
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i++) == '-';
+            }
+
+            int power = 0;
+            digits = false;
+
+            while (i < end && (value = buffer.get(i)) >= '0' && value <= '9') {
+                power = Math.min(power * 10 + (value - '0'), 1 << 16);
+                digits = true;
+                i++;
+            }
+
+            exponent += negativeExponent ? -power : power;
+        }
+
+        if (!digits || i != end) {
+            return parseSlow(buffer, start, end);
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0f : 0f;
+        }
+
+        // the digits are accumulated up to 18 significant ones so the long cannot overflow, but only
+        // mantissas below 2^53 (every value of up to 15 digits, and some of 16) and powers of ten up to
+        // 10^22 are exact in a double, so the product below is rounded only once
+        if (mantissa >= 1L << 53 || Math.abs(exponent) >= POWERS_OF_TEN.length) {
+            return parseSlow(buffer, start, end);
+        }
+
+        double result = mantissa;
+
+        if (exponent > 0) {
+            result *= POWERS_OF_TEN[exponent];
+        } else if (exponent < 0) {
+            result /= POWERS_OF_TEN[-exponent];
+        }
+
+        return (float) (negative ? -result : result);
+    }
+
+    private static float parseSlow(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+
+        String text = new String(bytes, StandardCharsets.US_ASCII);
+
+        try {
+            return Float.parseFloat(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + text + "'");
+        }
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Sets the character separating the columns, for example <code>'\t'</code> for TSV files.
+     */
+    public CsvLoader setDelimiter(char delimiter) {
+        if (delimiter > 127 || delimiter == '\n' || delimiter == '"') {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character other than a line break or quote");
+        }
+
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    public boolean isSkipHeader() {
+        return skipHeader;
+    }
+
+    public CsvLoader setSkipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+        return this;
+    }
+
+    public int getLabelColumn() {
+        return labelColumn;
+    }
+
+    /**
+     * Sets the index of the column holding the label. Negative indices count from the last column,
+     * so -1 selects the last one.
+     */
+    public CsvLoader setLabelColumn(int labelColumn) {
+        this.labelColumn = labelColumn;
+        return this;
+    }
+
+    public int getClasses() {
+        return classes;
+    }
+
+    /**
+     * Sets the amount of classes. With more than one class the label column holds a class index that is
+     * one-hot encoded, with one class its value is used as is.
+     */
+    public CsvLoader setClasses(int classes) {
+        if (classes < 1) {
+            throw new IllegalArgumentException("Classes must be positive, got " + classes);
+        }
+
+        this.classes = classes;
+        return this;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * Sets the factor every feature is multiplied by, for example <code>1 / 255f</code> for pixels.
+     */
+    public CsvLoader setScale(float scale) {
+        this.scale = scale;
+        return this;
+    }
+
+    public int[] getFeatureColumns() {
+        return featureColumns == null ? null : featureColumns.clone();
+    }
+
+    /**
+     * Selects the columns used as features, in order. By default every column but the label is used.
+     * @param featureColumns the column indices, or null to use every column
+     */
+    public CsvLoader setFeatureColumns(int... featureColumns) {
+        this.featureColumns = featureColumns == null ? null : featureColumns.clone();
+        return this;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public CsvLoader setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    private record Result(int rows, int featureCount, float[] features, float[] labels) {
+    }
+
+    private record Target(int[] roles, Result result) {
+    }
+
+    private final class Chunk {
+
+        private final MappedByteBuffer buffer;
+        private final long position;
+        private int rows;
+        private long firstRow;
+
+        Chunk(MappedByteBuffer buffer, long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int countColumns() {
+            int limit = buffer.limit();
+            int start = 0;
+
+            while (start < limit) {
+                int end = end(start);
+
+                if (!blank(start, end)) {
+                    int columns = 1;
+
+                    for (int i = start; i < end; i++) {
+                        if (buffer.get(i) == delimiter) columns++;
+                    }
+
+                    return columns;
+                }
+
+                start = end + 1;
+            }
+
+            return 0;
+        }
+
+        void count() {
+            int limit = buffer.limit();
+            int count = 0;
+            boolean content = false;
+
+            for (int i = 0; i < limit; i++) {
+                byte value = buffer.get(i);
+
+                if (value == '\n') {
+                    if (content) count++;
+                    content = false;
+                } else if (!isBlank(value)) {
+                    content = true;
+                }
+            }
+
+            this.rows = content ? count + 1 : count;
+        }
+
+        void parse(Target target) {
+            int[] roles = target.roles();
+            Result result = target.result();
+            int limit = buffer.limit();
+            int start = 0;
+            int row = (int) firstRow;
+
+            while (start < limit) {
+                int content = start;
+
+                while (content < limit && isBlank(buffer.get(content))) content++;
+
+                if (content == limit || buffer.get(content) == '\n') {
+                    start = content + 1;
+                    continue;
+                }
+
+                try {
+                    start = parseLine(start, roles, result, row++) + 1;
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line at byte " + (position + start) + ": "
+                        + e.getMessage(), e);
+                }
+            }
+        }
+
+        /**
+         * Parses the line starting at the given position.
+         * @return the position of the line break ending the line
+         */
+        private int parseLine(int start, int[] roles, Result result, int row) {
+            int limit = buffer.limit();
+            int features = result.featureCount;
+            int column = 0;
+
+            while (true) {
+                int next = start;
+                byte value = 0;
+
+                while (next < limit && (value = buffer.get(next)) != delimiter && value != '\n') next++;
+
+                if (column >= roles.length) {
+                    throw new IllegalArgumentException("expected " + roles.length + " columns");
+                }
+
+                int role = roles[column++];
+
+                if (role >= 0) {
+                    result.features[row * features + role] = parseFloat(buffer, start, next) * scale;
+                } else if (role == LABEL) {
+                    writeLabel(parseFloat(buffer, start, next), result.labels, row * classes);
+                }
+
+                if (next == limit || value == '\n') {
+                    if (column != roles.length) {
+                        throw new IllegalArgumentException("found " + column + " columns, expected "
+                            + roles.length);
+                    }
+
+                    return next;
+                }
+
+                start = next + 1;
+            }
+        }
+
+        private void writeLabel(float value, float[] labels, int offset) {
+            if (classes == 1) {
+                labels[offset] = value;
+                return;
+            }
+
+            int index = (int) value;
+
+            if (index != value || index < 0 || index >= classes) {
+                throw new IllegalArgumentException("invalid class " + value);
+            }
+
+            labels[offset + index] = 1;
+        }
+
+        private int end(int start) {
+            int limit = buffer.limit();
+
+            while (start < limit && buffer.get(start) != '\n') start++;
+
+            return start;
+        }
+
+        private boolean blank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (!isBlank(buffer.get(i))) return false;
+            }
+
+            return true;
+        }
+    }
+
+    private static class ChunkAction extends RecursiveAction {
+
+        private final List<Chunk> chunks;
+        private final int start;
+        private final int end;
+        private final boolean count;
+        private final Target target;
+
+        ChunkAction(List<Chunk> chunks, int start, int end, boolean count, Target target) {
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+            this.count = count;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int mid = (start + end) >>> 1;
+                invokeAll(
+                    new ChunkAction(chunks, start, mid, count, target),
+                    new ChunkAction(chunks, mid, end, count, target)
+                );
+                return;
+            }
+
+            for (int i = start; i < end; i++) {
+                if (count) {
+                    chunks.get(i).count();
+                } else {
+                    chunks.get(i).parse(target);
+                }
+            }
+        }
+    }
+}
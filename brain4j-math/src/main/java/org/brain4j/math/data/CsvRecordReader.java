@@ -0,0 +1,191 @@
+package org.brain4j.math.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads one sample per line of a delimited text file, with one column holding the label and every other
+ * column holding an input feature. With more than one class the label is one-hot encoded, otherwise its
+ * value is used as is.
+ * <pre>{@code
+ * RecordReader reader = new CsvRecordReader(Path.of("mnist_train.csv"), 784, 10).setScale(1 / 255f);
+ * }</pre>
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private final Path path;
+    private final int features;
+    private final int classes;
+
+    private int labelColumn = 0;
+    private boolean skipHeader = true;
+    private float scale = 1;
+    private char delimiter = ',';
+
+    private BufferedReader reader;
+    private int line;
+
+    public CsvRecordReader(Path path, int features, int classes) {
+        if (features < 1 || classes < 1) {
+            throw new IllegalArgumentException("Features and classes must be positive");
+        }
+
+        this.path = path;
+        this.features = features;
+        this.classes = classes;
+    }
+
+    @Override
+    public int[] inputShape() {
+        return new int[] { features };
+    }
+
+    @Override
+    public int[] labelShape() {
+        return new int[] { classes };
+    }
+
+    @Override
+    public boolean read(float[] input, int inputOffset, float[] label, int labelOffset) throws IOException {
+        if (reader == null) rewind();
+
+        String text;
+
+        do {
+            text = reader.readLine();
+            line++;
+
+            if (text == null) return false;
+        } while (text.isBlank());
+
+        int column = 0;
+        int feature = 0;
+        int start = 0;
+        int length = text.length();
+
+        while (start <= length) {
+            int end = text.indexOf(delimiter, start);
+
+            if (end < 0) end = length;
+
+            float value = parse(text, start, end);
+
+            if (column == labelColumn) {
+                writeLabel(value, label, labelOffset);
+            } else if (feature < features) {
+                input[inputOffset + feature++] = value * scale;
+            } else {
+                feature++;
+            }
+
+            column++;
+            start = end + 1;
+        }
+
+        if (feature != features || column <= labelColumn) {
+            throw new IOException("Line " + line + " of " + path + " has " + column + " columns, expected "
+                + (features + 1));
+        }
+
+        return true;
+    }
+
+    private float parse(String text, int start, int end) throws IOException {
+        try {
+            return Float.parseFloat(text.substring(start, end));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number at line " + line + " of " + path, e);
+        }
+    }
+
+    private void writeLabel(float value, float[] label, int offset) throws IOException {
+        if (classes == 1) {
+            label[offset] = value;
+            return;
+        }
+
+        int index = (int) value;
+
+        if (index != value || index < 0 || index >= classes) {
+            throw new IOException("Invalid class " + value + " at line " + line + " of " + path);
+        }
+
+        for (int i = 0; i < classes; i++) {
+            label[offset + i] = 0;
+        }
+
+        label[offset + index] = 1;
+    }
+
+    @Override
+    public void rewind() throws IOException {
+        close();
+
+        this.reader = Files.newBufferedReader(path);
+        this.line = 0;
+
+        if (skipHeader && reader.readLine() != null) {
+            line++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getLabelColumn() {
+        return labelColumn;
+    }
+
+    /**
+     * Sets the index of the column holding the label, counting from zero.
+     */
+    public CsvRecordReader setLabelColumn(int labelColumn) {
+        if (labelColumn < 0 || labelColumn > features) {
+            throw new IllegalArgumentException("Label column must be between 0 and " + features);
+        }
+
+        this.labelColumn = labelColumn;
+        return this;
+    }
+
+    public boolean isSkipHeader() {
+        return skipHeader;
+    }
+
+    public CsvRecordReader setSkipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+        return this;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * Sets the factor every input feature is multiplied by, for example <code>1 / 255f</code> for pixels.
+     */
+    public CsvRecordReader setScale(float scale) {
+        this.scale = scale;
+        return this;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public CsvRecordReader setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+}
@@ -0,0 +1,69 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.function.Consumer;
+
+/**
+ * A source of training or evaluation batches, consumed one epoch at a time.
+ * <p>
+ * A batch is a pair of tensors shaped <code>[batch_size, ...input_shape]</code> and
+ * <code>[batch_size, ...label_shape]</code>. Sources that assemble batches into reusable buffers
+ * get them back through {@link #recycle(Pair)}; a batch must not be used after being recycled.
+ * Batches that are never recycled stay valid, the source simply allocates new buffers.
+ */
+public interface DataSource {
+
+    /**
+     * Checks whether the current epoch has more batches.
+     */
+    boolean hasNext();
+
+    /**
+     * Gets the next batch of the current epoch.
+     * @return the batch, or null if the epoch is over
+     */
+    Pair<Tensor, Tensor> nextBatch();
+
+    /**
+     * Starts a new epoch.
+     */
+    void reset();
+
+    /**
+     * Gets the amount of samples of an epoch.
+     */
+    int size();
+
+    /**
+     * Gets the shape of a single input, without the batch dimension.
+     */
+    int[] inputShape();
+
+    /**
+     * Gets the shape of a single label, without the batch dimension.
+     */
+    int[] labelShape();
+
+    /**
+     * Gives a batch back to this source once the caller is done with it.
+     * @param batch a batch returned by {@link #nextBatch()}
+     */
+    default void recycle(Pair<Tensor, Tensor> batch) {
+    }
+
+    /**
+     * Runs a task on every batch of a new epoch, in order, recycling each batch after its task.
+     */
+    default void propagate(Consumer<Pair<Tensor, Tensor>> task) {
+        reset();
+
+        Pair<Tensor, Tensor> batch;
+
+        while ((batch = nextBatch()) != null) {
+            task.accept(batch);
+            recycle(batch);
+        }
+    }
+}
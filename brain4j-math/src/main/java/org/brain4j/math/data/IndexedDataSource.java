@@ -0,0 +1,186 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+
+import java.util.SplittableRandom;
+
+/**
+ * Base class of the data sources holding a known amount of samples that can be read in any order, which
+ * assemble every batch on demand.
+ * <p>
+ * Shuffling permutes an array of sample indices at the start of every epoch, the samples themselves never
+ * move. Batches are claimed under the lock of the source, so several threads may consume the same epoch,
+ * and filled outside of it into buffers given back through {@link #recycle(Pair)}.
+ * @param <S> the type of the source, returned by the setters
+ */
+public abstract class IndexedDataSource<S extends IndexedDataSource<S>> implements DataSource {
+
+    private final int samples;
+    private final int batchSize;
+    private final int[] inputShape;
+    private final int[] labelShape;
+    private final int[] permutation;
+    private final BatchPool pool;
+
+    private boolean shuffle;
+    private boolean shuffled;
+    private boolean dropLast;
+    private long seed = 42;
+    private int epoch = -1;
+    private int cursor;
+
+    protected IndexedDataSource(int samples, int[] inputShape, int[] labelShape, int batchSize) {
+        checkBatchSize(batchSize);
+
+        this.samples = samples;
+        this.batchSize = batchSize;
+        this.inputShape = inputShape.clone();
+        this.labelShape = labelShape.clone();
+        this.permutation = new int[samples];
+        this.pool = new BatchPool(this.inputShape, this.labelShape, batchSize, BatchPool.DEFAULT_PREFETCH);
+
+        for (int i = 0; i < samples; i++) {
+            permutation[i] = i;
+        }
+    }
+
+    protected static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, got " + batchSize);
+        }
+    }
+
+    /**
+     * Copies consecutive samples of the current epoch into the first rows of a batch.
+     * @param batch the batch to fill, holding exactly <code>rows</code> rows
+     * @param start the position of the first sample inside the epoch
+     * @param rows the amount of samples to copy
+     * @param shuffled whether the sample at position <code>p</code> is {@link #sampleAt(int)} rather than
+     *                 <code>p</code> itself
+     */
+    protected abstract void fill(Pair<Tensor, Tensor> batch, int start, int rows, boolean shuffled);
+
+    /**
+     * Gets the index of the sample at a position of the current shuffled epoch.
+     */
+    protected final int sampleAt(int position) {
+        // the permutation only changes on reset, which must not overlap with an epoch
+        return permutation[position];
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        return remaining() > 0;
+    }
+
+    private int remaining() {
+        int left = samples - cursor;
+        return dropLast && left < batchSize ? 0 : left;
+    }
+
+    @Override
+    public Pair<Tensor, Tensor> nextBatch() {
+        int start;
+        int rows;
+        boolean shuffled;
+
+        synchronized (this) {
+            if (epoch < 0) reset();
+
+            rows = Math.min(batchSize, remaining());
+
+            if (rows == 0) return null;
+
+            start = cursor;
+            shuffled = this.shuffled;
+            cursor += rows;
+        }
+
+        Pair<Tensor, Tensor> batch = pool.acquire(rows);
+        fill(batch, start, rows, shuffled);
+
+        return batch;
+    }
+
+    @Override
+    public void recycle(Pair<Tensor, Tensor> batch) {
+        pool.recycle(batch);
+    }
+
+    @Override
+    public synchronized void reset() {
+        this.cursor = 0;
+        this.epoch++;
+        this.shuffled = shuffle;
+
+        if (!shuffle) return;
+
+        SplittableRandom random = new SplittableRandom(seed + epoch * 0x9E3779B97F4A7C15L);
+
+        for (int i = samples - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+    }
+
+    @Override
+    public int size() {
+        return samples;
+    }
+
+    @Override
+    public int[] inputShape() {
+        return inputShape.clone();
+    }
+
+    @Override
+    public int[] labelShape() {
+        return labelShape.clone();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isShuffle() {
+        return shuffle;
+    }
+
+    /**
+     * Sets whether the samples are visited in a new random order every epoch. Applies from the next epoch.
+     */
+    public synchronized S setShuffle(boolean shuffle) {
+        this.shuffle = shuffle;
+        return self();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public synchronized S setSeed(long seed) {
+        this.seed = seed;
+        return self();
+    }
+
+    public boolean isDropLast() {
+        return dropLast;
+    }
+
+    /**
+     * Sets whether the last batch of an epoch is dropped when it has less than a full batch of samples.
+     */
+    public synchronized S setDropLast(boolean dropLast) {
+        this.dropLast = dropLast;
+        return self();
+    }
+
+    @SuppressWarnings("unchecked")
+    private S self() {
+        return (S) this;
+    }
+}
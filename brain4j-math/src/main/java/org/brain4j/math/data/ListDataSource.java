@@ -7,9 +7,8 @@ import org.brain4j.math.tensor.Tensors;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
 
-public class ListDataSource implements Cloneable {
+public class ListDataSource implements DataSource, Cloneable {
 
     protected final List<Sample> samples;
     protected final List<Tensor> batchedInputs;
@@ -36,58 +35,31 @@ public class ListDataSource implements Cloneable {
         return samples;
     }
 
+    @Override
     public boolean hasNext() {
         return cursor < batches;
     }
 
+    @Override
     public void reset() {
         cursor = 0;
     }
 
     public ListDataSource normalize() {
-        List<Tensor> inputs = new ArrayList<>();
-        List<Tensor> labels = new ArrayList<>();
-
-        for (Sample sample : samples) {
-            inputs.add(sample.input());
-            labels.add(sample.label());
-        }
-
-        Tensor first = inputs.getFirst();
-        int features = first.elements();
-
-        float[] means = new float[features];
-        float[] stds = new float[features];
-
-        for (int i = 0; i < features; i++) {
-            double mean = 0;
-            double std = 0;
-
-            for (Tensor input : inputs) {
-                mean += input.get(i);
-                std += input.get(i) * input.get(i);
-            }
-
-            mean /= inputs.size();
-            std = Math.sqrt(std / inputs.size() - mean * mean);
-
-            means[i] = (float) mean;
-            stds[i] = (float) Math.max(std, 1e-8);
-        }
-
-        Tensor mean = Tensors.vector(means);
-        Tensor std = Tensors.vector(stds);
-
-        for (Tensor input : inputs) {
-            input.sub(mean).div(std);
-        }
+        return normalize(Normalizer.Mode.STANDARD);
+    }
 
-        samples.clear();
+    public ListDataSource normalize(Normalizer.Mode mode) {
+        int features = samples.getFirst().input().elements();
+        return normalize(Normalizer.fit(batchedInputs, features, mode));
+    }
 
-        for (int i = 0; i < inputs.size(); i++) {
-            Tensor input = inputs.get(i);
-            Tensor label = labels.get(i);
-            samples.add(new Sample(input, label));
+    /**
+     * Rescales the inputs of every sample in place, for example with the statistics of another dataset.
+     */
+    public ListDataSource normalize(Normalizer normalizer) {
+        for (Sample sample : samples) {
+            normalizer.apply(sample.input());
         }
 
         batchedInputs.clear();
@@ -98,15 +70,8 @@ public class ListDataSource implements Cloneable {
         return this;
     }
 
-    public void propagate(Consumer<Pair<Tensor, Tensor>> task) {
-        reset();
-
-        while (hasNext()) {
-            task.accept(nextBatch());
-        }
-    }
-
-    public Pair<Tensor, Tensor> nextBatch() {
+    @Override
+    public synchronized Pair<Tensor, Tensor> nextBatch() {
         if (!hasNext()) return null;
 
         Tensor input = batchedInputs.get(cursor);
@@ -116,10 +81,21 @@ public class ListDataSource implements Cloneable {
         return new Pair<>(input, label);
     }
 
+    @Override
     public int size() {
         return samples.size();
     }
 
+    @Override
+    public int[] inputShape() {
+        return samples.getFirst().input().shape();
+    }
+
+    @Override
+    public int[] labelShape() {
+        return samples.getFirst().label().shape();
+    }
+
     private void computeBatches() {
         int size = size();
         int index = 0;
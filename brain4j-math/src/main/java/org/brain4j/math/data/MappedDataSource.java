@@ -0,0 +1,194 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.impl.cpu.convert.DataType;
+import org.brain4j.math.tensor.impl.cpu.convert.ParallelConvert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A data source reading a file written by {@link BinaryDatasetWriter} through a memory mapping, so the
+ * dataset is paged in by the operating system instead of being loaded on the heap.
+ * <p>
+ * A batch of consecutive samples stored as <code>F32</code> is copied with a single bulk read, other
+ * batches with one per sample; samples stored with a narrower {@link DataType} are widened while being
+ * copied. Files larger than 2 GB are mapped in several regions.
+ * <pre>{@code
+ * try (MappedDataSource source = new MappedDataSource(Path.of("train.b4jd"), 128).setShuffle(true)) {
+ *     model.fit(source, 10);
+ * }
+ * }</pre>
+ */
+public class MappedDataSource extends IndexedDataSource<MappedDataSource> implements AutoCloseable {
+
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final BinaryDatasetHeader header;
+    private final Block inputs;
+    private final Block labels;
+
+    public MappedDataSource(Path path, int batchSize) throws IOException {
+        this(path, open(path, batchSize), batchSize);
+    }
+
+    private MappedDataSource(Path path, FileChannel channel, int batchSize) throws IOException {
+        this(path, channel, readHeader(channel), batchSize);
+    }
+
+    private MappedDataSource(
+        Path path,
+        FileChannel channel,
+        BinaryDatasetHeader header,
+        int batchSize
+    ) throws IOException {
+        super((int) header.samples(), header.inputShape(), header.labelShape(), batchSize);
+
+        this.path = path;
+        this.channel = channel;
+        this.header = header;
+
+        try {
+            this.inputs = new Block(channel, header.inputsOffset(), header.inputType(),
+                header.inputElements(), size());
+            this.labels = new Block(channel, header.labelsOffset(), header.labelType(),
+                header.labelElements(), size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel open(Path path, int batchSize) throws IOException {
+        checkBatchSize(batchSize);
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    private static BinaryDatasetHeader readHeader(FileChannel channel) throws IOException {
+        try {
+            long fileSize = channel.size();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, 4096));
+
+            BinaryDatasetHeader header = BinaryDatasetHeader.read(buffer, fileSize);
+
+            if (header.samples() > Integer.MAX_VALUE) {
+                throw new IOException("Dataset has " + header.samples() + " samples, at most "
+                    + Integer.MAX_VALUE + " are supported");
+            }
+
+            return header;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void fill(Pair<Tensor, Tensor> batch, int start, int rows, boolean shuffled) {
+        if (shuffled) {
+            for (int row = 0; row < rows; row++) {
+                int index = sampleAt(start + row);
+
+                inputs.read(index, 1, batch.first().getData(), row);
+                labels.read(index, 1, batch.second().getData(), row);
+            }
+        } else {
+            inputs.read(start, rows, batch.first().getData(), 0);
+            labels.read(start, rows, batch.second().getData(), 0);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public DataType getInputType() {
+        return header.inputType();
+    }
+
+    public DataType getLabelType() {
+        return header.labelType();
+    }
+
+    /**
+     * A block of rows of the file, mapped in regions that hold a whole amount of rows.
+     */
+    private static class Block {
+
+        private final DataType type;
+        private final int elements;
+        private final long rowBytes;
+        private final int rowsPerRegion;
+        private final MappedByteBuffer[] regions;
+        private final FloatBuffer[] floats;
+
+        Block(FileChannel channel, long offset, DataType type, int elements, int rows) throws IOException {
+            this.type = type;
+            this.elements = elements;
+            this.rowBytes = (long) elements * type.bytes();
+
+            if (rowBytes > MAX_REGION_SIZE) {
+                throw new IOException("Samples of " + rowBytes + " bytes are not supported");
+            }
+
+            this.rowsPerRegion = (int) Math.max(1, MAX_REGION_SIZE / rowBytes);
+
+            int count = Math.max(1, (rows + rowsPerRegion - 1) / rowsPerRegion);
+
+            this.regions = new MappedByteBuffer[count];
+            this.floats = new FloatBuffer[count];
+
+            for (int i = 0; i < count; i++) {
+                int regionRows = Math.min(rowsPerRegion, rows - i * rowsPerRegion);
+                long position = offset + i * rowsPerRegion * rowBytes;
+
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, regionRows * rowBytes);
+                regions[i].order(ByteOrder.LITTLE_ENDIAN);
+
+                if (type == DataType.F32) {
+                    floats[i] = regions[i].asFloatBuffer();
+                }
+            }
+        }
+
+        /**
+         * Copies consecutive rows into the destination, starting at the given destination row.
+         */
+        void read(int row, int count, float[] destination, int destinationRow) {
+            while (count > 0) {
+                int region = row / rowsPerRegion;
+                int local = row % rowsPerRegion;
+                int length = Math.min(count, rowsPerRegion - local);
+
+                int size = length * elements;
+                int target = destinationRow * elements;
+
+                if (type == DataType.F32) {
+                    floats[region].get(local * elements, destination, target, size);
+                } else {
+                    ByteBuffer slice = regions[region].slice((int) (local * rowBytes), (int) (length * rowBytes));
+                    ParallelConvert.convert(type, slice, destination, target, size, ForkJoinPool.commonPool());
+                }
+
+                row += length;
+                count -= length;
+                destinationRow += length;
+            }
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-feature statistics of a dataset, used to rescale inputs to zero mean and unit variance or to the
+ * <code>[0, 1]</code> range.
+ * <p>
+ * The statistics are gathered in a single pass over the data. Rows are processed in small blocks whose
+ * mean and squared deviations are computed exactly while the block is in cache, then the blocks are merged
+ * with the parallel variance formula of Chan et al., which avoids the cancellation of
+ * <code>E[x²] - E[x]²</code>. Blocks of large arrays are processed on the common pool.
+ * <p>
+ * A normalizer can be saved with a model, so new inputs are normalized with the statistics of the
+ * training data.
+ * <pre>{@code
+ * Normalizer normalizer = Normalizer.fit(trainSource, Normalizer.Mode.STANDARD);
+ * model.setNormalizer(normalizer);
+ * model.fit(normalizer.normalize(trainSource), normalizer.normalize(testSource), 10);
+ * }</pre>
+ */
+public class Normalizer {
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 16;
+    private static final int BLOCK_SIZE = 1 << 13;
+
+    private final Mode mode;
+    private final long count;
+    private final double[] mean;
+    private final double[] variance;
+    private final float[] min;
+    private final float[] max;
+    private final float[] shift;
+    private final float[] factor;
+
+    private Normalizer(Mode mode, Moments moments) {
+        this.mode = mode;
+        this.count = moments.count;
+        this.mean = moments.mean;
+        this.variance = new double[mean.length];
+        this.min = moments.min;
+        this.max = moments.max;
+        this.shift = new float[mean.length];
+        this.factor = new float[mean.length];
+
+        for (int i = 0; i < mean.length; i++) {
+            variance[i] = count == 0 ? 0 : moments.m2[i] / count;
+
+            if (mode == Mode.STANDARD) {
+                shift[i] = (float) mean[i];
+                factor[i] = (float) (1 / Math.max(Math.sqrt(variance[i]), 1e-8));
+            } else {
+                double range = (double) max[i] - min[i];
+
+                shift[i] = min[i];
+                factor[i] = range > 0 ? (float) (1 / range) : 1;
+            }
+        }
+    }
+
+    /**
+     * Computes the statistics of the inputs of one epoch of a data source, with the standard mode.
+     */
+    public static Normalizer fit(DataSource source) {
+        return fit(source, Mode.STANDARD);
+    }
+
+    /**
+     * Computes the statistics of the inputs of one epoch of a data source.
+     */
+    public static Normalizer fit(DataSource source, Mode mode) {
+        int features = Brain4JUtils.elements(source.inputShape());
+        Moments total = new Moments(features);
+
+        source.reset();
+
+        Pair<Tensor, Tensor> batch;
+
+        while ((batch = source.nextBatch()) != null) {
+            float[] data = batch.first().getData();
+
+            total.merge(moments(data, 0, data.length / features, features));
+            source.recycle(batch);
+        }
+
+        return new Normalizer(mode, total);
+    }
+
+    /**
+     * Computes the statistics of a list of batches, each holding whole rows.
+     */
+    static Normalizer fit(Iterable<Tensor> batches, int features, Mode mode) {
+        Moments total = new Moments(features);
+
+        for (Tensor batch : batches) {
+            float[] data = batch.getData();
+            total.merge(moments(data, 0, data.length / features, features));
+        }
+
+        return new Normalizer(mode, total);
+    }
+
+    /**
+     * Computes the statistics of rows stored one after the other, for example the inputs of a
+     * {@link ColumnarDataSource}.
+     * @param data the rows
+     * @param features the amount of values of a row
+     * @param mode how the rows are rescaled
+     */
+    public static Normalizer fit(float[] data, int features, Mode mode) {
+        if (features < 1 || data.length % features != 0) {
+            throw new IllegalArgumentException("Data does not hold rows of " + features + " features");
+        }
+
+        return new Normalizer(mode, moments(data, 0, data.length / features, features));
+    }
+
+    private static Moments moments(float[] data, int row, int rows, int features) {
+        MomentsTask task = new MomentsTask(data, row, row + rows, features);
+
+        if ((long) rows * features <= PARALLEL_COMPLEXITY_THRESHOLD || PARALLELISM == 1) {
+            return task.compute();
+        }
+
+        return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Rescales every row of a batch in place.
+     * @return the same batch
+     */
+    public Tensor apply(Tensor batch) {
+        apply(batch.getData(), 0, batch.elements());
+        return batch;
+    }
+
+    /**
+     * Rescales, in place, the rows stored in a range of an array.
+     * @param data the rows
+     * @param offset the index of the first value of the first row
+     * @param length the amount of values, a multiple of the amount of features
+     */
+    public void apply(float[] data, int offset, int length) {
+        int features = shift.length;
+
+        if (length % features != 0) {
+            throw new IllegalArgumentException(length + " values are not a whole amount of rows of "
+                + features + " features");
+        }
+
+        for (int row = offset; row < offset + length; row += features) {
+            for (int i = 0; i < features; i++) {
+                data[row + i] = (data[row + i] - shift[i]) * factor[i];
+            }
+        }
+    }
+
+    /**
+     * Reverts the rescaling of a batch in place.
+     * @return the same batch
+     */
+    public Tensor revert(Tensor batch) {
+        float[] data = batch.getData();
+        int features = shift.length;
+
+        for (int row = 0; row + features <= data.length; row += features) {
+            for (int i = 0; i < features; i++) {
+                data[row + i] = data[row + i] / factor[i] + shift[i];
+            }
+        }
+
+        return batch;
+    }
+
+    /**
+     * Wraps a data source so that the inputs of every batch are rescaled as they are served.
+     * The batches are rescaled in place, so the source must assemble every batch anew, like
+     * {@link ColumnarDataSource}, {@link MappedDataSource} and {@link StreamingDataSource} do; a
+     * {@link ListDataSource} serves the same tensors every epoch and should be normalized once instead.
+     */
+    public DataSource normalize(DataSource source) {
+        if (Brain4JUtils.elements(source.inputShape()) != shift.length) {
+            throw new IllegalArgumentException("Source inputs do not have " + shift.length + " features");
+        }
+
+        return new NormalizedDataSource(source);
+    }
+
+    public void serialize(DataOutputStream stream) throws IOException {
+        stream.writeInt(mode.ordinal());
+        stream.writeLong(count);
+        stream.writeInt(mean.length);
+
+        for (int i = 0; i < mean.length; i++) {
+            stream.writeDouble(mean[i]);
+            stream.writeDouble(variance[i]);
+            stream.writeFloat(min[i]);
+            stream.writeFloat(max[i]);
+        }
+    }
+
+    public static Normalizer deserialize(DataInputStream stream) throws IOException {
+        int ordinal = stream.readInt();
+
+        if (ordinal < 0 || ordinal >= Mode.values().length) {
+            throw new IOException("Unknown normalization mode " + ordinal);
+        }
+
+        Mode mode = Mode.values()[ordinal];
+        long count = stream.readLong();
+        int features = stream.readInt();
+
+        Moments moments = new Moments(features);
+        moments.count = count;
+
+        for (int i = 0; i < features; i++) {
+            moments.mean[i] = stream.readDouble();
+            moments.m2[i] = stream.readDouble() * count;
+            moments.min[i] = stream.readFloat();
+            moments.max[i] = stream.readFloat();
+        }
+
+        return new Normalizer(mode, moments);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the amount of rows the statistics were computed on.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public int getFeatures() {
+        return mean.length;
+    }
+
+    public double[] getMean() {
+        return mean.clone();
+    }
+
+    /**
+     * Gets the population variance of every feature.
+     */
+    public double[] getVariance() {
+        return variance.clone();
+    }
+
+    public double[] getStd() {
+        return Arrays.stream(variance).map(Math::sqrt).toArray();
+    }
+
+    public float[] getMin() {
+        return min.clone();
+    }
+
+    public float[] getMax() {
+        return max.clone();
+    }
+
+    public enum Mode {
+        /**
+         * Rescales every feature to zero mean and unit variance.
+         */
+        STANDARD,
+        /**
+         * Rescales every feature to the range between its minimum and its maximum.
+         */
+        MIN_MAX
+    }
+
+    /**
+     * The count, mean, sum of squared deviations and range of every feature of a set of rows.
+     */
+    private static class Moments {
+
+        private final double[] mean;
+        private final double[] m2;
+        private final float[] min;
+        private final float[] max;
+        private long count;
+
+        Moments(int features) {
+            this.mean = new double[features];
+            this.m2 = new double[features];
+            this.min = new float[features];
+            this.max = new float[features];
+
+            Arrays.fill(min, Float.POSITIVE_INFINITY);
+            Arrays.fill(max, Float.NEGATIVE_INFINITY);
+        }
+
+        /**
+         * Computes the moments of a block of rows in two passes, meant for blocks that fit in cache.
+         */
+        static Moments of(float[] data, int from, int to, int features) {
+            Moments moments = new Moments(features);
+            double[] mean = moments.mean;
+            double[] m2 = moments.m2;
+            float[] min = moments.min;
+            float[] max = moments.max;
+
+            for (int row = from; row < to; row++) {
+                int base = row * features;
+
+                for (int i = 0; i < features; i++) {
+                    float value = data[base + i];
+
+                    mean[i] += value;
+                    min[i] = Math.min(min[i], value);
+                    max[i] = Math.max(max[i], value);
+                }
+            }
+
+            int rows = to - from;
+
+            for (int i = 0; i < features; i++) {
+                mean[i] /= rows;
+            }
+
+            for (int row = from; row < to; row++) {
+                int base = row * features;
+
+                for (int i = 0; i < features; i++) {
+                    double delta = data[base + i] - mean[i];
+                    m2[i] += delta * delta;
+                }
+            }
+
+            moments.count = rows;
+            return moments;
+        }
+
+        void merge(Moments other) {
+            if (other.count == 0) return;
+
+            long total = count + other.count;
+            double weight = (double) count * other.count / total;
+            double share = (double) other.count / total;
+
+            for (int i = 0; i < mean.length; i++) {
+                double delta = other.mean[i] - mean[i];
+
+                mean[i] += delta * share;
+                m2[i] += other.m2[i] + delta * delta * weight;
+                min[i] = Math.min(min[i], other.min[i]);
+                max[i] = Math.max(max[i], other.max[i]);
+            }
+
+            this.count = total;
+        }
+    }
+
+    private static class MomentsTask extends RecursiveTask<Moments> {
+
+        private final float[] data;
+        private final int from;
+        private final int to;
+        private final int features;
+
+        MomentsTask(float[] data, int from, int to, int features) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.features = features;
+        }
+
+        @Override
+        protected Moments compute() {
+            long work = (long) (to - from) * features;
+
+            if (work > PARALLEL_COMPLEXITY_THRESHOLD && to - from > 1) {
+                int mid = (from + to) >>> 1;
+
+                MomentsTask left = new MomentsTask(data, from, mid, features);
+                MomentsTask right = new MomentsTask(data, mid, to, features);
+
+                right.fork();
+
+                Moments result = left.compute();
+                result.merge(right.join());
+
+                return result;
+            }
+
+            Moments result = new Moments(features);
+            int blockRows = Math.max(1, BLOCK_SIZE / features);
+
+            for (int row = from; row < to; row += blockRows) {
+                result.merge(Moments.of(data, row, Math.min(to, row + blockRows), features));
+            }
+
+            return result;
+        }
+    }
+
+    private class NormalizedDataSource implements DataSource {
+
+        private final DataSource source;
+
+        NormalizedDataSource(DataSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        @Override
+        public Pair<Tensor, Tensor> nextBatch() {
+            Pair<Tensor, Tensor> batch = source.nextBatch();
+
+            if (batch != null) apply(batch.first());
+
+            return batch;
+        }
+
+        @Override
+        public void reset() {
+            source.reset();
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public int[] inputShape() {
+            return source.inputShape();
+        }
+
+        @Override
+        public int[] labelShape() {
+            return source.labelShape();
+        }
+
+        @Override
+        public void recycle(Pair<Tensor, Tensor> batch) {
+            source.recycle(batch);
+        }
+    }
+}
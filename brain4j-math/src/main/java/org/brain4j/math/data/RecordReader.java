@@ -0,0 +1,46 @@
+package org.brain4j.math.data;
+
+import java.io.IOException;
+
+/**
+ * Decodes samples one at a time from an underlying storage, for a {@link StreamingDataSource}.
+ * Implementations are only used by one thread at a time.
+ */
+public interface RecordReader extends AutoCloseable {
+
+    /**
+     * Gets the shape of a single input.
+     */
+    int[] inputShape();
+
+    /**
+     * Gets the shape of a single label.
+     */
+    int[] labelShape();
+
+    /**
+     * Decodes the next sample into the given arrays.
+     * @param input the destination of the input values
+     * @param inputOffset the index of the first input value
+     * @param label the destination of the label values
+     * @param labelOffset the index of the first label value
+     * @return false if there are no more samples, in which case nothing is written
+     */
+    boolean read(float[] input, int inputOffset, float[] label, int labelOffset) throws IOException;
+
+    /**
+     * Rewinds to the first sample, for a new epoch.
+     */
+    void rewind() throws IOException;
+
+    /**
+     * Gets the amount of samples, if known without reading them.
+     * @return the amount of samples, or -1 if unknown
+     */
+    default int size() {
+        return -1;
+    }
+
+    @Override
+    void close() throws IOException;
+}
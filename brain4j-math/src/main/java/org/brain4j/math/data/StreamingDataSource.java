@@ -0,0 +1,351 @@
+package org.brain4j.math.data;
+
+import org.brain4j.math.Brain4JUtils;
+import org.brain4j.math.Pair;
+import org.brain4j.math.tensor.Tensor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A data source that decodes its samples in the background while the model trains, so datasets do not
+ * need to fit in memory.
+ * <p>
+ * A producer thread reads samples from a {@link RecordReader}, shuffles them through a buffer of
+ * {@link #setShuffleBuffer(int) a configurable amount} of samples and assembles them into batches,
+ * staying up to {@link #setPrefetch(int) prefetch} batches ahead of the consumer. When the queue is full
+ * the producer waits, so memory usage is bounded. Batches given back through {@link #recycle(Pair)} are
+ * refilled instead of being allocated again.
+ * <pre>{@code
+ * try (StreamingDataSource source = new StreamingDataSource(reader, 128).setShuffleBuffer(10_000)) {
+ *     model.fit(source, 10);
+ * }
+ * }</pre>
+ */
+public class StreamingDataSource implements DataSource, AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final RecordReader reader;
+    private final int batchSize;
+    private final int[] inputShape;
+    private final int[] labelShape;
+    private final int inputSize;
+    private final int labelSize;
+    private final BatchPool pool;
+
+    private int shuffleBuffer = 1;
+    private int prefetch = BatchPool.DEFAULT_PREFETCH;
+    private long seed = 42;
+    private boolean dropLast;
+
+    private BlockingQueue<Object> queue;
+    private Producer producer;
+    private Object pending;
+    private boolean finished;
+    private int epoch;
+    private int delivered;
+    private int lastEpochSize = -1;
+
+    public StreamingDataSource(RecordReader reader, int batchSize) {
+        IndexedDataSource.checkBatchSize(batchSize);
+
+        this.reader = reader;
+        this.batchSize = batchSize;
+        this.inputShape = reader.inputShape().clone();
+        this.labelShape = reader.labelShape().clone();
+        this.inputSize = Brain4JUtils.elements(inputShape);
+        this.labelSize = Brain4JUtils.elements(labelShape);
+        this.pool = new BatchPool(inputShape, labelShape, batchSize, prefetch);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return peek() instanceof Pair<?, ?>;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Pair<Tensor, Tensor> nextBatch() {
+        Object item = peek();
+        pending = null;
+
+        if (item == END) {
+            finished = true;
+            lastEpochSize = delivered;
+            return null;
+        }
+
+        if (item instanceof Failure failure) {
+            finished = true;
+            throw failure.rethrow();
+        }
+
+        if (item == null) return null;
+
+        Pair<Tensor, Tensor> batch = (Pair<Tensor, Tensor>) item;
+        delivered += batch.first().shape()[0];
+
+        return batch;
+    }
+
+    private Object peek() {
+        if (pending != null) return pending;
+        if (finished) return null;
+
+        if (producer == null) start();
+
+        try {
+            pending = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next batch", e);
+        }
+
+        return pending;
+    }
+
+    @Override
+    public void recycle(Pair<Tensor, Tensor> batch) {
+        pool.recycle(batch);
+    }
+
+    @Override
+    public void reset() {
+        stop();
+
+        this.finished = false;
+        this.delivered = 0;
+        this.epoch++;
+    }
+
+    @Override
+    public int size() {
+        int known = reader.size();
+
+        if (known >= 0) return known;
+
+        return Math.max(lastEpochSize, delivered);
+    }
+
+    @Override
+    public int[] inputShape() {
+        return inputShape.clone();
+    }
+
+    @Override
+    public int[] labelShape() {
+        return labelShape.clone();
+    }
+
+    private void start() {
+        this.queue = new ArrayBlockingQueue<>(prefetch);
+        this.producer = new Producer(queue, new SplittableRandom(seed + epoch * 0x9E3779B97F4A7C15L));
+
+        producer.thread = Thread.ofPlatform()
+            .daemon()
+            .name("brain4j-streaming-" + epoch)
+            .start(producer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stop() {
+        if (producer != null) {
+            producer.cancelled = true;
+            producer.thread.interrupt();
+
+            try {
+                producer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<Object> left = new ArrayList<>();
+            queue.drainTo(left);
+
+            if (pending != null) left.add(pending);
+
+            for (Object item : left) {
+                if (item instanceof Pair<?, ?> batch) recycle((Pair<Tensor, Tensor>) batch);
+            }
+        }
+
+        this.producer = null;
+        this.pending = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stop();
+        reader.close();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getShuffleBuffer() {
+        return shuffleBuffer;
+    }
+
+    /**
+     * Sets the amount of samples the producer picks from at random. One, the default, keeps the order of
+     * the reader; a buffer as large as the dataset gives a uniform shuffle. Applies from the next epoch.
+     */
+    public StreamingDataSource setShuffleBuffer(int shuffleBuffer) {
+        if (shuffleBuffer < 1) {
+            throw new IllegalArgumentException("Shuffle buffer must be positive, got " + shuffleBuffer);
+        }
+
+        this.shuffleBuffer = shuffleBuffer;
+        return this;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Sets the maximum amount of batches assembled ahead of the consumer. Applies from the next epoch.
+     */
+    public StreamingDataSource setPrefetch(int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be positive, got " + prefetch);
+        }
+
+        this.prefetch = prefetch;
+        pool.setPrefetch(prefetch);
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public StreamingDataSource setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public boolean isDropLast() {
+        return dropLast;
+    }
+
+    /**
+     * Sets whether the last batch of an epoch is dropped when it has less than a full batch of samples.
+     */
+    public StreamingDataSource setDropLast(boolean dropLast) {
+        this.dropLast = dropLast;
+        return this;
+    }
+
+    private record Failure(Throwable cause) {
+
+        RuntimeException rethrow() {
+            if (cause instanceof Error error) throw error;
+            if (cause instanceof RuntimeException runtime) return runtime;
+            if (cause instanceof IOException io) return new UncheckedIOException(io);
+
+            return new IllegalStateException("Could not read the next batch", cause);
+        }
+    }
+
+    private class Producer implements Runnable {
+
+        private final BlockingQueue<Object> queue;
+        private final SplittableRandom random;
+        private final int capacity = shuffleBuffer;
+
+        private volatile boolean cancelled;
+        private Thread thread;
+
+        Producer(BlockingQueue<Object> queue, SplittableRandom random) {
+            this.queue = queue;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            try {
+                produce();
+                put(END);
+            } catch (InterruptedException e) {
+                // cancelled by reset or close
+            } catch (Throwable t) {
+                try {
+                    put(new Failure(t));
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+
+        private void produce() throws IOException, InterruptedException {
+            float[] inputs = new float[capacity * inputSize];
+            float[] labels = new float[capacity * labelSize];
+
+            reader.rewind();
+
+            Pair<Tensor, Tensor> batch = null;
+            int filled = 0;
+            int rows = 0;
+            boolean exhausted = false;
+
+            while (!cancelled) {
+                while (!exhausted && filled < capacity) {
+                    if (reader.read(inputs, filled * inputSize, labels, filled * labelSize)) {
+                        filled++;
+                    } else {
+                        exhausted = true;
+                    }
+                }
+
+                if (filled == 0) break;
+
+                int pick = filled > 1 ? random.nextInt(filled) : 0;
+
+                if (batch == null) batch = pool.acquire(batchSize);
+
+                System.arraycopy(inputs, pick * inputSize, batch.first().getData(), rows * inputSize, inputSize);
+                System.arraycopy(labels, pick * labelSize, batch.second().getData(), rows * labelSize, labelSize);
+
+                // keep the buffer dense by moving the last sample into the free slot
+                filled--;
+
+                if (pick != filled) {
+                    System.arraycopy(inputs, filled * inputSize, inputs, pick * inputSize, inputSize);
+                    System.arraycopy(labels, filled * labelSize, labels, pick * labelSize, labelSize);
+                }
+
+                if (++rows == batchSize) {
+                    put(batch);
+                    batch = null;
+                    rows = 0;
+                }
+            }
+
+            if (!cancelled && rows > 0 && !dropLast) {
+                put(truncate(batch, rows));
+            }
+        }
+
+        private Pair<Tensor, Tensor> truncate(Pair<Tensor, Tensor> batch, int rows) {
+            Pair<Tensor, Tensor> result = pool.acquire(rows);
+
+            System.arraycopy(batch.first().getData(), 0, result.first().getData(), 0, rows * inputSize);
+            System.arraycopy(batch.second().getData(), 0, result.second().getData(), 0, rows * labelSize);
+
+            pool.recycle(batch);
+            return result;
+        }
+
+        private void put(Object item) throws InterruptedException {
+            if (cancelled) throw new InterruptedException();
+            queue.put(item);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.brain4j.math.exceptions;
+
+import java.util.Arrays;
+
+/**
+ * Thrown by the anomaly detection mode when a tensor contains a NaN or infinite value.
+ */
+public class AnomalyException extends RuntimeException {
+
+    private final String operation;
+    private final int layerIndex;
+    private final int[] shape;
+    private final int index;
+    private final float value;
+
+    public AnomalyException(String operation, int layerIndex, int[] shape, int index, float value) {
+        super("%s produced %s at index %d of a tensor with shape %s%s".formatted(
+            operation,
+            value,
+            index,
+            Arrays.toString(shape),
+            layerIndex >= 0 ? " (layer " + layerIndex + ")" : ""
+        ));
+
+        this.operation = operation;
+        this.layerIndex = layerIndex;
+        this.shape = shape;
+        this.index = index;
+        this.value = value;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the index of the layer that produced the tensor, or -1 if it was not produced by a layer
+     */
+    public int getLayerIndex() {
+        return layerIndex;
+    }
+
+    public int[] getShape() {
+        return shape;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public float getValue() {
+        return value;
+    }
+}
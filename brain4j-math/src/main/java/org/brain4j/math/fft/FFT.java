@@ -1,8 +1,11 @@
 package org.brain4j.math.fft;
 
 import org.brain4j.math.complex.Complex;
+import org.brain4j.math.jfr.FFTEvent;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.brain4j.math.Brain4JUtils.isPowerOf2;
 import static org.brain4j.math.Brain4JUtils.nextPowerOf2;
@@ -10,7 +13,9 @@ import static org.brain4j.math.constants.Constants.PI;
 import static org.brain4j.math.constants.Constants.TWO_PI;
 
 public final class FFT {
-    
+
+    private static final Map<Integer, float[]> TWIDDLES = new ConcurrentHashMap<>();
+
     private FFT() {
     }
     
@@ -18,14 +23,14 @@ public final class FFT {
         if (input == null || input.length == 0) {
             throw new IllegalArgumentException("Input array cannot be null or empty");
         }
-        
-        int n = input.length;
-        
-        if (isPowerOf2(n)) {
-            return transformRadix2(input);
-        } else {
-            return transformBluestein(input);
-        }
+
+        FFTEvent event = new FFTEvent();
+        event.begin();
+
+        Complex[] result = compute(input);
+
+        commit(event, input.length, false);
+        return result;
     }
     
     public static Complex[] inverseTransform(Complex[] input) {
@@ -33,6 +38,9 @@ public final class FFT {
             throw new IllegalArgumentException("Input array cannot be null or empty");
         }
         
+        FFTEvent event = new FFTEvent();
+        event.begin();
+
         int n = input.length;
         
         Complex[] conjugatedInput = new Complex[n];
@@ -40,14 +48,34 @@ public final class FFT {
             conjugatedInput[i] = input[i].conjugate();
         }
         
-        Complex[] result = transform(conjugatedInput);
+        Complex[] result = compute(conjugatedInput);
         
         for (int i = 0; i < n; i++) {
             result[i] = result[i].conjugate().divide(n);
         }
-        
+
+        commit(event, n, true);
         return result;
     }
+
+    private static Complex[] compute(Complex[] input) {
+        if (isPowerOf2(input.length)) {
+            return transformRadix2(input);
+        } else {
+            return transformBluestein(input);
+        }
+    }
+
+    private static void commit(FFTEvent event, int size, boolean inverse) {
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.size = size;
+        event.inverse = inverse;
+        event.algorithm = isPowerOf2(size) ? "radix-2" : "bluestein";
+        event.commit();
+    }
   
     private static Complex[] transformRadix2(Complex[] input) {
         int n = input.length;
@@ -230,4 +258,207 @@ public final class FFT {
         
         return result;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Transforms <code>length</code> interleaved complex values in place.
+     * @param data the interleaved real and imaginary parts
+     * @param offset the index of the first real part inside <code>data</code>
+     * @param length the number of complex values
+     */
+    public static void transform(float[] data, int offset, int length) {
+        transform(data, offset, length, false);
+    }
+
+    /**
+     * Inverse transforms <code>length</code> interleaved complex values in place, including the
+     * <code>1 / length</code> normalization.
+     * @param data the interleaved real and imaginary parts
+     * @param offset the index of the first real part inside <code>data</code>
+     * @param length the number of complex values
+     */
+    public static void inverseTransform(float[] data, int offset, int length) {
+        transform(data, offset, length, true);
+    }
+
+    public static void transform(float[] data, int offset, int length, boolean inverse) {
+        if (length <= 0 || offset < 0 || offset + 2L * length > data.length) {
+            throw new IllegalArgumentException("Invalid range for FFT: offset " + offset + ", length " + length);
+        }
+
+        FFTEvent event = new FFTEvent();
+        event.begin();
+
+        if (isPowerOf2(length)) {
+            radix2(data, offset, length, inverse);
+        } else {
+            bluestein(data, offset, length, inverse);
+        }
+
+        if (inverse) {
+            float scale = 1.0f / length;
+
+            for (int i = offset; i < offset + 2 * length; i++) {
+                data[i] *= scale;
+            }
+        }
+
+        commit(event, length, inverse);
+    }
+
+    /**
+     * Transforms a row-major matrix of interleaved complex values in place, rows first and then columns.
+     * @param data the interleaved real and imaginary parts
+     * @param offset the index of the first real part inside <code>data</code>
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param inverse whether to compute the normalized inverse transform
+     */
+    public static void transform2D(float[] data, int offset, int rows, int cols, boolean inverse) {
+        for (int i = 0; i < rows; i++) {
+            transform(data, offset + 2 * i * cols, cols, inverse);
+        }
+
+        float[] column = new float[2 * rows];
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++) {
+                int index = offset + 2 * (i * cols + j);
+
+                column[2 * i] = data[index];
+                column[2 * i + 1] = data[index + 1];
+            }
+
+            transform(column, 0, rows, inverse);
+
+            for (int i = 0; i < rows; i++) {
+                int index = offset + 2 * (i * cols + j);
+
+                data[index] = column[2 * i];
+                data[index + 1] = column[2 * i + 1];
+            }
+        }
+    }
+
+    /**
+     * Gets the twiddle factors <code>exp(-2 pi i k / n)</code> for <code>k < n / 2</code>, interleaved.
+     */
+    private static float[] twiddles(int n) {
+        return TWIDDLES.computeIfAbsent(n, size -> {
+            float[] table = new float[size];
+
+            for (int k = 0; k < size / 2; k++) {
+                double angle = -TWO_PI * k / size;
+
+                table[2 * k] = (float) Math.cos(angle);
+                table[2 * k + 1] = (float) Math.sin(angle);
+            }
+
+            return table;
+        });
+    }
+
+    private static void radix2(float[] data, int offset, int n, boolean inverse) {
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+
+            j ^= bit;
+
+            if (i < j) {
+                swap(data, offset + 2 * i, offset + 2 * j);
+            }
+        }
+
+        float[] table = twiddles(n);
+        float sign = inverse ? -1 : 1;
+
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size >> 1;
+            int step = n / size;
+
+            for (int start = 0; start < n; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float wr = table[2 * k * step];
+                    float wi = sign * table[2 * k * step + 1];
+
+                    int even = offset + 2 * (start + k);
+                    int odd = even + 2 * half;
+
+                    float tr = wr * data[odd] - wi * data[odd + 1];
+                    float ti = wr * data[odd + 1] + wi * data[odd];
+
+                    data[odd] = data[even] - tr;
+                    data[odd + 1] = data[even + 1] - ti;
+                    data[even] += tr;
+                    data[even + 1] += ti;
+                }
+            }
+        }
+    }
+
+    private static void bluestein(float[] data, int offset, int n, boolean inverse) {
+        int m = nextPowerOf2(2 * n - 1);
+        double sign = inverse ? 1 : -1;
+
+        float[] chirp = new float[2 * n];
+        float[] a = new float[2 * m];
+        float[] b = new float[2 * m];
+
+        for (int k = 0; k < n; k++) {
+            double angle = sign * PI * ((long) k * k % (2L * n)) / n;  // long avoids overflow
+
+            chirp[2 * k] = (float) Math.cos(angle);
+            chirp[2 * k + 1] = (float) Math.sin(angle);
+
+            float re = data[offset + 2 * k];
+            float im = data[offset + 2 * k + 1];
+
+            a[2 * k] = re * chirp[2 * k] - im * chirp[2 * k + 1];
+            a[2 * k + 1] = re * chirp[2 * k + 1] + im * chirp[2 * k];
+
+            b[2 * k] = chirp[2 * k];
+            b[2 * k + 1] = -chirp[2 * k + 1];
+
+            if (k > 0) { // symmetry
+                b[2 * (m - k)] = b[2 * k];
+                b[2 * (m - k) + 1] = b[2 * k + 1];
+            }
+        }
+
+        radix2(a, 0, m, false);
+        radix2(b, 0, m, false);
+
+        for (int i = 0; i < 2 * m; i += 2) {
+            float re = a[i] * b[i] - a[i + 1] * b[i + 1];
+            float im = a[i] * b[i + 1] + a[i + 1] * b[i];
+
+            a[i] = re;
+            a[i + 1] = im;
+        }
+
+        radix2(a, 0, m, true);
+
+        float scale = 1.0f / m;
+
+        for (int k = 0; k < n; k++) {
+            float re = a[2 * k] * scale;
+            float im = a[2 * k + 1] * scale;
+
+            data[offset + 2 * k] = re * chirp[2 * k] - im * chirp[2 * k + 1];
+            data[offset + 2 * k + 1] = re * chirp[2 * k + 1] + im * chirp[2 * k];
+        }
+    }
+
+    private static void swap(float[] data, int i, int j) {
+        float re = data[i];
+        float im = data[i + 1];
+
+        data[i] = data[j];
+        data[i + 1] = data[j + 1];
+        data[j] = re;
+        data[j + 1] = im;
+    }
+}
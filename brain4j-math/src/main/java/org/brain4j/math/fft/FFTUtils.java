@@ -1,6 +1,7 @@
 package org.brain4j.math.fft;
 
 import org.brain4j.math.complex.Complex;
+import org.brain4j.math.complex.ComplexTensor;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
@@ -72,29 +73,29 @@ public final class FFTUtils {
     }
     
     public static Tensor fft1D(Tensor tensor) {
-        Complex[] input = tensorToComplex1D(tensor);
-        Complex[] output = FFT.transform(input);
-        return complexToTensor1D(output);
+        checkDimension(tensor, 1);
+        return ComplexTensor.fromReal(tensor).fft().real();
     }
     
     public static Tensor ifft1D(Tensor tensor) {
-        Complex[] input = tensorToComplex1D(tensor);
-        Complex[] output = FFT.inverseTransform(input);
-        return complexToTensor1D(output);
+        checkDimension(tensor, 1);
+        return ComplexTensor.fromReal(tensor).ifft().real();
     }
     
     public static Tensor fft2D(Tensor tensor) {
-        Complex[][] input = tensorToComplex2D(tensor);
-        int[] shape = tensor.shape();
-        Complex[][] output = FFT.transform2D(input, shape[0], shape[1]);
-        return complexToTensor2D(output, shape[0], shape[1]);
+        checkDimension(tensor, 2);
+        return ComplexTensor.fromReal(tensor).fft2D().real();
     }
     
     public static Tensor ifft2D(Tensor tensor) {
-        Complex[][] input = tensorToComplex2D(tensor);
-        int[] shape = tensor.shape();
-        Complex[][] output = FFT.inverseTransform2D(input, shape[0], shape[1]);
-        return complexToTensor2D(output, shape[0], shape[1]);
+        checkDimension(tensor, 2);
+        return ComplexTensor.fromReal(tensor).ifft2D().real();
+    }
+    
+    private static void checkDimension(Tensor tensor, int dimension) {
+        if (tensor.dimension() != dimension) {
+            throw new IllegalArgumentException("Input tensor must be " + dimension + "D");
+        }
     }
     
     public static Tensor zeroPad1D(Tensor tensor, int size) {
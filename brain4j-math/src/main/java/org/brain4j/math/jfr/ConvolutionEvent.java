@@ -0,0 +1,28 @@
+package org.brain4j.math.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brain4j.Convolution")
+@Label("Convolution")
+@Category({"Brain4J", "Kernels"})
+@Description("A 1D or 2D convolution, computed directly or through the FFT")
+@StackTrace(false)
+public class ConvolutionEvent extends Event {
+
+    @Label("Input Shape")
+    public String inputShape;
+
+    @Label("Kernel Shape")
+    public String kernelShape;
+
+    @Label("Padding")
+    public String padding;
+
+    @Label("Algorithm")
+    public String algorithm;
+}
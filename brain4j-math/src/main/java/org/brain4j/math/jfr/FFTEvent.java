@@ -0,0 +1,26 @@
+package org.brain4j.math.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.brain4j.FFT")
+@Label("Fast Fourier Transform")
+@Category({"Brain4J", "Kernels"})
+@Description("A forward or inverse one-dimensional transform")
+@StackTrace(false)
+public class FFTEvent extends Event {
+
+    @Label("Size")
+    public int size;
+
+    @Label("Inverse")
+    public boolean inverse;
+
+    @Label("Algorithm")
+    @Description("radix-2 for powers of two, bluestein otherwise")
+    public String algorithm;
+}
@@ -0,0 +1,66 @@
+package org.brain4j.math.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for every CPU matrix multiplication performing at least {@link #MIN_FLOPS} operations.
+ * Smaller products are too frequent and too short to be worth a recording entry.
+ */
+@Name("org.brain4j.Matmul")
+@Label("Matrix Multiplication")
+@Category({"Brain4J", "Kernels"})
+@Description("A batched matrix multiplication of [m, n] by [n, p]")
+@StackTrace(false)
+public class MatmulEvent extends Event {
+
+    public static final long MIN_FLOPS = 1L << 20;
+
+    @Label("Batch")
+    public int batch;
+
+    @Label("Rows")
+    public int m;
+
+    @Label("Inner Dimension")
+    public int n;
+
+    @Label("Columns")
+    public int p;
+
+    @Label("Floating Point Operations")
+    public long flops;
+
+    @Label("Output Size")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Starts an event for a multiplication of the given size.
+     * @return the started event, or null if the multiplication is too small to be recorded
+     */
+    public static MatmulEvent begin(int batch, int m, int n, int p) {
+        long flops = 2L * batch * m * n * p;
+
+        if (flops < MIN_FLOPS) return null;
+
+        MatmulEvent event = new MatmulEvent();
+
+        if (!event.isEnabled()) return null;
+
+        event.batch = batch;
+        event.m = m;
+        event.n = n;
+        event.p = p;
+        event.flops = flops;
+        event.bytes = (long) batch * m * p * Float.BYTES;
+        event.begin();
+
+        return event;
+    }
+}
@@ -0,0 +1,48 @@
+package org.brain4j.math.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable counters behind a {@link MemoryStats} snapshot. Allocations are recorded by the allocating
+ * thread, releases by the cleaner thread, so every counter is atomic.
+ */
+final class MemoryCounters {
+
+    private final AtomicLong allocations = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+    private final AtomicLong live = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+    private final long start = System.nanoTime();
+
+    void allocate(long bytes) {
+        allocations.incrementAndGet();
+        allocated.addAndGet(bytes);
+
+        long current = live.addAndGet(bytes);
+
+        if (current > peak.get()) {
+            peak.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    void release(long bytes) {
+        released.addAndGet(bytes);
+        live.addAndGet(-bytes);
+    }
+
+    void resetPeak() {
+        peak.set(live.get());
+    }
+
+    MemoryStats snapshot() {
+        return new MemoryStats(
+            allocations.get(),
+            allocated.get(),
+            released.get(),
+            live.get(),
+            peak.get(),
+            System.nanoTime() - start
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package org.brain4j.math.memory;
+
+/**
+ * A region of code whose tensor allocations are accounted separately, for example a training step
+ * or a request served by a model. Scopes are bound to the thread that opened them and can be nested,
+ * an allocation is accounted to every open scope of the thread.
+ * <pre>{@code
+ * try (MemoryScope scope = MemoryTracker.scope("step")) {
+ *     model.fit(batch);
+ *     System.out.println(scope.stats());
+ * }
+ * }</pre>
+ */
+public final class MemoryScope implements AutoCloseable {
+
+    private final String name;
+    private final MemoryScope parent;
+    private final MemoryCounters counters = new MemoryCounters();
+
+    MemoryScope(String name, MemoryScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Takes a snapshot of the counters of this scope. It keeps tracking the releases of its tensors
+     * after being closed, so the live bytes can be checked for leaks later on.
+     * @return the statistics of this scope
+     */
+    public MemoryStats stats() {
+        return counters.snapshot();
+    }
+
+    MemoryScope parent() {
+        return parent;
+    }
+
+    MemoryCounters counters() {
+        return counters;
+    }
+
+    @Override
+    public void close() {
+        MemoryTracker.exit(this);
+    }
+}
@@ -0,0 +1,39 @@
+package org.brain4j.math.memory;
+
+/**
+ * A snapshot of the tensor memory counters of the whole process, a thread or a scope.
+ * @param allocations the number of tensors allocated
+ * @param allocatedBytes the bytes allocated for tensor data
+ * @param releasedBytes the bytes of the allocated tensors that were garbage collected
+ * @param liveBytes the bytes of the allocated tensors that were not collected yet
+ * @param peakBytes the highest value reached by the live bytes
+ * @param elapsedNanos the time since the counters started
+ */
+public record MemoryStats(
+    long allocations,
+    long allocatedBytes,
+    long releasedBytes,
+    long liveBytes,
+    long peakBytes,
+    long elapsedNanos
+) {
+
+    /**
+     * The average allocation rate over the lifetime of the counters.
+     * @return the allocated bytes per second
+     */
+    public double allocationRate() {
+        return elapsedNanos == 0 ? 0 : allocatedBytes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryStats[allocations=%d, allocated=%.2f MB, live=%.2f MB, peak=%.2f MB, rate=%.2f MB/s]".formatted(
+            allocations,
+            allocatedBytes / 1048576.0,
+            liveBytes / 1048576.0,
+            peakBytes / 1048576.0,
+            allocationRate() / 1048576.0
+        );
+    }
+}
@@ -0,0 +1,178 @@
+package org.brain4j.math.memory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+
+/**
+ * Optional accounting of the memory held by tensors. Once {@link #enable() enabled}, every tensor
+ * allocation is recorded globally, for the allocating thread and for its open {@link MemoryScope}s.
+ * Tensors are registered with a {@link Cleaner}, so their bytes stop counting as live once they
+ * are garbage collected. Live bytes therefore include unreachable tensors the collector did not
+ * reclaim yet.
+ * <p>
+ * While disabled, allocations only pay for a single volatile read.
+ */
+public final class MemoryTracker {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final MemoryCounters GLOBAL = new MemoryCounters();
+    private static final ThreadLocal<MemoryCounters> THREAD = ThreadLocal.withInitial(MemoryCounters::new);
+    private static final ThreadLocal<MemoryScope> SCOPE = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+    private static volatile boolean registered;
+
+    private MemoryTracker() {
+    }
+
+    public static void enable() {
+        enabled = true;
+        registerMBean();
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a new allocation. Called by the tensor implementations, does nothing while disabled.
+     * @param owner the object holding the memory, its collection releases the bytes
+     * @param bytes the number of allocated bytes
+     */
+    public static void allocated(Object owner, long bytes) {
+        if (!enabled) return;
+
+        MemoryCounters thread = THREAD.get();
+        MemoryScope scope = SCOPE.get();
+
+        GLOBAL.allocate(bytes);
+        thread.allocate(bytes);
+
+        for (MemoryScope current = scope; current != null; current = current.parent()) {
+            current.counters().allocate(bytes);
+        }
+
+        CLEANER.register(owner, new Release(bytes, thread, scope));
+    }
+
+    /**
+     * Opens a scope on the current thread, nested inside the currently open one if any.
+     * @param name a name identifying the scope
+     * @return the new scope, to be closed once the accounted region ends
+     */
+    public static MemoryScope scope(String name) {
+        MemoryScope scope = new MemoryScope(name, SCOPE.get());
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    static void exit(MemoryScope scope) {
+        if (SCOPE.get() != scope) {
+            throw new IllegalStateException("Memory scope " + scope.name() + " is not the innermost open scope");
+        }
+
+        if (scope.parent() == null) {
+            SCOPE.remove();
+        } else {
+            SCOPE.set(scope.parent());
+        }
+    }
+
+    /**
+     * @return the statistics of every tensor allocated while tracking was enabled
+     */
+    public static MemoryStats stats() {
+        return GLOBAL.snapshot();
+    }
+
+    /**
+     * @return the statistics of the tensors allocated by the current thread
+     */
+    public static MemoryStats threadStats() {
+        return THREAD.get().snapshot();
+    }
+
+    /**
+     * Lowers the global and current thread high-water marks to the current live bytes.
+     */
+    public static void resetPeak() {
+        GLOBAL.resetPeak();
+        THREAD.get().resetPeak();
+    }
+
+    private static synchronized void registerMBean() {
+        if (registered) return;
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new Bean(), new ObjectName("org.brain4j:type=MemoryTracker"));
+        } catch (JMException e) {
+            System.err.println("Could not register the memory tracker MBean: " + e.getMessage());
+        }
+
+        registered = true;
+    }
+
+    private record Release(long bytes, MemoryCounters thread, MemoryScope scope) implements Runnable {
+
+        @Override
+        public void run() {
+            GLOBAL.release(bytes);
+            thread.release(bytes);
+
+            for (MemoryScope current = scope; current != null; current = current.parent()) {
+                current.counters().release(bytes);
+            }
+        }
+    }
+
+    private static final class Bean implements MemoryTrackerMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        public void setEnabled(boolean value) {
+            enabled = value;
+        }
+
+        @Override
+        public long getAllocations() {
+            return stats().allocations();
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return stats().allocatedBytes();
+        }
+
+        @Override
+        public long getLiveBytes() {
+            return stats().liveBytes();
+        }
+
+        @Override
+        public long getPeakBytes() {
+            return stats().peakBytes();
+        }
+
+        @Override
+        public double getAllocationRate() {
+            return stats().allocationRate();
+        }
+
+        @Override
+        public void resetPeak() {
+            GLOBAL.resetPeak();
+        }
+    }
+}
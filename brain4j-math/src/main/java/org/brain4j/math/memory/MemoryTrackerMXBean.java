@@ -0,0 +1,24 @@
+package org.brain4j.math.memory;
+
+/**
+ * Management interface of the {@link MemoryTracker}, registered as
+ * <code>org.brain4j:type=MemoryTracker</code> the first time tracking is enabled.
+ */
+public interface MemoryTrackerMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getAllocations();
+
+    long getAllocatedBytes();
+
+    long getLiveBytes();
+
+    long getPeakBytes();
+
+    double getAllocationRate();
+
+    void resetPeak();
+}
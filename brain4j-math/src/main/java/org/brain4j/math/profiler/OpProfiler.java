@@ -0,0 +1,163 @@
+package org.brain4j.math.profiler;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation of the CPU tensor operations. Once {@link #enable() enabled}, every
+ * instrumented operation records its wall time, estimated floating point operations and allocated
+ * bytes, grouped by {@link OpType} and by a power of two bucket of its output size.
+ * <p>
+ * Counters are {@link LongAdder}s, so concurrent kernels never contend on a lock. While the profiler
+ * is disabled, an operation only pays for a single volatile read.
+ * <pre>{@code
+ * OpProfiler.enable();
+ * model.fit(source, 1);
+ * System.out.println(OpProfiler.report());
+ * }</pre>
+ */
+public final class OpProfiler {
+
+    /** Returned by {@link #start()} while the profiler is disabled. */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    private static final int BUCKETS = 64;
+
+    private static volatile boolean enabled;
+    private static volatile Window window = new Window();
+
+    private OpProfiler() {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder flops = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+
+    /**
+     * The counters of one measured time window. A reset replaces the whole window, so operations
+     * still running keep recording into the old one instead of into counters being cleared.
+     */
+    private static final class Window {
+
+        private final AtomicReferenceArray<Counters> counters =
+            new AtomicReferenceArray<>(OpType.values().length * BUCKETS);
+        private final long startedAt = System.nanoTime();
+        private final long gcMillisAtStart = gcMillis();
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears every counter and restarts the measured time window.
+     */
+    public static void reset() {
+        window = new Window();
+    }
+
+    /**
+     * Marks the beginning of an operation.
+     * @return the current time, or {@link #DISABLED} if the profiler is not enabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Records an operation started with {@link #start()}. Does nothing if the profiler was disabled
+     * when the operation started.
+     * @param type the operation type
+     * @param start the value returned by {@link #start()}
+     * @param elements the number of output elements, used to pick the shape bucket
+     * @param flops the estimated floating point operations
+     * @param bytes the bytes allocated by the operation
+     */
+    public static void record(OpType type, long start, long elements, long flops, long bytes) {
+        if (start == DISABLED) return;
+
+        long elapsed = System.nanoTime() - start;
+        Counters counters = counters(window.counters, type, bucket(elements));
+
+        counters.calls.increment();
+        counters.nanos.add(elapsed);
+        counters.flops.add(flops);
+        counters.bytes.add(bytes);
+    }
+
+    /**
+     * Takes a snapshot of the counters. The profiler keeps running.
+     * @return the aggregated statistics since the last {@link #reset()}
+     */
+    public static ProfilerReport report() {
+        Window current = window;
+        AtomicReferenceArray<Counters> array = current.counters;
+
+        List<OpStats> stats = new ArrayList<>();
+        OpType[] types = OpType.values();
+
+        for (int i = 0; i < array.length(); i++) {
+            Counters counters = array.get(i);
+            if (counters == null) continue;
+
+            long calls = counters.calls.sum();
+            if (calls == 0) continue;
+
+            stats.add(new OpStats(
+                types[i / BUCKETS],
+                i % BUCKETS,
+                calls,
+                counters.nanos.sum(),
+                counters.flops.sum(),
+                counters.bytes.sum()
+            ));
+        }
+
+        long elapsed = System.nanoTime() - current.startedAt;
+        long gc = gcMillis() - current.gcMillisAtStart;
+
+        return new ProfilerReport(stats, elapsed, gc);
+    }
+
+    private static Counters counters(AtomicReferenceArray<Counters> array, OpType type, int bucket) {
+        int index = type.ordinal() * BUCKETS + bucket;
+        Counters counters = array.get(index);
+
+        if (counters == null) {
+            array.compareAndSet(index, null, new Counters());
+            counters = array.get(index);
+        }
+
+        return counters;
+    }
+
+    static int bucket(long elements) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, elements));
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+
+        return total;
+    }
+}
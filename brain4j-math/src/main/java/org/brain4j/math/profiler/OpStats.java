@@ -0,0 +1,37 @@
+package org.brain4j.math.profiler;
+
+/**
+ * Aggregated counters of one operation type inside one shape bucket.
+ * @param type the operation type
+ * @param bucket the shape bucket, every call in it produced between <code>2^bucket</code>
+ *               and <code>2^(bucket + 1) - 1</code> output elements
+ * @param calls the number of calls
+ * @param nanos the total wall time, in nanoseconds
+ * @param flops the estimated floating point operations
+ * @param bytes the bytes allocated for the results
+ */
+public record OpStats(OpType type, int bucket, long calls, long nanos, long flops, long bytes) {
+
+    public String shapeBucket() {
+        long lower = 1L << bucket;
+        long upper = (1L << (bucket + 1)) - 1;
+
+        return lower == upper ? String.valueOf(lower) : lower + "-" + upper;
+    }
+
+    public double millis() {
+        return nanos / 1e6;
+    }
+
+    public double averageMicros() {
+        return calls == 0 ? 0 : nanos / 1e3 / calls;
+    }
+
+    /**
+     * The achieved throughput, computed on the wall time of the calls.
+     * @return the giga floating point operations per second
+     */
+    public double gflops() {
+        return nanos == 0 ? 0 : (double) flops / nanos;
+    }
+}
@@ -0,0 +1,19 @@
+package org.brain4j.math.profiler;
+
+/**
+ * The families of tensor operations tracked by the {@link OpProfiler}.
+ */
+public enum OpType {
+
+    MATMUL,
+    ADD,
+    SUB,
+    MUL,
+    DIV,
+    MAP,
+    REDUCE,
+    SOFTMAX,
+    TRANSPOSE,
+    SLICE,
+    CLONE
+}
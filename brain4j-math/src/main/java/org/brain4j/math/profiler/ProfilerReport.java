@@ -0,0 +1,100 @@
+package org.brain4j.math.profiler;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * A snapshot of the {@link OpProfiler} counters.
+ * @param stats the statistics of every operation type and shape bucket, slowest first
+ * @param elapsedNanos the wall time since the profiler was last reset
+ * @param gcMillis the time spent in garbage collection since the profiler was last reset
+ */
+public record ProfilerReport(List<OpStats> stats, long elapsedNanos, long gcMillis) {
+
+    public ProfilerReport {
+        stats = stats.stream()
+            .sorted(Comparator.comparingLong(OpStats::nanos).reversed())
+            .toList();
+    }
+
+    /**
+     * Merges the shape buckets of every operation type. The bucket of a merged entry is the one of the
+     * average call, weighting the lower bound of every bucket by its calls.
+     * @return the totals of every operation type that was called at least once
+     */
+    public Map<OpType, OpStats> byType() {
+        Map<OpType, List<OpStats>> groups = stats.stream().collect(Collectors.groupingBy(
+            OpStats::type,
+            TreeMap::new,
+            Collectors.toList()
+        ));
+
+        Map<OpType, OpStats> result = new TreeMap<>();
+
+        for (Map.Entry<OpType, List<OpStats>> entry : groups.entrySet()) {
+            long calls = 0, nanos = 0, flops = 0, bytes = 0;
+            double elements = 0;
+
+            for (OpStats stat : entry.getValue()) {
+                calls += stat.calls();
+                nanos += stat.nanos();
+                flops += stat.flops();
+                bytes += stat.bytes();
+                elements += stat.calls() * Math.pow(2, stat.bucket());
+            }
+
+            int bucket = OpProfiler.bucket((long) (elements / calls));
+            result.put(entry.getKey(), new OpStats(entry.getKey(), bucket, calls, nanos, flops, bytes));
+        }
+
+        return result;
+    }
+
+    public long totalNanos() {
+        return stats.stream().mapToLong(OpStats::nanos).sum();
+    }
+
+    public long totalBytes() {
+        return stats.stream().mapToLong(OpStats::bytes).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        String header = "%-10s %-18s %10s %12s %10s %10s %12s%n";
+        String row = "%-10s %-18s %10d %12.3f %10.2f %10.3f %12s%n";
+
+        builder.append(header.formatted("Op", "Output elements", "Calls", "Time (ms)", "Avg (us)", "GFLOP/s", "Allocated"));
+
+        for (OpStats stat : stats) {
+            builder.append(row.formatted(
+                stat.type(),
+                stat.shapeBucket(),
+                stat.calls(),
+                stat.millis(),
+                stat.averageMicros(),
+                stat.gflops(),
+                formatBytes(stat.bytes())
+            ));
+        }
+
+        double elapsed = elapsedNanos / 1e6;
+        double profiled = totalNanos() / 1e6;
+
+        builder.append("Profiled ops: %.3f ms of %.3f ms (%.1f%%), GC: %d ms, allocated: %s%n".formatted(
+            profiled, elapsed, elapsed == 0 ? 0 : profiled / elapsed * 100, gcMillis, formatBytes(totalBytes())
+        ));
+
+        return builder.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return "%.1f KB".formatted(bytes / 1024.0);
+
+        return "%.1f MB".formatted(bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,231 @@
+package org.brain4j.math.random;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Counter-based random number generator implementing Philox4x32-10
+ * (Salmon et al., <i>Parallel random numbers: as easy as 1, 2, 3</i>).
+ * <p>
+ * The value drawn for an element only depends on the seed, the stream and the index of the element,
+ * so arrays are filled in parallel and produce the same values regardless of the number of threads.
+ * Streams separate independent sequences sharing a seed, for example the weights and the biases of
+ * a layer, or the successive dropout masks of a training run.
+ */
+public final class Philox {
+
+    private static final int M0 = 0xD2511F53;
+    private static final int M1 = 0xCD9E8D57;
+    private static final int W0 = 0x9E3779B9;
+    private static final int W1 = 0xBB67AE85;
+    private static final int ROUNDS = 10;
+
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 14;
+    private static final int SPLIT_COMPLEXITY_THRESHOLD = 1 << 13;
+
+    private static final float TO_FLOAT = 0x1.0p-24f;
+
+    private Philox() {
+    }
+
+    private enum Distribution {
+        UNIFORM,
+        NORMAL
+    }
+
+    private static class FillAction extends RecursiveAction {
+
+        private final float[] data;
+        private final long seed;
+        private final long stream;
+        private final Distribution distribution;
+        private final UniformMapper mapper;
+        private final float mean;
+        private final float deviation;
+        private final int start;
+        private final int end;
+
+        FillAction(
+            float[] data, long seed, long stream, Distribution distribution,
+            UniformMapper mapper, float mean, float deviation, int start, int end
+        ) {
+            this.data = data;
+            this.seed = seed;
+            this.stream = stream;
+            this.distribution = distribution;
+            this.mapper = mapper;
+            this.mean = mean;
+            this.deviation = deviation;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SPLIT_COMPLEXITY_THRESHOLD) {
+                fillSection(data, seed, stream, distribution, mapper, mean, deviation, start, end);
+                return;
+            }
+
+            // splits on block boundaries, so every block is generated by a single task
+            int mid = ((start + end) >>> 1) & ~3;
+
+            invokeAll(
+                new FillAction(data, seed, stream, distribution, mapper, mean, deviation, start, mid),
+                new FillAction(data, seed, stream, distribution, mapper, mean, deviation, mid, end)
+            );
+        }
+    }
+
+    /**
+     * Draws the random number of a single element.
+     * @param seed the seed
+     * @param stream the stream
+     * @param index the index of the element
+     * @return a uniformly distributed number in [0, 1)
+     */
+    public static float uniform(long seed, long stream, long index) {
+        int[] block = new int[4];
+        block(seed, stream, index >>> 2, block);
+
+        return toFloat(block[(int) (index & 3)]);
+    }
+
+    /**
+     * Fills the array with uniformly distributed values.
+     * @param data the array to fill
+     * @param seed the seed
+     * @param stream the stream
+     * @param lowerBound the inclusive lower bound
+     * @param upperBound the exclusive upper bound
+     * @param pool the pool used for large arrays
+     */
+    public static void fillUniform(
+        float[] data, long seed, long stream,
+        float lowerBound, float upperBound, ForkJoinPool pool
+    ) {
+        float range = upperBound - lowerBound;
+        map(data, seed, stream, (value, uniform) -> lowerBound + uniform * range, pool);
+    }
+
+    /**
+     * Fills the array with normally distributed values, using the Box-Muller transform.
+     * @param data the array to fill
+     * @param seed the seed
+     * @param stream the stream
+     * @param mean the mean of the distribution
+     * @param deviation the standard deviation of the distribution
+     * @param pool the pool used for large arrays
+     */
+    public static void fillNormal(
+        float[] data, long seed, long stream,
+        float mean, float deviation, ForkJoinPool pool
+    ) {
+        fill(data, seed, stream, Distribution.NORMAL, null, mean, deviation, pool);
+    }
+
+    /**
+     * Replaces every element with a function of its value and of the random number drawn for it.
+     * @param data the array to update
+     * @param seed the seed
+     * @param stream the stream
+     * @param mapper the function computing the new values
+     * @param pool the pool used for large arrays
+     */
+    public static void map(float[] data, long seed, long stream, UniformMapper mapper, ForkJoinPool pool) {
+        fill(data, seed, stream, Distribution.UNIFORM, mapper, 0, 0, pool);
+    }
+
+    private static void fill(
+        float[] data, long seed, long stream, Distribution distribution,
+        UniformMapper mapper, float mean, float deviation, ForkJoinPool pool
+    ) {
+        if (data.length <= PARALLEL_COMPLEXITY_THRESHOLD) {
+            fillSection(data, seed, stream, distribution, mapper, mean, deviation, 0, data.length);
+            return;
+        }
+
+        pool.invoke(new FillAction(data, seed, stream, distribution, mapper, mean, deviation, 0, data.length));
+    }
+
+    private static void fillSection(
+        float[] data, long seed, long stream, Distribution distribution,
+        UniformMapper mapper, float mean, float deviation, int start, int end
+    ) {
+        int[] block = new int[4];
+
+        for (int base = start & ~3; base < end; base += 4) {
+            block(seed, stream, base >>> 2, block);
+
+            if (distribution == Distribution.NORMAL) {
+                boxMuller(block, mean, deviation, data, base, start, end);
+                continue;
+            }
+
+            int from = Math.max(base, start);
+            int to = Math.min(base + 4, end);
+
+            for (int i = from; i < to; i++) {
+                data[i] = mapper.apply(data[i], toFloat(block[i - base]));
+            }
+        }
+    }
+
+    private static void boxMuller(int[] block, float mean, float deviation, float[] data, int base, int start, int end) {
+        for (int pair = 0; pair < 4; pair += 2) {
+            // 1 - u keeps the logarithm argument in (0, 1]
+            double radius = Math.sqrt(-2 * Math.log(1 - toFloat(block[pair])));
+            double theta = 2 * Math.PI * toFloat(block[pair + 1]);
+
+            int first = base + pair;
+            int second = first + 1;
+
+            if (first >= start && first < end) data[first] = (float) (mean + deviation * radius * Math.cos(theta));
+            if (second >= start && second < end) data[second] = (float) (mean + deviation * radius * Math.sin(theta));
+        }
+    }
+
+    /**
+     * Computes the four 32 bit outputs of a block.
+     * @param seed the seed, used as the 64 bit key
+     * @param stream the stream, used as the upper half of the counter
+     * @param counter the index of the block, used as the lower half of the counter
+     * @param output the array receiving the outputs
+     */
+    public static void block(long seed, long stream, long counter, int[] output) {
+        int c0 = (int) counter;
+        int c1 = (int) (counter >>> 32);
+        int c2 = (int) stream;
+        int c3 = (int) (stream >>> 32);
+
+        int k0 = (int) seed;
+        int k1 = (int) (seed >>> 32);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long product0 = (M0 & 0xFFFFFFFFL) * (c0 & 0xFFFFFFFFL);
+            long product1 = (M1 & 0xFFFFFFFFL) * (c2 & 0xFFFFFFFFL);
+
+            int hi0 = (int) (product0 >>> 32);
+            int lo0 = (int) product0;
+            int hi1 = (int) (product1 >>> 32);
+            int lo1 = (int) product1;
+
+            c0 = hi1 ^ c1 ^ k0;
+            c1 = lo1;
+            c2 = hi0 ^ c3 ^ k1;
+            c3 = lo0;
+
+            k0 += W0;
+            k1 += W1;
+        }
+
+        output[0] = c0;
+        output[1] = c1;
+        output[2] = c2;
+        output[3] = c3;
+    }
+
+    private static float toFloat(int bits) {
+        return (bits >>> 8) * TO_FLOAT;
+    }
+}
@@ -0,0 +1,14 @@
+package org.brain4j.math.random;
+
+@FunctionalInterface
+public interface UniformMapper {
+
+    /**
+     * Computes the new value of an element.
+     * @param value the current value of the element
+     * @param uniform the random number drawn for the element, in [0, 1)
+     * @return the new value of the element
+     */
+    float apply(float value, float uniform);
+
+}
@@ -219,6 +219,14 @@ public interface Tensor extends Iterable<Float> {
     //=============================================================
 
     Tensor matmul(Tensor other);
+
+    /**
+     * Performs a matrix multiplication, writing the product into an existing tensor.
+     * @param other The right operand
+     * @param result The destination, it must have the shape of the product and it gets overwritten
+     * @return The result tensor
+     */
+    Tensor matmul(Tensor other, Tensor result);
     double dot(Tensor other);
     double norm();
     double normSquared();
@@ -359,6 +367,85 @@ public interface Tensor extends Iterable<Float> {
      */
     Tensor activateWithGrad(Activation activation);
 
+    /**
+     * Transposes this 2D tensor, recording the operation when autograd is enabled.
+     * @return The transposed tensor
+     */
+    Tensor transposeWithGrad();
+
+    /**
+     * Reshapes this tensor, recording the operation when autograd is enabled.
+     * @param newShape The new shape, one dimension can be -1 to be inferred
+     * @return The reshaped tensor
+     */
+    Tensor reshapeWithGrad(int... newShape);
+
+    /**
+     * Sums the elements along a dimension, recording the operation when autograd is enabled.
+     * @param dim The dimension to reduce
+     * @param keepDim Whether to keep the reduced dimension with size 1
+     * @return The reduced tensor
+     */
+    Tensor sumWithGrad(int dim, boolean keepDim);
+
+    /**
+     * Averages the elements along a dimension, recording the operation when autograd is enabled.
+     * @param dim The dimension to reduce
+     * @param keepDim Whether to keep the reduced dimension with size 1
+     * @return The reduced tensor
+     */
+    Tensor meanWithGrad(int dim, boolean keepDim);
+
+    /**
+     * Broadcasts this tensor to the specified shape, recording the operation when autograd is enabled.
+     * @param shape The target shape
+     * @return The broadcast tensor
+     */
+    Tensor broadcastWithGrad(int... shape);
+
+    /**
+     * Applies the softmax along the last dimension, recording the operation when autograd is enabled.
+     * @return The resulting tensor
+     */
+    Tensor softmaxWithGrad();
+
+    /**
+     * Applies the log-softmax along the last dimension, recording the operation when autograd is enabled.
+     * @return The resulting tensor
+     */
+    Tensor logSoftmaxWithGrad();
+
+    /**
+     * Normalizes the last dimension and applies the affine transform, recording the operation when autograd is enabled.
+     * @param gamma The scale, with as many elements as the last dimension
+     * @param beta The shift, with as many elements as the last dimension
+     * @param epsilon The value added to the variance for stability
+     * @return The normalized tensor
+     */
+    Tensor layerNormWithGrad(Tensor gamma, Tensor beta, double epsilon);
+
+    /**
+     * Slices this tensor, recording the operation when autograd is enabled.
+     * @param ranges The ranges for each dimension, missing or null ranges select the whole dimension
+     * @return The sliced tensor
+     */
+    Tensor sliceWithGrad(Range... ranges);
+
+    /**
+     * Selects rows of this tensor, recording the operation when autograd is enabled.
+     * @param indices The rows to select, repetitions are allowed
+     * @return The gathered tensor
+     */
+    Tensor gatherWithGrad(int... indices);
+
+    /**
+     * Computes the mean cross entropy between the softmax of this tensor (the logits) and the targets,
+     * recording the operation when autograd is enabled.
+     * @param targets The target distribution, with the same shape as this tensor
+     * @return A scalar tensor holding the loss
+     */
+    Tensor crossEntropyWithGrad(Tensor targets);
+
     /**
      * Performs a convolution between this tensor and the specified kernel tensor.
      * Implicitly uses SAME padding and FFT implementation for larger dimensions.
@@ -432,6 +519,12 @@ public interface Tensor extends Iterable<Float> {
      */
     boolean checkNaN();
 
+    /**
+     * Finds the first NaN or infinite value of this tensor. Large tensors are scanned in parallel.
+     * @return the index of the first non-finite value, or -1 if every value is finite
+     */
+    int indexOfNonFinite();
+
     /**
      * Gets a string containing all the values of this tensor in the specified format.
      * @param format The string format
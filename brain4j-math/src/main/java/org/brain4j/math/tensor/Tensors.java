@@ -1,6 +1,8 @@
 package org.brain4j.math.tensor;
 
 import org.brain4j.math.device.DeviceType;
+import org.brain4j.math.tensor.autograd.NoGradScope;
+import org.brain4j.math.tensor.autograd.operations.ConcatOperation;
 import org.brain4j.math.tensor.impl.TensorCPU;
 import org.brain4j.math.tensor.impl.TensorGPU;
 import org.brain4j.math.tensor.index.Range;
@@ -28,6 +30,22 @@ public class Tensors {
         return useGPU;
     }
 
+    /**
+     * Opens a thread-local scope in which autograd operations do not record the graph.
+     * @return the scope, to be closed once the graph-free section ends
+     */
+    public static NoGradScope noGrad() {
+        return NoGradScope.enter();
+    }
+
+    /**
+     * Returns whether autograd operations record the graph on the current thread.
+     * @return false inside a {@link #noGrad()} scope, true otherwise
+     */
+    public static boolean isGradEnabled() {
+        return !NoGradScope.isActive();
+    }
+
     public static Tensor scalar(double value) {
         return TensorCPU.of(new int[]{1}, value);
     }
@@ -110,6 +128,16 @@ public class Tensors {
         return result;
     }
 
+    /**
+     * Concatenates the tensors along the specified dimension, recording the operation when autograd is enabled.
+     * @param dim the dimension to concatenate along
+     * @param inputs the tensors to concatenate
+     * @return the concatenated tensor
+     */
+    public static Tensor concatWithGrad(int dim, Tensor... inputs) {
+        return new ConcatOperation(dim).apply(inputs);
+    }
+
     public static List<Tensor> toList(Tensor input) {
         if (input.dimension() == 1) {
             return List.of(input);
@@ -1,7 +1,14 @@
 package org.brain4j.math.tensor.autograd;
 
+import org.brain4j.math.anomaly.AnomalyDetector;
 import org.brain4j.math.tensor.Tensor;
-import org.brain4j.math.tensor.impl.TensorCPU;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class AutogradContext {
 
@@ -23,35 +30,117 @@ public class AutogradContext {
         this.operation = operation;
         this.inputs = inputs;
     }
-    
+
     public boolean requiresGrad() {
         return requiresGrad;
     }
-    
-    public Tensor getGrad() {
-        if (grad == null) {
-            int[] shape = inputs[0].shape();
-            this.grad = new TensorCPU(shape);
-        }
 
+    public boolean isLeaf() {
+        return operation == null;
+    }
+
+    /**
+     * Gets the accumulated gradient.
+     * @return the gradient, or null if no gradient reached this node yet
+     */
+    public Tensor getGrad() {
         return grad;
     }
-    
+
+    /**
+     * Propagates the given gradient through the recorded graph. Every node is visited once, in
+     * reverse topological order, after all of its consumers contributed to its gradient.
+     * Leaf gradients keep accumulating across calls until {@link #zerograd()} is invoked,
+     * while intermediate gradients only hold the contribution of the latest pass.
+     * @param gradOutput the gradient of the output of this node
+     */
     public void backward(Tensor gradOutput) {
         if (!requiresGrad) return;
 
-        this.grad = grad == null ? gradOutput.clone() : grad.plus(gradOutput);
+        List<AutogradContext> order = topologicalOrder();
 
-        if (operation == null) return;
+        for (AutogradContext context : order) {
+            if (!context.isLeaf()) context.grad = null;
+        }
+
+        accumulate(gradOutput.clone());
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            AutogradContext context = order.get(i);
+
+            if (context.isLeaf() || context.grad == null) continue;
+
+            Tensor[] inputGrads = context.operation.backward(context.grad, context.inputs);
 
-        Tensor[] inputGrads = operation.backward(gradOutput, inputs);
+            for (int j = 0; j < context.inputs.length; j++) {
+                Tensor input = context.inputs[j];
+
+                if (input == null || !input.usesGrad()) continue;
+
+                if (AnomalyDetector.isActive()) {
+                    AnomalyDetector.check(inputGrads[j], "backward of " + context.operation.getClass().getSimpleName());
+                }
+
+                input.getAutogradContext().accumulate(inputGrads[j]);
+            }
+        }
+    }
+
+    /**
+     * Adds a gradient contribution to this node. The first contribution is adopted as the
+     * gradient buffer, the following ones are summed into it in place.
+     */
+    private void accumulate(Tensor contribution) {
+        if (grad == null) {
+            this.grad = contribution;
+            return;
+        }
+
+        grad.add(contribution);
+    }
+
+    /**
+     * Orders the graph reachable from this node so that every node comes after all of its inputs.
+     * Uses an explicit stack, so the depth of the graph is not bound by the thread stack size.
+     */
+    private List<AutogradContext> topologicalOrder() {
+        List<AutogradContext> order = new ArrayList<>();
+        Set<AutogradContext> visited = new HashSet<>();
+        Deque<Frame> stack = new ArrayDeque<>();
+
+        visited.add(this);
+        stack.push(new Frame(this));
+
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            Tensor[] frameInputs = frame.context.inputs;
+
+            if (frame.context.isLeaf() || frame.next >= frameInputs.length) {
+                order.add(stack.pop().context);
+                continue;
+            }
+
+            Tensor input = frameInputs[frame.next++];
+
+            if (input == null || !input.usesGrad()) continue;
+
+            AutogradContext child = input.getAutogradContext();
+
+            if (visited.add(child)) {
+                stack.push(new Frame(child));
+            }
+        }
+
+        return order;
+    }
 
-        for (int i = 0; i < inputs.length; i++) {
-            Tensor input = inputs[i];
+    private static final class Frame {
 
-            if (!input.usesGrad()) continue;
+        private final AutogradContext context;
+        private int next;
 
-            input.backward(inputGrads[i]);
+        private Frame(AutogradContext context) {
+            this.context = context;
         }
     }
-} 
\ No newline at end of file
+}
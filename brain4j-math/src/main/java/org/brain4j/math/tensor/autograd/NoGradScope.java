@@ -0,0 +1,48 @@
+package org.brain4j.math.tensor.autograd;
+
+/**
+ * A scope in which operations on autograd tensors are executed without recording the graph.
+ * Scopes are bound to the thread that opened them and can be nested; gradient tracking
+ * is resumed once the outermost scope is closed.
+ * <pre>{@code
+ * try (NoGradScope scope = Tensors.noGrad()) {
+ *     Tensor output = model.predict(input);
+ * }
+ * }</pre>
+ */
+public final class NoGradScope implements AutoCloseable {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final int[] depth;
+    private boolean closed;
+
+    private NoGradScope() {
+        this.depth = DEPTH.get();
+        this.depth[0]++;
+    }
+
+    /**
+     * Opens a new scope on the current thread.
+     * @return the scope, to be closed on the same thread
+     */
+    public static NoGradScope enter() {
+        return new NoGradScope();
+    }
+
+    /**
+     * Returns whether the current thread is inside at least one scope.
+     * @return true if gradient tracking is disabled, false otherwise
+     */
+    public static boolean isActive() {
+        return DEPTH.get()[0] > 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+
+        this.closed = true;
+        this.depth[0]--;
+    }
+}
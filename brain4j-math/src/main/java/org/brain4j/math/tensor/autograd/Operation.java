@@ -1,10 +1,47 @@
 package org.brain4j.math.tensor.autograd;
 
+import org.brain4j.math.anomaly.AnomalyDetector;
 import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
 
 public interface Operation {
 
     Tensor forward(Tensor... inputs);
 
+    /**
+     * Computes the gradient of each input. Implementations must not modify the output gradient and
+     * must return freshly allocated tensors, since the caller accumulates into them in place.
+     * @param gradOutput the gradient of the output
+     * @param inputs the inputs passed to {@link #forward(Tensor...)}
+     * @return the gradients, one for each input
+     */
     Tensor[] backward(Tensor gradOutput, Tensor... inputs);
-} 
\ No newline at end of file
+
+    /**
+     * Executes this operation and records it in the graph when gradient tracking is enabled
+     * and at least one of the inputs uses autograd.
+     * @param inputs the inputs of the operation
+     * @return the result of the operation
+     */
+    default Tensor apply(Tensor... inputs) {
+        Tensor result = forward(inputs);
+
+        if (AnomalyDetector.isActive()) {
+            AnomalyDetector.check(result, getClass().getSimpleName());
+        }
+
+        if (!Tensors.isGradEnabled()) return result;
+
+        for (Tensor input : inputs) {
+            if (input == null || !input.usesGrad()) continue;
+
+            AutogradContext context = new AutogradContext(true);
+            context.setOperation(this, inputs);
+
+            result.setAutogradContext(context);
+            break;
+        }
+
+        return result;
+    }
+}
@@ -21,7 +21,7 @@ public class ActivationOperation implements Operation {
     public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
         Tensor input = inputs[0];
         Tensor derivative = activation.getDerivative(input); // ∂activation/∂x
-        Tensor gradInput = gradOutput.mul(derivative); // Chain rule: dL/dx = dL/dy * dy/dx
+        Tensor gradInput = derivative.mul(gradOutput); // Chain rule: dL/dx = dL/dy * dy/dx
 
         return new Tensor[] { gradInput };
     }
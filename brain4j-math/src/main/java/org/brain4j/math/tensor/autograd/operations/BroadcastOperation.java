@@ -0,0 +1,66 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+import java.util.Arrays;
+
+/**
+ * Expands a tensor to a larger shape following the usual broadcasting rules: shapes are aligned
+ * on the trailing dimensions and dimensions of size one are repeated.
+ */
+public class BroadcastOperation implements Operation {
+
+    private final int[] shape;
+
+    public BroadcastOperation(int... shape) {
+        this.shape = shape;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        Tensor result = Tensors.create(shape);
+
+        OperationShapes.walk(shape, broadcastStrides(input.shape()), 0, input.getData(), result.getData(), true);
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        int[] inputShape = inputs[0].shape();
+        Tensor gradInput = Tensors.create(inputShape);
+
+        OperationShapes.walk(shape, broadcastStrides(inputShape), 0, gradInput.getData(), gradOutput.getData(), false);
+        return new Tensor[] { gradInput };
+    }
+
+    private int[] broadcastStrides(int[] inputShape) {
+        int offset = shape.length - inputShape.length;
+
+        if (offset < 0) {
+            throw new IllegalArgumentException(
+                "Cannot broadcast " + Arrays.toString(inputShape) + " to " + Arrays.toString(shape)
+            );
+        }
+
+        int[] inputStrides = OperationShapes.strides(inputShape);
+        int[] strides = new int[shape.length];
+
+        for (int i = 0; i < inputShape.length; i++) {
+            int dimension = inputShape[i];
+            int target = shape[offset + i];
+
+            if (dimension == target) {
+                strides[offset + i] = inputStrides[i];
+            } else if (dimension != 1) {
+                throw new IllegalArgumentException(
+                    "Cannot broadcast " + Arrays.toString(inputShape) + " to " + Arrays.toString(shape)
+                );
+            }
+        }
+
+        return strides;
+    }
+}
@@ -0,0 +1,81 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+import java.util.Arrays;
+
+/**
+ * Joins any number of tensors along one dimension. All the other dimensions must match.
+ */
+public class ConcatOperation implements Operation {
+
+    private final int dim;
+
+    public ConcatOperation(int dim) {
+        this.dim = dim;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        int[] shape = inputs[0].shape().clone();
+        int total = 0;
+
+        for (Tensor input : inputs) {
+            int[] inputShape = input.shape();
+
+            for (int i = 0; i < shape.length; i++) {
+                if (i != dim && inputShape[i] != shape[i]) {
+                    throw new IllegalArgumentException(
+                        "Cannot concatenate " + Arrays.toString(inputShape) + " along dimension " + dim
+                    );
+                }
+            }
+
+            total += inputShape[dim];
+        }
+
+        shape[dim] = total;
+
+        Tensor result = Tensors.create(shape);
+        copy(inputs, result.getData(), shape, true);
+
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        Tensor[] gradients = new Tensor[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            gradients[i] = Tensors.create(inputs[i].shape());
+        }
+
+        copy(gradients, gradOutput.getData(), gradOutput.shape(), false);
+        return gradients;
+    }
+
+    private void copy(Tensor[] parts, float[] joined, int[] shape, boolean join) {
+        int outer = OperationShapes.outer(shape, dim);
+        int inner = OperationShapes.inner(shape, dim);
+        int row = shape[dim] * inner;
+
+        int offset = 0;
+
+        for (Tensor part : parts) {
+            float[] data = part.getData();
+            int chunk = part.shape()[dim] * inner;
+
+            for (int o = 0; o < outer; o++) {
+                if (join) {
+                    System.arraycopy(data, o * chunk, joined, o * row + offset, chunk);
+                } else {
+                    System.arraycopy(joined, o * row + offset, data, o * chunk, chunk);
+                }
+            }
+
+            offset += chunk;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Softmax followed by the cross entropy against a target distribution, averaged over the rows.
+ * Fusing the two keeps the computation stable and makes the gradient of the logits
+ * simply <code>(softmax - targets) / rows</code>.
+ */
+public class CrossEntropyOperation implements Operation {
+
+    private float[] logProbabilities;
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor logits = inputs[0];
+        float[] targets = inputs[1].getData();
+
+        int[] shape = logits.shape();
+        int columns = shape[shape.length - 1];
+        int rows = logits.elements() / columns;
+
+        if (targets.length != logits.elements()) {
+            throw new IllegalArgumentException("Targets must have the same amount of elements as the logits");
+        }
+
+        this.logProbabilities = new float[targets.length];
+        SoftmaxOperation.logSoftmaxRows(logits.getData(), logProbabilities, rows, columns);
+
+        double loss = 0;
+
+        for (int i = 0; i < targets.length; i++) {
+            loss -= targets[i] * logProbabilities[i];
+        }
+
+        return Tensors.scalar(loss / rows);
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        Tensor logits = inputs[0];
+        Tensor targets = inputs[1];
+
+        int[] shape = logits.shape();
+        int rows = logits.elements() / shape[shape.length - 1];
+
+        float scale = gradOutput.getData()[0] / rows;
+
+        Tensor gradLogits = Tensors.create(shape);
+        Tensor gradTargets = Tensors.create(targets.shape());
+
+        float[] target = targets.getData();
+        float[] dLogits = gradLogits.getData();
+        float[] dTargets = gradTargets.getData();
+
+        for (int i = 0; i < target.length; i++) {
+            dLogits[i] = ((float) Math.exp(logProbabilities[i]) - target[i]) * scale;
+            dTargets[i] = -logProbabilities[i] * scale;
+        }
+
+        return new Tensor[] { gradLogits, gradTargets };
+    }
+}
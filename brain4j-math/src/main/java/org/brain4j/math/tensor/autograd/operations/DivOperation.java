@@ -16,7 +16,7 @@ public class DivOperation implements Operation {
         Tensor b = inputs[1];
         
         // d(a/b)/da = 1/b
-        Tensor gradA = gradOutput.times(b.divide(1.0));
+        Tensor gradA = gradOutput.divide(b);
         
         // d(a/b)/db = -a/b^2
         Tensor gradB = gradOutput.times(a.divide(b.times(b)).times(-1.0));
@@ -0,0 +1,68 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Selects rows (entries of the first dimension) of a tensor, like an embedding lookup.
+ * Rows can be repeated, their gradients are summed in the backward pass.
+ */
+public class GatherOperation implements Operation {
+
+    private final int[] indices;
+
+    public GatherOperation(int... indices) {
+        this.indices = indices;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        int[] shape = input.shape().clone();
+
+        int rows = shape[0];
+        int row = input.elements() / rows;
+
+        shape[0] = indices.length;
+
+        Tensor result = Tensors.create(shape);
+
+        float[] source = input.getData();
+        float[] destination = result.getData();
+
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+
+            if (index < 0 || index >= rows) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + rows + " rows");
+            }
+
+            System.arraycopy(source, index * row, destination, i * row, row);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        Tensor input = inputs[0];
+        Tensor gradInput = Tensors.create(input.shape());
+
+        int row = input.elements() / input.shape()[0];
+
+        float[] source = gradOutput.getData();
+        float[] destination = gradInput.getData();
+
+        for (int i = 0; i < indices.length; i++) {
+            int base = indices[i] * row;
+            int sourceBase = i * row;
+
+            for (int j = 0; j < row; j++) {
+                destination[base + j] += source[sourceBase + j];
+            }
+        }
+
+        return new Tensor[] { gradInput };
+    }
+}
@@ -0,0 +1,120 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Layer normalization over the last dimension, followed by an element-wise affine transform.
+ * Inputs are the tensor to normalize, the scale (gamma) and the shift (beta), the latter two
+ * shaped like the last dimension of the input.
+ */
+public class LayerNormOperation implements Operation {
+
+    private final double epsilon;
+
+    private float[] normalized;
+    private float[] inverseStd;
+
+    public LayerNormOperation(double epsilon) {
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        float[] gamma = inputs[1].getData();
+        float[] beta = inputs[2].getData();
+
+        int[] shape = input.shape();
+        int columns = shape[shape.length - 1];
+        int rows = input.elements() / columns;
+
+        if (gamma.length != columns || beta.length != columns) {
+            throw new IllegalArgumentException("Gamma and beta must have " + columns + " elements");
+        }
+
+        Tensor result = Tensors.create(shape);
+
+        float[] x = input.getData();
+        float[] y = result.getData();
+
+        this.normalized = new float[x.length];
+        this.inverseStd = new float[rows];
+
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            float mean = 0;
+
+            for (int c = 0; c < columns; c++) {
+                mean += x[base + c];
+            }
+
+            mean /= columns;
+            float variance = 0;
+
+            for (int c = 0; c < columns; c++) {
+                float diff = x[base + c] - mean;
+                variance += diff * diff;
+            }
+
+            float inverse = (float) (1.0 / Math.sqrt(variance / columns + epsilon));
+            inverseStd[r] = inverse;
+
+            for (int c = 0; c < columns; c++) {
+                float value = (x[base + c] - mean) * inverse;
+
+                normalized[base + c] = value;
+                y[base + c] = value * gamma[c] + beta[c];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        Tensor gamma = inputs[1];
+        Tensor beta = inputs[2];
+
+        int columns = gamma.elements();
+        int rows = inverseStd.length;
+
+        Tensor gradInput = Tensors.create(inputs[0].shape());
+        Tensor gradGamma = Tensors.create(gamma.shape());
+        Tensor gradBeta = Tensors.create(beta.shape());
+
+        float[] g = gradOutput.getData();
+        float[] scale = gamma.getData();
+        float[] dx = gradInput.getData();
+        float[] dGamma = gradGamma.getData();
+        float[] dBeta = gradBeta.getData();
+
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+
+            float sum = 0;
+            float dot = 0;
+
+            for (int c = 0; c < columns; c++) {
+                float gradNormalized = g[base + c] * scale[c];
+
+                sum += gradNormalized;
+                dot += gradNormalized * normalized[base + c];
+
+                dGamma[c] += g[base + c] * normalized[base + c];
+                dBeta[c] += g[base + c];
+            }
+
+            float meanGrad = sum / columns;
+            float meanDot = dot / columns;
+
+            for (int c = 0; c < columns; c++) {
+                float gradNormalized = g[base + c] * scale[c];
+                dx[base + c] = inverseStd[r] * (gradNormalized - meanGrad - normalized[base + c] * meanDot);
+            }
+        }
+
+        return new Tensor[] { gradInput, gradGamma, gradBeta };
+    }
+}
@@ -0,0 +1,56 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Numerically stable logarithm of the softmax along the last dimension.
+ */
+public class LogSoftmaxOperation implements Operation {
+
+    private Tensor output;
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        int[] shape = input.shape();
+
+        int columns = shape[shape.length - 1];
+        int rows = input.elements() / columns;
+
+        this.output = Tensors.create(shape);
+        SoftmaxOperation.logSoftmaxRows(input.getData(), output.getData(), rows, columns);
+
+        return output;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        int[] shape = output.shape();
+
+        int columns = shape[shape.length - 1];
+        int rows = output.elements() / columns;
+
+        Tensor gradInput = Tensors.create(shape);
+
+        float[] y = output.getData();
+        float[] g = gradOutput.getData();
+        float[] result = gradInput.getData();
+
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            float sum = 0;
+
+            for (int c = 0; c < columns; c++) {
+                sum += g[base + c];
+            }
+
+            for (int c = 0; c < columns; c++) {
+                result[base + c] = g[base + c] - (float) Math.exp(y[base + c]) * sum;
+            }
+        }
+
+        return new Tensor[] { gradInput };
+    }
+}
@@ -0,0 +1,103 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+/**
+ * Shape arithmetic shared by the operations that work along a single dimension.
+ * A contiguous tensor is seen as <code>[outer, shape[dim], inner]</code>.
+ */
+final class OperationShapes {
+
+    private OperationShapes() {
+    }
+
+    static int outer(int[] shape, int dim) {
+        int outer = 1;
+
+        for (int i = 0; i < dim; i++) {
+            outer *= shape[i];
+        }
+
+        return outer;
+    }
+
+    static int inner(int[] shape, int dim) {
+        int inner = 1;
+
+        for (int i = dim + 1; i < shape.length; i++) {
+            inner *= shape[i];
+        }
+
+        return inner;
+    }
+
+    static int elements(int[] shape) {
+        int elements = 1;
+
+        for (int dimension : shape) {
+            elements *= dimension;
+        }
+
+        return elements;
+    }
+
+    static int[] reduce(int[] shape, int dim, boolean keepDim) {
+        if (keepDim) {
+            int[] result = shape.clone();
+            result[dim] = 1;
+            return result;
+        }
+
+        if (shape.length == 1) {
+            return new int[] { 1 };
+        }
+
+        int[] result = new int[shape.length - 1];
+
+        for (int i = 0, j = 0; i < shape.length; i++) {
+            if (i != dim) result[j++] = shape[i];
+        }
+
+        return result;
+    }
+
+    static int[] strides(int[] shape) {
+        int[] strides = new int[shape.length];
+        int stride = 1;
+
+        for (int i = shape.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= shape[i];
+        }
+
+        return strides;
+    }
+
+    /**
+     * Walks a strided view of <code>source</code> having the given shape.
+     * When gathering, the view is copied into the contiguous <code>destination</code>;
+     * otherwise the contiguous <code>destination</code> is added back into the view of <code>source</code>.
+     */
+    static void walk(int[] shape, int[] strides, int offset, float[] strided, float[] contiguous, boolean gather) {
+        int rank = shape.length;
+        int total = elements(shape);
+
+        int[] counter = new int[rank];
+        int index = offset;
+
+        for (int i = 0; i < total; i++) {
+            if (gather) {
+                contiguous[i] = strided[index];
+            } else {
+                strided[index] += contiguous[i];
+            }
+
+            for (int d = rank - 1; d >= 0; d--) {
+                index += strides[d];
+
+                if (++counter[d] < shape[d]) break;
+
+                index -= strides[d] * shape[d];
+                counter[d] = 0;
+            }
+        }
+    }
+}
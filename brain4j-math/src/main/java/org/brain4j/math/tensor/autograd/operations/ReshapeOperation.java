@@ -0,0 +1,23 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.autograd.Operation;
+
+public class ReshapeOperation implements Operation {
+
+    private final int[] shape;
+
+    public ReshapeOperation(int... shape) {
+        this.shape = shape;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        return inputs[0].view(shape.clone());
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        return new Tensor[] { gradOutput.reshape(inputs[0].shape()) };
+    }
+}
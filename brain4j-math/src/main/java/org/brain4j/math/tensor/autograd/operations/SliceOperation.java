@@ -0,0 +1,69 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+import org.brain4j.math.tensor.index.Range;
+
+/**
+ * Extracts a strided region of a tensor. Missing or null ranges select the whole dimension.
+ */
+public class SliceOperation implements Operation {
+
+    private final Range[] ranges;
+
+    public SliceOperation(Range... ranges) {
+        this.ranges = ranges;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        int[] inputShape = input.shape();
+
+        int[] shape = new int[inputShape.length];
+        int[] strides = new int[inputShape.length];
+        int offset = layout(inputShape, shape, strides);
+
+        Tensor result = Tensors.create(shape);
+        OperationShapes.walk(shape, strides, offset, input.getData(), result.getData(), true);
+
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        int[] inputShape = inputs[0].shape();
+
+        int[] shape = new int[inputShape.length];
+        int[] strides = new int[inputShape.length];
+        int offset = layout(inputShape, shape, strides);
+
+        Tensor gradInput = Tensors.create(inputShape);
+        OperationShapes.walk(shape, strides, offset, gradInput.getData(), gradOutput.getData(), false);
+
+        return new Tensor[] { gradInput };
+    }
+
+    private int layout(int[] inputShape, int[] shape, int[] strides) {
+        int[] inputStrides = OperationShapes.strides(inputShape);
+        int offset = 0;
+
+        for (int i = 0; i < inputShape.length; i++) {
+            Range range = i < ranges.length ? ranges[i] : null;
+            int dimension = inputShape[i];
+
+            if (range == null) {
+                shape[i] = dimension;
+                strides[i] = inputStrides[i];
+                continue;
+            }
+
+            shape[i] = range.size(dimension);
+            strides[i] = inputStrides[i] * range.step();
+            offset += range.start(dimension) * inputStrides[i];
+        }
+
+        return offset;
+    }
+}
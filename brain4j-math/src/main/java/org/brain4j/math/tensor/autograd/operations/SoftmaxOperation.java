@@ -0,0 +1,105 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Softmax along the last dimension. The output is kept to compute the backward pass
+ * without recomputing the exponentials.
+ */
+public class SoftmaxOperation implements Operation {
+
+    private Tensor output;
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        int[] shape = input.shape();
+
+        int columns = shape[shape.length - 1];
+        int rows = input.elements() / columns;
+
+        this.output = Tensors.create(shape);
+        softmaxRows(input.getData(), output.getData(), rows, columns);
+
+        return output;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        int[] shape = output.shape();
+
+        int columns = shape[shape.length - 1];
+        int rows = output.elements() / columns;
+
+        Tensor gradInput = Tensors.create(shape);
+
+        float[] y = output.getData();
+        float[] g = gradOutput.getData();
+        float[] result = gradInput.getData();
+
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            float dot = 0;
+
+            for (int c = 0; c < columns; c++) {
+                dot += g[base + c] * y[base + c];
+            }
+
+            for (int c = 0; c < columns; c++) {
+                result[base + c] = y[base + c] * (g[base + c] - dot);
+            }
+        }
+
+        return new Tensor[] { gradInput };
+    }
+
+    static void softmaxRows(float[] input, float[] output, int rows, int columns) {
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            float max = Float.NEGATIVE_INFINITY;
+
+            for (int c = 0; c < columns; c++) {
+                max = Math.max(max, input[base + c]);
+            }
+
+            float sum = 0;
+
+            for (int c = 0; c < columns; c++) {
+                float value = (float) Math.exp(input[base + c] - max);
+                output[base + c] = value;
+                sum += value;
+            }
+
+            float inverse = 1f / sum;
+
+            for (int c = 0; c < columns; c++) {
+                output[base + c] *= inverse;
+            }
+        }
+    }
+
+    static void logSoftmaxRows(float[] input, float[] output, int rows, int columns) {
+        for (int r = 0; r < rows; r++) {
+            int base = r * columns;
+            float max = Float.NEGATIVE_INFINITY;
+
+            for (int c = 0; c < columns; c++) {
+                max = Math.max(max, input[base + c]);
+            }
+
+            double sum = 0;
+
+            for (int c = 0; c < columns; c++) {
+                sum += Math.exp(input[base + c] - max);
+            }
+
+            float logSum = max + (float) Math.log(sum);
+
+            for (int c = 0; c < columns; c++) {
+                output[base + c] = input[base + c] - logSum;
+            }
+        }
+    }
+}
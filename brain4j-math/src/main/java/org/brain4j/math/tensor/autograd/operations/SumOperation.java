@@ -0,0 +1,88 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.Tensors;
+import org.brain4j.math.tensor.autograd.Operation;
+
+/**
+ * Sums (or averages) the elements of a tensor along one dimension.
+ */
+public class SumOperation implements Operation {
+
+    private final int dim;
+    private final boolean keepDim;
+    private final boolean mean;
+
+    public SumOperation(int dim, boolean keepDim, boolean mean) {
+        this.dim = dim;
+        this.keepDim = keepDim;
+        this.mean = mean;
+    }
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        Tensor input = inputs[0];
+        int[] shape = input.shape();
+
+        if (dim < 0 || dim >= shape.length) {
+            throw new IllegalArgumentException("Dimension " + dim + " out of bounds for " + shape.length + " dimensions");
+        }
+
+        int outer = OperationShapes.outer(shape, dim);
+        int size = shape[dim];
+        int inner = OperationShapes.inner(shape, dim);
+
+        Tensor result = Tensors.create(OperationShapes.reduce(shape, dim, keepDim));
+
+        float[] source = input.getData();
+        float[] destination = result.getData();
+        float scale = mean ? 1f / size : 1f;
+
+        for (int o = 0; o < outer; o++) {
+            int resultBase = o * inner;
+
+            for (int s = 0; s < size; s++) {
+                int sourceBase = (o * size + s) * inner;
+
+                for (int i = 0; i < inner; i++) {
+                    destination[resultBase + i] += source[sourceBase + i];
+                }
+            }
+
+            for (int i = 0; i < inner; i++) {
+                destination[resultBase + i] *= scale;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        int[] shape = inputs[0].shape();
+
+        int outer = OperationShapes.outer(shape, dim);
+        int size = shape[dim];
+        int inner = OperationShapes.inner(shape, dim);
+
+        Tensor gradInput = Tensors.create(shape);
+
+        float[] source = gradOutput.getData();
+        float[] destination = gradInput.getData();
+        float scale = mean ? 1f / size : 1f;
+
+        for (int o = 0; o < outer; o++) {
+            int sourceBase = o * inner;
+
+            for (int s = 0; s < size; s++) {
+                int destinationBase = (o * size + s) * inner;
+
+                for (int i = 0; i < inner; i++) {
+                    destination[destinationBase + i] = source[sourceBase + i] * scale;
+                }
+            }
+        }
+
+        return new Tensor[] { gradInput };
+    }
+}
@@ -0,0 +1,18 @@
+package org.brain4j.math.tensor.autograd.operations;
+
+import org.brain4j.math.tensor.Tensor;
+import org.brain4j.math.tensor.autograd.Operation;
+
+public class TransposeOperation implements Operation {
+
+    @Override
+    public Tensor forward(Tensor... inputs) {
+        return inputs[0].transpose();
+    }
+
+    @Override
+    public Tensor[] backward(Tensor gradOutput, Tensor... inputs) {
+        Tensor gradInput = gradOutput.transpose().reshape(inputs[0].shape());
+        return new Tensor[] { gradInput };
+    }
+}
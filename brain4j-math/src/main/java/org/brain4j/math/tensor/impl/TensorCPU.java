@@ -1,12 +1,21 @@
 package org.brain4j.math.tensor.impl;
 
 import org.brain4j.math.activation.Activation;
+import org.brain4j.math.anomaly.AnomalyDetector;
+import org.brain4j.math.jfr.MatmulEvent;
 import org.brain4j.math.lang.DoubleToDoubleFunction;
+import org.brain4j.math.memory.MemoryTracker;
+import org.brain4j.math.profiler.OpProfiler;
+import org.brain4j.math.profiler.OpType;
+import org.brain4j.math.random.Philox;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 import org.brain4j.math.tensor.autograd.AutogradContext;
 import org.brain4j.math.tensor.autograd.Operation;
 import org.brain4j.math.tensor.autograd.operations.*;
+import org.brain4j.math.tensor.impl.cpu.check.FiniteCheck;
+import org.brain4j.math.tensor.impl.cpu.check.ScalarFiniteCheck;
+import org.brain4j.math.tensor.impl.cpu.check.VectorFiniteCheck;
 import org.brain4j.math.tensor.impl.cpu.map.ParallelMap;
 import org.brain4j.math.tensor.impl.cpu.matmul.Matmul;
 import org.brain4j.math.tensor.impl.cpu.matmul.ScalarParallelMatmul;
@@ -18,6 +27,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.*;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -25,6 +35,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
     private static final ForkJoinPool POOL = ForkJoinPool.commonPool();
     private static final Matmul MATMUL;
+    private static final FiniteCheck FINITE_CHECK;
 
     static {
         Optional<Module> module = ModuleLayer
@@ -33,10 +44,12 @@ public class TensorCPU implements Cloneable, Tensor {
 
         if (module.isPresent()) {
             MATMUL = new VectorParallelMatmul();
+            FINITE_CHECK = new VectorFiniteCheck();
         } else {
             System.out.println("WARNING: The Vector incubator API is not available. For better performance, use:");
             System.out.println("\t--add-modules jdk.incubator.vector");
             MATMUL = new ScalarParallelMatmul();
+            FINITE_CHECK = new ScalarFiniteCheck();
         }
     }
 
@@ -54,6 +67,8 @@ public class TensorCPU implements Cloneable, Tensor {
         this.shape = Arrays.copyOf(shape, shape.length);
         this.strides = computeStrides(shape);
         this.data = new float[computeSize(shape)];
+
+        if (MemoryTracker.isEnabled()) track();
     }
 
     public TensorCPU(int[] shape, int[] strides) {
@@ -64,6 +79,8 @@ public class TensorCPU implements Cloneable, Tensor {
         this.shape = shape;
         this.strides = strides;
         this.data = new float[computeSize(shape)];
+
+        if (MemoryTracker.isEnabled()) track();
     }
 
     public TensorCPU(int[] shape, int[] strides, float[] data) {
@@ -75,6 +92,20 @@ public class TensorCPU implements Cloneable, Tensor {
         this.strides = strides;
         this.data = new float[data.length];
         System.arraycopy(data, 0, this.data, 0, data.length);
+
+        if (MemoryTracker.isEnabled()) track();
+    }
+
+    private static Tensor checked(Tensor result, String operation) {
+        if (AnomalyDetector.isActive()) {
+            AnomalyDetector.check(result, operation);
+        }
+
+        return result;
+    }
+
+    private void track() {
+        MemoryTracker.allocated(this, (long) data.length * Float.BYTES);
     }
 
     private int computeSize(int[] shape) {
@@ -158,58 +189,35 @@ public class TensorCPU implements Cloneable, Tensor {
     }
 
     public static Tensor random(int... shape) {
-        return random(Random.from(new SplittableRandom()), shape);
+        return random(ThreadLocalRandom.current().nextLong(), shape);
     }
     
     public static Tensor random(long seed, int... shape) {
-        return random(Random.from(new SplittableRandom(seed)), shape);
-    }
-    
-    private static Tensor random(Random random, int... shape) {
-        Tensor tensor = new TensorCPU(shape);
-
-        for (int i = 0; i < tensor.getData().length; i++) {
-            tensor.getData()[i] = random.nextFloat();
-        }
-
-        return tensor;
+        return uniform(seed, 0, 1, shape);
     }
     
     public static Tensor uniform(double lowerBound, double upperBound, int... shape) {
-        return uniform(new Random(), lowerBound, upperBound, shape);
+        return uniform(ThreadLocalRandom.current().nextLong(), lowerBound, upperBound, shape);
     }
     
     public static Tensor uniform(long seed, double lowerBound, double upperBound, int... shape) {
-        return uniform(new Random(seed), lowerBound, upperBound, shape);
-    }
-    
-    private static Tensor uniform(Random random, double lowerBound, double upperBound, int... shape) {
         Tensor tensor = new TensorCPU(shape);
-        double range = upperBound - lowerBound;
-
-        for (int i = 0; i < tensor.getData().length; i++) {
-            tensor.getData()[i] = (float) (random.nextDouble() * range + lowerBound);
-        }
-
+        Philox.fillUniform(tensor.getData(), seed, 0, (float) lowerBound, (float) upperBound, POOL);
         return tensor;
     }
-    
+
     public static Tensor randn(double mean, double stddev, int... shape) {
-        return randn(new Random(), mean, stddev, shape);
+        return randn(ThreadLocalRandom.current().nextLong(), mean, stddev, shape);
     }
     
     public static Tensor randn(long seed, double mean, double stddev, int... shape) {
-        return randn(new Random(seed), mean, stddev, shape);
+        Tensor tensor = new TensorCPU(shape);
+        Philox.fillNormal(tensor.getData(), seed, 0, (float) mean, (float) stddev, POOL);
+        return tensor;
     }
 
     public static Tensor randn(Random random, double mean, double stddev, int... shape) {
-        Tensor tensor = new TensorCPU(shape);
-
-        for (int i = 0; i < tensor.getData().length; i++) {
-            tensor.getData()[i] = (float) (random.nextGaussian() * stddev + mean);
-        }
-
-        return tensor;
+        return randn(random.nextLong(), mean, stddev, shape);
     }
 
     @Override
@@ -262,21 +270,26 @@ public class TensorCPU implements Cloneable, Tensor {
     @Override
     public Tensor add(Tensor other) {
         checkSameShape(other);
+        long start = OpProfiler.start();
 
         for (int i = 0; i < data.length; i++) {
             data[i] += other.getData()[i];
         }
 
-        return this;
+        OpProfiler.record(OpType.ADD, start, data.length, data.length, 0);
+        return checked(this, "add");
     }
 
     @Override
     public Tensor add(double value) {
+        long start = OpProfiler.start();
+
         for (int i = 0; i < data.length; i++) {
             data[i] += (float) value;
         }
 
-        return this;
+        OpProfiler.record(OpType.ADD, start, data.length, data.length, 0);
+        return checked(this, "add");
     }
 
     @Override
@@ -292,21 +305,26 @@ public class TensorCPU implements Cloneable, Tensor {
     @Override
     public Tensor sub(Tensor other) {
         checkSameShape(other);
+        long start = OpProfiler.start();
 
         for (int i = 0; i < data.length; i++) {
             data[i] = data[i] - other.getData()[i];
         }
 
-        return this;
+        OpProfiler.record(OpType.SUB, start, data.length, data.length, 0);
+        return checked(this, "sub");
     }
 
     @Override
     public Tensor sub(double value) {
+        long start = OpProfiler.start();
+
         for (int i = 0; i < data.length; i++) {
             data[i] = data[i] - (float) value;
         }
 
-        return this;
+        OpProfiler.record(OpType.SUB, start, data.length, data.length, 0);
+        return checked(this, "sub");
     }
 
     @Override
@@ -322,21 +340,26 @@ public class TensorCPU implements Cloneable, Tensor {
     @Override
     public Tensor mul(Tensor other) {
         checkSameShape(other);
+        long start = OpProfiler.start();
 
         for (int i = 0; i < data.length; i++) {
             data[i] = data[i] * other.getData()[i];
         }
 
-        return this;
+        OpProfiler.record(OpType.MUL, start, data.length, data.length, 0);
+        return checked(this, "mul");
     }
 
     @Override
     public Tensor mul(double value) {
+        long start = OpProfiler.start();
+
         for (int i = 0; i < data.length; i++) {
             data[i] = data[i] * (float) value;
         }
 
-        return this;
+        OpProfiler.record(OpType.MUL, start, data.length, data.length, 0);
+        return checked(this, "mul");
     }
 
     @Override
@@ -352,6 +375,7 @@ public class TensorCPU implements Cloneable, Tensor {
     @Override
     public Tensor div(Tensor other) {
         checkSameShape(other);
+        long start = OpProfiler.start();
 
         for (int i = 0; i < data.length; i++) {
             if (other.getData()[i] == 0) {
@@ -361,7 +385,8 @@ public class TensorCPU implements Cloneable, Tensor {
             data[i] = data[i] / other.getData()[i];
         }
 
-        return this;
+        OpProfiler.record(OpType.DIV, start, data.length, data.length, 0);
+        return checked(this, "div");
     }
 
     @Override
@@ -370,11 +395,14 @@ public class TensorCPU implements Cloneable, Tensor {
             throw new ArithmeticException("Division by zero");
         }
 
+        long start = OpProfiler.start();
+
         for (int i = 0; i < data.length; i++) {
             data[i] = data[i] / (float) value;
         }
 
-        return this;
+        OpProfiler.record(OpType.DIV, start, data.length, data.length, 0);
+        return checked(this, "div");
     }
 
     @Override
@@ -389,12 +417,14 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public double sum() {
+        long start = OpProfiler.start();
         double sum = 0;
 
         for (float value : data) {
             sum += value;
         }
 
+        OpProfiler.record(OpType.REDUCE, start, 1, data.length, 0);
         return sum;
     }
 
@@ -498,24 +528,31 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor mapWithIndex(BiFunction<Integer, Float, Float> function) {
+        long start = OpProfiler.start();
+
         for (int i = 0; i < data.length; i++) {
             float value = data[i];
             data[i] = function.apply(i, value);
         }
 
-        return this;
+        OpProfiler.record(OpType.MAP, start, data.length, data.length, 0);
+        return checked(this, "map");
     }
 
     @Override
     public Tensor map(DoubleToDoubleFunction function) {
+        long start = OpProfiler.start();
+
         ParallelMap.map(function, POOL, data);
-        return this;
+
+        OpProfiler.record(OpType.MAP, start, data.length, data.length, 0);
+        return checked(this, "map");
     }
 
     @Override
     public Tensor fill(float value) {
         Arrays.fill(data, value);
-        return null;
+        return this;
     }
 
     @Override
@@ -552,6 +589,8 @@ public class TensorCPU implements Cloneable, Tensor {
                     + shape.length + " dimensions");
         }
 
+        long start = OpProfiler.start();
+
         int rows = shape[0];
         int cols = shape[1];
 
@@ -584,6 +623,7 @@ public class TensorCPU implements Cloneable, Tensor {
             baseInverseLinearIndex += resultColsStride;
         }
 
+        OpProfiler.record(OpType.TRANSPOSE, start, data.length, 0, (long) data.length * Float.BYTES);
         return result;
     }
 
@@ -709,6 +749,35 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor matmul(Tensor other) {
+        long start = OpProfiler.start();
+        Tensor result = new TensorCPU(matmulShape(other));
+
+        long flops = multiplyInto(other, result);
+
+        OpProfiler.record(OpType.MATMUL, start, result.elements(), flops, (long) result.elements() * Float.BYTES);
+        return checked(result, "matmul");
+    }
+
+    @Override
+    public Tensor matmul(Tensor other, Tensor result) {
+        int[] resultShape = matmulShape(other);
+
+        if (!Arrays.equals(resultShape, result.shape())) {
+            throw new IllegalArgumentException(
+                "Result shape must be " + Arrays.toString(resultShape) + ", got " + Arrays.toString(result.shape())
+            );
+        }
+
+        long start = OpProfiler.start();
+        Arrays.fill(result.getData(), 0);
+
+        long flops = multiplyInto(other, result);
+
+        OpProfiler.record(OpType.MATMUL, start, result.elements(), flops, 0);
+        return checked(result, "matmul");
+    }
+
+    private int[] matmulShape(Tensor other) {
         if (shape.length < 2 || other.shape().length < 2) {
             throw new IllegalArgumentException("Matrix multiplication requires at least 2D tensors!");
         }
@@ -729,35 +798,45 @@ public class TensorCPU implements Cloneable, Tensor {
 
         int dims = shape.length;
 
-        int m = shape[dims - 2];
         int n = shape[dims - 1];
-
         int k = other.shape()[dims - 2];
-        int p = other.shape()[dims - 1];
 
         if (n != k) {
             throw new IllegalArgumentException("Inner dimensions must match: " + n + " != " + k);
         }
 
-        int[] resultShape = new int[dims];
+        int[] resultShape = Arrays.copyOf(shape, dims);
+        resultShape[dims - 1] = other.shape()[dims - 1];
+
+        return resultShape;
+    }
+
+    /**
+     * Multiplies this tensor by the other one, accumulating into the result.
+     * @return the floating point operations performed
+     */
+    private long multiplyInto(Tensor other, Tensor result) {
+        int dims = shape.length;
+
+        int m = shape[dims - 2];
+        int n = shape[dims - 1];
+        int p = other.shape()[dims - 1];
 
         int batch = 1;
         for (int i = 0; i < dims - 2; i++) {
-            resultShape[i] = shape[i];
             batch *= shape[i];
         }
 
-        resultShape[dims - 2] = m;
-        resultShape[dims - 1] = p;
-
-        Tensor result = new TensorCPU(resultShape);
-
         float[] A = this.getData();
         float[] B = other.getData();
         float[] C = result.getData();
 
+        MatmulEvent event = MatmulEvent.begin(batch, m, n, p);
+
         MATMUL.multiply(batch, m, n, p, A, B, C, POOL);
-        return result;
+
+        if (event != null) event.commit();
+        return 2L * batch * m * n * p;
     }
 
     private void appendTensor(StringBuilder sb, int dim, int[] indices, String format) {
@@ -898,13 +977,16 @@ public class TensorCPU implements Cloneable, Tensor {
             }
         }
 
+        long start = OpProfiler.start();
+
         TensorCPU result = new TensorCPU(newShape);
         int[] indices = new int[shape.length];
         int[] resultIndices = keepDim ? new int[shape.length] : new int[shape.length - 1];
 
         sumAlongDimensions(result, dim, keepDim, indices, resultIndices);
 
-        return result;
+        OpProfiler.record(OpType.REDUCE, start, result.elements(), data.length, (long) result.elements() * Float.BYTES);
+        return checked(result, "sum");
     }
 
     void sumAlongDimensions(
@@ -916,7 +998,7 @@ public class TensorCPU implements Cloneable, Tensor {
     ) {
         int batch = 1;
         for (int currentDim = 0; currentDim < shape.length; currentDim++) {
-            if (currentDim != dim || keepDim) {
+            if (currentDim != dim) {
                 batch *= shape[currentDim];
             }
         }
@@ -926,7 +1008,9 @@ public class TensorCPU implements Cloneable, Tensor {
             int skippedDimIndex = 0;
 
             for (int currentDim = 0; currentDim < shape.length; currentDim++) {
-                if (currentDim == dim && !keepDim) {
+                if (currentDim == dim) {
+                    // a kept dimension has size 1 in the result
+                    if (keepDim) resultIndices[currentDim] = 0;
                     continue;
                 }
 
@@ -1138,6 +1222,7 @@ public class TensorCPU implements Cloneable, Tensor {
             }
         }
 
+        long start = OpProfiler.start();
         Tensor result = new TensorCPU(newShape);
 
         int[] srcIndices = new int[shape.length];
@@ -1145,6 +1230,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
         sliceCopy(result, ranges, srcIndices, dstIndices, 0);
 
+        OpProfiler.record(OpType.SLICE, start, result.elements(), 0, (long) result.elements() * Float.BYTES);
         return result;
     }
 
@@ -1198,11 +1284,12 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor grad() {
-        if (autogradContext != null) {
-            return autogradContext.getGrad();
+        if (autogradContext == null) {
+            return null;
         }
 
-        return null;
+        Tensor grad = autogradContext.getGrad();
+        return grad == null ? new TensorCPU(shape) : grad;
     }
 
     @Override
@@ -1223,6 +1310,10 @@ public class TensorCPU implements Cloneable, Tensor {
     public Tensor forward(Operation op, Tensor other) {
         Tensor result = op.forward(this, other);
 
+        if (!Tensors.isGradEnabled()) {
+            return result;
+        }
+
         if (result.getAutogradContext() == null) {
             result.setAutogradContext(new AutogradContext(true));
         }
@@ -1231,9 +1322,15 @@ public class TensorCPU implements Cloneable, Tensor {
         return result;
     }
 
+    private boolean tracksGrad(Tensor other) {
+        if (!Tensors.isGradEnabled()) return false;
+
+        return usesGrad() || (other != null && other.usesGrad());
+    }
+
     @Override
     public Tensor addWithGrad(Tensor other) {
-        if (!usesGrad() && !other.usesGrad()) {
+        if (!tracksGrad(other)) {
             return plus(other);
         }
 
@@ -1242,7 +1339,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor mulWithGrad(Tensor other) {
-        if (!usesGrad() && !other.usesGrad()) {
+        if (!tracksGrad(other)) {
             return times(other);
         }
 
@@ -1251,7 +1348,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor subWithGrad(Tensor other) {
-        if (!usesGrad() && !other.usesGrad()) {
+        if (!tracksGrad(other)) {
             return minus(other);
         }
 
@@ -1260,7 +1357,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor divWithGrad(Tensor other) {
-        if (!usesGrad() && !other.usesGrad()) {
+        if (!tracksGrad(other)) {
             return divide(other);
         }
 
@@ -1269,7 +1366,7 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor matmulWithGrad(Tensor other) {
-        if (!usesGrad() && !other.usesGrad()) {
+        if (!tracksGrad(other)) {
             return matmul(other);
         }
 
@@ -1278,13 +1375,68 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor activateWithGrad(Activation activation) {
-        if (!usesGrad()) {
+        if (!tracksGrad(null)) {
             return activation.activate(this);
         }
 
         return forward(new ActivationOperation(activation), null);
     }
 
+    @Override
+    public Tensor transposeWithGrad() {
+        return new TransposeOperation().apply(this);
+    }
+
+    @Override
+    public Tensor reshapeWithGrad(int... newShape) {
+        return new ReshapeOperation(newShape).apply(this);
+    }
+
+    @Override
+    public Tensor sumWithGrad(int dim, boolean keepDim) {
+        return new SumOperation(dim, keepDim, false).apply(this);
+    }
+
+    @Override
+    public Tensor meanWithGrad(int dim, boolean keepDim) {
+        return new SumOperation(dim, keepDim, true).apply(this);
+    }
+
+    @Override
+    public Tensor broadcastWithGrad(int... shape) {
+        return new BroadcastOperation(shape).apply(this);
+    }
+
+    @Override
+    public Tensor softmaxWithGrad() {
+        return new SoftmaxOperation().apply(this);
+    }
+
+    @Override
+    public Tensor logSoftmaxWithGrad() {
+        return new LogSoftmaxOperation().apply(this);
+    }
+
+    @Override
+    public Tensor layerNormWithGrad(Tensor gamma, Tensor beta, double epsilon) {
+        return new LayerNormOperation(epsilon).apply(this, gamma, beta);
+    }
+
+    @Override
+    public Tensor sliceWithGrad(Range... ranges) {
+        return new SliceOperation(ranges).apply(this);
+    }
+
+    @Override
+    public Tensor gatherWithGrad(int... indices) {
+        return new GatherOperation(indices).apply(this);
+    }
+
+    @Override
+    public Tensor crossEntropyWithGrad(Tensor targets) {
+        return new CrossEntropyOperation().apply(this, targets);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -1322,7 +1474,11 @@ public class TensorCPU implements Cloneable, Tensor {
 
     @Override
     public Tensor clone() {
-        return of(shape, data);
+        long start = OpProfiler.start();
+        Tensor result = of(shape, data);
+
+        OpProfiler.record(OpType.CLONE, start, data.length, 0, (long) data.length * Float.BYTES);
+        return result;
     }
 
     @Override
@@ -1413,6 +1569,7 @@ public class TensorCPU implements Cloneable, Tensor {
         }
 
         Tensor result = clone();
+        long start = OpProfiler.start();
 
         if (dimension() == 1) {
             softmax1D(temperature, result);
@@ -1422,7 +1579,9 @@ public class TensorCPU implements Cloneable, Tensor {
             throw new UnsupportedOperationException("Softmax operation is only supported for 1D/2D tensors.");
         }
 
-        return result;
+        // max, subtraction, exponential, sum and division for every element
+        OpProfiler.record(OpType.SOFTMAX, start, data.length, 5L * data.length, 0);
+        return checked(result, "softmax");
     }
 
     @Override
@@ -1436,6 +1595,11 @@ public class TensorCPU implements Cloneable, Tensor {
         return false;
     }
 
+    @Override
+    public int indexOfNonFinite() {
+        return FINITE_CHECK.find(data, POOL);
+    }
+
     private void softmax1D(double temperature, Tensor tensor) {
         double max = Double.NEGATIVE_INFINITY;
 
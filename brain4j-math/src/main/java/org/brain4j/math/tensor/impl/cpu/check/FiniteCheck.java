@@ -0,0 +1,15 @@
+package org.brain4j.math.tensor.impl.cpu.check;
+
+import java.util.concurrent.ForkJoinPool;
+
+public interface FiniteCheck {
+
+    /**
+     * Scans the data for NaN or infinite values.
+     * @param data the values to scan
+     * @param pool the pool used for large arrays
+     * @return the index of the first non-finite value, or -1 if every value is finite
+     */
+    int find(float[] data, ForkJoinPool pool);
+
+}
@@ -0,0 +1,57 @@
+package org.brain4j.math.tensor.impl.cpu.check;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ScalarFiniteCheck implements FiniteCheck {
+
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 16;
+    private static final int SPLIT_COMPLEXITY_THRESHOLD = 1 << 14;
+
+    private static class ScalarTask extends RecursiveTask<Integer> {
+
+        private final float[] data;
+        private final int start;
+        private final int end;
+
+        public ScalarTask(float[] data, int start, int end) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start <= SPLIT_COMPLEXITY_THRESHOLD) {
+                return findSection(data, start, end);
+            }
+
+            int mid = (start + end) >>> 1;
+
+            ScalarTask right = new ScalarTask(data, mid, end);
+            right.fork();
+
+            int left = new ScalarTask(data, start, mid).compute();
+            int found = right.join();
+
+            return left >= 0 ? left : found;
+        }
+    }
+
+    @Override
+    public int find(float[] data, ForkJoinPool pool) {
+        if (data.length <= PARALLEL_COMPLEXITY_THRESHOLD) {
+            return findSection(data, 0, data.length);
+        }
+
+        return pool.invoke(new ScalarTask(data, 0, data.length));
+    }
+
+    private static int findSection(float[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Float.isFinite(data[i])) return i;
+        }
+
+        return -1;
+    }
+}
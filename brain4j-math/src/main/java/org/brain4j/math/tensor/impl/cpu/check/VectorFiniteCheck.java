@@ -0,0 +1,76 @@
+package org.brain4j.math.tensor.impl.cpu.check;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class VectorFiniteCheck implements FiniteCheck {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 16;
+    private static final int SPLIT_COMPLEXITY_THRESHOLD = 1 << 14;
+
+    private static class VectorTask extends RecursiveTask<Integer> {
+
+        private final float[] data;
+        private final int start;
+        private final int end;
+
+        public VectorTask(float[] data, int start, int end) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start <= SPLIT_COMPLEXITY_THRESHOLD) {
+                return findSection(data, start, end);
+            }
+
+            int mid = (start + end) >>> 1;
+
+            VectorTask right = new VectorTask(data, mid, end);
+            right.fork();
+
+            int left = new VectorTask(data, start, mid).compute();
+            int found = right.join();
+
+            return left >= 0 ? left : found;
+        }
+    }
+
+    @Override
+    public int find(float[] data, ForkJoinPool pool) {
+        if (data.length <= PARALLEL_COMPLEXITY_THRESHOLD) {
+            return findSection(data, 0, data.length);
+        }
+
+        return pool.invoke(new VectorTask(data, 0, data.length));
+    }
+
+    private static int findSection(float[] data, int start, int end) {
+        int i = start;
+        int bound = start + SPECIES.loopBound(end - start);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector vector = FloatVector.fromArray(SPECIES, data, i);
+            VectorMask<Float> invalid = vector.test(VectorOperators.IS_FINITE).not();
+
+            if (invalid.anyTrue()) {
+                return i + invalid.firstTrue();
+            }
+        }
+
+        for (; i < end; i++) {
+            if (!Float.isFinite(data[i])) return i;
+        }
+
+        return -1;
+    }
+}
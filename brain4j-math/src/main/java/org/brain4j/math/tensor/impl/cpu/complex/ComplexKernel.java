@@ -0,0 +1,32 @@
+package org.brain4j.math.tensor.impl.cpu.complex;
+
+/**
+ * Element-wise kernels over interleaved complex data, where the real part of element <code>i</code>
+ * is stored at <code>2 * i</code> and the imaginary part at <code>2 * i + 1</code>.
+ */
+public interface ComplexKernel {
+
+    /**
+     * Adds <code>b</code> to <code>a</code> in place.
+     */
+    void add(float[] a, float[] b, int length);
+
+    /**
+     * Multiplies <code>a</code> by <code>b</code> element-wise, storing the products into <code>a</code>.
+     */
+    void multiply(float[] a, float[] b, int length);
+
+    /**
+     * Negates the imaginary parts of <code>data</code> in place.
+     */
+    void conjugate(float[] data, int length);
+
+    /**
+     * Computes the magnitude of every element.
+     * @param data the interleaved values
+     * @param out the destination, holding one value per complex element
+     * @param length the number of floats of <code>data</code> to process
+     */
+    void abs(float[] data, float[] out, int length);
+
+}
@@ -0,0 +1,39 @@
+package org.brain4j.math.tensor.impl.cpu.complex;
+
+public class ScalarComplexKernel implements ComplexKernel {
+
+    @Override
+    public void add(float[] a, float[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            a[i] += b[i];
+        }
+    }
+
+    @Override
+    public void multiply(float[] a, float[] b, int length) {
+        for (int i = 0; i < length; i += 2) {
+            float re = a[i] * b[i] - a[i + 1] * b[i + 1];
+            float im = a[i] * b[i + 1] + a[i + 1] * b[i];
+
+            a[i] = re;
+            a[i + 1] = im;
+        }
+    }
+
+    @Override
+    public void conjugate(float[] data, int length) {
+        for (int i = 1; i < length; i += 2) {
+            data[i] = -data[i];
+        }
+    }
+
+    @Override
+    public void abs(float[] data, float[] out, int length) {
+        for (int i = 0; i < length; i += 2) {
+            float re = data[i];
+            float im = data[i + 1];
+
+            out[i >> 1] = (float) Math.sqrt(re * re + im * im);
+        }
+    }
+}
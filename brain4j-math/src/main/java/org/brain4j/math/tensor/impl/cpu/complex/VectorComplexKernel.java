@@ -0,0 +1,113 @@
+package org.brain4j.math.tensor.impl.cpu.complex;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+public class VectorComplexKernel implements ComplexKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    // lane i holds the other half of its complex pair, or duplicates its real/imaginary part
+    private static final VectorShuffle<Float> SWAP = VectorShuffle.fromOp(SPECIES, i -> i ^ 1);
+    private static final VectorShuffle<Float> REAL = VectorShuffle.fromOp(SPECIES, i -> i & ~1);
+    private static final VectorShuffle<Float> IMAGINARY = VectorShuffle.fromOp(SPECIES, i -> i | 1);
+
+    private static final FloatVector ALTERNATE = FloatVector.fromArray(SPECIES, alternating(-1, 1), 0);
+    private static final FloatVector CONJUGATE = FloatVector.fromArray(SPECIES, alternating(1, -1), 0);
+
+    private static final VectorMask<Float> EVEN = VectorMask.fromLong(SPECIES, 0x5555555555555555L);
+    private static final VectorMask<Float> LOWER_HALF = SPECIES.indexInRange(0, SPECIES.length() / 2);
+
+    private static float[] alternating(float even, float odd) {
+        float[] values = new float[SPECIES.length()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i & 1) == 0 ? even : odd;
+        }
+
+        return values;
+    }
+
+    @Override
+    public void add(float[] a, float[] b, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+
+            va.add(vb).intoArray(a, i);
+        }
+
+        for (; i < length; i++) {
+            a[i] += b[i];
+        }
+    }
+
+    @Override
+    public void multiply(float[] a, float[] b, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+
+            // (ar + i ai)(br + i bi) = [ar br - ai bi, ai br + ar bi]
+            FloatVector crossed = va.rearrange(SWAP).mul(vb.rearrange(IMAGINARY)).mul(ALTERNATE);
+            va.fma(vb.rearrange(REAL), crossed).intoArray(a, i);
+        }
+
+        if (i < length) {
+            multiplyTail(a, b, i, length);
+        }
+    }
+
+    @Override
+    public void conjugate(float[] data, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, data, i).mul(CONJUGATE).intoArray(data, i);
+        }
+
+        for (i += 1; i < length; i += 2) {
+            data[i] = -data[i];
+        }
+    }
+
+    @Override
+    public void abs(float[] data, float[] out, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector values = FloatVector.fromArray(SPECIES, data, i);
+            FloatVector squares = values.mul(values);
+            FloatVector magnitude = squares.add(squares.rearrange(SWAP)).sqrt();
+
+            magnitude.compress(EVEN).intoArray(out, i >> 1, LOWER_HALF);
+        }
+
+        for (; i < length; i += 2) {
+            float re = data[i];
+            float im = data[i + 1];
+
+            out[i >> 1] = (float) Math.sqrt(re * re + im * im);
+        }
+    }
+
+    private static void multiplyTail(float[] a, float[] b, int start, int length) {
+        for (int i = start; i < length; i += 2) {
+            float re = a[i] * b[i] - a[i + 1] * b[i + 1];
+            float im = a[i] * b[i + 1] + a[i + 1] * b[i];
+
+            a[i] = re;
+            a[i + 1] = im;
+        }
+    }
+}
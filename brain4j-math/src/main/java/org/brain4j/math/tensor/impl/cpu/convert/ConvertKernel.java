@@ -0,0 +1,24 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+/**
+ * Kernels widening decoded chunks of a narrower or wider storage format into floats.
+ */
+public interface ConvertKernel {
+
+    /**
+     * Widens <code>length</code> IEEE 754 half precision values into <code>destination[offset, offset + length)</code>.
+     */
+    void halfToFloat(short[] source, float[] destination, int offset, int length);
+
+    /**
+     * Widens <code>length</code> bfloat16 values into <code>destination[offset, offset + length)</code>.
+     */
+    void bfloat16ToFloat(short[] source, float[] destination, int offset, int length);
+
+    /**
+     * Narrows <code>length</code> doubles into <code>destination[offset, offset + length)</code>, rounding
+     * to the nearest float.
+     */
+    void doubleToFloat(double[] source, float[] destination, int offset, int length);
+
+}
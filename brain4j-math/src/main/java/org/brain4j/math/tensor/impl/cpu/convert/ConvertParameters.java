@@ -0,0 +1,12 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+import java.nio.ByteBuffer;
+
+public record ConvertParameters(
+    DataType type,
+    ByteBuffer source,
+    float[] destination,
+    int offset
+) {
+
+}
@@ -0,0 +1,30 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+/**
+ * Storage formats that can be widened into the 32-bit float representation used by tensors.
+ */
+public enum DataType {
+
+    F16(2),
+    BF16(2),
+    F32(4),
+    F64(8);
+
+    private final int bytes;
+
+    DataType(int bytes) {
+        this.bytes = bytes;
+    }
+
+    public static DataType parse(String name) {
+        for (DataType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) return type;
+        }
+
+        throw new IllegalArgumentException("Unsupported data type: " + name);
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,145 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelConvert extends RecursiveAction {
+
+    private static final ConvertKernel KERNEL;
+
+    static {
+        Optional<Module> module = ModuleLayer
+            .boot()
+            .findModule("jdk.incubator.vector");
+
+        KERNEL = module.isPresent() ? new VectorConvertKernel() : new ScalarConvertKernel();
+    }
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final int PARALLEL_COMPLEXITY_THRESHOLD = 1 << 16;
+    private static final int SPLIT_COMPLEXITY_THRESHOLD = 1 << 15;
+    private static final int CHUNK_SIZE = 4096;
+
+    private final ConvertParameters parameters;
+    private final int start;
+    private final int end;
+
+    public ParallelConvert(ConvertParameters parameters, int start, int end) {
+        this.parameters = parameters;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+        int work = end - start;
+
+        if (work > SPLIT_COMPLEXITY_THRESHOLD) {
+            int mid = (start + end) >>> 1;
+            invokeAll(
+                new ParallelConvert(parameters, start, mid),
+                new ParallelConvert(parameters, mid, end)
+            );
+            return;
+        }
+
+        convertSection(parameters, start, end);
+    }
+
+    /**
+     * Widens the elements stored in the source buffer into the destination array.
+     * The source buffer is read with absolute accesses starting from its current position,
+     * so it can be a region of a memory mapped file.
+     * @param type the storage format of the source
+     * @param source the buffer holding <code>destination.length</code> elements
+     * @param destination the array to fill
+     * @param pool the pool used when the work is large enough to be split
+     */
+    public static void convert(
+        DataType type,
+        ByteBuffer source,
+        float[] destination,
+        ForkJoinPool pool
+    ) {
+        convert(type, source, destination, 0, destination.length, pool);
+    }
+
+    /**
+     * Widens <code>length</code> elements of the source buffer into the destination array,
+     * starting at the given destination offset.
+     * @param type the storage format of the source
+     * @param source the buffer holding the elements
+     * @param destination the array to fill
+     * @param offset the first destination index to write
+     * @param length the amount of elements to convert
+     * @param pool the pool used when the work is large enough to be split
+     */
+    public static void convert(
+        DataType type,
+        ByteBuffer source,
+        float[] destination,
+        int offset,
+        int length,
+        ForkJoinPool pool
+    ) {
+        long required = (long) length * type.bytes();
+
+        if (source.remaining() < required) {
+            throw new IllegalArgumentException(
+                "Source holds " + source.remaining() + " bytes, expected " + required
+            );
+        }
+
+        ByteBuffer view = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        ConvertParameters parameters = new ConvertParameters(type, view, destination, offset);
+
+        int work = length;
+
+        if (work <= PARALLEL_COMPLEXITY_THRESHOLD || PARALLELISM == 1) {
+            convertSection(parameters, 0, work);
+            return;
+        }
+
+        pool.invoke(new ParallelConvert(parameters, 0, work));
+    }
+
+    private static void convertSection(ConvertParameters parameters, int start, int end) {
+        ByteBuffer source = parameters.source();
+        float[] destination = parameters.destination();
+        int base = parameters.offset();
+
+        switch (parameters.type()) {
+            case F32 -> source.asFloatBuffer().get(start, destination, base + start, end - start);
+            case F16 -> {
+                short[] chunk = new short[Math.min(CHUNK_SIZE, end - start)];
+
+                for (int offset = start; offset < end; offset += chunk.length) {
+                    int length = Math.min(chunk.length, end - offset);
+                    source.asShortBuffer().get(offset, chunk, 0, length);
+                    KERNEL.halfToFloat(chunk, destination, base + offset, length);
+                }
+            }
+            case BF16 -> {
+                short[] chunk = new short[Math.min(CHUNK_SIZE, end - start)];
+
+                for (int offset = start; offset < end; offset += chunk.length) {
+                    int length = Math.min(chunk.length, end - offset);
+                    source.asShortBuffer().get(offset, chunk, 0, length);
+                    KERNEL.bfloat16ToFloat(chunk, destination, base + offset, length);
+                }
+            }
+            case F64 -> {
+                double[] chunk = new double[Math.min(CHUNK_SIZE, end - start)];
+
+                for (int offset = start; offset < end; offset += chunk.length) {
+                    int length = Math.min(chunk.length, end - offset);
+                    source.asDoubleBuffer().get(offset, chunk, 0, length);
+                    KERNEL.doubleToFloat(chunk, destination, base + offset, length);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+public class ScalarConvertKernel implements ConvertKernel {
+
+    @Override
+    public void halfToFloat(short[] source, float[] destination, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = Float.float16ToFloat(source[i]);
+        }
+    }
+
+    @Override
+    public void bfloat16ToFloat(short[] source, float[] destination, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = Float.intBitsToFloat(source[i] << 16);
+        }
+    }
+
+    @Override
+    public void doubleToFloat(double[] source, float[] destination, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = (float) source[i];
+        }
+    }
+}
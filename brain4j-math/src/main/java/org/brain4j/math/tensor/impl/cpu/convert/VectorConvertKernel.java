@@ -0,0 +1,40 @@
+package org.brain4j.math.tensor.impl.cpu.convert;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Widens bfloat16 values with the Vector API. Halves and doubles are converted by the scalar loops, which
+ * HotSpot already compiles to the hardware conversion instructions and outperform the explicit vector
+ * versions of the same conversions.
+ */
+public class VectorConvertKernel extends ScalarConvertKernel {
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // the same amount of lanes as the 32-bit species, in half the bits
+    private static final VectorSpecies<Short> SHORT_SPECIES = ShortVector.SPECIES_PREFERRED
+        .withShape(VectorShape.forBitSize(INT_SPECIES.vectorBitSize() / 2));
+
+    @Override
+    public void bfloat16ToFloat(short[] source, float[] destination, int offset, int length) {
+        int i = 0;
+        int bound = SHORT_SPECIES.loopBound(length);
+
+        for (; i < bound; i += SHORT_SPECIES.length()) {
+            IntVector bits = (IntVector) ShortVector.fromArray(SHORT_SPECIES, source, i)
+                .convertShape(VectorOperators.S2I, INT_SPECIES, 0);
+
+            bits.lanewise(VectorOperators.LSHL, 16)
+                .reinterpretAsFloats()
+                .intoArray(destination, offset + i);
+        }
+
+        for (; i < length; i++) {
+            destination[offset + i] = Float.intBitsToFloat(source[i] << 16);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.brain4j.math.tensor.impl.cpu.distance;
+
+/**
+ * Reductions between two vectors stored inside larger arrays.
+ */
+public interface DistanceKernel {
+
+    /**
+     * Computes the dot product of <code>a[aOffset, aOffset + length)</code> and <code>b[bOffset, bOffset + length)</code>.
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Computes the squared euclidean distance of <code>a[aOffset, aOffset + length)</code> and
+     * <code>b[bOffset, bOffset + length)</code>.
+     */
+    float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+}
@@ -0,0 +1,27 @@
+package org.brain4j.math.tensor.impl.cpu.distance;
+
+public class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+
+        for (int i = 0; i < length; i++) {
+            float delta = a[aOffset + i] - b[bOffset + i];
+            sum += delta * delta;
+        }
+
+        return sum;
+    }
+}
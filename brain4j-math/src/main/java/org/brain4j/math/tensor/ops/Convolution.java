@@ -1,10 +1,12 @@
 package org.brain4j.math.tensor.ops;
 
-import org.brain4j.math.complex.Complex;
-import org.brain4j.math.fft.FFT;
+import org.brain4j.math.complex.ComplexTensor;
+import org.brain4j.math.jfr.ConvolutionEvent;
 import org.brain4j.math.tensor.Tensor;
 import org.brain4j.math.tensor.Tensors;
 
+import java.util.Arrays;
+
 import static org.brain4j.math.Brain4JUtils.nextPowerOf2;
 import static org.brain4j.math.constants.Constants.EPSILON;
 import static org.brain4j.math.constants.Constants.FFT_THRESHOLD;
@@ -65,11 +67,37 @@ public final class Convolution {
             throw new IllegalArgumentException("Kernel too large for the input with the specified padding");
         }
         
+        ConvolutionEvent event = new ConvolutionEvent();
+        event.begin();
+
+        Tensor result;
+
         if (convType == ConvolutionType.DIRECT) {
-            return convolve1DDirect(input, kernel, paddingLeft, paddingRight);
+            result = convolve1DDirect(input, kernel, paddingLeft, paddingRight);
         } else {
-            return convolve1DFFT(input, kernel, paddingLeft, paddingRight);
+            result = convolve1DFFT(input, kernel, paddingLeft, paddingRight);
         }
+
+        commit(event, input, kernel, paddingMode, convType);
+        return result;
+    }
+
+    private static void commit(
+        ConvolutionEvent event,
+        Tensor input,
+        Tensor kernel,
+        PaddingMode paddingMode,
+        ConvolutionType convType
+    ) {
+        event.end();
+
+        if (!event.shouldCommit()) return;
+
+        event.inputShape = Arrays.toString(input.shape());
+        event.kernelShape = Arrays.toString(kernel.shape());
+        event.padding = paddingMode.name();
+        event.algorithm = convType.name();
+        event.commit();
     }
     
     private static Tensor convolve1DDirect(Tensor input, Tensor kernel, 
@@ -107,31 +135,11 @@ public final class Convolution {
         int fullSize = inputSize + kernelSize - 1;
         int fftSize = nextPowerOf2(fullSize);
         
-        Complex[] inputComplex = new Complex[fftSize];
-        Complex[] kernelComplex = new Complex[fftSize];
-        
-        for (int i = 0; i < fftSize; i++) {
-            inputComplex[i] = Complex.ZERO;
-            kernelComplex[i] = Complex.ZERO;
-        }
-        
-        for (int i = 0; i < inputSize; i++) {
-            inputComplex[i] = new Complex(input.get(i), 0.0);
-        }
-        
-        for (int i = 0; i < kernelSize; i++) {
-            kernelComplex[i] = new Complex(kernel.get(kernelSize - 1 - i), 0.0);
-        }
-        
-        Complex[] inputFFT = FFT.transform(inputComplex);
-        Complex[] kernelFFT = FFT.transform(kernelComplex);
-        
-        Complex[] outputFFT = new Complex[fftSize];
-        for (int i = 0; i < fftSize; i++) {
-            outputFFT[i] = inputFFT[i].multiply(kernelFFT[i]);
-        }
+        ComplexTensor spectrum = ComplexTensor.fromReal(input, fftSize);
+        ComplexTensor kernelSpectrum = ComplexTensor.fromReal(kernel, fftSize);
         
-        Complex[] result = FFT.inverseTransform(outputFFT);
+        spectrum.fft().multiply(kernelSpectrum.fft()).ifft();
+        float[] result = spectrum.getData();
         
         int startIdx;
         int outputSize;
@@ -140,7 +148,7 @@ public final class Convolution {
             startIdx = kernelSize - 1;
             outputSize = inputSize - kernelSize + 1;
         } else if (paddingLeft == (kernelSize - 1) / 2 && paddingRight == (kernelSize - 1) - paddingLeft) {
-            startIdx = paddingLeft;
+            startIdx = paddingRight;
             outputSize = inputSize;
         } else {
             startIdx = 0;
@@ -149,8 +157,8 @@ public final class Convolution {
         
         Tensor output = Tensors.zeros(outputSize);
         for (int i = 0; i < outputSize; i++) {
-            if (startIdx + i < result.length) {
-                double val = result[startIdx + i].getReal();
+            if (startIdx + i < fftSize) {
+                double val = result[2 * (startIdx + i)];
                 if (Math.abs(val) < EPSILON) {
                     val = 0.0;
                 }
@@ -216,15 +224,23 @@ public final class Convolution {
             throw new IllegalArgumentException("Kernel too large for the input with the specified padding");
         }
         
+        ConvolutionEvent event = new ConvolutionEvent();
+        event.begin();
+
+        Tensor result;
+
         if (convType == ConvolutionType.DIRECT) {
-            return convolve2DDirect(input, kernel, 
+            result = convolve2DDirect(input, kernel, 
                                   paddingTop, paddingBottom, 
                                   paddingLeft, paddingRight);
         } else {
-            return convolve2DFFT(input, kernel, 
+            result = convolve2DFFT(input, kernel, 
                                paddingTop, paddingBottom, 
                                paddingLeft, paddingRight);
         }
+
+        commit(event, input, kernel, paddingMode, convType);
+        return result;
     }
  
     private static Tensor convolve2DDirect(Tensor input, Tensor kernel,
@@ -287,40 +303,11 @@ public final class Convolution {
         int fftRows = nextPowerOf2(fullRows);
         int fftCols = nextPowerOf2(fullCols);
         
-        Complex[][] inputComplex = new Complex[fftRows][fftCols];
-        Complex[][] kernelComplex = new Complex[fftRows][fftCols];
-        
-        for (int i = 0; i < fftRows; i++) {
-            for (int j = 0; j < fftCols; j++) {
-                inputComplex[i][j] = Complex.ZERO;
-                kernelComplex[i][j] = Complex.ZERO;
-            }
-        }
-        
-        for (int i = 0; i < inputRows; i++) {
-            for (int j = 0; j < inputCols; j++) {
-                inputComplex[i][j] = new Complex(input.get(i, j), 0.0);
-            }
-        }
-        
-        for (int i = 0; i < kernelRows; i++) {
-            for (int j = 0; j < kernelCols; j++) {
-                kernelComplex[i][j] = new Complex(
-                    kernel.get(kernelRows - 1 - i, kernelCols - 1 - j), 0.0);
-            }
-        }
-        
-        Complex[][] inputFFT = FFT.transform2D(inputComplex, fftRows, fftCols);
-        Complex[][] kernelFFT = FFT.transform2D(kernelComplex, fftRows, fftCols);
-        
-        Complex[][] outputFFT = new Complex[fftRows][fftCols];
-        for (int i = 0; i < fftRows; i++) {
-            for (int j = 0; j < fftCols; j++) {
-                outputFFT[i][j] = inputFFT[i][j].multiply(kernelFFT[i][j]);
-            }
-        }
+        ComplexTensor spectrum = ComplexTensor.fromReal(input, fftRows, fftCols);
+        ComplexTensor kernelSpectrum = ComplexTensor.fromReal(kernel, fftRows, fftCols);
         
-        Complex[][] result = FFT.inverseTransform2D(outputFFT, fftRows, fftCols);
+        spectrum.fft2D().multiply(kernelSpectrum.fft2D()).ifft2D();
+        float[] result = spectrum.getData();
         
         int startRow, startCol;
         int outputRows, outputCols;
@@ -332,8 +319,8 @@ public final class Convolution {
             outputCols = inputCols - kernelCols + 1;
         } else if (paddingTop == (kernelRows - 1) / 2 && paddingBottom == (kernelRows - 1) - paddingTop &&
                  paddingLeft == (kernelCols - 1) / 2 && paddingRight == (kernelCols - 1) - paddingLeft) {
-            startRow = paddingTop;
-            startCol = paddingLeft;
+            startRow = paddingBottom;
+            startCol = paddingRight;
             outputRows = inputRows;
             outputCols = inputCols;
         } else {
@@ -346,7 +333,7 @@ public final class Convolution {
         Tensor output = Tensors.zeros(outputRows, outputCols);
         for (int i = 0; i < outputRows; i++) {
             for (int j = 0; j < outputCols; j++) {
-                double val = result[startRow + i][startCol + j].getReal();
+                double val = result[2 * ((startRow + i) * fftCols + startCol + j)];
                 if (Math.abs(val) < EPSILON) {
                     val = 0.0;
                 }